@@ -25,15 +25,16 @@
 allprojects {
 
 	group = "com.scalified"
-	version = "1.0.1"
+	version = "1.1.0"
 
 	repositories {
 		mavenCentral()
 	}
 
 	tasks.withType<JavaCompile> {
-		sourceCompatibility = JavaVersion.VERSION_1_8.majorVersion
-		targetCompatibility = JavaVersion.VERSION_1_8.majorVersion
+		// Compiles against the Java 8 API, so that covariant overrides of newer JDKs, such as
+		// ByteBuffer.flip(), do not leak into the bytecode
+		options.release.set(8)
 		options.encoding = Charsets.UTF_8.name()
 	}
 
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.httpclient;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * An {@link EntityCodec} supporting {@code byte[]}, {@link String} and {@link InputStream}
+ * entities
+ * <p>
+ * {@link String} entities are encoded and decoded using the charset of the entity
+ * {@link MediaType} or {@code UTF-8}, if no charset specified
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class DefaultEntityCodec implements EntityCodec {
+
+	/**
+	 * Encodes the given <b>HTTP</b> {@link Entity} into raw bytes
+	 *
+	 * @param entity <b>HTTP</b> {@link Entity} to encode
+	 * @return encoded raw bytes
+	 * @throws IOException         if encoding was unsuccessful
+	 * @throws ProcessingException if entity type is not supported
+	 */
+	@Override
+	public byte[] encode(Entity<?> entity) throws IOException {
+		Object value = entity.getEntity();
+		if (value instanceof byte[]) {
+			return (byte[]) value;
+		}
+		if (value instanceof String) {
+			return ((String) value).getBytes(charset(entity.getMediaType()));
+		}
+		if (value instanceof InputStream) {
+			try (InputStream stream = (InputStream) value) {
+				return stream.readAllBytes();
+			}
+		}
+		throw new ProcessingException("Unsupported entity type: " + value.getClass().getName());
+	}
+
+	/**
+	 * Decodes the given raw bytes into the entity of the given type
+	 *
+	 * @param content   raw bytes to decode
+	 * @param type      generic entity type
+	 * @param mediaType entity media type, may be <b>null</b>
+	 * @param <T>       type of entity
+	 * @return decoded entity
+	 * @throws ProcessingException if entity type is not supported
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T decode(byte[] content, GenericType<T> type, MediaType mediaType) {
+		Class<?> rawType = type.getRawType();
+		if (rawType == byte[].class) {
+			return (T) content;
+		}
+		if (rawType == String.class) {
+			return (T) new String(content, charset(mediaType));
+		}
+		if (rawType == InputStream.class) {
+			return (T) new ByteArrayInputStream(content);
+		}
+		throw new ProcessingException("Unsupported entity type: " + type);
+	}
+
+	/**
+	 * Returns the charset of the given {@link MediaType} or {@code UTF-8}, if no charset specified
+	 *
+	 * @param mediaType {@link MediaType} to return the charset of, may be <b>null</b>
+	 * @return the charset of the given {@link MediaType}
+	 */
+	private static Charset charset(MediaType mediaType) {
+		String charset = Objects.isNull(mediaType) ? null : mediaType.getParameters().get(MediaType.CHARSET_PARAMETER);
+		return Objects.isNull(charset) ? StandardCharsets.UTF_8 : Charset.forName(charset);
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.httpclient;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.MediaType;
+import java.io.IOException;
+
+/**
+ * Converts <b>HTTP</b> entities to and from raw bytes for {@link HttpClientRestClient}
+ * <p>
+ * Plays the role of <b>JAX-RS</b> {@link javax.ws.rs.ext.MessageBodyWriter} and
+ * {@link javax.ws.rs.ext.MessageBodyReader} providers, which are not available
+ * outside of the <b>JAX-RS</b> client runtime
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public interface EntityCodec {
+
+	/**
+	 * Encodes the given <b>HTTP</b> {@link Entity} into raw bytes
+	 *
+	 * @param entity <b>HTTP</b> {@link Entity} to encode
+	 * @return encoded raw bytes
+	 * @throws IOException                     if encoding was unsuccessful
+	 * @throws javax.ws.rs.ProcessingException if entity type is not supported
+	 */
+	byte[] encode(Entity<?> entity) throws IOException;
+
+	/**
+	 * Decodes the given raw bytes into the entity of the given type
+	 *
+	 * @param content   raw bytes to decode
+	 * @param type      generic entity type
+	 * @param mediaType entity media type, may be <b>null</b>
+	 * @param <T>       type of entity
+	 * @return decoded entity
+	 * @throws IOException                     if decoding was unsuccessful
+	 * @throws javax.ws.rs.ProcessingException if entity type is not supported
+	 */
+	<T> T decode(byte[] content, GenericType<T> type, MediaType mediaType) throws IOException;
+
+}
@@ -0,0 +1,177 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.httpclient;
+
+import com.scalified.rest.jaxrs.client.EntityTooLargeException;
+
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * A {@link HttpResponse.BodySubscriber}, which collects the response body into {@code byte[]}
+ * limiting its size
+ * <p>
+ * Bodies having larger declared length are rejected before receiving, otherwise receiving fails
+ * with {@link EntityTooLargeException} as soon as the limit is exceeded. On rejection the
+ * subscription is cancelled, which makes {@link java.net.http.HttpClient} abort the exchange
+ * instead of receiving the rest of the body
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+class EntitySizeLimitSubscriber implements HttpResponse.BodySubscriber<byte[]> {
+
+	/**
+	 * Maximum allowed body size in bytes
+	 */
+	private final long maxEntitySize;
+
+	/**
+	 * Declared body length or {@code -1}, if unknown
+	 */
+	private final long contentLength;
+
+	/**
+	 * Received body chunks
+	 */
+	private final List<ByteBuffer> chunks = new ArrayList<>();
+
+	/**
+	 * Future body
+	 */
+	private final CompletableFuture<byte[]> body = new CompletableFuture<>();
+
+	/**
+	 * Body subscription
+	 */
+	private Flow.Subscription subscription;
+
+	/**
+	 * Number of received bytes
+	 */
+	private long size;
+
+	/**
+	 * Creates {@link EntitySizeLimitSubscriber} instance
+	 *
+	 * @param maxEntitySize maximum allowed body size in bytes
+	 * @param contentLength declared body length or {@code -1}, if unknown
+	 */
+	EntitySizeLimitSubscriber(long maxEntitySize, long contentLength) {
+		this.maxEntitySize = maxEntitySize;
+		this.contentLength = contentLength;
+	}
+
+	/**
+	 * Returns a {@link CompletionStage} which will complete with the received body
+	 *
+	 * @return a {@link CompletionStage} for the received body
+	 */
+	@Override
+	public CompletionStage<byte[]> getBody() {
+		return body;
+	}
+
+	/**
+	 * Requests the whole body, unless its declared length exceeds the limit
+	 *
+	 * @param subscription body subscription
+	 */
+	@Override
+	public void onSubscribe(Flow.Subscription subscription) {
+		this.subscription = subscription;
+		if (contentLength > maxEntitySize) {
+			reject();
+		} else {
+			subscription.request(Long.MAX_VALUE);
+		}
+	}
+
+	/**
+	 * Collects the received body chunks, rejecting the body once the limit is exceeded
+	 *
+	 * @param items received body chunks
+	 */
+	@Override
+	public void onNext(List<ByteBuffer> items) {
+		if (body.isDone()) {
+			return;
+		}
+		for (ByteBuffer item : items) {
+			size += item.remaining();
+		}
+		if (size > maxEntitySize) {
+			reject();
+		} else {
+			chunks.addAll(items);
+		}
+	}
+
+	/**
+	 * Completes the body exceptionally with the given error
+	 *
+	 * @param throwable receiving error
+	 */
+	@Override
+	public void onError(Throwable throwable) {
+		chunks.clear();
+		body.completeExceptionally(throwable);
+	}
+
+	/**
+	 * Completes the body with the received bytes
+	 */
+	@Override
+	public void onComplete() {
+		if (body.isDone()) {
+			return;
+		}
+		byte[] bytes = new byte[(int) size];
+		int offset = 0;
+		for (ByteBuffer chunk : chunks) {
+			int length = chunk.remaining();
+			chunk.get(bytes, offset, length);
+			offset += length;
+		}
+		chunks.clear();
+		body.complete(bytes);
+	}
+
+	/**
+	 * Cancels the subscription and completes the body with {@link EntityTooLargeException}
+	 */
+	private void reject() {
+		subscription.cancel();
+		chunks.clear();
+		body.completeExceptionally(new EntityTooLargeException(maxEntitySize));
+	}
+
+}
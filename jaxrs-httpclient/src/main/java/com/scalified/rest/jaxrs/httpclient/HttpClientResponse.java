@@ -0,0 +1,497 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.scalified.rest.jaxrs.httpclient;
+
+import com.scalified.rest.jaxrs.extension.ExtendedStatus;
+import com.scalified.rest.jaxrs.extension.MediaTypeCache;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.*;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * An inbound <b>HTTP</b> {@link Response} of {@link HttpClientRestClient}
+ * <p>
+ * Holds the fully received entity, so it is always buffered. Entities are read by the
+ * configured {@link EntityCodec}, hence {@link #readEntity(Class)} may be called multiple
+ * times until the response is closed. {@link #getEntity()} returns the raw {@code byte[]} entity
+ * <p>
+ * Status, headers, media type, language, length, dates and location are available without
+ * a <b>JAX-RS</b> runtime. Cookies, entity tag and links are parsed by the
+ * {@link javax.ws.rs.ext.RuntimeDelegate}, which requires a <b>JAX-RS</b> implementation
+ * in the runtime
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+class HttpClientResponse extends Response {
+
+	/**
+	 * Response status code
+	 */
+	private final int status;
+
+	/**
+	 * Response headers
+	 */
+	private final MultivaluedMap<String, String> headers;
+
+	/**
+	 * Raw response entity, {@code null} if none
+	 */
+	private final byte[] entity;
+
+	/**
+	 * Entity codec
+	 */
+	private final EntityCodec codec;
+
+	/**
+	 * Indicates whether the response has been closed
+	 */
+	private volatile boolean closed;
+
+	/**
+	 * Creates {@link HttpClientResponse} instance
+	 *
+	 * @param status  response status code
+	 * @param headers response headers
+	 * @param entity  raw response entity, {@code null} if none
+	 * @param codec   entity codec
+	 */
+	HttpClientResponse(int status, MultivaluedMap<String, String> headers, byte[] entity, EntityCodec codec) {
+		this.status = status;
+		this.headers = headers;
+		this.entity = nonEmpty(entity) ? entity : null;
+		this.codec = codec;
+	}
+
+	/**
+	 * Get the status code associated with the response.
+	 *
+	 * @return the response status code.
+	 */
+	@Override
+	public int getStatus() {
+		return status;
+	}
+
+	/**
+	 * Get the complete status information associated with the response.
+	 *
+	 * @return the response status information.
+	 */
+	@Override
+	public StatusType getStatusInfo() {
+		return ExtendedStatus.from(status);
+	}
+
+	/**
+	 * Get the raw message entity.
+	 *
+	 * @return the raw {@code byte[]} message entity or {@code null} if there is no entity.
+	 * @throws IllegalStateException if the response has been closed.
+	 */
+	@Override
+	public Object getEntity() {
+		checkNotClosed();
+		return entity;
+	}
+
+	/**
+	 * Read the message entity as an instance of specified Java type using the configured
+	 * {@link EntityCodec}.
+	 *
+	 * @param entityType the type of entity.
+	 * @param <T>        entity instance Java type.
+	 * @return the message entity; for a zero-length response entities a {@code null} value is returned.
+	 * @throws ProcessingException   if the content of the message cannot be mapped to an entity of the
+	 *                               requested type.
+	 * @throws IllegalStateException if the response has been closed.
+	 */
+	@Override
+	public <T> T readEntity(Class<T> entityType) {
+		return readEntity(new GenericType<>(entityType));
+	}
+
+	/**
+	 * Read the message entity as an instance of specified generic Java type using the configured
+	 * {@link EntityCodec}.
+	 *
+	 * @param entityType the type of entity; may be generic.
+	 * @param <T>        entity instance Java type.
+	 * @return the message entity; for a zero-length response entities a {@code null} value is returned.
+	 * @throws ProcessingException   if the content of the message cannot be mapped to an entity of the
+	 *                               requested type.
+	 * @throws IllegalStateException if the response has been closed.
+	 */
+	@Override
+	public <T> T readEntity(GenericType<T> entityType) {
+		checkNotClosed();
+		if (Objects.isNull(entity)) {
+			return null;
+		}
+		try {
+			return codec.decode(entity, entityType, getMediaType());
+		} catch (IOException e) {
+			throw new ProcessingException(e);
+		}
+	}
+
+	/**
+	 * Read the message entity as an instance of specified Java type using the configured
+	 * {@link EntityCodec}. Annotations are ignored.
+	 *
+	 * @param entityType  the type of entity.
+	 * @param annotations annotations that will be passed to the codec.
+	 * @param <T>         entity instance Java type.
+	 * @return the message entity; for a zero-length response entities a {@code null} value is returned.
+	 * @throws ProcessingException   if the content of the message cannot be mapped to an entity of the
+	 *                               requested type.
+	 * @throws IllegalStateException if the response has been closed.
+	 */
+	@Override
+	public <T> T readEntity(Class<T> entityType, Annotation[] annotations) {
+		return readEntity(entityType);
+	}
+
+	/**
+	 * Read the message entity as an instance of specified generic Java type using the configured
+	 * {@link EntityCodec}. Annotations are ignored.
+	 *
+	 * @param entityType  the type of entity; may be generic.
+	 * @param annotations annotations that will be passed to the codec.
+	 * @param <T>         entity instance Java type.
+	 * @return the message entity; for a zero-length response entities a {@code null} value is returned.
+	 * @throws ProcessingException   if the content of the message cannot be mapped to an entity of the
+	 *                               requested type.
+	 * @throws IllegalStateException if the response has been closed.
+	 */
+	@Override
+	public <T> T readEntity(GenericType<T> entityType, Annotation[] annotations) {
+		return readEntity(entityType);
+	}
+
+	/**
+	 * Check if there is an entity available in the response.
+	 *
+	 * @return {@code true} if there is an entity present in the message, {@code false} otherwise.
+	 * @throws IllegalStateException if the response has been closed.
+	 */
+	@Override
+	public boolean hasEntity() {
+		checkNotClosed();
+		return Objects.nonNull(entity);
+	}
+
+	/**
+	 * Buffer the message entity. The entity is always fully received, hence this method
+	 * has no effect.
+	 *
+	 * @return {@code true} if the message entity input stream was available and was buffered
+	 * successfully, returns {@code false} if the entity stream was not available.
+	 * @throws IllegalStateException if the response has been closed.
+	 */
+	@Override
+	public boolean bufferEntity() {
+		checkNotClosed();
+		return Objects.nonNull(entity);
+	}
+
+	/**
+	 * Close the underlying message entity input stream (if available and open)
+	 * as well as releases any other resources associated with the response.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+	}
+
+	/**
+	 * Get the media type of the message entity.
+	 *
+	 * @return the media type or {@code null} if there is no response entity.
+	 */
+	@Override
+	public MediaType getMediaType() {
+		String contentType = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+		return Objects.isNull(contentType) ? null : MediaTypeCache.valueOf(contentType);
+	}
+
+	/**
+	 * Get the language of the message entity.
+	 *
+	 * @return the language of the entity or {@code null} if not specified.
+	 */
+	@Override
+	public Locale getLanguage() {
+		String language = headers.getFirst(HttpHeaders.CONTENT_LANGUAGE);
+		return Objects.isNull(language) ? null : Locale.forLanguageTag(language.trim());
+	}
+
+	/**
+	 * Get Content-Length value.
+	 *
+	 * @return Content-Length as integer if present and valid number. In other
+	 * cases returns {@code -1}.
+	 */
+	@Override
+	public int getLength() {
+		String length = headers.getFirst(HttpHeaders.CONTENT_LENGTH);
+		if (Objects.nonNull(length)) {
+			try {
+				return Integer.parseInt(length.trim());
+			} catch (NumberFormatException ignored) {
+			}
+		}
+		return Objects.isNull(entity) ? -1 : entity.length;
+	}
+
+	/**
+	 * Get the allowed HTTP methods from the Allow HTTP header.
+	 *
+	 * @return the allowed HTTP methods, all methods will returned as upper case
+	 * strings.
+	 */
+	@Override
+	public Set<String> getAllowedMethods() {
+		String allow = getHeaderString(HttpHeaders.ALLOW);
+		if (Objects.isNull(allow) || allow.trim().isEmpty()) {
+			return Collections.emptySet();
+		}
+		Set<String> methods = new LinkedHashSet<>();
+		for (String method : allow.split(",")) {
+			String trimmed = method.trim();
+			if (!trimmed.isEmpty()) {
+				methods.add(trimmed.toUpperCase(Locale.ROOT));
+			}
+		}
+		return methods;
+	}
+
+	/**
+	 * Get any new cookies set on the response message.
+	 *
+	 * @return a read-only map of cookie name (String) to Cookie.
+	 */
+	@Override
+	public Map<String, NewCookie> getCookies() {
+		List<String> values = headers.get(HttpHeaders.SET_COOKIE);
+		if (Objects.isNull(values) || values.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		Map<String, NewCookie> cookies = new LinkedHashMap<>();
+		for (String value : values) {
+			NewCookie cookie = NewCookie.valueOf(value);
+			cookies.put(cookie.getName(), cookie);
+		}
+		return Collections.unmodifiableMap(cookies);
+	}
+
+	/**
+	 * Get the entity tag.
+	 *
+	 * @return the entity tag, otherwise {@code null} if not present.
+	 */
+	@Override
+	public EntityTag getEntityTag() {
+		String tag = headers.getFirst(HttpHeaders.ETAG);
+		return Objects.isNull(tag) ? null : EntityTag.valueOf(tag);
+	}
+
+	/**
+	 * Get message date.
+	 *
+	 * @return the message date, otherwise {@code null} if not present.
+	 */
+	@Override
+	public Date getDate() {
+		return date(HttpHeaders.DATE);
+	}
+
+	/**
+	 * Get the last modified date.
+	 *
+	 * @return the last modified date, otherwise {@code null} if not present.
+	 */
+	@Override
+	public Date getLastModified() {
+		return date(HttpHeaders.LAST_MODIFIED);
+	}
+
+	/**
+	 * Get the location.
+	 *
+	 * @return the location URI, otherwise {@code null} if not present.
+	 */
+	@Override
+	public URI getLocation() {
+		String location = headers.getFirst(HttpHeaders.LOCATION);
+		return Objects.isNull(location) ? null : URI.create(location.trim());
+	}
+
+	/**
+	 * Get the links attached to the message as headers.
+	 *
+	 * @return links, may return empty {@link Set} if no links are present. Does
+	 * never return {@code null}.
+	 */
+	@Override
+	public Set<Link> getLinks() {
+		List<String> values = headers.get(HttpHeaders.LINK);
+		if (Objects.isNull(values) || values.isEmpty()) {
+			return Collections.emptySet();
+		}
+		Set<Link> links = new LinkedHashSet<>();
+		for (String value : values) {
+			links.add(Link.valueOf(value));
+		}
+		return links;
+	}
+
+	/**
+	 * Check if link for relation exists.
+	 *
+	 * @param relation link relation.
+	 * @return {@code true} if the link for the relation is present in the
+	 * {@link #getHeaders() message headers}, {@code false} otherwise.
+	 */
+	@Override
+	public boolean hasLink(String relation) {
+		return Objects.nonNull(getLink(relation));
+	}
+
+	/**
+	 * Get the link for the relation.
+	 *
+	 * @param relation link relation.
+	 * @return the link for the relation, otherwise {@code null} if not present.
+	 */
+	@Override
+	public Link getLink(String relation) {
+		for (Link link : getLinks()) {
+			if (link.getRels().contains(relation)) {
+				return link;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Convenience method that returns a {@link Link.Builder} for the relation.
+	 *
+	 * @param relation link relation.
+	 * @return the link builder for the relation, otherwise {@code null} if not
+	 * present.
+	 */
+	@Override
+	public Link.Builder getLinkBuilder(String relation) {
+		Link link = getLink(relation);
+		return Objects.isNull(link) ? null : Link.fromLink(link);
+	}
+
+	/**
+	 * See {@link #getHeaders()}.
+	 *
+	 * @return response headers as a multivalued map.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public MultivaluedMap<String, Object> getMetadata() {
+		return (MultivaluedMap<String, Object>) (MultivaluedMap<String, ?>) headers;
+	}
+
+	/**
+	 * Get view of the response headers and their string values.
+	 *
+	 * @return response headers as a string view of header values.
+	 */
+	@Override
+	public MultivaluedMap<String, String> getStringHeaders() {
+		return headers;
+	}
+
+	/**
+	 * Get a message header as a single string value.
+	 *
+	 * @param name the message header.
+	 * @return the message header value. If the message header is not present then
+	 * {@code null} is returned. If the message header is present but has no
+	 * value then the empty string is returned. If the message header is present
+	 * more than once then the values of joined together and separated by a ','
+	 * character.
+	 */
+	@Override
+	public String getHeaderString(String name) {
+		List<String> values = headers.get(name);
+		return Objects.isNull(values) ? null : String.join(",", values);
+	}
+
+	/**
+	 * Parses the date of the header with the given name
+	 *
+	 * @param name header name
+	 * @return parsed date, {@code null} if the header is absent or malformed
+	 */
+	private Date date(String name) {
+		String value = headers.getFirst(name);
+		if (Objects.isNull(value)) {
+			return null;
+		}
+		try {
+			return Date.from(ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Checks whether the response has not been closed
+	 *
+	 * @throws IllegalStateException if the response has been closed
+	 */
+	private void checkNotClosed() {
+		if (closed) {
+			throw new IllegalStateException("Response has already been closed");
+		}
+	}
+
+	/**
+	 * Checks whether the given entity is not empty
+	 *
+	 * @param entity entity to check
+	 * @return {@code true} if the given entity is not empty, {@code false} otherwise
+	 */
+	private static boolean nonEmpty(byte[] entity) {
+		return Objects.nonNull(entity) && entity.length > 0;
+	}
+
+}
@@ -0,0 +1,539 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.httpclient;
+
+import com.scalified.rest.jaxrs.client.EntityTooLargeException;
+import com.scalified.rest.jaxrs.client.Request;
+import com.scalified.rest.jaxrs.client.RestClient;
+import com.scalified.rest.jaxrs.commons.UriUtils;
+import com.scalified.rest.jaxrs.extension.MediaTypeCache;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.AbstractMultivaluedMap;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A {@link RestClient} implementation built on the {@link HttpClient}
+ * <p>
+ * Accepts the same {@link Request} objects as {@link com.scalified.rest.jaxrs.client.JaxRsRestClient}.
+ * Requests are sent with non-blocking I/O and, when the underlying {@link HttpClient} is configured
+ * with {@link HttpClient.Version#HTTP_2}, parallel requests to the same host are multiplexed over
+ * a few shared connections
+ * <pre>
+ *    HttpClient httpClient = HttpClient.newBuilder()
+ *            .version(HttpClient.Version.HTTP_2)
+ *            .build();
+ *    HttpClientRestClient client = new HttpClientRestClient(httpClient, new DefaultEntityCodec());
+ * </pre>
+ * Entities are converted to and from raw bytes by the configured {@link EntityCodec}. Responses,
+ * passed to the {@link Request} consumers and returned by the methods returning {@link Response},
+ * are inbound responses holding the fully received entity: it can be read via
+ * {@link Response#readEntity(Class)} using the same {@link EntityCodec}, and the raw {@code byte[]}
+ * entity is available via {@link Response#getEntity()}
+ * <p>
+ * Responses do not require a <b>JAX-RS</b> implementation in the runtime, except for parsing
+ * cookies, entity tags and links. The {@link RestClient} helpers building new responses, such
+ * as {@link RestClient#from(Response)}, do require one
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class HttpClientRestClient implements RestClient {
+
+	/**
+	 * Headers, which are not allowed to be set by {@link HttpClient} users
+	 */
+	private static final Set<String> RESTRICTED_HEADERS = new HashSet<>(Arrays.asList(
+			"connection", "content-length", "expect", "host", "upgrade"
+	));
+
+	/**
+	 * An underlying {@link HttpClient}
+	 */
+	private final HttpClient client;
+
+	/**
+	 * Entity codec
+	 */
+	private final EntityCodec codec;
+
+	/**
+	 * Maximum allowed response entity size in bytes, negative if not limited
+	 */
+	private final long maxEntitySize;
+
+	/**
+	 * Creates {@link HttpClientRestClient} instance
+	 *
+	 * @param client an underlying {@link HttpClient}
+	 * @param codec  entity codec
+	 */
+	public HttpClientRestClient(HttpClient client, EntityCodec codec) {
+		this(client, codec, -1);
+	}
+
+	/**
+	 * Creates {@link HttpClientRestClient} instance
+	 * <p>
+	 * Responses having larger entities fail with {@link EntityTooLargeException}, passed to the
+	 * {@link Request} failure consumer, as soon as the limit is exceeded, and the exchange is aborted
+	 * instead of receiving the rest of the entity
+	 *
+	 * @param client        an underlying {@link HttpClient}
+	 * @param codec         entity codec
+	 * @param maxEntitySize maximum allowed response entity size in bytes, negative if not limited.
+	 *                      May be overridden by {@link Request.Builder#maxEntitySize(long)}
+	 */
+	public HttpClientRestClient(HttpClient client, EntityCodec codec, long maxEntitySize) {
+		this.client = client;
+		this.codec = codec;
+		this.maxEntitySize = maxEntitySize;
+	}
+
+	/**
+	 * Performs <b>HTTP GET</b> request and returns response
+	 *
+	 * @param request request
+	 * @return response
+	 */
+	@Override
+	public Response get(Request request) {
+		return join(invokeAsync(HttpMethod.GET, request));
+	}
+
+	/**
+	 * Performs <b>HTTP GET</b> request and returns optional response entity
+	 *
+	 * @param request             request
+	 * @param responseEntityClass response entity class
+	 * @param <T>                 type of response entity class
+	 * @return optional response entity
+	 */
+	@Override
+	public <T> Optional<T> get(Request request, Class<T> responseEntityClass) {
+		return join(invokeAsync(HttpMethod.GET, request, new GenericType<>(responseEntityClass)));
+	}
+
+	/**
+	 * Performs <b>HTTP GET</b> request and returns optional response entity
+	 *
+	 * @param request            request
+	 * @param responseEntityType generic response entity type
+	 * @param <T>                type of response entity
+	 * @return optional response entity
+	 */
+	@Override
+	public <T> Optional<T> get(Request request, GenericType<T> responseEntityType) {
+		return join(invokeAsync(HttpMethod.GET, request, responseEntityType));
+	}
+
+	/**
+	 * Performs <b>HTTP POST</b> request and returns response
+	 *
+	 * @param request request
+	 * @return response
+	 */
+	@Override
+	public Response post(Request request) {
+		return join(invokeAsync(HttpMethod.POST, request));
+	}
+
+	/**
+	 * Performs <b>HTTP POST</b> request and returns optional response entity
+	 *
+	 * @param request             request
+	 * @param responseEntityClass response entity class
+	 * @param <T>                 type of response entity class
+	 * @return optional response entity
+	 */
+	@Override
+	public <T> Optional<T> post(Request request, Class<T> responseEntityClass) {
+		return join(invokeAsync(HttpMethod.POST, request, new GenericType<>(responseEntityClass)));
+	}
+
+	/**
+	 * Performs <b>HTTP POST</b> request and returns optional response entity
+	 *
+	 * @param request            request
+	 * @param responseEntityType generic response entity type
+	 * @param <T>                type of response entity
+	 * @return optional response entity
+	 */
+	@Override
+	public <T> Optional<T> post(Request request, GenericType<T> responseEntityType) {
+		return join(invokeAsync(HttpMethod.POST, request, responseEntityType));
+	}
+
+	/**
+	 * Performs <b>HTTP PUT</b> request and returns response
+	 *
+	 * @param request request
+	 * @return response
+	 */
+	@Override
+	public Response put(Request request) {
+		return join(invokeAsync(HttpMethod.PUT, request));
+	}
+
+	/**
+	 * Performs <b>HTTP PUT</b> request and returns optional response entity
+	 *
+	 * @param request             request
+	 * @param responseEntityClass response entity class
+	 * @param <T>                 type of response entity
+	 * @return optional response entity
+	 */
+	@Override
+	public <T> Optional<T> put(Request request, Class<T> responseEntityClass) {
+		return join(invokeAsync(HttpMethod.PUT, request, new GenericType<>(responseEntityClass)));
+	}
+
+	/**
+	 * Performs <b>HTTP PUT</b> request and returns optional response entity
+	 *
+	 * @param request            request
+	 * @param responseEntityType response entity class
+	 * @param <T>                type of response entity
+	 * @return optional response entity
+	 */
+	@Override
+	public <T> Optional<T> put(Request request, GenericType<T> responseEntityType) {
+		return join(invokeAsync(HttpMethod.PUT, request, responseEntityType));
+	}
+
+	/**
+	 * Performs <b>HTTP DELETE</b> request and returns response
+	 *
+	 * @param request request
+	 * @return response
+	 */
+	@Override
+	public Response delete(Request request) {
+		return join(invokeAsync(HttpMethod.DELETE, request));
+	}
+
+	/**
+	 * Performs <b>HTTP DELETE</b> request
+	 *
+	 * @param request             request
+	 * @param responseEntityClass response entity class
+	 * @param <T>                 type of response entity
+	 * @return optional response entity
+	 */
+	@Override
+	public <T> Optional<T> delete(Request request, Class<T> responseEntityClass) {
+		return join(invokeAsync(HttpMethod.DELETE, request, new GenericType<>(responseEntityClass)));
+	}
+
+	/**
+	 * Performs <b>HTTP DELETE</b> request
+	 *
+	 * @param request            request
+	 * @param responseEntityType response entity class
+	 * @param <T>                type of response entity
+	 * @return optional response entity
+	 */
+	@Override
+	public <T> Optional<T> delete(Request request, GenericType<T> responseEntityType) {
+		return join(invokeAsync(HttpMethod.DELETE, request, responseEntityType));
+	}
+
+	/**
+	 * Asynchronously performs <b>HTTP</b> request having the given method and returns
+	 * the future response
+	 * <p>
+	 * The returned future completes exceptionally with {@link java.util.NoSuchElementException}
+	 * if the request failed
+	 *
+	 * @param method  <b>HTTP</b> method
+	 * @param request request
+	 * @return future response
+	 */
+	public CompletableFuture<Response> invokeAsync(String method, Request request) {
+		return invoke(method, request).thenApply(Optional::orElseThrow);
+	}
+
+	/**
+	 * Asynchronously performs <b>HTTP</b> request having the given method and returns
+	 * the future optional response entity
+	 *
+	 * @param method             <b>HTTP</b> method
+	 * @param request            request
+	 * @param responseEntityType generic response entity type
+	 * @param <T>                type of response entity
+	 * @return future optional response entity
+	 */
+	public <T> CompletableFuture<Optional<T>> invokeAsync(String method, Request request,
+	                                                      GenericType<T> responseEntityType) {
+		return invoke(method, request)
+				.thenApply(response -> response.flatMap(res -> readResponseEntity(request, res, responseEntityType)));
+	}
+
+	/**
+	 * Creates {@link HttpRequest} from the given <b>HTTP</b> {@link Request}
+	 *
+	 * @param method  <b>HTTP</b> method
+	 * @param request <b>HTTP</b> {@link Request}
+	 * @return {@link HttpRequest} object
+	 * @throws Exception if entity encoding was unsuccessful
+	 */
+	private HttpRequest createHttpRequest(String method, Request request) throws Exception {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(createUri(request));
+		if (nonNull(request.getAccept())) {
+			builder.header(HttpHeaders.ACCEPT, request.getAccept());
+		}
+		for (Map.Entry<String, Object> header : request.getHeaders().entrySet()) {
+			if (!RESTRICTED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+				builder.setHeader(header.getKey(), String.valueOf(header.getValue()));
+			}
+		}
+		Entity<?> entity = request.getEntity();
+		if (isNull(entity) || HttpMethod.GET.equals(method) || HttpMethod.DELETE.equals(method)) {
+			return builder.method(method, HttpRequest.BodyPublishers.noBody()).build();
+		}
+		if (nonNull(entity.getMediaType())) {
+			builder.setHeader(HttpHeaders.CONTENT_TYPE, MediaTypeCache.format(entity.getMediaType()));
+		}
+		if (nonNull(entity.getLanguage())) {
+			builder.setHeader(HttpHeaders.CONTENT_LANGUAGE, entity.getLanguage().toLanguageTag());
+		}
+		if (nonNull(entity.getEncoding())) {
+			builder.setHeader(HttpHeaders.CONTENT_ENCODING, entity.getEncoding());
+		}
+		return builder.method(method, HttpRequest.BodyPublishers.ofByteArray(codec.encode(entity))).build();
+	}
+
+	/**
+	 * Creates {@link URI} from the URL, path parameters and query parameters of the given
+	 * <b>HTTP</b> {@link Request}
+	 *
+	 * @param request <b>HTTP</b> {@link Request}
+	 * @return {@link URI} object
+	 */
+	private static URI createUri(Request request) {
+		String url = request.getUrl();
+		int queryIndex = url.indexOf('?');
+		StringBuilder uri = new StringBuilder(url.length() + 64).append(url, 0, queryIndex < 0 ? url.length() : queryIndex);
+		for (String path : request.getPathParams()) {
+			for (String segment : path.split("/")) {
+				if (segment.isEmpty()) {
+					continue;
+				}
+				if (uri.length() == 0 || uri.charAt(uri.length() - 1) != '/') {
+					uri.append('/');
+				}
+				UriUtils.encodePathSegment(segment, uri);
+			}
+		}
+		char separator = '?';
+		if (queryIndex >= 0 && queryIndex < url.length() - 1) {
+			uri.append(url, queryIndex, url.length());
+			separator = '&';
+		}
+		for (Map.Entry<String, Collection<?>> queryParam : request.getQueryParams().entrySet()) {
+			for (Object value : queryParam.getValue()) {
+				UriUtils.encodeQueryName(queryParam.getKey(), uri.append(separator));
+				UriUtils.encodeQueryValue(String.valueOf(value), uri.append('='));
+				separator = '&';
+			}
+		}
+		return URI.create(uri.toString());
+	}
+
+	/**
+	 * Creates <b>HTTP</b> {@link Response} from the given {@link HttpResponse}
+	 *
+	 * @param httpResponse {@link HttpResponse} to create <b>HTTP</b> {@link Response} from
+	 * @return <b>HTTP</b> {@link Response} object
+	 */
+	private Response createResponse(HttpResponse<byte[]> httpResponse) {
+		MultivaluedMap<String, String> headers = createHeaders();
+		for (Map.Entry<String, List<String>> header : httpResponse.headers().map().entrySet()) {
+			if (header.getKey().startsWith(":")) {
+				continue;
+			}
+			headers.addAll(header.getKey(), header.getValue());
+		}
+		return new HttpClientResponse(httpResponse.statusCode(), headers, httpResponse.body(), codec);
+	}
+
+	/**
+	 * Creates empty case-insensitive <b>HTTP</b> headers map
+	 *
+	 * @return empty case-insensitive <b>HTTP</b> headers map
+	 */
+	private static MultivaluedMap<String, String> createHeaders() {
+		return new AbstractMultivaluedMap<String, String>(new TreeMap<>(String.CASE_INSENSITIVE_ORDER)) {
+		};
+	}
+
+	/**
+	 * Asynchronously sends the given <b>HTTP</b> {@link Request} and supplies the
+	 * {@link Request} consumers with the outcome
+	 * <p>
+	 * Returns future {@link Optional} <b>HTTP</b> {@link Response}
+	 *
+	 * @param method  <b>HTTP</b> method
+	 * @param request <b>HTTP</b> {@link Request} to send
+	 * @return future {@link Optional} <b>HTTP</b> {@link Response}
+	 */
+	private CompletableFuture<Optional<Response>> invoke(String method, Request request) {
+		HttpRequest httpRequest;
+		try {
+			httpRequest = createHttpRequest(method, request);
+		} catch (Exception e) {
+			request.getFailureConsumer().accept(e);
+			return CompletableFuture.completedFuture(Optional.empty());
+		}
+		return client.sendAsync(httpRequest, createBodyHandler(request))
+				.handle((httpResponse, throwable) -> {
+					if (nonNull(throwable)) {
+						Throwable cause = unwrap(throwable);
+						request.getFailureConsumer().accept(cause);
+						if (cause instanceof HttpTimeoutException) {
+							return Optional.<Response>of(new HttpClientResponse(Response.Status.REQUEST_TIMEOUT.getStatusCode(),
+									createHeaders(), null, codec));
+						}
+						return Optional.empty();
+					}
+					Response response = createResponse(httpResponse);
+					if (RestClient.isSuccessful(response)) {
+						request.getSuccessConsumer().accept(response);
+					} else {
+						if (response.getStatus() == Response.Status.NOT_FOUND.getStatusCode()) {
+							request.getNotFoundConsumer().accept(response);
+						}
+						request.getUnsuccessfulResponseConsumer().accept(response);
+					}
+					return Optional.of(response);
+				});
+	}
+
+	/**
+	 * Creates {@link HttpResponse.BodyHandler} for the given <b>HTTP</b> {@link Request}
+	 * <p>
+	 * Limits the response entity size, if the maximum allowed entity size is set either
+	 * for the given <b>HTTP</b> {@link Request} or for this client
+	 *
+	 * @param request <b>HTTP</b> {@link Request}
+	 * @return {@link HttpResponse.BodyHandler} object
+	 */
+	private HttpResponse.BodyHandler<byte[]> createBodyHandler(Request request) {
+		long limit = nonNull(request.getMaxEntitySize()) ? request.getMaxEntitySize() : maxEntitySize;
+		if (limit < 0) {
+			return HttpResponse.BodyHandlers.ofByteArray();
+		}
+		return responseInfo -> {
+			long contentLength = -1;
+			Optional<String> header = responseInfo.headers().firstValue(HttpHeaders.CONTENT_LENGTH);
+			if (header.isPresent()) {
+				try {
+					contentLength = Long.parseLong(header.get().trim());
+				} catch (NumberFormatException ignored) {
+				}
+			}
+			return new EntitySizeLimitSubscriber(limit, contentLength);
+		};
+	}
+
+	/**
+	 * Returns the cause of the given exception thrown by {@link HttpClient}
+	 * <p>
+	 * Returns {@link EntityTooLargeException} from the cause chain, if any, otherwise unwraps
+	 * {@link CompletionException}
+	 *
+	 * @param throwable exception to unwrap
+	 * @return the cause of the given exception
+	 */
+	private static Throwable unwrap(Throwable throwable) {
+		for (Throwable cause = throwable; nonNull(cause); cause = cause.getCause()) {
+			if (cause instanceof EntityTooLargeException) {
+				return cause;
+			}
+		}
+		return throwable instanceof CompletionException && nonNull(throwable.getCause())
+				? throwable.getCause()
+				: throwable;
+	}
+
+	/**
+	 * Reads and returns <b>HTTP</b> {@link Response} entity
+	 *
+	 * @param request     <b>HTTP</b> {@link Request}
+	 * @param response    <b>HTTP</b> {@link Response}
+	 * @param genericType <b>HTTP</b> {@link Response} entity generic type
+	 * @param <T>         type of <b>HTTP</b> {@link Response} entity
+	 * @return <b>HTTP</b> {@link Response} entity
+	 */
+	private <T> Optional<T> readResponseEntity(Request request, Response response, GenericType<T> genericType) {
+		Object entity = response.getEntity();
+		if (isNull(entity)) {
+			return Optional.empty();
+		}
+		try {
+			return Optional.ofNullable(codec.decode((byte[]) entity, genericType, response.getMediaType()));
+		} catch (Exception e) {
+			request.getFailureConsumer().accept(e);
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Waits for the given future to complete and returns its result
+	 * <p>
+	 * Rethrows {@link RuntimeException} the future completed exceptionally with
+	 *
+	 * @param future future to wait for
+	 * @param <T>    type of future result
+	 * @return future result
+	 */
+	private static <T> T join(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+}
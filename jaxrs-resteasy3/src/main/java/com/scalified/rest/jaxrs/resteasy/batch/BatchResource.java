@@ -0,0 +1,448 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.resteasy.batch;
+
+import com.scalified.rest.jaxrs.batch.BatchRequest;
+import com.scalified.rest.jaxrs.error.ErrorResponse;
+import com.scalified.rest.jaxrs.error.ErrorResponses;
+import com.scalified.rest.jaxrs.error.MultiStatusOutput;
+import com.scalified.rest.jaxrs.error.MultiStatusWriter;
+import org.jboss.resteasy.core.Dispatcher;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.spi.HttpRequest;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.*;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A resource accepting a batch of sub-requests in a single <b>HTTP</b> call
+ * <p>
+ * Sub-requests are dispatched in-process to the application resources through the
+ * <b>Resteasy</b> {@link Dispatcher}, in parallel with bounded concurrency. Results are
+ * streamed back in the <b>Multi-Status</b> response as each sub-request finishes, see
+ * {@link MultiStatusOutput}
+ * <p>
+ * Sub-requests run with the {@link SecurityContext} of the batch request, and the
+ * {@link HttpHeaders#AUTHORIZATION} and {@link HttpHeaders#COOKIE} headers of the batch request
+ * replace those of sub-requests, so that sub-requests are authorized as the batch caller.
+ * Batch requests nested in sub-requests are rejected, whichever path they are sent to
+ * <p>
+ * The resource is bound to {@code /batch}. Subclass it and annotate the subclass with
+ * {@link Path} to bind it to another path. It is recommended to register the resource
+ * as a singleton
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+@Path("batch")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class BatchResource {
+
+	/**
+	 * Default maximum number of sub-requests dispatched concurrently
+	 */
+	public static final int DEFAULT_PARALLELISM = 8;
+
+	/**
+	 * Default maximum number of sub-requests in a single batch
+	 */
+	public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+	/**
+	 * Empty annotations
+	 */
+	private static final Annotation[] ANNOTATIONS = new Annotation[0];
+
+	/**
+	 * Request attribute marking sub-requests dispatched by the batch
+	 */
+	private static final String SUB_REQUEST_ATTRIBUTE = "com.scalified.rest.batch.subRequest";
+
+	/**
+	 * Batch request headers, which replace the headers of sub-requests
+	 */
+	private static final List<String> PROPAGATED_HEADERS = Arrays.asList(HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE);
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = Logger.getLogger(BatchResource.class.getName());
+
+	/**
+	 * Executor, used to dispatch sub-requests
+	 */
+	private final Executor executor;
+
+	/**
+	 * Maximum number of sub-requests dispatched concurrently within a single batch
+	 */
+	private final int parallelism;
+
+	/**
+	 * Maximum number of sub-requests in a single batch
+	 */
+	private final int maxBatchSize;
+
+	/**
+	 * Creates {@link BatchResource} instance dispatching sub-requests on the dedicated bounded
+	 * executor, shared by all instances created with this constructor, with default limits
+	 * <p>
+	 * Sub-requests submitted while the executor queue is full fail with
+	 * {@link Response.Status#SERVICE_UNAVAILABLE} status
+	 */
+	public BatchResource() {
+		this(DefaultExecutor.INSTANCE, DEFAULT_PARALLELISM, DEFAULT_MAX_BATCH_SIZE);
+	}
+
+	/**
+	 * Creates {@link BatchResource} instance
+	 * <p>
+	 * The given executor must run sub-requests on its own threads, rather than on the calling
+	 * thread, since dispatching replaces the request context of the running thread. Sub-requests
+	 * rejected by the executor fail with {@link Response.Status#SERVICE_UNAVAILABLE} status
+	 *
+	 * @param executor     executor, used to dispatch sub-requests
+	 * @param parallelism  maximum number of sub-requests dispatched concurrently within a single batch
+	 * @param maxBatchSize maximum number of sub-requests in a single batch
+	 */
+	public BatchResource(Executor executor, int parallelism, int maxBatchSize) {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+		}
+		this.executor = executor;
+		this.parallelism = parallelism;
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * Dispatches the given sub-requests and streams back their results in the
+	 * <b>Multi-Status</b> response
+	 *
+	 * @param requests        sub-requests to dispatch
+	 * @param dispatcher      <b>Resteasy</b> dispatcher
+	 * @param providers       providers, used to serialize sub-request bodies
+	 * @param uriInfo         batch request {@link UriInfo}
+	 * @param httpRequest     batch request
+	 * @param securityContext batch request {@link SecurityContext}
+	 * @return <b>Multi-Status</b> response
+	 * @throws WebApplicationException if sub-requests are missing, batch size exceeds the limit
+	 *                                 or the batch is nested in another batch
+	 */
+	@POST
+	public Response dispatch(List<BatchRequest> requests, @Context Dispatcher dispatcher,
+	                         @Context Providers providers, @Context UriInfo uriInfo,
+	                         @Context HttpRequest httpRequest, @Context SecurityContext securityContext) {
+		if (Objects.isNull(requests) || Objects.nonNull(httpRequest.getAttribute(SUB_REQUEST_ATTRIBUTE))) {
+			throw new WebApplicationException(ErrorResponses.of(Response.Status.BAD_REQUEST));
+		}
+		if (requests.size() > maxBatchSize) {
+			throw new WebApplicationException(ErrorResponses.of(Response.Status.REQUEST_ENTITY_TOO_LARGE));
+		}
+		BatchContext context = new BatchContext(dispatcher, providers, uriInfo.getBaseUri(),
+				normalize(uriInfo.getAbsolutePath().getRawPath()), securityContext, propagatedHeaders(httpRequest));
+		return MultiStatusOutput.response(providers, writer -> {
+			Semaphore permits = new Semaphore(parallelism);
+			List<CompletableFuture<Void>> futures = new ArrayList<>(requests.size());
+			try {
+				for (BatchRequest request : requests) {
+					permits.acquire();
+					try {
+						futures.add(CompletableFuture.runAsync(() -> {
+							try {
+								dispatch(request, context, writer);
+							} finally {
+								permits.release();
+							}
+						}, executor));
+					} catch (RejectedExecutionException e) {
+						permits.release();
+						writer.write(request.getId(), new ErrorResponse(Response.Status.SERVICE_UNAVAILABLE));
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException(e);
+			} finally {
+				CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).exceptionally(e -> null).join();
+			}
+		});
+	}
+
+	/**
+	 * Dispatches the given sub-request and writes its result
+	 *
+	 * @param request sub-request to dispatch
+	 * @param context batch context
+	 * @param writer  {@link MultiStatusWriter} to write result to
+	 */
+	private static void dispatch(BatchRequest request, BatchContext context, MultiStatusWriter writer) {
+		String id = request.getId();
+		try {
+			if (Objects.isNull(request.getMethod()) || Objects.isNull(request.getPath())) {
+				writer.write(id, new ErrorResponse(Response.Status.BAD_REQUEST, "Sub-request method and path are required"));
+				return;
+			}
+			String path = request.getPath().startsWith("//") ? request.getPath().replaceFirst("^/+", "/") : request.getPath();
+			URI uri = context.baseUri.resolve(path).normalize();
+			if (context.batchPath.equals(normalize(uri.getRawPath()))) {
+				writer.write(id, new ErrorResponse(Response.Status.BAD_REQUEST, "Nested batch requests are not supported"));
+				return;
+			}
+			MockHttpRequest httpRequest = MockHttpRequest.create(request.getMethod(), uri, context.baseUri);
+			if (Objects.nonNull(request.getHeaders())) {
+				for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+					if (!context.headers.containsKey(header.getKey().toLowerCase(Locale.ROOT))) {
+						httpRequest.header(header.getKey(), header.getValue());
+					}
+				}
+			}
+			for (Map.Entry<String, List<String>> header : context.headers.entrySet()) {
+				for (String value : header.getValue()) {
+					httpRequest.header(header.getKey(), value);
+				}
+			}
+			httpRequest.setAttribute(SUB_REQUEST_ATTRIBUTE, Boolean.TRUE);
+			if (Objects.nonNull(request.getBody())) {
+				httpRequest.content(serialize(request.getBody(), context.providers));
+			}
+			MockHttpResponse httpResponse = new MockHttpResponse();
+			if (Objects.nonNull(context.securityContext)) {
+				ResteasyProviderFactory.pushContext(SecurityContext.class, context.securityContext);
+			}
+			context.dispatcher.invoke(httpRequest, httpResponse);
+			write(id, httpResponse, writer);
+		} catch (Exception e) {
+			LOGGER.log(Level.WARNING, "Failed to dispatch batch sub-request " + id, e);
+			try {
+				writer.write(id, new ErrorResponse(Response.Status.INTERNAL_SERVER_ERROR));
+			} catch (IOException ex) {
+				throw new RuntimeException(ex);
+			}
+		}
+	}
+
+	/**
+	 * Returns the batch request headers, which replace the headers of sub-requests
+	 *
+	 * @param httpRequest batch request
+	 * @return map of lowercase header names to their values
+	 */
+	private static Map<String, List<String>> propagatedHeaders(HttpRequest httpRequest) {
+		Map<String, List<String>> headers = new HashMap<>();
+		for (String name : PROPAGATED_HEADERS) {
+			List<String> values = httpRequest.getHttpHeaders().getRequestHeader(name);
+			if (Objects.nonNull(values) && !values.isEmpty()) {
+				headers.put(name.toLowerCase(Locale.ROOT), values);
+			}
+		}
+		return headers;
+	}
+
+	/**
+	 * Returns the given path with duplicate and trailing slashes removed
+	 *
+	 * @param path path to normalize
+	 * @return normalized path
+	 */
+	private static String normalize(String path) {
+		String normalized = path.replaceAll("/{2,}", "/");
+		return normalized.length() > 1 && normalized.endsWith("/")
+				? normalized.substring(0, normalized.length() - 1)
+				: normalized;
+	}
+
+	/**
+	 * Serializes the given sub-request body
+	 * <p>
+	 * {@link String} body is used as is, any other body is serialized with the <b>JSON</b> provider
+	 *
+	 * @param body      sub-request body
+	 * @param providers providers, used to serialize body
+	 * @return serialized body
+	 * @throws IOException if an IO error arises
+	 */
+	@SuppressWarnings("unchecked")
+	private static byte[] serialize(Object body, Providers providers) throws IOException {
+		if (body instanceof String) {
+			return ((String) body).getBytes(StandardCharsets.UTF_8);
+		}
+		Class<Object> type = (Class<Object>) body.getClass();
+		MessageBodyWriter<Object> bodyWriter =
+				providers.getMessageBodyWriter(type, type, ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE);
+		if (Objects.isNull(bodyWriter)) {
+			throw new IOException("No writer found for sub-request body type: " + type.getName());
+		}
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		bodyWriter.writeTo(body, type, type, ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE,
+				new MultivaluedHashMap<>(), output);
+		return output.toByteArray();
+	}
+
+	/**
+	 * Writes the result of the sub-request
+	 * <p>
+	 * <b>JSON</b> response bodies are embedded as is, any other bodies are embedded as
+	 * <b>JSON</b> strings
+	 *
+	 * @param id           sub-request identifier
+	 * @param httpResponse sub-request response
+	 * @param writer       {@link MultiStatusWriter} to write result to
+	 * @throws IOException if an IO error arises
+	 */
+	private static void write(String id, MockHttpResponse httpResponse, MultiStatusWriter writer) throws IOException {
+		int status = httpResponse.getStatus();
+		if (httpResponse.isErrorSent()) {
+			ErrorResponse errorResponse = new ErrorResponse();
+			errorResponse.setCode(status);
+			errorResponse.setMessage(httpResponse.getErrorMessage());
+			writer.write(id, errorResponse);
+			return;
+		}
+		byte[] output = httpResponse.getOutput();
+		if (output.length == 0) {
+			writer.write(id, status, null);
+			return;
+		}
+		Object contentType = httpResponse.getOutputHeaders().getFirst(HttpHeaders.CONTENT_TYPE);
+		MediaType mediaType = Objects.isNull(contentType) ? null : MediaType.valueOf(String.valueOf(contentType));
+		if (Objects.nonNull(mediaType) && (MediaType.APPLICATION_JSON_TYPE.isCompatible(mediaType)
+				|| mediaType.getSubtype().endsWith("+json"))) {
+			writer.writeRaw(id, status, output);
+		} else {
+			writer.writeText(id, status, new String(output, StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * A context of the batch request shared by its sub-requests
+	 */
+	private static final class BatchContext {
+
+		/**
+		 * <b>Resteasy</b> dispatcher
+		 */
+		private final Dispatcher dispatcher;
+
+		/**
+		 * Providers, used to serialize sub-request bodies
+		 */
+		private final Providers providers;
+
+		/**
+		 * Application base {@link URI}
+		 */
+		private final URI baseUri;
+
+		/**
+		 * Normalized batch resource path
+		 */
+		private final String batchPath;
+
+		/**
+		 * Batch request {@link SecurityContext}, may be <b>null</b>
+		 */
+		private final SecurityContext securityContext;
+
+		/**
+		 * Batch request headers, which replace the headers of sub-requests, by lowercase names
+		 */
+		private final Map<String, List<String>> headers;
+
+		/**
+		 * Creates {@link BatchContext} instance
+		 *
+		 * @param dispatcher      <b>Resteasy</b> dispatcher
+		 * @param providers       providers, used to serialize sub-request bodies
+		 * @param baseUri         application base {@link URI}
+		 * @param batchPath       normalized batch resource path
+		 * @param securityContext batch request {@link SecurityContext}, may be <b>null</b>
+		 * @param headers         batch request headers, which replace the headers of sub-requests
+		 */
+		private BatchContext(Dispatcher dispatcher, Providers providers, URI baseUri, String batchPath,
+		                     SecurityContext securityContext, Map<String, List<String>> headers) {
+			this.dispatcher = dispatcher;
+			this.providers = providers;
+			this.baseUri = baseUri;
+			this.batchPath = batchPath;
+			this.securityContext = securityContext;
+			this.headers = headers;
+		}
+
+	}
+
+	/**
+	 * Holder of the default executor, created on first use
+	 */
+	private static final class DefaultExecutor {
+
+		/**
+		 * Maximum number of tasks waiting for a thread, submitted tasks are rejected when reached
+		 */
+		private static final int QUEUE_CAPACITY = 1024;
+
+		/**
+		 * Default executor, running up to twice as many daemon threads as available processors
+		 */
+		private static final ExecutorService INSTANCE = create();
+
+		/**
+		 * Creates the default executor
+		 *
+		 * @return the default executor
+		 */
+		private static ExecutorService create() {
+			int threads = Math.max(DEFAULT_PARALLELISM, Runtime.getRuntime().availableProcessors() * 2);
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+					new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+				Thread thread = new Thread(runnable, "batch-dispatcher");
+				thread.setDaemon(true);
+				return thread;
+			}, new ThreadPoolExecutor.AbortPolicy());
+			executor.allowCoreThreadTimeOut(true);
+			return executor;
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,431 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.scalified.rest.jaxrs.resteasy.multipart;
+
+import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A handle of the file part extracted from {@link javax.ws.rs.core.MediaType#MULTIPART_FORM_DATA}
+ * <p>
+ * Small files are kept in memory, whereas files exceeding the memory threshold are spooled to
+ * temporary files. Temporary files are deleted when the handle is closed, after which the
+ * content must not be accessed
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class MultipartFile implements AutoCloseable {
+
+	/**
+	 * Size of the chunk used to transfer content
+	 */
+	static final int CHUNK_SIZE = 8192;
+
+	/**
+	 * Maximum size of the content kept in memory
+	 */
+	private static final int MAX_MEMORY_THRESHOLD = Integer.MAX_VALUE - 8;
+
+	/**
+	 * Temporary file prefix
+	 */
+	private static final String TEMP_FILE_PREFIX = "multipart-";
+
+	/**
+	 * Temporary file suffix
+	 */
+	private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+	/**
+	 * File name
+	 */
+	private final String name;
+
+	/**
+	 * File media type, {@code null} if not specified
+	 */
+	private final MediaType mediaType;
+
+	/**
+	 * File size in bytes
+	 */
+	private final long size;
+
+	/**
+	 * Digest algorithm name to digest entries
+	 */
+	private final Map<String, byte[]> digests;
+
+	/**
+	 * Media type sniffed by magic numbers, {@code null} if not sniffed or not recognized
+	 */
+	private final MediaType sniffedMediaType;
+
+	/**
+	 * In memory content, {@code null} if spooled to file
+	 */
+	private byte[] content;
+
+	/**
+	 * Path of the temporary file, {@code null} if kept in memory
+	 */
+	private Path path;
+
+	/**
+	 * Directory to create temporary files in, {@code null} for the default one
+	 */
+	private final Path directory;
+
+	/**
+	 * Indicates whether the file has been closed
+	 */
+	private final AtomicBoolean closed = new AtomicBoolean();
+
+	/**
+	 * Creates {@link MultipartFile} instance
+	 *
+	 * @param name      file name
+	 * @param mediaType file media type, {@code null} if not specified
+	 * @param size      file size in bytes
+	 * @param inspector inspector of the file content
+	 * @param content   in memory content, {@code null} if spooled to file
+	 * @param path      path of the temporary file, {@code null} if kept in memory
+	 * @param directory directory to create temporary files in, {@code null} for the default one
+	 */
+	private MultipartFile(String name, MediaType mediaType, long size, MultipartInspector inspector,
+	                      byte[] content, Path path, Path directory) {
+		this.name = name;
+		this.mediaType = mediaType;
+		this.size = size;
+		this.digests = inspector.digests();
+		this.sniffedMediaType = inspector.sniffed();
+		this.content = content;
+		this.path = path;
+		this.directory = directory;
+	}
+
+	/**
+	 * Returns file name
+	 *
+	 * @return file name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns file media type
+	 *
+	 * @return file media type, {@code null} if not specified
+	 */
+	public MediaType getMediaType() {
+		return mediaType;
+	}
+
+	/**
+	 * Returns file size in bytes
+	 *
+	 * @return file size in bytes
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns file digests computed while the content was extracted
+	 * <p>
+	 * The digest arrays are shared and must not be modified
+	 *
+	 * @return unmodifiable map containing digest algorithm name to digest entries,
+	 * empty if no digests configured
+	 * @see MultipartOptions.Builder#digests(String...)
+	 */
+	public Map<String, byte[]> getDigests() {
+		return digests;
+	}
+
+	/**
+	 * Returns file digest computed by the given algorithm
+	 *
+	 * @param algorithm digest algorithm name
+	 * @return optional file digest, empty if the given algorithm is not configured
+	 * @see MultipartOptions.Builder#digests(String...)
+	 */
+	public Optional<byte[]> getDigest(String algorithm) {
+		byte[] digest = digests.get(algorithm);
+		return Optional.ofNullable(digest).map(byte[]::clone);
+	}
+
+	/**
+	 * Returns file media type sniffed by magic numbers
+	 * <p>
+	 * Unlike {@link #getMediaType()}, which is declared by the client, the sniffed media type
+	 * is detected from the leading bytes of the content
+	 *
+	 * @return optional sniffed media type, empty if sniffing is disabled or the content is not recognized
+	 * @see MultipartOptions.Builder#sniffing()
+	 */
+	public Optional<MediaType> getSniffedMediaType() {
+		return Optional.ofNullable(sniffedMediaType);
+	}
+
+	/**
+	 * Checks whether the file content is kept in memory
+	 *
+	 * @return {@code true} if the file content is kept in memory, {@code false} if spooled to file
+	 */
+	public synchronized boolean isInMemory() {
+		return Objects.nonNull(content);
+	}
+
+	/**
+	 * Returns {@link InputStream} reading the file content
+	 * <p>
+	 * Each call returns a new {@link InputStream}, which must be closed by the caller
+	 *
+	 * @return {@link InputStream} reading the file content
+	 * @throws IllegalStateException if the file has been closed
+	 * @throws RuntimeException      if opening the temporary file was unsuccessful
+	 */
+	public synchronized InputStream getInputStream() {
+		checkNotClosed();
+		if (Objects.nonNull(content)) {
+			return new ByteArrayInputStream(content, 0, (int) size);
+		}
+		try {
+			return Files.newInputStream(path);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Returns {@link Path} of the file content
+	 * <p>
+	 * If the file content is kept in memory, it is spooled to the temporary file
+	 * on the first call. The returned {@link Path} is deleted when the file is closed,
+	 * hence it must be moved or copied in order to be kept
+	 *
+	 * @return {@link Path} of the file content
+	 * @throws IllegalStateException if the file has been closed
+	 * @throws RuntimeException      if spooling to the temporary file was unsuccessful
+	 */
+	public synchronized Path getPath() {
+		checkNotClosed();
+		if (Objects.isNull(path)) {
+			Path spooled = null;
+			try {
+				spooled = createTempFile(directory);
+				try (FileChannel channel = FileChannel.open(spooled, StandardOpenOption.WRITE)) {
+					write(channel, ByteBuffer.wrap(content, 0, (int) size));
+				}
+			} catch (IOException e) {
+				delete(spooled);
+				throw new RuntimeException(e);
+			}
+			path = spooled;
+			content = null;
+		}
+		return path;
+	}
+
+	/**
+	 * Releases the file content and deletes the temporary file, if any
+	 * <p>
+	 * Subsequent calls have no effect
+	 */
+	@Override
+	public synchronized void close() {
+		if (closed.compareAndSet(false, true)) {
+			content = null;
+			delete(path);
+		}
+	}
+
+	/**
+	 * Returns a string representation of the object. In general, the
+	 * {@code toString} method returns a string that
+	 * "textually represents" this object. The result should
+	 * be a concise but informative representation that is easy for a
+	 * person to read.
+	 *
+	 * @return a string representation of the object.
+	 */
+	@Override
+	public String toString() {
+		return "MultipartFile{" +
+				"name='" + name + '\'' +
+				", mediaType=" + mediaType +
+				", size=" + size +
+				", sniffedMediaType=" + sniffedMediaType +
+				", inMemory=" + isInMemory() +
+				'}';
+	}
+
+	/**
+	 * Checks whether the file has not been closed
+	 *
+	 * @throws IllegalStateException if the file has been closed
+	 */
+	private void checkNotClosed() {
+		if (closed.get()) {
+			throw new IllegalStateException("Multipart file has already been closed");
+		}
+	}
+
+	/**
+	 * Reads the given {@link InputStream} into {@link MultipartFile}
+	 * <p>
+	 * Keeps the content in memory until it exceeds the memory threshold, after which
+	 * the content read so far and the rest of the stream are written to the temporary file
+	 * through {@link FileChannel}. Each chunk is inspected before it is stored, hence the
+	 * extraction stops as soon as the file exceeds the maximum allowed size
+	 *
+	 * @param name      file name
+	 * @param mediaType file media type, {@code null} if not specified
+	 * @param input     {@link InputStream} to read from
+	 * @param options   extraction options
+	 * @return {@link MultipartFile} holding the read content
+	 * @throws IOException                    if an I/O error occurs
+	 * @throws MultipartFileTooLargeException if the file exceeds the maximum allowed size
+	 */
+	static MultipartFile spool(String name, MediaType mediaType, InputStream input,
+	                           MultipartOptions options) throws IOException {
+		MultipartInspector inspector = new MultipartInspector(name, options);
+		int threshold = (int) Math.max(0, Math.min(options.getMemoryThreshold(), MAX_MEMORY_THRESHOLD));
+		byte[] chunk = new byte[CHUNK_SIZE];
+		byte[] memory = new byte[Math.min(threshold, CHUNK_SIZE)];
+		int count = 0;
+		int read;
+		while ((read = input.read(chunk)) != -1) {
+			inspector.update(chunk, 0, read);
+			if (count + (long) read > threshold) {
+				return spool(name, mediaType, input, options.getDirectory(), inspector, memory, count, chunk, read);
+			}
+			if (count + read > memory.length) {
+				memory = Arrays.copyOf(memory, (int) Math.min(threshold, Math.max(count + read, 2L * memory.length)));
+			}
+			System.arraycopy(chunk, 0, memory, count, read);
+			count += read;
+		}
+		return new MultipartFile(name, mediaType, count, inspector, memory, null, options.getDirectory());
+	}
+
+	/**
+	 * Writes the given in memory content, the given chunk and the rest of the given
+	 * {@link InputStream} to the temporary file
+	 *
+	 * @param name      file name
+	 * @param mediaType file media type, {@code null} if not specified
+	 * @param input     {@link InputStream} to read the rest from
+	 * @param directory directory to create temporary files in, {@code null} for the default one
+	 * @param inspector inspector of the file content, which has already inspected the given chunk
+	 * @param memory    in memory content read so far
+	 * @param count     number of bytes in the in memory content
+	 * @param chunk     reusable chunk, holding the last read bytes
+	 * @param read      number of the last read bytes
+	 * @return {@link MultipartFile} holding the read content
+	 * @throws IOException                    if an I/O error occurs
+	 * @throws MultipartFileTooLargeException if the file exceeds the maximum allowed size
+	 */
+	private static MultipartFile spool(String name, MediaType mediaType, InputStream input, Path directory,
+	                                   MultipartInspector inspector, byte[] memory, int count, byte[] chunk,
+	                                   int read) throws IOException {
+		Path path = createTempFile(directory);
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+			long size = write(channel, ByteBuffer.wrap(memory, 0, count));
+			ByteBuffer buffer = ByteBuffer.wrap(chunk);
+			do {
+				buffer.clear().limit(read);
+				size += write(channel, buffer);
+				read = input.read(chunk);
+				if (read != -1) {
+					inspector.update(chunk, 0, read);
+				}
+			} while (read != -1);
+			return new MultipartFile(name, mediaType, size, inspector, null, path, directory);
+		} catch (IOException | RuntimeException e) {
+			delete(path);
+			throw e;
+		}
+	}
+
+	/**
+	 * Writes all remaining bytes of the given {@link ByteBuffer} to the given {@link FileChannel}
+	 *
+	 * @param channel {@link FileChannel} to write to
+	 * @param buffer  {@link ByteBuffer} to write
+	 * @return number of written bytes
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static int write(FileChannel channel, ByteBuffer buffer) throws IOException {
+		int count = buffer.remaining();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		return count;
+	}
+
+	/**
+	 * Creates temporary file in the given directory
+	 *
+	 * @param directory directory to create temporary file in, {@code null} for the default one
+	 * @return created temporary file
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static Path createTempFile(Path directory) throws IOException {
+		return Objects.isNull(directory)
+				? Files.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX)
+				: Files.createTempFile(directory, TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+	}
+
+	/**
+	 * Deletes the given temporary file quietly
+	 *
+	 * @param path temporary file to delete, may be {@code null}
+	 */
+	private static void delete(Path path) {
+		if (Objects.nonNull(path)) {
+			try {
+				Files.deleteIfExists(path);
+			} catch (IOException ignored) {
+			}
+		}
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.scalified.rest.jaxrs.resteasy.multipart;
+
+import com.scalified.rest.jaxrs.error.ErrorResponses;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+
+/**
+ * Thrown when the file part of {@link javax.ws.rs.core.MediaType#MULTIPART_FORM_DATA}
+ * exceeds the maximum allowed size
+ * <p>
+ * Carries <b>HTTP 413 Request Entity Too Large</b> {@link Response}
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class MultipartFileTooLargeException extends WebApplicationException {
+
+	/**
+	 * Serial Version UID
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * File name
+	 */
+	private final String fileName;
+
+	/**
+	 * Maximum allowed file size in bytes
+	 */
+	private final long maxFileSize;
+
+	/**
+	 * Creates {@link MultipartFileTooLargeException} instance
+	 *
+	 * @param fileName    file name
+	 * @param maxFileSize maximum allowed file size in bytes
+	 */
+	public MultipartFileTooLargeException(String fileName, long maxFileSize) {
+		super("File '" + fileName + "' exceeds the maximum allowed size of " + maxFileSize + " bytes",
+				ErrorResponses.of(Response.Status.REQUEST_ENTITY_TOO_LARGE));
+		this.fileName = fileName;
+		this.maxFileSize = maxFileSize;
+	}
+
+	/**
+	 * Returns file name
+	 *
+	 * @return file name
+	 */
+	public String getFileName() {
+		return fileName;
+	}
+
+	/**
+	 * Returns maximum allowed file size in bytes
+	 *
+	 * @return maximum allowed file size in bytes
+	 */
+	public long getMaxFileSize() {
+		return maxFileSize;
+	}
+
+}
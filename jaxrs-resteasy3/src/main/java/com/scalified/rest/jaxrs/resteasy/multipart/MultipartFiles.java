@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.scalified.rest.jaxrs.resteasy.multipart;
+
+import java.util.*;
+
+/**
+ * A collection of {@link MultipartFile} extracted from {@link javax.ws.rs.core.MediaType#MULTIPART_FORM_DATA}
+ * <p>
+ * Closing the collection closes all contained files and thus deletes their temporary files,
+ * hence it is expected to be used within <i>try-with-resources</i> statement
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class MultipartFiles implements Iterable<MultipartFile>, AutoCloseable {
+
+	/**
+	 * File name to file entries
+	 */
+	private final Map<String, MultipartFile> files = new LinkedHashMap<>();
+
+	/**
+	 * Creates {@link MultipartFiles} instance
+	 */
+	MultipartFiles() {
+	}
+
+	/**
+	 * Adds the given file, replacing and closing the previous file with the same name, if any
+	 *
+	 * @param file file to add
+	 */
+	void add(MultipartFile file) {
+		MultipartFile previous = files.put(file.getName(), file);
+		if (Objects.nonNull(previous)) {
+			previous.close();
+		}
+	}
+
+	/**
+	 * Returns the file with the given name
+	 *
+	 * @param name file name
+	 * @return optional file with the given name
+	 */
+	public Optional<MultipartFile> get(String name) {
+		return Optional.ofNullable(files.get(name));
+	}
+
+	/**
+	 * Returns unmodifiable map containing file name to file entries in the order of extraction
+	 *
+	 * @return unmodifiable map containing file name to file entries
+	 */
+	public Map<String, MultipartFile> asMap() {
+		return Collections.unmodifiableMap(files);
+	}
+
+	/**
+	 * Returns the number of files
+	 *
+	 * @return the number of files
+	 */
+	public int size() {
+		return files.size();
+	}
+
+	/**
+	 * Checks whether there are no files
+	 *
+	 * @return {@code true} if there are no files, {@code false} otherwise
+	 */
+	public boolean isEmpty() {
+		return files.isEmpty();
+	}
+
+	/**
+	 * Returns an iterator over the files in the order of extraction
+	 *
+	 * @return an iterator over the files
+	 */
+	@Override
+	public Iterator<MultipartFile> iterator() {
+		return asMap().values().iterator();
+	}
+
+	/**
+	 * Closes all files, deleting their temporary files
+	 * <p>
+	 * Subsequent calls have no effect
+	 */
+	@Override
+	public void close() {
+		files.values().forEach(MultipartFile::close);
+	}
+
+}
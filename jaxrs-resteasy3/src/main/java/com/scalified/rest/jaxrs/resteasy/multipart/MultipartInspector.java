@@ -0,0 +1,258 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.scalified.rest.jaxrs.resteasy.multipart;
+
+import com.scalified.rest.jaxrs.extension.ExtendedMediaType;
+
+import javax.ws.rs.core.MediaType;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Inspects the file part content incrementally while it streams through
+ * <p>
+ * Counts bytes, enforces the maximum allowed file size, updates digests and captures
+ * the leading bytes used to sniff the content type by magic numbers
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+final class MultipartInspector {
+
+	/**
+	 * Number of leading bytes captured for sniffing
+	 */
+	private static final int HEAD_SIZE = 16;
+
+	/**
+	 * Magic numbers in the order of checking
+	 */
+	private static final byte[][] MAGIC_NUMBERS = {
+			bytes("%PDF-"),
+			{(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A},
+			{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF},
+			bytes("GIF87a"),
+			bytes("GIF89a"),
+			{'R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P'},
+			{'I', 'I', '*', 0},
+			{'M', 'M', 0, '*'},
+			{'P', 'K', 0x03, 0x04},
+			{0x1F, (byte) 0x8B},
+			{'7', 'z', (byte) 0xBC, (byte) 0xAF, 0x27, 0x1C},
+			{'R', 'a', 'r', '!', 0x1A, 0x07},
+			{0, 0, 0, 0, 'f', 't', 'y', 'p'},
+			bytes("<?xml"),
+	};
+
+	/**
+	 * Masks of magic numbers, a zero byte matches any byte, {@code null} if all bytes must match
+	 */
+	private static final byte[][] MAGIC_MASKS = {
+			null,
+			null,
+			null,
+			null,
+			null,
+			{1, 1, 1, 1, 0, 0, 0, 0, 1, 1, 1, 1},
+			null,
+			null,
+			null,
+			null,
+			null,
+			null,
+			{0, 0, 0, 0, 1, 1, 1, 1},
+			null,
+	};
+
+	/**
+	 * Media types detected by magic numbers of the same index
+	 */
+	private static final MediaType[] MAGIC_MEDIA_TYPES = {
+			ExtendedMediaType.APPLICATION_PDF_TYPE,
+			new MediaType("image", "png"),
+			new MediaType("image", "jpeg"),
+			new MediaType("image", "gif"),
+			new MediaType("image", "gif"),
+			new MediaType("image", "webp"),
+			new MediaType("image", "tiff"),
+			new MediaType("image", "tiff"),
+			new MediaType("application", "zip"),
+			new MediaType("application", "gzip"),
+			new MediaType("application", "x-7z-compressed"),
+			new MediaType("application", "vnd.rar"),
+			new MediaType("video", "mp4"),
+			MediaType.APPLICATION_XML_TYPE,
+	};
+
+	/**
+	 * File name
+	 */
+	private final String name;
+
+	/**
+	 * Maximum allowed file size in bytes, negative if not limited
+	 */
+	private final long maxFileSize;
+
+	/**
+	 * Names of digest algorithms
+	 */
+	private final List<String> algorithms;
+
+	/**
+	 * Digests of the same index as the algorithm names
+	 */
+	private final MessageDigest[] digests;
+
+	/**
+	 * Captured leading bytes, {@code null} if sniffing is disabled
+	 */
+	private final byte[] head;
+
+	/**
+	 * Number of captured leading bytes
+	 */
+	private int headLength;
+
+	/**
+	 * Number of inspected bytes
+	 */
+	private long count;
+
+	/**
+	 * Creates {@link MultipartInspector} instance
+	 *
+	 * @param name    file name
+	 * @param options extraction options
+	 */
+	MultipartInspector(String name, MultipartOptions options) {
+		this.name = name;
+		this.maxFileSize = options.getMaxFileSize();
+		this.algorithms = options.getDigestAlgorithms();
+		this.digests = new MessageDigest[algorithms.size()];
+		for (int i = 0; i < digests.length; i++) {
+			try {
+				digests[i] = MessageDigest.getInstance(algorithms.get(i));
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+		this.head = options.isSniffing() ? new byte[HEAD_SIZE] : null;
+	}
+
+	/**
+	 * Inspects the given chunk of the file content
+	 *
+	 * @param bytes  chunk bytes
+	 * @param offset chunk offset
+	 * @param length chunk length
+	 * @throws MultipartFileTooLargeException if the file exceeds the maximum allowed size
+	 */
+	void update(byte[] bytes, int offset, int length) {
+		count += length;
+		if (maxFileSize >= 0 && count > maxFileSize) {
+			throw new MultipartFileTooLargeException(name, maxFileSize);
+		}
+		for (MessageDigest digest : digests) {
+			digest.update(bytes, offset, length);
+		}
+		if (Objects.nonNull(head) && headLength < head.length) {
+			int captured = Math.min(length, head.length - headLength);
+			System.arraycopy(bytes, offset, head, headLength, captured);
+			headLength += captured;
+		}
+	}
+
+	/**
+	 * Returns computed digests
+	 * <p>
+	 * Must be called once the whole file content has been inspected
+	 *
+	 * @return unmodifiable map containing digest algorithm name to digest entries
+	 */
+	Map<String, byte[]> digests() {
+		if (digests.length == 0) {
+			return Collections.emptyMap();
+		}
+		Map<String, byte[]> result = new LinkedHashMap<>(digests.length * 2);
+		for (int i = 0; i < digests.length; i++) {
+			result.put(algorithms.get(i), digests[i].digest());
+		}
+		return Collections.unmodifiableMap(result);
+	}
+
+	/**
+	 * Returns media type sniffed by magic numbers
+	 *
+	 * @return sniffed media type, {@code null} if sniffing is disabled or the content is not recognized
+	 */
+	MediaType sniffed() {
+		if (Objects.isNull(head)) {
+			return null;
+		}
+		for (int i = 0; i < MAGIC_NUMBERS.length; i++) {
+			if (matches(MAGIC_NUMBERS[i], MAGIC_MASKS[i])) {
+				return MAGIC_MEDIA_TYPES[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Checks whether the captured leading bytes match the given magic number
+	 *
+	 * @param magic magic number
+	 * @param mask  magic number mask, {@code null} if all bytes must match
+	 * @return {@code true} if the captured leading bytes match, {@code false} otherwise
+	 */
+	private boolean matches(byte[] magic, byte[] mask) {
+		if (headLength < magic.length) {
+			return false;
+		}
+		for (int i = 0; i < magic.length; i++) {
+			if ((Objects.isNull(mask) || mask[i] != 0) && head[i] != magic[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns <b>US-ASCII</b> bytes of the given {@link String}
+	 *
+	 * @param value {@link String} to return bytes of
+	 * @return <b>US-ASCII</b> bytes of the given {@link String}
+	 */
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.US_ASCII);
+	}
+
+}
@@ -0,0 +1,257 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.scalified.rest.jaxrs.resteasy.multipart;
+
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Options of the file parts extraction from {@link javax.ws.rs.core.MediaType#MULTIPART_FORM_DATA}
+ * <p>
+ * Besides where the file content is kept, configures what is computed while the content
+ * streams through: digests, byte counts and magic-number content sniffing, as well as
+ * the maximum allowed file size, which is enforced as soon as the file exceeds it
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class MultipartOptions {
+
+	/**
+	 * Default maximum size in bytes of the file kept in memory
+	 */
+	public static final long DEFAULT_MEMORY_THRESHOLD = 1024 * 1024;
+
+	/**
+	 * Maximum size in bytes of the file kept in memory
+	 */
+	private final long memoryThreshold;
+
+	/**
+	 * Directory to create temporary files in, {@code null} for the default one
+	 */
+	private final Path directory;
+
+	/**
+	 * Names of digest algorithms to compute
+	 */
+	private final List<String> digestAlgorithms;
+
+	/**
+	 * Maximum allowed file size in bytes, negative if not limited
+	 */
+	private final long maxFileSize;
+
+	/**
+	 * Indicates whether file content type is sniffed by magic numbers
+	 */
+	private final boolean sniffing;
+
+	/**
+	 * Creates {@link MultipartOptions} instance
+	 *
+	 * @param builder {@link Builder} to create from
+	 */
+	private MultipartOptions(Builder builder) {
+		this.memoryThreshold = builder.memoryThreshold;
+		this.directory = builder.directory;
+		this.digestAlgorithms = Collections.unmodifiableList(new ArrayList<>(builder.digestAlgorithms));
+		this.maxFileSize = builder.maxFileSize;
+		this.sniffing = builder.sniffing;
+	}
+
+	/**
+	 * Returns the {@link MultipartOptions} builder
+	 *
+	 * @return {@link MultipartOptions} builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Returns maximum size in bytes of the file kept in memory
+	 *
+	 * @return maximum size in bytes of the file kept in memory
+	 */
+	public long getMemoryThreshold() {
+		return memoryThreshold;
+	}
+
+	/**
+	 * Returns directory to create temporary files in
+	 *
+	 * @return directory to create temporary files in, {@code null} for the default one
+	 */
+	public Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Returns unmodifiable list of digest algorithm names to compute
+	 *
+	 * @return unmodifiable list of digest algorithm names to compute
+	 */
+	public List<String> getDigestAlgorithms() {
+		return digestAlgorithms;
+	}
+
+	/**
+	 * Returns maximum allowed file size in bytes
+	 *
+	 * @return maximum allowed file size in bytes, negative if not limited
+	 */
+	public long getMaxFileSize() {
+		return maxFileSize;
+	}
+
+	/**
+	 * Checks whether file content type is sniffed by magic numbers
+	 *
+	 * @return {@code true} if file content type is sniffed, {@code false} otherwise
+	 */
+	public boolean isSniffing() {
+		return sniffing;
+	}
+
+	/**
+	 * {@link MultipartOptions} builder
+	 */
+	public static class Builder {
+
+		/**
+		 * Maximum size in bytes of the file kept in memory
+		 */
+		private long memoryThreshold = DEFAULT_MEMORY_THRESHOLD;
+
+		/**
+		 * Directory to create temporary files in, {@code null} for the default one
+		 */
+		private Path directory;
+
+		/**
+		 * Names of digest algorithms to compute
+		 */
+		private final LinkedHashSet<String> digestAlgorithms = new LinkedHashSet<>();
+
+		/**
+		 * Maximum allowed file size in bytes, negative if not limited
+		 */
+		private long maxFileSize = -1;
+
+		/**
+		 * Indicates whether file content type is sniffed by magic numbers
+		 */
+		private boolean sniffing;
+
+		/**
+		 * Creates {@link Builder} instance
+		 */
+		private Builder() {
+		}
+
+		/**
+		 * Sets maximum size in bytes of the file kept in memory, larger files are spooled
+		 * to temporary files
+		 *
+		 * @param memoryThreshold maximum size in bytes of the file kept in memory
+		 * @return {@link MultipartOptions} builder instance
+		 */
+		public Builder memoryThreshold(long memoryThreshold) {
+			this.memoryThreshold = memoryThreshold;
+			return this;
+		}
+
+		/**
+		 * Sets directory to create temporary files in
+		 *
+		 * @param directory directory to create temporary files in, {@code null} for the default one
+		 * @return {@link MultipartOptions} builder instance
+		 */
+		public Builder directory(Path directory) {
+			this.directory = directory;
+			return this;
+		}
+
+		/**
+		 * Adds digest algorithms to compute, such as {@code SHA-256}
+		 *
+		 * @param algorithms names of {@link MessageDigest} algorithms
+		 * @return {@link MultipartOptions} builder instance
+		 * @throws IllegalArgumentException if any of the given algorithms is not supported
+		 */
+		public Builder digests(String... algorithms) {
+			for (String algorithm : algorithms) {
+				try {
+					MessageDigest.getInstance(algorithm);
+				} catch (NoSuchAlgorithmException e) {
+					throw new IllegalArgumentException("Unsupported digest algorithm: " + algorithm, e);
+				}
+				digestAlgorithms.add(algorithm);
+			}
+			return this;
+		}
+
+		/**
+		 * Sets maximum allowed file size in bytes
+		 * <p>
+		 * Extraction fails with {@link MultipartFileTooLargeException} as soon as the file
+		 * exceeds the given size, without reading the rest of it
+		 *
+		 * @param maxFileSize maximum allowed file size in bytes, negative if not limited
+		 * @return {@link MultipartOptions} builder instance
+		 */
+		public Builder maxFileSize(long maxFileSize) {
+			this.maxFileSize = maxFileSize;
+			return this;
+		}
+
+		/**
+		 * Enables file content type sniffing by magic numbers
+		 *
+		 * @return {@link MultipartOptions} builder instance
+		 */
+		public Builder sniffing() {
+			this.sniffing = true;
+			return this;
+		}
+
+		/**
+		 * Builds and returns {@link MultipartOptions}
+		 *
+		 * @return {@link MultipartOptions}
+		 */
+		public MultipartOptions build() {
+			return new MultipartOptions(this);
+		}
+
+	}
+
+}
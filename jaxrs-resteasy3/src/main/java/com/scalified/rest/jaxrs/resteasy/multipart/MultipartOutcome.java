@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.scalified.rest.jaxrs.resteasy.multipart;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * An outcome of the file part processing by {@link MultipartProcessor}
+ * <p>
+ * Holds either processing result or the error, which occurred while the file
+ * was extracted or processed
+ *
+ * @param <T> type of processing result
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class MultipartOutcome<T> {
+
+	/**
+	 * File name
+	 */
+	private final String name;
+
+	/**
+	 * Processing result, {@code null} if failed
+	 */
+	private final T result;
+
+	/**
+	 * Error, {@code null} if succeeded
+	 */
+	private final Throwable error;
+
+	/**
+	 * Time taken to extract and process the file
+	 */
+	private final Duration duration;
+
+	/**
+	 * Creates {@link MultipartOutcome} instance
+	 *
+	 * @param name     file name
+	 * @param result   processing result, {@code null} if failed
+	 * @param error    error, {@code null} if succeeded
+	 * @param duration time taken to extract and process the file
+	 */
+	MultipartOutcome(String name, T result, Throwable error, Duration duration) {
+		this.name = name;
+		this.result = result;
+		this.error = error;
+		this.duration = duration;
+	}
+
+	/**
+	 * Returns file name
+	 *
+	 * @return file name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns processing result
+	 *
+	 * @return optional processing result, empty if failed or processor returned {@code null}
+	 */
+	public Optional<T> getResult() {
+		return Optional.ofNullable(result);
+	}
+
+	/**
+	 * Returns error, which occurred while the file was extracted or processed
+	 *
+	 * @return optional error, empty if succeeded
+	 */
+	public Optional<Throwable> getError() {
+		return Optional.ofNullable(error);
+	}
+
+	/**
+	 * Returns time taken to extract and process the file
+	 * <p>
+	 * Includes the time spent waiting for a free processing slot
+	 *
+	 * @return time taken to extract and process the file
+	 */
+	public Duration getDuration() {
+		return duration;
+	}
+
+	/**
+	 * Checks whether the file has been processed successfully
+	 *
+	 * @return {@code true} if the file has been processed successfully, {@code false} otherwise
+	 */
+	public boolean isSuccessful() {
+		return Objects.isNull(error);
+	}
+
+	/**
+	 * Returns a string representation of the object. In general, the
+	 * {@code toString} method returns a string that
+	 * "textually represents" this object. The result should
+	 * be a concise but informative representation that is easy for a
+	 * person to read.
+	 *
+	 * @return a string representation of the object.
+	 */
+	@Override
+	public String toString() {
+		return "MultipartOutcome{" +
+				"name='" + name + '\'' +
+				", result=" + result +
+				", error=" + error +
+				", duration=" + duration +
+				'}';
+	}
+
+}
@@ -0,0 +1,49 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.scalified.rest.jaxrs.resteasy.multipart;
+
+/**
+ * A processor of the file part extracted from {@link javax.ws.rs.core.MediaType#MULTIPART_FORM_DATA}
+ *
+ * @param <T> type of processing result
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface MultipartProcessor<T> {
+
+	/**
+	 * Processes the given file
+	 * <p>
+	 * The given file is closed once this method returns, hence its content, including
+	 * the temporary file, must not be accessed afterwards
+	 *
+	 * @param file file to process
+	 * @return processing result
+	 * @throws Exception if processing was unsuccessful
+	 */
+	T process(MultipartFile file) throws Exception;
+
+}
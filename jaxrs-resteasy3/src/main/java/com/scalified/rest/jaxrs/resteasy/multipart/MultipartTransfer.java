@@ -0,0 +1,272 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.scalified.rest.jaxrs.resteasy.multipart;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A result of the file part transfer from {@link javax.ws.rs.core.MediaType#MULTIPART_FORM_DATA}
+ * to the target {@link Path} or {@link WritableByteChannel}
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class MultipartTransfer {
+
+	/**
+	 * File name
+	 */
+	private final String name;
+
+	/**
+	 * Number of transferred bytes
+	 */
+	private final long size;
+
+	/**
+	 * Transfer duration
+	 */
+	private final Duration duration;
+
+	/**
+	 * Target path, {@code null} if transferred to channel
+	 */
+	private final Path path;
+
+	/**
+	 * Creates {@link MultipartTransfer} instance
+	 *
+	 * @param name     file name
+	 * @param size     number of transferred bytes
+	 * @param duration transfer duration
+	 * @param path     target path, {@code null} if transferred to channel
+	 */
+	MultipartTransfer(String name, long size, Duration duration, Path path) {
+		this.name = name;
+		this.size = size;
+		this.duration = duration;
+		this.path = path;
+	}
+
+	/**
+	 * Returns file name
+	 *
+	 * @return file name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns number of transferred bytes
+	 *
+	 * @return number of transferred bytes
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns transfer duration
+	 *
+	 * @return transfer duration
+	 */
+	public Duration getDuration() {
+		return duration;
+	}
+
+	/**
+	 * Returns target path
+	 *
+	 * @return optional target path, empty if transferred to channel
+	 */
+	public Optional<Path> getPath() {
+		return Optional.ofNullable(path);
+	}
+
+	/**
+	 * Indicates whether some other object is "equal to" this one.
+	 * <p>
+	 * The {@code equals} method implements an equivalence relation
+	 * on non-null object references:
+	 * <ul>
+	 * <li>It is <i>reflexive</i>: for any non-null reference value
+	 * {@code x}, {@code x.equals(x)} should return
+	 * {@code true}.
+	 * <li>It is <i>symmetric</i>: for any non-null reference values
+	 * {@code x} and {@code y}, {@code x.equals(y)}
+	 * should return {@code true} if and only if
+	 * {@code y.equals(x)} returns {@code true}.
+	 * <li>It is <i>transitive</i>: for any non-null reference values
+	 * {@code x}, {@code y}, and {@code z}, if
+	 * {@code x.equals(y)} returns {@code true} and
+	 * {@code y.equals(z)} returns {@code true}, then
+	 * {@code x.equals(z)} should return {@code true}.
+	 * <li>It is <i>consistent</i>: for any non-null reference values
+	 * {@code x} and {@code y}, multiple invocations of
+	 * {@code x.equals(y)} consistently return {@code true}
+	 * or consistently return {@code false}, provided no
+	 * information used in {@code equals} comparisons on the
+	 * objects is modified.
+	 * <li>For any non-null reference value {@code x},
+	 * {@code x.equals(null)} should return {@code false}.
+	 * </ul>
+	 * <p>
+	 * The {@code equals} method for class {@code Object} implements
+	 * the most discriminating possible equivalence relation on objects;
+	 * that is, for any non-null reference values {@code x} and
+	 * {@code y}, this method returns {@code true} if and only
+	 * if {@code x} and {@code y} refer to the same object
+	 * ({@code x == y} has the value {@code true}).
+	 * <p>
+	 * Note that it is generally necessary to override the {@code hashCode}
+	 * method whenever this method is overridden, so as to maintain the
+	 * general contract for the {@code hashCode} method, which states
+	 * that equal objects must have equal hash codes.
+	 *
+	 * @param obj the reference object with which to compare.
+	 * @return {@code true} if this object is the same as the obj
+	 * argument; {@code false} otherwise.
+	 * @see #hashCode()
+	 * @see java.util.HashMap
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (!(obj instanceof MultipartTransfer)) return false;
+		MultipartTransfer that = (MultipartTransfer) obj;
+		return size == that.size &&
+				Objects.equals(name, that.name) &&
+				Objects.equals(duration, that.duration) &&
+				Objects.equals(path, that.path);
+	}
+
+	/**
+	 * Returns a hash code value for the object. This method is
+	 * supported for the benefit of hash tables such as those provided by
+	 * {@link java.util.HashMap}.
+	 * <p>
+	 * The general contract of {@code hashCode} is:
+	 * <ul>
+	 * <li>Whenever it is invoked on the same object more than once during
+	 * an execution of a Java application, the {@code hashCode} method
+	 * must consistently return the same integer, provided no information
+	 * used in {@code equals} comparisons on the object is modified.
+	 * This integer need not remain consistent from one execution of an
+	 * application to another execution of the same application.
+	 * <li>If two objects are equal according to the {@code equals(Object)}
+	 * method, then calling the {@code hashCode} method on each of
+	 * the two objects must produce the same integer result.
+	 * <li>It is <em>not</em> required that if two objects are unequal
+	 * according to the {@link java.lang.Object#equals(java.lang.Object)}
+	 * method, then calling the {@code hashCode} method on each of the
+	 * two objects must produce distinct integer results.  However, the
+	 * programmer should be aware that producing distinct integer results
+	 * for unequal objects may improve the performance of hash tables.
+	 * </ul>
+	 * <p>
+	 * As much as is reasonably practical, the hashCode method defined by
+	 * class {@code Object} does return distinct integers for distinct
+	 * objects. (This is typically implemented by converting the internal
+	 * address of the object into an integer, but this implementation
+	 * technique is not required by the
+	 * Java&trade; programming language.)
+	 *
+	 * @return a hash code value for this object.
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 * @see java.lang.System#identityHashCode
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hash(name, size, duration, path);
+	}
+
+	/**
+	 * Returns a string representation of the object. In general, the
+	 * {@code toString} method returns a string that
+	 * "textually represents" this object. The result should
+	 * be a concise but informative representation that is easy for a
+	 * person to read.
+	 *
+	 * @return a string representation of the object.
+	 */
+	@Override
+	public String toString() {
+		return "MultipartTransfer{" +
+				"name='" + name + '\'' +
+				", size=" + size +
+				", duration=" + duration +
+				", path=" + path +
+				'}';
+	}
+
+	/**
+	 * Transfers all bytes from the given {@link InputStream} to the given {@link WritableByteChannel}
+	 * <p>
+	 * If the given {@link InputStream} is backed by a file, the bytes are transferred between
+	 * the channels directly, otherwise they are copied through the given reusable buffer
+	 * without being accumulated in memory
+	 *
+	 * @param input   {@link InputStream} to transfer from
+	 * @param channel {@link WritableByteChannel} to transfer to
+	 * @param buffer  reusable buffer, backed by an accessible array
+	 * @return number of transferred bytes
+	 * @throws IOException if an I/O error occurs
+	 */
+	static long transfer(InputStream input, WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+		long count = 0;
+		if (input instanceof FileInputStream) {
+			FileChannel source = ((FileInputStream) input).getChannel();
+			long position = source.position();
+			long size = source.size();
+			long transferred;
+			while (position + count < size
+					&& (transferred = source.transferTo(position + count, size - position - count, channel)) > 0) {
+				count += transferred;
+			}
+			source.position(position + count);
+		}
+		byte[] chunk = buffer.array();
+		int read;
+		while ((read = input.read(chunk, buffer.arrayOffset(), buffer.capacity())) != -1) {
+			buffer.clear().limit(read);
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			count += read;
+		}
+		return count;
+	}
+
+}
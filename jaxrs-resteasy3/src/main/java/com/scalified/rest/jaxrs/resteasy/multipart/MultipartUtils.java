@@ -24,20 +24,31 @@
 
 package com.scalified.rest.jaxrs.resteasy.multipart;
 
-import org.apache.commons.lang3.RegExUtils;
-import org.apache.commons.lang3.StringUtils;
+import com.scalified.rest.jaxrs.commons.BufferPool;
+import com.scalified.rest.jaxrs.commons.ContentDisposition;
+import com.scalified.rest.jaxrs.commons.PooledBuffer;
 import org.jboss.resteasy.plugins.providers.multipart.InputPart;
 import org.jboss.resteasy.plugins.providers.multipart.MultipartFormDataInput;
 
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.HttpHeaders;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
-import java.util.Collection;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
 
 /**
  * An utility class for working with {@link javax.ws.rs.core.MediaType#MULTIPART_FORM_DATA}
@@ -49,19 +60,14 @@ import java.util.Map;
 public final class MultipartUtils {
 
 	/**
-	 * File part key
-	 */
-	private static final String FILE_PART_KEY = "file";
-
-	/**
-	 * File name constant
+	 * Default maximum number of files processed concurrently
 	 */
-	private static final String FILENAME = "filename";
+	public static final int DEFAULT_PARALLELISM = 8;
 
 	/**
-	 * File name regex
+	 * File part key
 	 */
-	private static final String FILENAME_REGEX = "[=\"]";
+	private static final String FILE_PART_KEY = "file";
 
 	/**
 	 * Prevents {@link MultipartUtils} creation
@@ -115,42 +121,435 @@ public final class MultipartUtils {
 
 		Map<String, byte[]> files = new LinkedHashMap<>();
 
-		parts.forEach(part -> part.getHeaders()
-				.entrySet()
-				.stream()
-				.filter(h -> HttpHeaders.CONTENT_DISPOSITION.equals(h.getKey()))
-				.flatMap(h -> h.getValue().stream())
-				.filter(v -> v.contains(FILENAME))
-				.findFirst()
-				.map(MultipartUtils::parseFileName)
-				.ifPresent(name -> {
-					byte[] content;
-					try {
-						content = part.getBody(new GenericType<byte[]>() {
-						});
-					} catch (IOException e) {
-						throw new RuntimeException(e);
-					}
-					files.put(name, content);
-				}));
+		for (InputPart part : parts) {
+			String name = fileName(part);
+			if (Objects.isNull(name)) {
+				continue;
+			}
+			byte[] content;
+			try {
+				content = part.getBody(new GenericType<byte[]>() {
+				});
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+			files.put(name, content);
+		}
 
 		return files;
 	}
 
 	/**
-	 * Parses file name from the given input. The given input expected to be the value of
-	 * {@link HttpHeaders#CONTENT_DISPOSITION} header
+	 * Extracts files from the given {@link MultipartFormDataInput} into the buffers
+	 * acquired from the given {@link BufferPool}
+	 * <p>
+	 * Returns map containing file name to file content entries. Each file content
+	 * buffer must be released by the caller when done. Returns empty map if there are no file parts
+	 *
+	 * @param input an input to extract files from
+	 * @param pool  {@link BufferPool} to acquire file content buffers from
+	 * @return map containing extracted file name to file content entries
+	 * @throws RuntimeException if extraction was unsuccessful
+	 */
+	public static Map<String, PooledBuffer> extractFiles(MultipartFormDataInput input, BufferPool pool) {
+		Map<String, PooledBuffer> files = new LinkedHashMap<>();
+
+		try {
+			for (InputPart part : fileParts(input)) {
+				String name = fileName(part);
+				if (Objects.isNull(name)) {
+					continue;
+				}
+				PooledBuffer content;
+				try (InputStream stream = part.getBody(InputStream.class, null)) {
+					content = pool.read(stream, -1);
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+				PooledBuffer previous = files.put(name, content);
+				if (previous != null) {
+					previous.release();
+				}
+			}
+		} catch (RuntimeException e) {
+			files.values().forEach(PooledBuffer::release);
+			throw e;
+		}
+
+		return files;
+	}
+
+	/**
+	 * Extracts files from the given {@link MultipartFormDataInput} without loading them
+	 * fully into memory
+	 * <p>
+	 * Files up to the given memory threshold are kept in memory, whereas larger files are
+	 * spooled to temporary files in the default temporary directory. The returned
+	 * {@link MultipartFiles} must be closed by the caller when done, which deletes
+	 * the temporary files
+	 *
+	 * @param input           an input to extract files from
+	 * @param memoryThreshold maximum size in bytes of the file kept in memory
+	 * @return extracted files
+	 * @throws RuntimeException if extraction was unsuccessful
+	 */
+	public static MultipartFiles extractFiles(MultipartFormDataInput input, long memoryThreshold) {
+		return extractFiles(input, memoryThreshold, null);
+	}
+
+	/**
+	 * Extracts files from the given {@link MultipartFormDataInput} without loading them
+	 * fully into memory
+	 * <p>
+	 * Files up to the given memory threshold are kept in memory, whereas larger files are
+	 * spooled to temporary files in the given directory. The returned {@link MultipartFiles}
+	 * must be closed by the caller when done, which deletes the temporary files
+	 *
+	 * @param input           an input to extract files from
+	 * @param memoryThreshold maximum size in bytes of the file kept in memory
+	 * @param directory       directory to create temporary files in, {@code null} for the default one
+	 * @return extracted files
+	 * @throws RuntimeException if extraction was unsuccessful
+	 */
+	public static MultipartFiles extractFiles(MultipartFormDataInput input, long memoryThreshold, Path directory) {
+		return extractFiles(input, MultipartOptions.builder()
+				.memoryThreshold(memoryThreshold)
+				.directory(directory)
+				.build());
+	}
+
+	/**
+	 * Extracts files from the given {@link MultipartFormDataInput} without loading them
+	 * fully into memory, according to the given {@link MultipartOptions}
+	 * <p>
+	 * Digests, byte counts and content type sniffing configured by the given options are
+	 * computed incrementally while each file streams through, so the content is never read
+	 * twice. The maximum allowed file size is enforced during the stream, so an oversized
+	 * file is rejected before the rest of it is stored. The returned {@link MultipartFiles}
+	 * must be closed by the caller when done, which deletes the temporary files
+	 *
+	 * @param input   an input to extract files from
+	 * @param options extraction options
+	 * @return extracted files
+	 * @throws MultipartFileTooLargeException if any file exceeds the maximum allowed size
+	 * @throws RuntimeException               if extraction was unsuccessful
+	 */
+	public static MultipartFiles extractFiles(MultipartFormDataInput input, MultipartOptions options) {
+		MultipartFiles files = new MultipartFiles();
+
+		try {
+			for (InputPart part : fileParts(input)) {
+				String name = fileName(part);
+				if (Objects.isNull(name)) {
+					continue;
+				}
+				try (InputStream stream = part.getBody(InputStream.class, null)) {
+					files.add(MultipartFile.spool(name, part.getMediaType(), stream, options));
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		} catch (RuntimeException e) {
+			files.close();
+			throw e;
+		}
+
+		return files;
+	}
+
+	/**
+	 * Extracts files from the given {@link MultipartFormDataInput} and processes them
+	 * in parallel on the {@link ForkJoinPool#commonPool()} with the default parallelism
 	 *
-	 * @param input {@link HttpHeaders#CONTENT_DISPOSITION} header value
-	 * @return parsed file name
-	 * @throws RuntimeException if parsing was unsuccessful
+	 * @param input     an input to extract files from
+	 * @param options   extraction options
+	 * @param processor processor of each file
+	 * @param <T>       type of processing result
+	 * @return map containing file name to processing outcome entries in the order of extraction
+	 * @see #processFiles(MultipartFormDataInput, MultipartOptions, Executor, int, MultipartProcessor)
 	 */
-	private static String parseFileName(String input) {
-		String parsed = RegExUtils.removePattern(StringUtils.substringAfter(input, FILENAME), FILENAME_REGEX);
+	public static <T> Map<String, MultipartOutcome<T>> processFiles(MultipartFormDataInput input,
+	                                                               MultipartOptions options,
+	                                                               MultipartProcessor<T> processor) {
+		return processFiles(input, options, ForkJoinPool.commonPool(), DEFAULT_PARALLELISM, processor);
+	}
+
+	/**
+	 * Extracts files from the given {@link MultipartFormDataInput} and processes them
+	 * in parallel on the given {@link Executor} with bounded concurrency
+	 * <p>
+	 * Files are extracted one by one on the calling thread according to the given options.
+	 * Each extracted file is handed to the given processor on the given executor while
+	 * the next files are still being extracted, so the total time is bounded by the slowest
+	 * file rather than by the sum of all of them. At most the given number of files are
+	 * processed concurrently, which also bounds the number of files held in memory or
+	 * temporary files at once. Each file is closed as soon as it is processed
+	 * <p>
+	 * Failure to extract or process a file does not affect other files and is reported in
+	 * its outcome. If a file name repeats, the outcome of the latter file is kept. Blocks
+	 * until all files are processed, including the ones whose outcomes are not kept
+	 *
+	 * @param input       an input to extract files from
+	 * @param options     extraction options
+	 * @param executor    executor, used to process files, e.g. a fork-join pool or a virtual
+	 *                    thread per task executor
+	 * @param parallelism maximum number of files processed concurrently
+	 * @param processor   processor of each file
+	 * @param <T>         type of processing result
+	 * @return map containing file name to processing outcome entries in the order of extraction
+	 * @throws IllegalArgumentException if the given parallelism is not positive
+	 */
+	public static <T> Map<String, MultipartOutcome<T>> processFiles(MultipartFormDataInput input,
+	                                                               MultipartOptions options, Executor executor,
+	                                                               int parallelism, MultipartProcessor<T> processor) {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+		}
+		Semaphore permits = new Semaphore(parallelism);
+		Map<String, CompletableFuture<MultipartOutcome<T>>> futures = new LinkedHashMap<>();
+		List<CompletableFuture<MultipartOutcome<T>>> pending = new ArrayList<>();
 		try {
-			return URLDecoder.decode(parsed, StandardCharsets.UTF_8.displayName());
-		} catch (UnsupportedEncodingException e) {
+			for (InputPart part : fileParts(input)) {
+				String name = fileName(part);
+				if (Objects.isNull(name)) {
+					continue;
+				}
+				long start = System.nanoTime();
+				MultipartFile file;
+				try (InputStream stream = part.getBody(InputStream.class, null)) {
+					file = MultipartFile.spool(name, part.getMediaType(), stream, options);
+				} catch (Exception e) {
+					futures.remove(name);
+					futures.put(name, CompletableFuture.completedFuture(outcome(name, null, e, start)));
+					continue;
+				}
+				try {
+					permits.acquire();
+				} catch (InterruptedException e) {
+					file.close();
+					Thread.currentThread().interrupt();
+					futures.remove(name);
+					futures.put(name, CompletableFuture.completedFuture(outcome(name, null, e, start)));
+					break;
+				}
+				CompletableFuture<MultipartOutcome<T>> future;
+				try {
+					future = CompletableFuture.supplyAsync(() -> process(file, processor, permits, start), executor);
+				} catch (RuntimeException e) {
+					file.close();
+					permits.release();
+					future = CompletableFuture.completedFuture(outcome(name, null, e, start));
+				}
+				pending.add(future);
+				futures.remove(name);
+				futures.put(name, future);
+			}
+		} finally {
+			CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).exceptionally(e -> null).join();
+		}
+		Map<String, MultipartOutcome<T>> outcomes = new LinkedHashMap<>();
+		futures.forEach((name, future) -> outcomes.put(name, future.join()));
+		return outcomes;
+	}
+
+	/**
+	 * Processes the given file with the given processor, then closes the file and releases
+	 * the permit
+	 *
+	 * @param file      file to process
+	 * @param processor processor of the file
+	 * @param permits   permits to release once processed
+	 * @param start     start time of the file extraction in nanoseconds
+	 * @param <T>       type of processing result
+	 * @return processing outcome
+	 */
+	private static <T> MultipartOutcome<T> process(MultipartFile file, MultipartProcessor<T> processor,
+	                                               Semaphore permits, long start) {
+		try {
+			return outcome(file.getName(), processor.process(file), null, start);
+		} catch (Exception e) {
+			return outcome(file.getName(), null, e, start);
+		} finally {
+			file.close();
+			permits.release();
+		}
+	}
+
+	/**
+	 * Creates processing outcome of the file with the given name
+	 *
+	 * @param name   file name
+	 * @param result processing result, {@code null} if failed
+	 * @param error  error, {@code null} if succeeded
+	 * @param start  start time of the file extraction in nanoseconds
+	 * @param <T>    type of processing result
+	 * @return processing outcome
+	 */
+	private static <T> MultipartOutcome<T> outcome(String name, T result, Throwable error, long start) {
+		return new MultipartOutcome<>(name, result, error, Duration.ofNanos(System.nanoTime() - start));
+	}
+
+	/**
+	 * Transfers files from the given {@link MultipartFormDataInput} to the given directory
+	 * without loading them into memory
+	 * <p>
+	 * Each file is written to the temporary file in the given directory first. Once all files are
+	 * transferred, they are moved to the files with the same names, replacing the existing ones,
+	 * if any. On failure, the temporary files are deleted, while the existing files are left intact
+	 * <p>
+	 * Returns map containing file name to file transfer entries
+	 *
+	 * @param input     an input to transfer files from
+	 * @param directory directory to transfer files to
+	 * @return map containing file name to file transfer entries
+	 * @throws IllegalArgumentException if file name points outside of the given directory
+	 * @throws RuntimeException         if transfer was unsuccessful
+	 */
+	public static Map<String, MultipartTransfer> transferFiles(MultipartFormDataInput input, Path directory) {
+		Path root = directory.toAbsolutePath().normalize();
+		Map<String, MultipartTransfer> transfers = new LinkedHashMap<>();
+		Map<Path, Path> pending = new LinkedHashMap<>();
+		try {
+			transferFiles(input, transfers, name -> {
+				Path path = root.resolve(name).normalize();
+				if (!path.startsWith(root) || path.equals(root)) {
+					throw new IllegalArgumentException("Illegal file name: " + name);
+				}
+				return path;
+			}, pending);
+			for (Map.Entry<Path, Path> entry : pending.entrySet()) {
+				move(entry.getValue(), entry.getKey());
+			}
+		} catch (IOException e) {
+			pending.values().forEach(MultipartUtils::delete);
 			throw new RuntimeException(e);
+		} catch (RuntimeException e) {
+			pending.values().forEach(MultipartUtils::delete);
+			throw e;
+		}
+		return transfers;
+	}
+
+	/**
+	 * Transfers files from the given {@link MultipartFormDataInput} to the channels provided
+	 * by the given function without loading them into memory
+	 * <p>
+	 * The function is called with the file name for each file. The provided channels are
+	 * not closed, which is left to the caller
+	 * <p>
+	 * Returns map containing file name to file transfer entries
+	 *
+	 * @param input    an input to transfer files from
+	 * @param channels function, providing {@link WritableByteChannel} by file name
+	 * @return map containing file name to file transfer entries
+	 * @throws RuntimeException if transfer was unsuccessful
+	 */
+	public static Map<String, MultipartTransfer> transferFiles(MultipartFormDataInput input,
+	                                                           Function<String, WritableByteChannel> channels) {
+		Map<String, MultipartTransfer> transfers = new LinkedHashMap<>();
+		ByteBuffer buffer = ByteBuffer.allocate(MultipartFile.CHUNK_SIZE);
+		for (InputPart part : fileParts(input)) {
+			String name = fileName(part);
+			if (Objects.isNull(name)) {
+				continue;
+			}
+			long start = System.nanoTime();
+			try (InputStream stream = part.getBody(InputStream.class, null)) {
+				long size = MultipartTransfer.transfer(stream, channels.apply(name), buffer);
+				transfers.put(name, new MultipartTransfer(name, size, Duration.ofNanos(System.nanoTime() - start), null));
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		}
+		return transfers;
+	}
+
+	/**
+	 * Transfers files from the given {@link MultipartFormDataInput} to the newly created temporary
+	 * files next to the files resolved by the given function, and puts the results into the given map
+	 * <p>
+	 * Temporary files are put into the given pending map by their target paths, so that they are
+	 * moved into place or deleted by the caller. A temporary file superseded by the file having the
+	 * same name is deleted
+	 *
+	 * @param input     an input to transfer files from
+	 * @param transfers map to put file name to file transfer entries into
+	 * @param paths     function, resolving target path by file name
+	 * @param pending   map to put target path to temporary file entries into
+	 * @throws IOException      if transfer was unsuccessful
+	 * @throws RuntimeException if target path resolution was unsuccessful
+	 */
+	private static void transferFiles(MultipartFormDataInput input, Map<String, MultipartTransfer> transfers,
+	                                  Function<String, Path> paths, Map<Path, Path> pending) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(MultipartFile.CHUNK_SIZE);
+		for (InputPart part : fileParts(input)) {
+			String name = fileName(part);
+			if (Objects.isNull(name)) {
+				continue;
+			}
+			Path path = paths.apply(name);
+			long start = System.nanoTime();
+			Path temp = path.resolveSibling("." + path.getFileName() + "." + UUID.randomUUID() + ".tmp");
+			Path superseded = pending.put(path, temp);
+			if (Objects.nonNull(superseded)) {
+				delete(superseded);
+			}
+			try (InputStream stream = part.getBody(InputStream.class, null);
+			     FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+				long size = MultipartTransfer.transfer(stream, channel, buffer);
+				transfers.put(name, new MultipartTransfer(name, size, Duration.ofNanos(System.nanoTime() - start), path));
+			}
+		}
+	}
+
+	/**
+	 * Returns the file parts of the given {@link MultipartFormDataInput}
+	 *
+	 * @param input an input to return the file parts of
+	 * @return the file parts, empty if there are none
+	 */
+	private static Collection<InputPart> fileParts(MultipartFormDataInput input) {
+		Collection<InputPart> parts = input.getFormDataMap().get(FILE_PART_KEY);
+		return Objects.isNull(parts) ? Collections.emptyList() : parts;
+	}
+
+	/**
+	 * Moves the given temporary file into place, replacing the existing file, atomically
+	 * if supported by the file system
+	 *
+	 * @param temp temporary file to move
+	 * @param path target path
+	 * @throws IOException if moving was unsuccessful
+	 */
+	private static void move(Path temp, Path path) throws IOException {
+		try {
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Returns file name of the given {@link InputPart}, parsed from its
+	 * {@link HttpHeaders#CONTENT_DISPOSITION} header
+	 *
+	 * @param part {@link InputPart} to return file name of
+	 * @return file name, {@code null} if the given part is not a file
+	 */
+	private static String fileName(InputPart part) {
+		String disposition = part.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION);
+		return Objects.isNull(disposition) ? null : ContentDisposition.fileName(disposition);
+	}
+
+	/**
+	 * Deletes the given file quietly
+	 *
+	 * @param path file to delete
+	 */
+	private static void delete(Path path) {
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException ignored) {
 		}
 	}
 
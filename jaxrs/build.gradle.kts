@@ -29,6 +29,37 @@ plugins {
 
 dependencies {
 	compileOnly("javax.ws.rs:javax.ws.rs-api:2.1")
+	compileOnly("com.fasterxml.jackson.core:jackson-databind:2.10.3")
+	compileOnly("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor:2.10.3")
+	compileOnly("com.fasterxml.jackson.dataformat:jackson-dataformat-smile:2.10.3")
 
 	api("org.apache.commons:commons-lang3:3.9")
+
+	testImplementation("org.jboss.resteasy:resteasy-client:3.11.0.Final")
+	testImplementation("org.jboss.resteasy:resteasy-jaxrs:3.11.0.Final")
+	testImplementation("org.junit.jupiter:junit-jupiter:5.10.2")
+	testImplementation("org.mockito:mockito-core:4.11.0")
+	testRuntimeOnly("org.junit.platform:junit-platform-launcher:1.10.2")
+}
+
+tasks.test {
+	useJUnitPlatform()
+}
+
+val jmh: SourceSet by sourceSets.creating {
+	compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+	runtimeClasspath += output + compileClasspath
+}
+
+dependencies {
+	"jmhImplementation"("org.openjdk.jmh:jmh-core:1.23")
+	"jmhImplementation"("com.fasterxml.jackson.core:jackson-databind:2.10.3")
+	"jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.23")
+}
+
+tasks.register<JavaExec>("jmh") {
+	description = "Runs JMH benchmarks"
+	group = "verification"
+	classpath = jmh.runtimeClasspath
+	mainClass.set("org.openjdk.jmh.Main")
 }
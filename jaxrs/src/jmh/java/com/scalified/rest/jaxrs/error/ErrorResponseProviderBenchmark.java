@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.error;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ErrorResponseProvider} against <b>Jackson</b> data binding
+ * for payload-free {@link ErrorResponse}
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorResponseProviderBenchmark {
+
+	/**
+	 * Empty annotations
+	 */
+	private static final Annotation[] ANNOTATIONS = new Annotation[0];
+
+	/**
+	 * Provider under benchmark
+	 */
+	private final ErrorResponseProvider provider = new ErrorResponseProvider();
+
+	/**
+	 * Baseline <b>Jackson</b> mapper
+	 */
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	/**
+	 * Error response to write
+	 */
+	private ErrorResponse errorResponse;
+
+	/**
+	 * Serialized error response to read
+	 */
+	private byte[] json;
+
+	/**
+	 * Prepares benchmark state
+	 *
+	 * @throws IOException if an IO error arises
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		errorResponse = new ErrorResponse(Response.Status.NOT_FOUND, "Order \"42\" not found");
+		json = mapper.writeValueAsBytes(errorResponse);
+	}
+
+	/**
+	 * Writes error response with {@link ErrorResponseProvider}
+	 *
+	 * @return written bytes
+	 * @throws IOException if an IO error arises
+	 */
+	@Benchmark
+	public byte[] writeProvider() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+		provider.writeTo(errorResponse, ErrorResponse.class, ErrorResponse.class, ANNOTATIONS,
+				MediaType.APPLICATION_JSON_TYPE, null, out);
+		return out.toByteArray();
+	}
+
+	/**
+	 * Writes error response with <b>Jackson</b>
+	 *
+	 * @return written bytes
+	 * @throws IOException if an IO error arises
+	 */
+	@Benchmark
+	public byte[] writeJackson() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+		mapper.writeValue(out, errorResponse);
+		return out.toByteArray();
+	}
+
+	/**
+	 * Reads error response with {@link ErrorResponseProvider}
+	 *
+	 * @return read error response
+	 * @throws IOException if an IO error arises
+	 */
+	@Benchmark
+	public ErrorResponse readProvider() throws IOException {
+		return provider.readFrom(ErrorResponse.class, ErrorResponse.class, ANNOTATIONS,
+				MediaType.APPLICATION_JSON_TYPE, null, new ByteArrayInputStream(json));
+	}
+
+	/**
+	 * Reads error response with <b>Jackson</b>
+	 *
+	 * @return read error response
+	 * @throws IOException if an IO error arises
+	 */
+	@Benchmark
+	public ErrorResponse readJackson() throws IOException {
+		return mapper.readValue(new ByteArrayInputStream(json), ErrorResponse.class);
+	}
+
+}
@@ -0,0 +1,378 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.batch;
+
+import com.scalified.rest.jaxrs.client.Request;
+import com.scalified.rest.jaxrs.commons.UriUtils;
+import com.scalified.rest.jaxrs.extension.MediaTypeCache;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.HttpHeaders;
+import java.net.URI;
+import java.util.*;
+
+/**
+ * A DTO describing a single sub-request of the batch call
+ * <p>
+ * The sub-request path is the absolute path of the target resource including the query,
+ * e.g. {@code /api/users/1?fields=name}. The body is either a {@link String}, which is sent
+ * as is, or any other object, which is serialized with the <b>JSON</b> provider
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class BatchRequest {
+
+	/**
+	 * Sub-request identifier
+	 */
+	private String id;
+
+	/**
+	 * Sub-request <b>HTTP</b> method
+	 */
+	private String method;
+
+	/**
+	 * Sub-request absolute path including the query
+	 */
+	private String path;
+
+	/**
+	 * Sub-request headers
+	 */
+	private Map<String, String> headers = new HashMap<>();
+
+	/**
+	 * Sub-request body
+	 */
+	private Object body;
+
+	/**
+	 * Default constructor
+	 */
+	public BatchRequest() {
+	}
+
+	/**
+	 * Creates {@link BatchRequest} instance
+	 *
+	 * @param id     sub-request identifier
+	 * @param method sub-request <b>HTTP</b> method
+	 * @param path   sub-request absolute path including the query
+	 */
+	public BatchRequest(String id, String method, String path) {
+		this.id = id;
+		this.method = method;
+		this.path = path;
+	}
+
+	/**
+	 * Creates {@link BatchRequest} from the given <b>HTTP</b> {@link Request}
+	 * <p>
+	 * {@link Request} callbacks and maximum entity size are not applicable to sub-requests
+	 * and are ignored
+	 *
+	 * @param id      sub-request identifier
+	 * @param method  sub-request <b>HTTP</b> method
+	 * @param request <b>HTTP</b> {@link Request} to create {@link BatchRequest} from
+	 * @return {@link BatchRequest} instance
+	 */
+	public static BatchRequest of(String id, String method, Request request) {
+		BatchRequest batchRequest = new BatchRequest(id, method, createPath(request));
+		for (Map.Entry<String, Object> header : request.getHeaders().entrySet()) {
+			batchRequest.headers.put(header.getKey(), String.valueOf(header.getValue()));
+		}
+		if (Objects.nonNull(request.getAccept())) {
+			batchRequest.headers.put(HttpHeaders.ACCEPT, request.getAccept());
+		}
+		Entity<?> entity = request.getEntity();
+		if (Objects.nonNull(entity)) {
+			batchRequest.headers.put(HttpHeaders.CONTENT_TYPE, MediaTypeCache.format(entity.getMediaType()));
+			batchRequest.body = entity.getEntity();
+		}
+		return batchRequest;
+	}
+
+	/**
+	 * Returns sub-request identifier
+	 *
+	 * @return sub-request identifier
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Sets sub-request identifier
+	 *
+	 * @param id sub-request identifier
+	 */
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	/**
+	 * Returns sub-request <b>HTTP</b> method
+	 *
+	 * @return sub-request <b>HTTP</b> method
+	 */
+	public String getMethod() {
+		return method;
+	}
+
+	/**
+	 * Sets sub-request <b>HTTP</b> method
+	 *
+	 * @param method sub-request <b>HTTP</b> method
+	 */
+	public void setMethod(String method) {
+		this.method = method;
+	}
+
+	/**
+	 * Returns sub-request absolute path including the query
+	 *
+	 * @return sub-request absolute path including the query
+	 */
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * Sets sub-request absolute path including the query
+	 *
+	 * @param path sub-request absolute path including the query
+	 */
+	public void setPath(String path) {
+		this.path = path;
+	}
+
+	/**
+	 * Returns sub-request headers
+	 *
+	 * @return sub-request headers
+	 */
+	public Map<String, String> getHeaders() {
+		return headers;
+	}
+
+	/**
+	 * Sets sub-request headers
+	 *
+	 * @param headers sub-request headers
+	 */
+	public void setHeaders(Map<String, String> headers) {
+		this.headers = headers;
+	}
+
+	/**
+	 * Returns sub-request body
+	 *
+	 * @return sub-request body
+	 */
+	public Object getBody() {
+		return body;
+	}
+
+	/**
+	 * Sets sub-request body
+	 *
+	 * @param body sub-request body
+	 */
+	public void setBody(Object body) {
+		this.body = body;
+	}
+
+	/**
+	 * Indicates whether some other object is "equal to" this one.
+	 * <p>
+	 * The {@code equals} method implements an equivalence relation
+	 * on non-null object references:
+	 * <ul>
+	 * <li>It is <i>reflexive</i>: for any non-null reference value
+	 * {@code x}, {@code x.equals(x)} should return
+	 * {@code true}.
+	 * <li>It is <i>symmetric</i>: for any non-null reference values
+	 * {@code x} and {@code y}, {@code x.equals(y)}
+	 * should return {@code true} if and only if
+	 * {@code y.equals(x)} returns {@code true}.
+	 * <li>It is <i>transitive</i>: for any non-null reference values
+	 * {@code x}, {@code y}, and {@code z}, if
+	 * {@code x.equals(y)} returns {@code true} and
+	 * {@code y.equals(z)} returns {@code true}, then
+	 * {@code x.equals(z)} should return {@code true}.
+	 * <li>It is <i>consistent</i>: for any non-null reference values
+	 * {@code x} and {@code y}, multiple invocations of
+	 * {@code x.equals(y)} consistently return {@code true}
+	 * or consistently return {@code false}, provided no
+	 * information used in {@code equals} comparisons on the
+	 * objects is modified.
+	 * <li>For any non-null reference value {@code x},
+	 * {@code x.equals(null)} should return {@code false}.
+	 * </ul>
+	 * <p>
+	 * The {@code equals} method for class {@code Object} implements
+	 * the most discriminating possible equivalence relation on objects;
+	 * that is, for any non-null reference values {@code x} and
+	 * {@code y}, this method returns {@code true} if and only
+	 * if {@code x} and {@code y} refer to the same object
+	 * ({@code x == y} has the value {@code true}).
+	 * <p>
+	 * Note that it is generally necessary to override the {@code hashCode}
+	 * method whenever this method is overridden, so as to maintain the
+	 * general contract for the {@code hashCode} method, which states
+	 * that equal objects must have equal hash codes.
+	 *
+	 * @param o the reference object with which to compare.
+	 * @return {@code true} if this object is the same as the obj
+	 * argument; {@code false} otherwise.
+	 * @see #hashCode()
+	 * @see java.util.HashMap
+	 */
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		BatchRequest that = (BatchRequest) o;
+		return Objects.equals(id, that.id) &&
+				Objects.equals(method, that.method) &&
+				Objects.equals(path, that.path) &&
+				Objects.equals(headers, that.headers) &&
+				Objects.equals(body, that.body);
+	}
+
+	/**
+	 * Returns a hash code value for the object. This method is
+	 * supported for the benefit of hash tables such as those provided by
+	 * {@link java.util.HashMap}.
+	 * <p>
+	 * The general contract of {@code hashCode} is:
+	 * <ul>
+	 * <li>Whenever it is invoked on the same object more than once during
+	 * an execution of a Java application, the {@code hashCode} method
+	 * must consistently return the same integer, provided no information
+	 * used in {@code equals} comparisons on the object is modified.
+	 * This integer need not remain consistent from one execution of an
+	 * application to another execution of the same application.
+	 * <li>If two objects are equal according to the {@code equals(Object)}
+	 * method, then calling the {@code hashCode} method on each of
+	 * the two objects must produce the same integer result.
+	 * <li>It is <em>not</em> required that if two objects are unequal
+	 * according to the {@link java.lang.Object#equals(java.lang.Object)}
+	 * method, then calling the {@code hashCode} method on each of the
+	 * two objects must produce distinct integer results.  However, the
+	 * programmer should be aware that producing distinct integer results
+	 * for unequal objects may improve the performance of hash tables.
+	 * </ul>
+	 * <p>
+	 * As much as is reasonably practical, the hashCode method defined by
+	 * class {@code Object} does return distinct integers for distinct
+	 * objects. (This is typically implemented by converting the internal
+	 * address of the object into an integer, but this implementation
+	 * technique is not required by the
+	 * Java&trade; programming language.)
+	 *
+	 * @return a hash code value for this object.
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 * @see java.lang.System#identityHashCode
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hash(id, method, path, headers, body);
+	}
+
+	/**
+	 * Returns a string representation of the object. In general, the
+	 * {@code toString} method returns a string that
+	 * "textually represents" this object. The result should
+	 * be a concise but informative representation that is easy for a
+	 * person to read.
+	 * It is recommended that all subclasses override this method.
+	 * <p>
+	 * The {@code toString} method for class {@code Object}
+	 * returns a string consisting of the name of the class of which the
+	 * object is an instance, the at-sign character `{@code @}', and
+	 * the unsigned hexadecimal representation of the hash code of the
+	 * object. In other words, this method returns a string equal to the
+	 * value of:
+	 * <blockquote>
+	 * <pre>
+	 * getClass().getName() + '@' + Integer.toHexString(hashCode())
+	 * </pre></blockquote>
+	 *
+	 * @return a string representation of the object.
+	 */
+	@Override
+	public String toString() {
+		return "BatchRequest{" +
+				"id='" + id + '\'' +
+				", method='" + method + '\'' +
+				", path='" + path + '\'' +
+				", headers=" + headers +
+				", body=" + body +
+				'}';
+	}
+
+	/**
+	 * Creates the absolute path including the query from the given <b>HTTP</b> {@link Request}
+	 *
+	 * @param request <b>HTTP</b> {@link Request}
+	 * @return absolute path including the query
+	 */
+	private static String createPath(Request request) {
+		String url = request.getUrl();
+		int queryIndex = url.indexOf('?');
+		StringBuilder uri = new StringBuilder(url.length() + 64).append(url, 0, queryIndex < 0 ? url.length() : queryIndex);
+		for (String path : request.getPathParams()) {
+			for (String segment : path.split("/")) {
+				if (segment.isEmpty()) {
+					continue;
+				}
+				if (uri.length() == 0 || uri.charAt(uri.length() - 1) != '/') {
+					uri.append('/');
+				}
+				UriUtils.encodePathSegment(segment, uri);
+			}
+		}
+		char separator = '?';
+		if (queryIndex >= 0 && queryIndex < url.length() - 1) {
+			uri.append(url, queryIndex, url.length());
+			separator = '&';
+		}
+		for (Map.Entry<String, Collection<?>> queryParam : request.getQueryParams().entrySet()) {
+			for (Object value : queryParam.getValue()) {
+				UriUtils.encodeQueryName(queryParam.getKey(), uri.append(separator));
+				UriUtils.encodeQueryValue(String.valueOf(value), uri.append('='));
+				separator = '&';
+			}
+		}
+		URI target = URI.create(uri.toString());
+		String path = Objects.isNull(target.getRawPath()) || target.getRawPath().isEmpty() ? "/" : target.getRawPath();
+		return Objects.isNull(target.getRawQuery()) ? path : path + '?' + target.getRawQuery();
+	}
+
+}
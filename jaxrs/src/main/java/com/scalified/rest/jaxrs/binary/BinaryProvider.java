@@ -0,0 +1,171 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.scalified.rest.jaxrs.binary;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import java.io.*;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * A base {@link MessageBodyReader} and {@link MessageBodyWriter} for binary encodings,
+ * backed by <b>Jackson</b> {@link ObjectMapper}
+ * <p>
+ * Binds entities the same way as the <b>Jackson JSON</b> provider does, but reads and writes
+ * the binary representation, which avoids text encoding and number formatting. Never closes
+ * the entity stream, which is left to the <b>JAX-RS</b> runtime
+ * <p>
+ * Raw entity types, such as {@code byte[]}, {@link InputStream}, {@link Reader} and
+ * {@link StreamingOutput}, are left to the built-in providers
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public abstract class BinaryProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+
+	/**
+	 * An underlying <b>Jackson</b> {@link ObjectMapper}
+	 */
+	private final ObjectMapper mapper;
+
+	/**
+	 * Creates {@link BinaryProvider} instance
+	 *
+	 * @param mapper an underlying <b>Jackson</b> {@link ObjectMapper} configured with binary format factory
+	 */
+	protected BinaryProvider(ObjectMapper mapper) {
+		this.mapper = mapper
+				.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+				.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+	}
+
+	/**
+	 * Returns an underlying <b>Jackson</b> {@link ObjectMapper}
+	 *
+	 * @return an underlying <b>Jackson</b> {@link ObjectMapper}
+	 */
+	public ObjectMapper getMapper() {
+		return mapper;
+	}
+
+	/**
+	 * Ascertain if the MessageBodyReader can produce an instance of a particular type.
+	 *
+	 * @param type        the class of instance to be produced.
+	 * @param genericType the type of instance to be produced.
+	 * @param annotations an array of the annotations on the declaration of the artifact
+	 *                    that will be initialized with the produced instance.
+	 * @param mediaType   the media type of the HTTP entity.
+	 * @return {@code true} if the type is supported, otherwise {@code false}.
+	 */
+	@Override
+	public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+		return isBindable(type);
+	}
+
+	/**
+	 * Read a type from the {@link InputStream}.
+	 *
+	 * @param type         the type that is to be read from the entity stream.
+	 * @param genericType  the type of instance to be produced.
+	 * @param annotations  an array of the annotations on the declaration of the artifact
+	 *                     that will be initialized with the produced instance.
+	 * @param mediaType    the media type of the HTTP entity.
+	 * @param httpHeaders  the read-only HTTP headers associated with HTTP entity.
+	 * @param entityStream the {@link InputStream} of the HTTP entity.
+	 * @return the type that was read from the stream.
+	 * @throws IOException if an IO error arises.
+	 */
+	@Override
+	public Object readFrom(Class<Object> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+	                       MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+		JavaType javaType = mapper.getTypeFactory().constructType(nonNull(genericType) ? genericType : type);
+		return mapper.readerFor(javaType).readValue(entityStream);
+	}
+
+	/**
+	 * Ascertain if the MessageBodyWriter supports a particular type.
+	 *
+	 * @param type        the class of instance that is to be written.
+	 * @param genericType the type of instance to be written
+	 * @param annotations an array of the annotations attached to the message entity instance.
+	 * @param mediaType   the media type of the HTTP entity.
+	 * @return {@code true} if the type is supported, otherwise {@code false}.
+	 */
+	@Override
+	public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+		return isBindable(type);
+	}
+
+	/**
+	 * Write a type to an HTTP message.
+	 *
+	 * @param entity       the instance to write.
+	 * @param type         the class of instance that is to be written.
+	 * @param genericType  the type of instance to be written.
+	 * @param annotations  an array of the annotations attached to the message entity instance.
+	 * @param mediaType    the media type of the HTTP entity.
+	 * @param httpHeaders  a mutable map of the HTTP message headers.
+	 * @param entityStream the {@link OutputStream} for the HTTP entity.
+	 * @throws IOException             if an IO error arises.
+	 * @throws WebApplicationException if a specific HTTP error response needs to be produced.
+	 */
+	@Override
+	public void writeTo(Object entity, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+	                    MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+		if (nonNull(genericType) && genericType != type) {
+			mapper.writerFor(mapper.getTypeFactory().constructType(genericType)).writeValue(entityStream, entity);
+		} else {
+			mapper.writeValue(entityStream, entity);
+		}
+	}
+
+	/**
+	 * Checks whether the given type is bound by this provider rather than by the built-in providers
+	 *
+	 * @param type type to check
+	 * @return {@code true} if the given type is bound by this provider, {@code false} otherwise
+	 */
+	private static boolean isBindable(Class<?> type) {
+		return type != byte[].class
+				&& !InputStream.class.isAssignableFrom(type)
+				&& !Reader.class.isAssignableFrom(type)
+				&& !File.class.isAssignableFrom(type)
+				&& !StreamingOutput.class.isAssignableFrom(type);
+	}
+
+}
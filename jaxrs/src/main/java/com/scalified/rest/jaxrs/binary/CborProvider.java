@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.scalified.rest.jaxrs.binary;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.scalified.rest.jaxrs.extension.ExtendedMediaType;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Produces;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * A {@link BinaryProvider} for <b>CBOR</b> (Concise Binary Object Representation)
+ * <p>
+ * Requires <b>jackson-dataformat-cbor</b> to be available in the runtime
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+@Provider
+@Produces(ExtendedMediaType.APPLICATION_CBOR)
+@Consumes(ExtendedMediaType.APPLICATION_CBOR)
+public class CborProvider extends BinaryProvider {
+
+	/**
+	 * Creates {@link CborProvider} instance
+	 */
+	public CborProvider() {
+		this(new ObjectMapper(new CBORFactory()));
+	}
+
+	/**
+	 * Creates {@link CborProvider} instance
+	 *
+	 * @param mapper an underlying <b>Jackson</b> {@link ObjectMapper} configured with {@link CBORFactory}
+	 */
+	public CborProvider(ObjectMapper mapper) {
+		super(mapper);
+	}
+
+}
@@ -0,0 +1,359 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.client;
+
+import java.util.*;
+
+/**
+ * Compact immutable array-backed collections used by {@link Request}
+ * <p>
+ * Each collection keeps its elements in a single array, preserves insertion order and
+ * performs lookups by linear scan, which is faster than hashing for the small sizes
+ * typical for requests
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+final class ArrayCollections {
+
+	/**
+	 * Empty array
+	 */
+	private static final Object[] EMPTY = new Object[0];
+
+	/**
+	 * Prevents from {@link ArrayCollections} creation
+	 */
+	private ArrayCollections() {
+	}
+
+	/**
+	 * Returns immutable list containing elements of the given {@link Collection}
+	 *
+	 * @param elements elements to copy
+	 * @param <E>      type of elements
+	 * @return immutable list containing elements of the given {@link Collection}
+	 */
+	@SuppressWarnings("unchecked")
+	static <E> List<E> list(Collection<? extends E> elements) {
+		if (elements instanceof ArrayBackedList) {
+			return (List<E>) elements;
+		}
+		return new ArrayBackedList<>(elements.isEmpty() ? EMPTY : elements.toArray());
+	}
+
+	/**
+	 * Returns immutable set containing elements of the given {@link Collection}
+	 *
+	 * @param elements distinct elements to copy
+	 * @param <E>      type of elements
+	 * @return immutable set containing elements of the given {@link Collection}
+	 */
+	@SuppressWarnings("unchecked")
+	static <E> Set<E> set(Collection<? extends E> elements) {
+		if (elements instanceof ArrayBackedSet) {
+			return (Set<E>) elements;
+		}
+		return new ArrayBackedSet<>(elements.isEmpty() ? EMPTY : elements.toArray());
+	}
+
+	/**
+	 * Returns immutable map containing entries of the given {@link Map}
+	 *
+	 * @param map map to copy
+	 * @param <K> type of keys
+	 * @param <V> type of values
+	 * @return immutable map containing entries of the given {@link Map}
+	 */
+	@SuppressWarnings("unchecked")
+	static <K, V> Map<K, V> map(Map<? extends K, ? extends V> map) {
+		if (map instanceof ArrayBackedMap) {
+			return (Map<K, V>) map;
+		}
+		if (map.isEmpty()) {
+			return new ArrayBackedMap<>(EMPTY);
+		}
+		Object[] entries = new Object[map.size() * 2];
+		int i = 0;
+		for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+			entries[i++] = entry.getKey();
+			entries[i++] = entry.getValue();
+		}
+		return new ArrayBackedMap<>(entries);
+	}
+
+	/**
+	 * Immutable array-backed {@link List}
+	 *
+	 * @param <E> type of elements
+	 */
+	private static final class ArrayBackedList<E> extends AbstractList<E> implements RandomAccess {
+
+		/**
+		 * Elements
+		 */
+		private final Object[] elements;
+
+		/**
+		 * Creates {@link ArrayBackedList} instance
+		 *
+		 * @param elements elements
+		 */
+		private ArrayBackedList(Object[] elements) {
+			this.elements = elements;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public E get(int index) {
+			return (E) elements[index];
+		}
+
+		@Override
+		public int size() {
+			return elements.length;
+		}
+
+	}
+
+	/**
+	 * Immutable array-backed {@link Set}
+	 *
+	 * @param <E> type of elements
+	 */
+	private static final class ArrayBackedSet<E> extends AbstractSet<E> {
+
+		/**
+		 * Distinct elements
+		 */
+		private final Object[] elements;
+
+		/**
+		 * Creates {@link ArrayBackedSet} instance
+		 *
+		 * @param elements distinct elements
+		 */
+		private ArrayBackedSet(Object[] elements) {
+			this.elements = elements;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			for (Object element : elements) {
+				if (Objects.equals(element, o)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public Iterator<E> iterator() {
+			return new ArrayIterator<>(elements, 0, 1);
+		}
+
+		@Override
+		public int size() {
+			return elements.length;
+		}
+
+	}
+
+	/**
+	 * Immutable array-backed {@link Map}, keeping keys and values interleaved in a single array
+	 *
+	 * @param <K> type of keys
+	 * @param <V> type of values
+	 */
+	private static final class ArrayBackedMap<K, V> extends AbstractMap<K, V> {
+
+		/**
+		 * Interleaved keys and values
+		 */
+		private final Object[] entries;
+
+		/**
+		 * Creates {@link ArrayBackedMap} instance
+		 *
+		 * @param entries interleaved keys and values
+		 */
+		private ArrayBackedMap(Object[] entries) {
+			this.entries = entries;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public V get(Object key) {
+			for (int i = 0; i < entries.length; i += 2) {
+				if (Objects.equals(entries[i], key)) {
+					return (V) entries[i + 1];
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			for (int i = 0; i < entries.length; i += 2) {
+				if (Objects.equals(entries[i], key)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public int size() {
+			return entries.length / 2;
+		}
+
+		@Override
+		public Set<Entry<K, V>> entrySet() {
+			return new AbstractSet<Entry<K, V>>() {
+
+				@Override
+				@SuppressWarnings("unchecked")
+				public Iterator<Entry<K, V>> iterator() {
+					return new Iterator<Entry<K, V>>() {
+
+						private int index;
+
+						@Override
+						public boolean hasNext() {
+							return index < entries.length;
+						}
+
+						@Override
+						public Entry<K, V> next() {
+							if (index >= entries.length) {
+								throw new NoSuchElementException();
+							}
+							Entry<K, V> entry = new SimpleImmutableEntry<>((K) entries[index], (V) entries[index + 1]);
+							index += 2;
+							return entry;
+						}
+
+					};
+				}
+
+				@Override
+				public int size() {
+					return entries.length / 2;
+				}
+
+			};
+		}
+
+		@Override
+		public Set<K> keySet() {
+			return new AbstractSet<K>() {
+
+				@Override
+				public Iterator<K> iterator() {
+					return new ArrayIterator<>(entries, 0, 2);
+				}
+
+				@Override
+				public int size() {
+					return entries.length / 2;
+				}
+
+			};
+		}
+
+		@Override
+		public Collection<V> values() {
+			return new AbstractCollection<V>() {
+
+				@Override
+				public Iterator<V> iterator() {
+					return new ArrayIterator<>(entries, 1, 2);
+				}
+
+				@Override
+				public int size() {
+					return entries.length / 2;
+				}
+
+			};
+		}
+
+	}
+
+	/**
+	 * Read-only iterator over array elements
+	 *
+	 * @param <E> type of elements
+	 */
+	private static final class ArrayIterator<E> implements Iterator<E> {
+
+		/**
+		 * Array to iterate over
+		 */
+		private final Object[] array;
+
+		/**
+		 * Step between iterated elements
+		 */
+		private final int step;
+
+		/**
+		 * Index of the next element
+		 */
+		private int index;
+
+		/**
+		 * Creates {@link ArrayIterator} instance
+		 *
+		 * @param array array to iterate over
+		 * @param start index of the first element
+		 * @param step  step between iterated elements
+		 */
+		private ArrayIterator(Object[] array, int start, int step) {
+			this.array = array;
+			this.index = start;
+			this.step = step;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index < array.length;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public E next() {
+			if (index >= array.length) {
+				throw new NoSuchElementException();
+			}
+			E element = (E) array[index];
+			index += step;
+			return element;
+		}
+
+	}
+
+}
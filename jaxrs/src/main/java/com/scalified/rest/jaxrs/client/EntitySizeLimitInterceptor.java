@@ -0,0 +1,275 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.client;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ReaderInterceptor;
+import javax.ws.rs.ext.ReaderInterceptorContext;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * A {@link ReaderInterceptor}, which limits the number of bytes read from the entity stream
+ * before deserialization
+ * <p>
+ * The limit is taken from the {@value #MAX_ENTITY_SIZE_PROPERTY} request property. Entities
+ * having larger {@link HttpHeaders#CONTENT_LENGTH} are rejected before reading, otherwise
+ * reading fails with {@link EntityTooLargeException} as soon as the limit is exceeded. A malformed
+ * {@link HttpHeaders#CONTENT_LENGTH} is ignored
+ * <p>
+ * On rejection the underlying connection is aborted rather than closed, so that the rest of the
+ * entity is not drained. Since <b>JAX-RS</b> provides no means to abort the connection, this is
+ * best-effort: the entity stream seen by the interceptor is usually wrapped by the runtime, so
+ * the {@link Response} is aborted instead, if the {@link JaxRsRestClient} has published it in the
+ * {@value #RESPONSE_PROPERTY} request property (see {@link #abort(Response)}). Otherwise the entity
+ * stream is aborted, if it exposes the {@code abortConnection} or {@code abort} method, and is left
+ * intact otherwise
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class EntitySizeLimitInterceptor implements ReaderInterceptor {
+
+	/**
+	 * Request property holding the maximum allowed entity size in bytes
+	 */
+	public static final String MAX_ENTITY_SIZE_PROPERTY = "com.scalified.rest.maxEntitySize";
+
+	/**
+	 * Request property holding the {@link AtomicReference} to the {@link Response} being read,
+	 * which is aborted on rejection
+	 */
+	static final String RESPONSE_PROPERTY = "com.scalified.rest.response";
+
+	/**
+	 * Names of the methods aborting the underlying connection of the entity stream
+	 */
+	private static final String[] ABORT_METHODS = {"abortConnection", "abort"};
+
+	/**
+	 * Name of the <b>RESTEasy</b> {@link Response} method releasing the underlying connection,
+	 * which takes whether to consume the entity before releasing
+	 */
+	private static final String RELEASE_CONNECTION_METHOD = "releaseConnection";
+
+	/**
+	 * Interceptor method wrapping calls to {@link javax.ws.rs.ext.MessageBodyReader#readFrom} method
+	 *
+	 * @param context invocation context
+	 * @return result of next interceptor invoked or the wrapped method if last interceptor in chain
+	 * @throws IOException if an IO error arises or is thrown by the wrapped
+	 *                     {@code MessageBodyReader.readFrom} method
+	 */
+	@Override
+	public Object aroundReadFrom(ReaderInterceptorContext context) throws IOException {
+		Object property = context.getProperty(MAX_ENTITY_SIZE_PROPERTY);
+		if (property instanceof Long) {
+			long maxEntitySize = (Long) property;
+			InputStream input = context.getInputStream();
+			Runnable abort = () -> abort(context.getProperty(RESPONSE_PROPERTY), input);
+			if (contentLength(context.getHeaders().getFirst(HttpHeaders.CONTENT_LENGTH)) > maxEntitySize) {
+				abort.run();
+				throw new EntityTooLargeException(maxEntitySize);
+			}
+			context.setInputStream(limit(input, maxEntitySize, abort));
+		}
+		return context.proceed();
+	}
+
+	/**
+	 * Returns {@link InputStream} reading the given {@link InputStream} and failing with
+	 * {@link EntityTooLargeException} as soon as more than the given number of bytes read
+	 * <p>
+	 * The given action is run once the limit is exceeded, before failing
+	 *
+	 * @param input         {@link InputStream} to limit
+	 * @param maxEntitySize maximum allowed number of bytes
+	 * @param onExceeded    action aborting the underlying connection
+	 * @return limited {@link InputStream}
+	 */
+	static InputStream limit(InputStream input, long maxEntitySize, Runnable onExceeded) {
+		return new FilterInputStream(input) {
+
+			private long count;
+
+			@Override
+			public int read() throws IOException {
+				int read = super.read();
+				if (read >= 0) {
+					check(1);
+				}
+				return read;
+			}
+
+			@Override
+			public int read(byte[] bytes, int offset, int length) throws IOException {
+				int read = super.read(bytes, offset, length);
+				if (read > 0) {
+					check(read);
+				}
+				return read;
+			}
+
+			@Override
+			public long skip(long n) throws IOException {
+				long skipped = super.skip(n);
+				check(skipped);
+				return skipped;
+			}
+
+			@Override
+			public boolean markSupported() {
+				return false;
+			}
+
+			private void check(long read) {
+				count += read;
+				if (count > maxEntitySize) {
+					onExceeded.run();
+					throw new EntityTooLargeException(maxEntitySize);
+				}
+			}
+
+		};
+	}
+
+	/**
+	 * Parses the given <b>Content-Length</b> header value
+	 *
+	 * @param contentLength <b>Content-Length</b> header value, may be {@code null}
+	 * @return parsed <b>Content-Length</b> or {@code -1}, if missing or malformed
+	 */
+	static long contentLength(String contentLength) {
+		if (nonNull(contentLength)) {
+			try {
+				return Long.parseLong(contentLength.trim());
+			} catch (NumberFormatException ignored) {
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Aborts the {@link Response} held by the given {@value #RESPONSE_PROPERTY} request property
+	 * value, if any, otherwise the given entity stream
+	 *
+	 * @param property {@value #RESPONSE_PROPERTY} request property value, may be {@code null}
+	 * @param input    entity stream to abort
+	 */
+	private static void abort(Object property, InputStream input) {
+		Object response = property instanceof AtomicReference ? ((AtomicReference<?>) property).get() : null;
+		if (response instanceof Response) {
+			abort((Response) response);
+		} else {
+			abort(input);
+		}
+	}
+
+	/**
+	 * Aborts the underlying connection of the given {@link Response} without consuming the entity
+	 * <p>
+	 * This is best-effort. <b>RESTEasy</b> responses are released through their
+	 * {@code releaseConnection(false)} method, which closes the underlying <b>Apache HttpClient</b>
+	 * response without draining it. Otherwise the entity stream is aborted, if it exposes the
+	 * {@code abortConnection} or {@code abort} method. Otherwise nothing is done, and closing the
+	 * {@link Response} may consume the rest of the entity
+	 *
+	 * @param response {@link Response} to abort
+	 */
+	static void abort(Response response) {
+		Method releaseConnection = publicMethod(response.getClass(), RELEASE_CONNECTION_METHOD, boolean.class);
+		if (nonNull(releaseConnection)) {
+			try {
+				releaseConnection.invoke(response, false);
+				return;
+			} catch (ReflectiveOperationException | RuntimeException ignored) {
+			}
+		}
+		InputStream input;
+		try {
+			input = response.readEntity(InputStream.class);
+		} catch (RuntimeException e) {
+			return;
+		}
+		if (nonNull(input)) {
+			abort(input);
+		}
+	}
+
+	/**
+	 * Aborts the underlying connection of the given entity stream, if it exposes the
+	 * {@code abortConnection} or {@code abort} method
+	 * <p>
+	 * The stream is not closed otherwise, since closing may consume the rest of the entity
+	 *
+	 * @param input entity stream to abort
+	 */
+	static void abort(InputStream input) {
+		for (String name : ABORT_METHODS) {
+			Method abort = publicMethod(input.getClass(), name);
+			if (nonNull(abort)) {
+				try {
+					abort.invoke(input);
+				} catch (ReflectiveOperationException | RuntimeException ignored) {
+				}
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns the public method having the given name and parameter types, declared by the given
+	 * class or its nearest public superclass
+	 * <p>
+	 * Runtime classes are often non-public implementations, whose methods cannot be invoked
+	 * reflectively even if public, hence the method is looked up in the public superclasses
+	 *
+	 * @param type           class to look up the method in
+	 * @param name           method name
+	 * @param parameterTypes method parameter types
+	 * @return the public method, {@code null} if none
+	 */
+	private static Method publicMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+		for (Class<?> current = type; nonNull(current); current = current.getSuperclass()) {
+			if (Modifier.isPublic(current.getModifiers())) {
+				try {
+					return current.getMethod(name, parameterTypes);
+				} catch (NoSuchMethodException e) {
+					return null;
+				}
+			}
+		}
+		return null;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.client;
+
+import javax.ws.rs.ProcessingException;
+
+/**
+ * Thrown when the <b>HTTP</b> response entity exceeds the maximum allowed size
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class EntityTooLargeException extends ProcessingException {
+
+	/**
+	 * Serial Version UID
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Maximum allowed entity size in bytes
+	 */
+	private final long maxEntitySize;
+
+	/**
+	 * Creates {@link EntityTooLargeException} instance
+	 *
+	 * @param maxEntitySize maximum allowed entity size in bytes
+	 */
+	public EntityTooLargeException(long maxEntitySize) {
+		super("Entity exceeds the maximum allowed size of " + maxEntitySize + " bytes");
+		this.maxEntitySize = maxEntitySize;
+	}
+
+	/**
+	 * Returns maximum allowed entity size in bytes
+	 *
+	 * @return maximum allowed entity size in bytes
+	 */
+	public long getMaxEntitySize() {
+		return maxEntitySize;
+	}
+
+}
@@ -24,14 +24,23 @@
 
 package com.scalified.rest.jaxrs.client;
 
+import com.scalified.rest.jaxrs.binary.CborProvider;
+import com.scalified.rest.jaxrs.binary.SmileProvider;
+import com.scalified.rest.jaxrs.extension.ExtendedMediaType;
+import com.scalified.rest.jaxrs.extension.MediaTypeCache;
+
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.net.SocketTimeoutException;
+import java.net.URI;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 import static java.util.Objects.isNull;
@@ -46,18 +55,103 @@ import static java.util.Objects.nonNull;
  */
 public class JaxRsRestClient implements RestClient {
 
+	/**
+	 * Maximum time in seconds a warm-up response is held open waiting for other
+	 * warm-up responses of the same endpoint
+	 */
+	private static final long WARM_UP_HOLD_TIMEOUT_SECONDS = 10;
+
 	/**
 	 * An underlying <b>JAX-RS</b> client
 	 */
 	private final Client client;
 
+	/**
+	 * Maximum allowed response entity size in bytes, negative if not limited
+	 */
+	private final long maxEntitySize;
+
+	/**
+	 * Indicates whether {@link EntitySizeLimitInterceptor} is registered in the underlying <b>JAX-RS</b> client
+	 */
+	private final boolean entitySizeLimitRegistered;
+
+	/**
+	 * Binary {@link MediaType} preferred over <b>JSON</b> in content negotiation, {@code null} if none
+	 */
+	private final MediaType preferredMediaType;
+
+	/**
+	 * Cache of negotiated <b>Accept</b> header values keyed by the requested ones
+	 */
+	private final ConcurrentMap<String, String> acceptValues = new ConcurrentHashMap<>();
+
 	/**
 	 * Creates {@link JaxRsRestClient} instance
+	 * <p>
+	 * The underlying <b>JAX-RS</b> client is not modified
 	 *
 	 * @param client an underlying <b>JAX-RS</b> client
 	 */
 	public JaxRsRestClient(Client client) {
+		this(client, -1);
+	}
+
+	/**
+	 * Creates {@link JaxRsRestClient} instance
+	 * <p>
+	 * If the maximum allowed response entity size is not negative, registers
+	 * {@link EntitySizeLimitInterceptor} in the underlying <b>JAX-RS</b> client, which enforces
+	 * the limit while reading the entity stream. Note, that the registration affects all users
+	 * of the given client. Otherwise the client is not modified, and the interceptor is registered
+	 * per request target for the requests having their own limit
+	 *
+	 * @param client        an underlying <b>JAX-RS</b> client
+	 * @param maxEntitySize maximum allowed response entity size in bytes, negative if not limited.
+	 *                      May be overridden by {@link Request.Builder#maxEntitySize(long)}
+	 */
+	public JaxRsRestClient(Client client, long maxEntitySize) {
+		this(client, maxEntitySize, null);
+	}
+
+	/**
+	 * Creates {@link JaxRsRestClient} instance
+	 * <p>
+	 * Prefers the given binary {@link MediaType} over <b>JSON</b> in content negotiation:
+	 * each request accepting <b>JSON</b> additionally accepts the given media type with
+	 * the highest quality, while the requested media types are kept as a fallback with
+	 * lower quality. Hence, the binary representation is received when the server supports it,
+	 * and <b>JSON</b> otherwise
+	 * <p>
+	 * Registers {@link CborProvider} or {@link SmileProvider} in the underlying <b>JAX-RS</b>
+	 * client for {@link ExtendedMediaType#APPLICATION_CBOR_TYPE} and
+	 * {@link ExtendedMediaType#APPLICATION_X_JACKSON_SMILE_TYPE} respectively, unless already
+	 * registered. Providers for other media types must be registered by the caller. Along with
+	 * {@link EntitySizeLimitInterceptor}, registered if the maximum allowed response entity size
+	 * is not negative, the registration affects all users of the given client
+	 *
+	 * @param client             an underlying <b>JAX-RS</b> client
+	 * @param maxEntitySize      maximum allowed response entity size in bytes, negative if not limited.
+	 *                           May be overridden by {@link Request.Builder#maxEntitySize(long)}
+	 * @param preferredMediaType binary media type to prefer over <b>JSON</b>, {@code null} if none
+	 */
+	public JaxRsRestClient(Client client, long maxEntitySize, MediaType preferredMediaType) {
 		this.client = client;
+		this.maxEntitySize = maxEntitySize;
+		this.preferredMediaType = preferredMediaType;
+		if (maxEntitySize >= 0 && !client.getConfiguration().isRegistered(EntitySizeLimitInterceptor.class)) {
+			client.register(EntitySizeLimitInterceptor.class);
+		}
+		this.entitySizeLimitRegistered = client.getConfiguration().isRegistered(EntitySizeLimitInterceptor.class);
+		if (ExtendedMediaType.APPLICATION_CBOR_TYPE.isCompatible(preferredMediaType)) {
+			if (!client.getConfiguration().isRegistered(CborProvider.class)) {
+				client.register(CborProvider.class);
+			}
+		} else if (ExtendedMediaType.APPLICATION_X_JACKSON_SMILE_TYPE.isCompatible(preferredMediaType)) {
+			if (!client.getConfiguration().isRegistered(SmileProvider.class)) {
+				client.register(SmileProvider.class);
+			}
+		}
 	}
 
 	/**
@@ -232,6 +326,186 @@ public class JaxRsRestClient implements RestClient {
 				.flatMap(response -> readResponseEntity(request, response, responseEntityType));
 	}
 
+	/**
+	 * Opens connections of the underlying <b>JAX-RS</b> client before it is used to serve traffic
+	 * <p>
+	 * Given requests are deduplicated by endpoint, i.e. by scheme, host and port of their URLs,
+	 * so that the first request of each endpoint is used. For each endpoint, performs the given
+	 * number of concurrent <b>HTTP HEAD</b> requests, so that <b>TCP</b> and <b>TLS</b> handshakes
+	 * are done upfront. No entities are requested
+	 * <p>
+	 * Concurrency is enforced regardless of the client asynchronous executor: <b>HEAD</b>
+	 * requests are performed on dedicated threads, one per connection, and each response is
+	 * held open until all responses of the endpoint are received (or
+	 * {@value #WARM_UP_HOLD_TIMEOUT_SECONDS} seconds elapse), so that requests do not reuse each
+	 * other's connections. Endpoints are warmed up one after another
+	 * <p>
+	 * Opened connections are not pinned. Closing a response merely releases its connection to
+	 * the underlying <b>JAX-RS</b> client implementation, which keeps it only if it pools
+	 * connections, its pool allows that many connections per endpoint and the server keeps the
+	 * connection alive; afterwards the connection is subject to the idle timeout and eviction
+	 * policy of the pool. With a client holding a single connection, or not pooling connections
+	 * at all, requests wait for each other and nothing is retained
+	 * <p>
+	 * Blocks until all warm-up requests complete. Failures are passed to the
+	 * {@link Request#getFailureConsumer()} and never thrown, since warm-up is best effort
+	 *
+	 * @param requests    requests pointing to the endpoints to warm up
+	 * @param connections number of connections to open per endpoint
+	 */
+	public void warmUp(Collection<Request> requests, int connections) {
+		if (connections <= 0) {
+			return;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(connections, runnable -> {
+			Thread thread = new Thread(runnable, "rest-client-warm-up");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			for (Request endpoint : endpoints(requests)) {
+				if (!openConnections(endpoint, connections, executor)) {
+					return;
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Initializes providers of the underlying <b>JAX-RS</b> client for the given entity types
+	 * before it is used to serve traffic
+	 * <p>
+	 * Performs a real <b>HTTP GET</b> request to the URL of each given request, buffers its entity
+	 * and reads it as each of the given entity types, so that providers for these types are looked
+	 * up and initialized. Requests must therefore point to safe resources, which may be fetched
+	 * at any time, such as health or metadata endpoints. Each request is performed as is, without
+	 * deduplication
+	 * <p>
+	 * Blocks until all requests complete. Failures are passed to the
+	 * {@link Request#getFailureConsumer()} and never thrown, since warm-up is best effort
+	 *
+	 * @param requests    requests pointing to the safe resources to read
+	 * @param entityTypes entity types to initialize providers for
+	 */
+	public void warmUpProviders(Collection<Request> requests, Class<?>... entityTypes) {
+		if (entityTypes.length == 0) {
+			return;
+		}
+		for (Request request : requests) {
+			Response response = null;
+			try {
+				response = createInvocationBuilder(request).get();
+				response.bufferEntity();
+				for (Class<?> entityType : entityTypes) {
+					try {
+						response.readEntity(entityType);
+					} catch (Exception ignored) {
+						// provider lookup has been done, even though the entity does not match the type
+					}
+				}
+			} catch (Exception e) {
+				request.failureConsumer.accept(e);
+			} finally {
+				if (nonNull(response)) {
+					try {
+						response.close();
+					} catch (Exception ignored) {
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Opens the given number of concurrent connections to the endpoint of the given {@link Request}
+	 * by performing <b>HTTP HEAD</b> requests on the given executor, holding each response open
+	 * until all of them are received
+	 *
+	 * @param request     request pointing to the endpoint
+	 * @param connections number of connections to open
+	 * @param executor    executor having at least the given number of threads
+	 * @return {@code true} if completed, {@code false} if the current thread has been interrupted
+	 */
+	private boolean openConnections(Request request, int connections, ExecutorService executor) {
+		CountDownLatch received = new CountDownLatch(connections);
+		List<Future<?>> futures = new ArrayList<>(connections);
+		for (int i = 0; i < connections; i++) {
+			futures.add(executor.submit(() -> {
+				Response response = null;
+				try {
+					response = createInvocationBuilder(request).head();
+				} catch (Exception e) {
+					request.failureConsumer.accept(e);
+				} finally {
+					received.countDown();
+				}
+				try {
+					received.await(WARM_UP_HOLD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					if (nonNull(response)) {
+						try {
+							response.close();
+						} catch (Exception ignored) {
+						}
+					}
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				request.failureConsumer.accept(e);
+				return false;
+			} catch (ExecutionException e) {
+				request.failureConsumer.accept(e.getCause());
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Deduplicates the given requests by endpoint, i.e. by scheme, host and port of their URLs
+	 *
+	 * @param requests requests to deduplicate
+	 * @return the first request of each endpoint in the given order
+	 */
+	private static Collection<Request> endpoints(Collection<Request> requests) {
+		Map<String, Request> endpoints = new LinkedHashMap<>();
+		for (Request request : requests) {
+			endpoints.putIfAbsent(endpoint(request.url), request);
+		}
+		return endpoints.values();
+	}
+
+	/**
+	 * Returns the endpoint key of the given URL consisting of scheme, host and port
+	 *
+	 * @param url URL to return endpoint key of
+	 * @return endpoint key, the given URL itself if it cannot be parsed
+	 */
+	private static String endpoint(String url) {
+		try {
+			URI uri = URI.create(url);
+			String scheme = isNull(uri.getScheme()) ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+			if (isNull(uri.getHost())) {
+				return url;
+			}
+			int port = uri.getPort();
+			if (port < 0) {
+				port = "https".equals(scheme) ? 443 : "http".equals(scheme) ? 80 : -1;
+			}
+			return scheme + "://" + uri.getHost().toLowerCase(Locale.ROOT) + ":" + port;
+		} catch (IllegalArgumentException e) {
+			return url;
+		}
+	}
+
 	/**
 	 * Creates {@link Invocation.Builder} from the given <b>HTTP</b> {@link Request}
 	 *
@@ -246,14 +520,81 @@ public class JaxRsRestClient implements RestClient {
 		for (Map.Entry<String, Collection<?>> queryParam : request.queryParams.entrySet()) {
 			target = target.queryParam(queryParam.getKey(), queryParam.getValue().toArray());
 		}
+		long limit = maxEntitySize(request);
+		if (limit >= 0 && !entitySizeLimitRegistered) {
+			target = target.register(EntitySizeLimitInterceptor.class);
+		}
 		Invocation.Builder builder = target.request();
-		builder = builder.accept(request.mediaTypes.toArray(new MediaType[0]));
+		String accept = accept(request);
+		if (nonNull(accept)) {
+			builder = builder.header(HttpHeaders.ACCEPT, accept);
+		}
 		for (Map.Entry<String, Object> header : request.headers.entrySet()) {
 			builder = builder.header(header.getKey(), header.getValue());
 		}
+		if (limit >= 0) {
+			builder = builder.property(EntitySizeLimitInterceptor.MAX_ENTITY_SIZE_PROPERTY, limit);
+		}
 		return builder;
 	}
 
+	/**
+	 * Returns <b>Accept</b> header value for the given <b>HTTP</b> {@link Request}
+	 * <p>
+	 * If the request accepts <b>JSON</b>, prepends the preferred binary media type
+	 * and lowers the quality of the requested media types, otherwise returns the
+	 * requested <b>Accept</b> header value as is
+	 *
+	 * @param request <b>HTTP</b> {@link Request}
+	 * @return <b>Accept</b> header value, {@code null} if none
+	 */
+	private String accept(Request request) {
+		if (isNull(preferredMediaType) || isNull(request.accept)) {
+			return request.accept;
+		}
+		String accept = acceptValues.get(request.accept);
+		if (nonNull(accept)) {
+			return accept;
+		}
+		accept = negotiate(request.mediaTypes);
+		if (acceptValues.size() < MediaTypeCache.MAX_SIZE) {
+			acceptValues.putIfAbsent(request.accept, accept);
+		}
+		return accept;
+	}
+
+	/**
+	 * Creates <b>Accept</b> header value preferring the binary media type over the given media types
+	 *
+	 * @param mediaTypes requested media types
+	 * @return <b>Accept</b> header value
+	 */
+	private String negotiate(Collection<MediaType> mediaTypes) {
+		boolean json = false;
+		for (MediaType mediaType : mediaTypes) {
+			String subtype = mediaType.getSubtype();
+			if (subtype.equalsIgnoreCase("json") || subtype.toLowerCase(Locale.ROOT).endsWith("+json")) {
+				json = true;
+				break;
+			}
+		}
+		if (!json) {
+			return MediaTypeCache.accept(mediaTypes);
+		}
+		List<MediaType> negotiated = new ArrayList<>(mediaTypes.size() + 1);
+		negotiated.add(preferredMediaType);
+		for (MediaType mediaType : mediaTypes) {
+			if (mediaType.getParameters().containsKey("q")) {
+				negotiated.add(mediaType);
+			} else {
+				Map<String, String> parameters = new LinkedHashMap<>(mediaType.getParameters());
+				parameters.put("q", "0.9");
+				negotiated.add(new MediaType(mediaType.getType(), mediaType.getSubtype(), parameters));
+			}
+		}
+		return MediaTypeCache.accept(negotiated);
+	}
+
 	/**
 	 * Invokes the given {@link Invocation} supplied with the given {@link Request}
 	 * <p>
@@ -266,7 +607,15 @@ public class JaxRsRestClient implements RestClient {
 	private Optional<Response> invoke(Invocation invocation, Request request) {
 		RuntimeException thrown = null;
 		try {
+			AtomicReference<Response> rejectable = null;
+			if (maxEntitySize(request) >= 0) {
+				rejectable = new AtomicReference<>();
+				invocation.property(EntitySizeLimitInterceptor.RESPONSE_PROPERTY, rejectable);
+			}
 			Response response = invocation.invoke();
+			if (nonNull(rejectable)) {
+				rejectable.set(response);
+			}
 			if (RestClient.isSuccessful(response)) {
 				try {
 					request.successConsumer.accept(response);
@@ -341,9 +690,14 @@ public class JaxRsRestClient implements RestClient {
 			return Optional.empty();
 		}
 		try {
+			long limit = maxEntitySize(request);
+			if (limit >= 0 && response.getLength() > limit) {
+				EntitySizeLimitInterceptor.abort(response);
+				throw new EntityTooLargeException(limit);
+			}
 			return Optional.ofNullable(function.apply(response));
 		} catch (Exception e) {
-			request.failureConsumer.accept(e);
+			request.failureConsumer.accept(unwrapEntityTooLarge(e));
 		} finally {
 			try {
 				response.close();
@@ -353,4 +707,31 @@ public class JaxRsRestClient implements RestClient {
 		return Optional.empty();
 	}
 
+	/**
+	 * Returns maximum allowed response entity size for the given <b>HTTP</b> {@link Request}
+	 *
+	 * @param request <b>HTTP</b> {@link Request}
+	 * @return maximum allowed response entity size in bytes, negative if not limited
+	 */
+	private long maxEntitySize(Request request) {
+		return nonNull(request.maxEntitySize) ? request.maxEntitySize : maxEntitySize;
+	}
+
+	/**
+	 * Returns {@link EntityTooLargeException} from the cause chain of the given exception,
+	 * if any, otherwise returns the given exception
+	 *
+	 * @param e exception to unwrap
+	 * @return {@link EntityTooLargeException} from the cause chain of the given exception,
+	 * if any, otherwise the given exception
+	 */
+	private static Throwable unwrapEntityTooLarge(Throwable e) {
+		for (Throwable cause = e; nonNull(cause); cause = cause.getCause()) {
+			if (cause instanceof EntityTooLargeException) {
+				return cause;
+			}
+		}
+		return e;
+	}
+
 }
@@ -0,0 +1,738 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.client;
+
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.Response;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A {@link RestClient} decorator, which distributes requests across a pool of endpoints
+ * <p>
+ * The scheme and authority of the {@link Request#getUrl()} of each request are replaced with the
+ * base URL of the endpoint selected by the configured {@link LoadBalancingStrategy}, while the
+ * request path and query are appended to the base URL, e.g. {@code http://any/api/users?page=1}
+ * and {@code /api/users?page=1} are both routed to {@code http://host-1:8080/api/users?page=1}.
+ * Path parameters, query parameters, headers, entity and consumers are retained
+ * <p>
+ * An endpoint is ejected from the pool after the configured number of consecutive failures
+ * and re-admitted once the ejection time elapses. A failure is either an exceptional case or
+ * an <b>HTTP</b> response having server error status (e.g. 5xx)
+ * <pre>
+ *    RestClient client = LoadBalancingRestClient.builder(
+ *            new JaxRsRestClient(jaxRsClient),
+ *            Arrays.asList("http://host-1:8080", "http://host-2:8080")
+ *    )
+ *            .strategy(LoadBalancingStrategy.POWER_OF_TWO_CHOICES)
+ *            .ejectAfter(5)
+ *            .ejectFor(30, TimeUnit.SECONDS)
+ *            .build();
+ * </pre>
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class LoadBalancingRestClient implements RestClient {
+
+	/**
+	 * Number of virtual nodes placed on the consistent hash ring per endpoint
+	 */
+	private static final int VIRTUAL_NODES = 128;
+
+	/**
+	 * Weight of the latest latency sample in the latency moving average
+	 */
+	private static final double EWMA_ALPHA = 0.3;
+
+	/**
+	 * An underlying {@link RestClient}
+	 */
+	private final RestClient client;
+
+	/**
+	 * Endpoints pool
+	 */
+	private final Endpoint[] endpoints;
+
+	/**
+	 * Endpoint selection strategy
+	 */
+	private final LoadBalancingStrategy strategy;
+
+	/**
+	 * Function to extract the key of {@link Request} used for consistent hashing
+	 */
+	private final Function<Request, String> keyExtractor;
+
+	/**
+	 * Number of consecutive failures after which an endpoint is ejected
+	 */
+	private final int ejectionThreshold;
+
+	/**
+	 * Ejection time in nanoseconds
+	 */
+	private final long ejectionNanos;
+
+	/**
+	 * Round robin counter
+	 */
+	private final AtomicInteger counter = new AtomicInteger();
+
+	/**
+	 * Consistent hash ring positions, sorted in ascending order
+	 */
+	private final int[] ringHashes;
+
+	/**
+	 * Consistent hash ring endpoints, corresponding to {@link #ringHashes}
+	 */
+	private final Endpoint[] ringEndpoints;
+
+	/**
+	 * Creates {@link LoadBalancingRestClient} instance
+	 *
+	 * @param builder {@link LoadBalancingRestClient} builder
+	 */
+	private LoadBalancingRestClient(Builder builder) {
+		this.client = builder.client;
+		this.endpoints = builder.urls.stream().map(Endpoint::new).toArray(Endpoint[]::new);
+		this.strategy = builder.strategy;
+		this.keyExtractor = builder.keyExtractor;
+		this.ejectionThreshold = builder.ejectionThreshold;
+		this.ejectionNanos = builder.ejectionNanos;
+
+		int size = endpoints.length * VIRTUAL_NODES;
+		long[] ring = new long[size];
+		for (int i = 0; i < endpoints.length; i++) {
+			for (int node = 0; node < VIRTUAL_NODES; node++) {
+				int hash = hash(endpoints[i].url + '#' + node);
+				ring[i * VIRTUAL_NODES + node] = ((long) hash << 32) | i;
+			}
+		}
+		Arrays.sort(ring);
+		this.ringHashes = new int[size];
+		this.ringEndpoints = new Endpoint[size];
+		for (int i = 0; i < size; i++) {
+			ringHashes[i] = (int) (ring[i] >> 32);
+			ringEndpoints[i] = endpoints[(int) ring[i]];
+		}
+	}
+
+	/**
+	 * Returns the {@link LoadBalancingRestClient} builder
+	 *
+	 * @param client an underlying {@link RestClient}
+	 * @param urls   base URLs of endpoints
+	 * @return {@link LoadBalancingRestClient} builder
+	 */
+	public static Builder builder(RestClient client, Collection<String> urls) {
+		return new Builder(client, urls);
+	}
+
+	/**
+	 * Performs <b>HTTP GET</b> request and returns response
+	 *
+	 * @param request request
+	 * @return response
+	 */
+	@Override
+	public Response get(Request request) {
+		return execute(request, RestClient::get);
+	}
+
+	/**
+	 * Performs <b>HTTP GET</b> request and returns optional response entity
+	 *
+	 * @param request             request
+	 * @param responseEntityClass response entity class
+	 * @param <T>                 type of response entity class
+	 * @return optional response entity
+	 */
+	@Override
+	public <T> Optional<T> get(Request request, Class<T> responseEntityClass) {
+		return execute(request, (client, routed) -> client.get(routed, responseEntityClass));
+	}
+
+	/**
+	 * Performs <b>HTTP GET</b> request and returns optional response entity
+	 *
+	 * @param request            request
+	 * @param responseEntityType generic response entity type
+	 * @param <T>                type of response entity
+	 * @return optional response entity
+	 */
+	@Override
+	public <T> Optional<T> get(Request request, GenericType<T> responseEntityType) {
+		return execute(request, (client, routed) -> client.get(routed, responseEntityType));
+	}
+
+	/**
+	 * Performs <b>HTTP POST</b> request and returns response
+	 *
+	 * @param request request
+	 * @return response
+	 */
+	@Override
+	public Response post(Request request) {
+		return execute(request, RestClient::post);
+	}
+
+	/**
+	 * Performs <b>HTTP POST</b> request and returns optional response entity
+	 *
+	 * @param request             request
+	 * @param responseEntityClass response entity class
+	 * @param <T>                 type of response entity class
+	 * @return optional response entity
+	 */
+	@Override
+	public <T> Optional<T> post(Request request, Class<T> responseEntityClass) {
+		return execute(request, (client, routed) -> client.post(routed, responseEntityClass));
+	}
+
+	/**
+	 * Performs <b>HTTP POST</b> request and returns optional response entity
+	 *
+	 * @param request            request
+	 * @param responseEntityType generic response entity type
+	 * @param <T>                type of response entity
+	 * @return optional response entity
+	 */
+	@Override
+	public <T> Optional<T> post(Request request, GenericType<T> responseEntityType) {
+		return execute(request, (client, routed) -> client.post(routed, responseEntityType));
+	}
+
+	/**
+	 * Performs <b>HTTP PUT</b> request and returns response
+	 *
+	 * @param request request
+	 * @return response
+	 */
+	@Override
+	public Response put(Request request) {
+		return execute(request, RestClient::put);
+	}
+
+	/**
+	 * Performs <b>HTTP PUT</b> request and returns optional response entity
+	 *
+	 * @param request             request
+	 * @param responseEntityClass response entity class
+	 * @param <T>                 type of response entity
+	 * @return optional response entity
+	 */
+	@Override
+	public <T> Optional<T> put(Request request, Class<T> responseEntityClass) {
+		return execute(request, (client, routed) -> client.put(routed, responseEntityClass));
+	}
+
+	/**
+	 * Performs <b>HTTP PUT</b> request and returns optional response entity
+	 *
+	 * @param request            request
+	 * @param responseEntityType response entity class
+	 * @param <T>                type of response entity
+	 * @return optional response entity
+	 */
+	@Override
+	public <T> Optional<T> put(Request request, GenericType<T> responseEntityType) {
+		return execute(request, (client, routed) -> client.put(routed, responseEntityType));
+	}
+
+	/**
+	 * Performs <b>HTTP DELETE</b> request and returns response
+	 *
+	 * @param request request
+	 * @return response
+	 */
+	@Override
+	public Response delete(Request request) {
+		return execute(request, RestClient::delete);
+	}
+
+	/**
+	 * Performs <b>HTTP DELETE</b> request
+	 *
+	 * @param request             request
+	 * @param responseEntityClass response entity class
+	 * @param <T>                 type of response entity
+	 * @return optional response entity
+	 */
+	@Override
+	public <T> Optional<T> delete(Request request, Class<T> responseEntityClass) {
+		return execute(request, (client, routed) -> client.delete(routed, responseEntityClass));
+	}
+
+	/**
+	 * Performs <b>HTTP DELETE</b> request
+	 *
+	 * @param request            request
+	 * @param responseEntityType response entity class
+	 * @param <T>                type of response entity
+	 * @return optional response entity
+	 */
+	@Override
+	public <T> Optional<T> delete(Request request, GenericType<T> responseEntityType) {
+		return execute(request, (client, routed) -> client.delete(routed, responseEntityType));
+	}
+
+	/**
+	 * Routes the given {@link Request} to the selected endpoint, executes it with the
+	 * given function and records the outcome in the endpoint statistics
+	 *
+	 * @param request  <b>HTTP</b> {@link Request} to route
+	 * @param function function to execute the routed {@link Request}
+	 * @param <R>      type of result
+	 * @return result of the given function
+	 */
+	private <R> R execute(Request request, BiFunction<RestClient, Request, R> function) {
+		Endpoint endpoint = select(request);
+		boolean[] failed = new boolean[1];
+		Request routed = route(request, endpoint, failed);
+		endpoint.outstanding.incrementAndGet();
+		long start = System.nanoTime();
+		try {
+			return function.apply(client, routed);
+		} catch (RuntimeException e) {
+			failed[0] = true;
+			throw e;
+		} finally {
+			long now = System.nanoTime();
+			endpoint.outstanding.decrementAndGet();
+			if (failed[0]) {
+				endpoint.onFailure(now, ejectionThreshold, ejectionNanos);
+			} else {
+				endpoint.onSuccess(now - start);
+			}
+		}
+	}
+
+	/**
+	 * Creates a copy of the given {@link Request} targeting the given {@link Endpoint}
+	 * <p>
+	 * Failure and unsuccessful response consumers of the copy mark the given flag,
+	 * when called
+	 *
+	 * @param request  <b>HTTP</b> {@link Request} to copy
+	 * @param endpoint {@link Endpoint} to target
+	 * @param failed   failure flag
+	 * @return copy of the given {@link Request} targeting the given {@link Endpoint}
+	 */
+	private static Request route(Request request, Endpoint endpoint, boolean[] failed) {
+		return request.derive(join(endpoint.url, request.url))
+				.onUnsuccessfulResponse(response -> {
+					if (response.getStatusInfo().getFamily() == Response.Status.Family.SERVER_ERROR) {
+						failed[0] = true;
+					}
+					request.unsuccessfulResponseConsumer.accept(response);
+				})
+				.onFailure(throwable -> {
+					failed[0] = true;
+					request.failureConsumer.accept(throwable);
+				})
+				.build();
+	}
+
+	/**
+	 * Joins the given endpoint base URL with the path and query of the given request URL
+	 * <p>
+	 * The scheme and authority of the request URL, if any, are dropped
+	 *
+	 * @param base endpoint base URL
+	 * @param url  request URL, either absolute or relative
+	 * @return endpoint base URL followed by the path and query of the request URL
+	 */
+	static String join(String base, String url) {
+		if (Objects.isNull(url) || url.isEmpty()) {
+			return base;
+		}
+		int start = 0;
+		int scheme = url.indexOf("://");
+		if (scheme >= 0) {
+			start = scheme + 3;
+			while (start < url.length() && "/?#".indexOf(url.charAt(start)) < 0) {
+				start++;
+			}
+		}
+		if (start == url.length()) {
+			return base;
+		}
+		boolean slashEnded = base.endsWith("/");
+		char first = url.charAt(start);
+		if (first == '/') {
+			return slashEnded ? base + url.substring(start + 1) : base + url.substring(start);
+		}
+		if (first == '?' || first == '#' || slashEnded) {
+			return base + url.substring(start);
+		}
+		return base + '/' + url.substring(start);
+	}
+
+	/**
+	 * Selects the {@link Endpoint} for the given {@link Request} according to the
+	 * configured {@link LoadBalancingStrategy}
+	 * <p>
+	 * Ejected endpoints are skipped unless all endpoints are ejected
+	 *
+	 * @param request <b>HTTP</b> {@link Request} to select the {@link Endpoint} for
+	 * @return selected {@link Endpoint}
+	 */
+	private Endpoint select(Request request) {
+		long now = System.nanoTime();
+		switch (strategy) {
+			case LEAST_OUTSTANDING_REQUESTS:
+				return selectLeastOutstanding(now);
+			case POWER_OF_TWO_CHOICES:
+				return selectPowerOfTwo(now);
+			case CONSISTENT_HASHING:
+				return selectConsistentHash(request, now);
+			case ROUND_ROBIN:
+			default:
+				return selectRoundRobin(now);
+		}
+	}
+
+	/**
+	 * Selects the next available {@link Endpoint} in a circular order
+	 *
+	 * @param now current time in nanoseconds
+	 * @return selected {@link Endpoint}
+	 */
+	private Endpoint selectRoundRobin(long now) {
+		int start = counter.getAndIncrement() & Integer.MAX_VALUE;
+		for (int i = 0; i < endpoints.length; i++) {
+			Endpoint endpoint = endpoints[(start + i) % endpoints.length];
+			if (endpoint.isAvailable(now)) {
+				return endpoint;
+			}
+		}
+		return endpoints[start % endpoints.length];
+	}
+
+	/**
+	 * Selects the available {@link Endpoint} having the least number of requests in flight
+	 *
+	 * @param now current time in nanoseconds
+	 * @return selected {@link Endpoint}
+	 */
+	private Endpoint selectLeastOutstanding(long now) {
+		int offset = ThreadLocalRandom.current().nextInt(endpoints.length);
+		Endpoint selected = null;
+		int least = Integer.MAX_VALUE;
+		for (int i = 0; i < endpoints.length; i++) {
+			Endpoint endpoint = endpoints[(offset + i) % endpoints.length];
+			int outstanding = endpoint.outstanding.get();
+			if (endpoint.isAvailable(now) && outstanding < least) {
+				selected = endpoint;
+				least = outstanding;
+			}
+		}
+		return Objects.nonNull(selected) ? selected : endpoints[offset];
+	}
+
+	/**
+	 * Selects two random available endpoints and returns the one having the lower cost
+	 *
+	 * @param now current time in nanoseconds
+	 * @return selected {@link Endpoint}
+	 */
+	private Endpoint selectPowerOfTwo(long now) {
+		if (endpoints.length == 1) {
+			return endpoints[0];
+		}
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int i = random.nextInt(endpoints.length);
+		int j = random.nextInt(endpoints.length - 1);
+		if (j >= i) {
+			j++;
+		}
+		Endpoint first = endpoints[i];
+		Endpoint second = endpoints[j];
+		boolean firstAvailable = first.isAvailable(now);
+		boolean secondAvailable = second.isAvailable(now);
+		if (firstAvailable && secondAvailable) {
+			return first.cost() <= second.cost() ? first : second;
+		}
+		if (firstAvailable || secondAvailable) {
+			return firstAvailable ? first : second;
+		}
+		return selectLeastOutstanding(now);
+	}
+
+	/**
+	 * Selects the {@link Endpoint} by hashing the key of the given {@link Request} onto the
+	 * consistent hash ring and walking the ring clockwise to the first available
+	 * {@link Endpoint}
+	 *
+	 * @param request <b>HTTP</b> {@link Request} to select the {@link Endpoint} for
+	 * @param now     current time in nanoseconds
+	 * @return selected {@link Endpoint}
+	 */
+	private Endpoint selectConsistentHash(Request request, long now) {
+		String key = keyExtractor.apply(request);
+		int index = Arrays.binarySearch(ringHashes, hash(Objects.toString(key)));
+		if (index < 0) {
+			index = -index - 1;
+		}
+		for (int i = 0; i < ringEndpoints.length; i++) {
+			Endpoint endpoint = ringEndpoints[(index + i) % ringEndpoints.length];
+			if (endpoint.isAvailable(now)) {
+				return endpoint;
+			}
+		}
+		return ringEndpoints[index % ringEndpoints.length];
+	}
+
+	/**
+	 * Returns well-distributed 32-bit FNV-1a hash of the given {@link String}
+	 *
+	 * @param value {@link String} to hash
+	 * @return 32-bit hash of the given {@link String}
+	 */
+	private static int hash(String value) {
+		int hash = 0x811c9dc5;
+		for (int i = 0; i < value.length(); i++) {
+			hash ^= value.charAt(i);
+			hash *= 0x01000193;
+		}
+		hash ^= hash >>> 16;
+		hash *= 0x85ebca6b;
+		hash ^= hash >>> 13;
+		return hash;
+	}
+
+	/**
+	 * An endpoint of {@link LoadBalancingRestClient} pool along with its statistics
+	 */
+	private static class Endpoint {
+
+		/**
+		 * Endpoint base URL
+		 */
+		private final String url;
+
+		/**
+		 * Number of requests in flight
+		 */
+		private final AtomicInteger outstanding = new AtomicInteger();
+
+		/**
+		 * Number of consecutive failures
+		 */
+		private final AtomicInteger failures = new AtomicInteger();
+
+		/**
+		 * Exponentially weighted moving average of latency in nanoseconds
+		 */
+		private volatile double latency;
+
+		/**
+		 * Time in nanoseconds until which the endpoint is ejected
+		 */
+		private volatile long ejectedUntil;
+
+		/**
+		 * Indicates whether the endpoint is ejected
+		 */
+		private volatile boolean ejected;
+
+		/**
+		 * Creates {@link Endpoint} instance
+		 *
+		 * @param url endpoint base URL
+		 */
+		private Endpoint(String url) {
+			this.url = url;
+		}
+
+		/**
+		 * Returns <b>true</b> if the endpoint is not ejected at the given time,
+		 * otherwise returns <b>false</b>
+		 *
+		 * @param now current time in nanoseconds
+		 * @return <b>true</b> if the endpoint is not ejected at the given time,
+		 * otherwise returns <b>false</b>
+		 */
+		private boolean isAvailable(long now) {
+			return !ejected || now - ejectedUntil >= 0;
+		}
+
+		/**
+		 * Returns the endpoint cost, used by {@link LoadBalancingStrategy#POWER_OF_TWO_CHOICES}
+		 *
+		 * @return the endpoint cost
+		 */
+		private double cost() {
+			return latency * (outstanding.get() + 1);
+		}
+
+		/**
+		 * Records successful request
+		 * <p>
+		 * Resets the number of consecutive failures and re-admits the endpoint
+		 *
+		 * @param elapsed request latency in nanoseconds
+		 */
+		private void onSuccess(long elapsed) {
+			double current = latency;
+			latency = current == 0 ? elapsed : current + EWMA_ALPHA * (elapsed - current);
+			failures.set(0);
+			ejected = false;
+		}
+
+		/**
+		 * Records failed request
+		 * <p>
+		 * Ejects the endpoint once the number of consecutive failures reaches the given threshold
+		 *
+		 * @param now       current time in nanoseconds
+		 * @param threshold number of consecutive failures to eject after
+		 * @param duration  ejection time in nanoseconds
+		 */
+		private void onFailure(long now, int threshold, long duration) {
+			if (failures.incrementAndGet() >= threshold) {
+				ejectedUntil = now + duration;
+				ejected = true;
+			}
+		}
+
+	}
+
+	/**
+	 * {@link LoadBalancingRestClient} builder
+	 */
+	public static class Builder {
+
+		/**
+		 * An underlying {@link RestClient}
+		 */
+		private final RestClient client;
+
+		/**
+		 * Base URLs of endpoints
+		 */
+		private final List<String> urls;
+
+		/**
+		 * Endpoint selection strategy
+		 */
+		private LoadBalancingStrategy strategy = LoadBalancingStrategy.ROUND_ROBIN;
+
+		/**
+		 * Function to extract the key of {@link Request} used for consistent hashing
+		 */
+		private Function<Request, String> keyExtractor = request -> String.join("/", request.pathParams);
+
+		/**
+		 * Number of consecutive failures after which an endpoint is ejected
+		 */
+		private int ejectionThreshold = 5;
+
+		/**
+		 * Ejection time in nanoseconds
+		 */
+		private long ejectionNanos = TimeUnit.SECONDS.toNanos(30);
+
+		/**
+		 * Creates {@link Builder} instance
+		 *
+		 * @param client an underlying {@link RestClient}
+		 * @param urls   base URLs of endpoints
+		 * @throws IllegalArgumentException if no endpoint URLs specified
+		 */
+		private Builder(RestClient client, Collection<String> urls) {
+			if (urls.isEmpty()) {
+				throw new IllegalArgumentException("At least one endpoint URL required");
+			}
+			this.client = client;
+			this.urls = new ArrayList<>(urls);
+		}
+
+		/**
+		 * Sets endpoint selection strategy
+		 *
+		 * @param strategy endpoint selection strategy
+		 * @return {@link LoadBalancingRestClient} builder instance
+		 */
+		public Builder strategy(LoadBalancingStrategy strategy) {
+			this.strategy = strategy;
+			return this;
+		}
+
+		/**
+		 * Sets function to extract the key of {@link Request} used by
+		 * {@link LoadBalancingStrategy#CONSISTENT_HASHING}
+		 *
+		 * @param keyExtractor function to extract the key of {@link Request}
+		 * @return {@link LoadBalancingRestClient} builder instance
+		 */
+		public Builder key(Function<Request, String> keyExtractor) {
+			this.keyExtractor = keyExtractor;
+			return this;
+		}
+
+		/**
+		 * Sets number of consecutive failures after which an endpoint is ejected
+		 *
+		 * @param failures number of consecutive failures
+		 * @return {@link LoadBalancingRestClient} builder instance
+		 */
+		public Builder ejectAfter(int failures) {
+			this.ejectionThreshold = failures;
+			return this;
+		}
+
+		/**
+		 * Sets time for which an endpoint is ejected
+		 *
+		 * @param duration ejection time
+		 * @param unit     ejection time unit
+		 * @return {@link LoadBalancingRestClient} builder instance
+		 */
+		public Builder ejectFor(long duration, TimeUnit unit) {
+			this.ejectionNanos = unit.toNanos(duration);
+			return this;
+		}
+
+		/**
+		 * Builds and returns {@link LoadBalancingRestClient}
+		 *
+		 * @return {@link LoadBalancingRestClient}
+		 */
+		public LoadBalancingRestClient build() {
+			return new LoadBalancingRestClient(this);
+		}
+
+	}
+
+}
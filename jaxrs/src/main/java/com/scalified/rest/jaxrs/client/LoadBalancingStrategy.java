@@ -0,0 +1,60 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.client;
+
+/**
+ * A list of strategies used by {@link LoadBalancingRestClient} to select an endpoint
+ * for each {@link Request}
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public enum LoadBalancingStrategy {
+
+	/**
+	 * Selects endpoints one after another in a circular order
+	 */
+	ROUND_ROBIN,
+
+	/**
+	 * Selects the endpoint having the least number of requests in flight
+	 */
+	LEAST_OUTSTANDING_REQUESTS,
+
+	/**
+	 * Selects two random endpoints and picks the one having the lower cost, where the cost
+	 * is the exponentially weighted moving average of latency multiplied by the number of
+	 * requests in flight
+	 */
+	POWER_OF_TWO_CHOICES,
+
+	/**
+	 * Selects the endpoint by hashing the request key onto a consistent hash ring, so that
+	 * requests having the same key are routed to the same endpoint
+	 */
+	CONSISTENT_HASHING
+
+}
@@ -24,7 +24,8 @@
 
 package com.scalified.rest.jaxrs.client;
 
-import com.scalified.rest.jaxrs.extension.ExtendedMediaType;
+import com.scalified.rest.jaxrs.commons.UriTemplate;
+import com.scalified.rest.jaxrs.extension.MediaTypeCache;
 
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.core.MediaType;
@@ -34,6 +35,13 @@ import java.util.function.Consumer;
 
 /**
  * An <b>HTTP</b> Request containing all necessary attributes
+ * <p>
+ * Requests are deeply immutable and thread-safe, so may be cached and shared. Per-call
+ * requests may be cheaply derived from a shared one via {@link #toBuilder()} or
+ * {@link #derive(String)}, which reuse unchanged attributes
+ * <p>
+ * Since 1.1.0 requests are created only via {@link #builder(String)} and its overloads, and
+ * collections returned by getters are unmodifiable
  *
  * @author shell
  * @version 1.0.0
@@ -44,52 +52,82 @@ public class Request {
 	/**
 	 * Request URL
 	 */
-	String url;
+	final String url;
 
 	/**
 	 * Request path parameters
 	 */
-	Collection<String> pathParams;
+	final Collection<String> pathParams;
 
 	/**
 	 * Request query parameters
 	 */
-	Map<String, Collection<?>> queryParams;
+	final Map<String, Collection<?>> queryParams;
 
 	/**
 	 * Request headers
 	 */
-	Map<String, Object> headers;
+	final Map<String, Object> headers;
 
 	/**
 	 * Request accepted media types
 	 */
-	Set<MediaType> mediaTypes;
+	final Set<MediaType> mediaTypes;
+
+	/**
+	 * Precomputed <b>HTTP</b> {@code Accept} header value, <b>null</b> if no accepted media types
+	 */
+	final String accept;
 
 	/**
 	 * Request entity
 	 */
-	Entity<?> entity;
+	final Entity<?> entity;
+
+	/**
+	 * Maximum allowed response entity size in bytes, <b>null</b> if not limited by the request
+	 */
+	final Long maxEntitySize;
 
 	/**
 	 * Response consumer for successful <b>HTTP</b> response
 	 */
-	Consumer<Response> successConsumer;
+	final Consumer<Response> successConsumer;
 
 	/**
 	 * Response consumer for <b>HTTP</b> response having {@link Response.Status#NOT_FOUND} status
 	 */
-	Consumer<Response> notFoundConsumer;
+	final Consumer<Response> notFoundConsumer;
 
 	/**
 	 * Response consumer for <b>HTTP</b> response having unsuccessful response
 	 */
-	Consumer<Response> unsuccessfulResponseConsumer;
+	final Consumer<Response> unsuccessfulResponseConsumer;
 
 	/**
 	 * Response consumer for exceptional case
 	 */
-	Consumer<Throwable> failureConsumer;
+	final Consumer<Throwable> failureConsumer;
+
+	/**
+	 * Creates {@link Request} instance
+	 *
+	 * @param builder <b>HTTP</b> {@link Request} builder
+	 */
+	private Request(Builder builder) {
+		this.url = builder.url;
+		this.pathParams = builder.pathParamsShared ? builder.pathParams : ArrayCollections.list(builder.pathParams);
+		this.queryParams = builder.queryParamsShared ? builder.queryParams : ArrayCollections.map(builder.queryParams);
+		this.headers = builder.headersShared ? builder.headers : ArrayCollections.map(builder.headers);
+		this.mediaTypes = builder.mediaTypesShared ? builder.mediaTypes : ArrayCollections.set(builder.mediaTypes);
+		this.accept = builder.mediaTypesShared ? builder.accept : MediaTypeCache.accept(this.mediaTypes);
+		this.entity = builder.entity;
+		this.maxEntitySize = builder.maxEntitySize;
+		this.successConsumer = builder.successConsumer;
+		this.notFoundConsumer = builder.notFoundConsumer;
+		this.unsuccessfulResponseConsumer = builder.unsuccessfulResponseConsumer;
+		this.failureConsumer = builder.failureConsumer;
+	}
 
 	/**
 	 * Returns the <b>HTTP</b> {@link Request} builder
@@ -101,6 +139,63 @@ public class Request {
 		return new Builder(url);
 	}
 
+	/**
+	 * Returns the <b>HTTP</b> {@link Request} builder having request URL expanded from
+	 * the given {@link UriTemplate}
+	 * <p>
+	 * The expanded URL may contain the query, additional path parameters are inserted
+	 * before it
+	 *
+	 * @param template  compiled request URL template
+	 * @param variables template variables, mapped by name
+	 * @return <b>HTTP</b> {@link Request} builder
+	 */
+	public static Builder builder(UriTemplate template, Map<String, ?> variables) {
+		return new Builder(template.expand(variables));
+	}
+
+	/**
+	 * Returns the <b>HTTP</b> {@link Request} builder having request URL expanded from
+	 * the given {@link UriTemplate}
+	 * <p>
+	 * The expanded URL may contain the query, additional path parameters are inserted
+	 * before it
+	 *
+	 * @param template compiled request URL template
+	 * @param values   template variable values in order of their appearance in the template
+	 * @return <b>HTTP</b> {@link Request} builder
+	 */
+	public static Builder builder(UriTemplate template, Object... values) {
+		return new Builder(template.expand(values));
+	}
+
+	/**
+	 * Returns the <b>HTTP</b> {@link Request} builder initialized with attributes of this
+	 * {@link Request}
+	 * <p>
+	 * Attributes are copied structurally: unchanged collections are shared with this
+	 * {@link Request} and are copied only when modified
+	 *
+	 * @return <b>HTTP</b> {@link Request} builder
+	 */
+	public Builder toBuilder() {
+		return new Builder(this, url);
+	}
+
+	/**
+	 * Returns the <b>HTTP</b> {@link Request} builder initialized with attributes of this
+	 * {@link Request}, having the given request URL
+	 * <p>
+	 * Attributes are copied structurally: unchanged collections are shared with this
+	 * {@link Request} and are copied only when modified
+	 *
+	 * @param url request URL
+	 * @return <b>HTTP</b> {@link Request} builder
+	 */
+	public Builder derive(String url) {
+		return new Builder(this, url);
+	}
+
 	/**
 	 * Returns request URL
 	 *
@@ -113,7 +208,7 @@ public class Request {
 	/**
 	 * Returns request path parameters
 	 *
-	 * @return request path parameters
+	 * @return unmodifiable request path parameters
 	 */
 	public Collection<String> getPathParams() {
 		return pathParams;
@@ -122,7 +217,7 @@ public class Request {
 	/**
 	 * Returns request query parameters
 	 *
-	 * @return request query parameters
+	 * @return unmodifiable request query parameters
 	 */
 	public Map<String, Collection<?>> getQueryParams() {
 		return queryParams;
@@ -131,7 +226,7 @@ public class Request {
 	/**
 	 * Returns request headers
 	 *
-	 * @return request headers
+	 * @return unmodifiable request headers
 	 */
 	public Map<String, Object> getHeaders() {
 		return headers;
@@ -140,12 +235,21 @@ public class Request {
 	/**
 	 * Returns request accepted media types
 	 *
-	 * @return request accepted media types
+	 * @return unmodifiable request accepted media types
 	 */
 	public Set<MediaType> getMediaTypes() {
 		return mediaTypes;
 	}
 
+	/**
+	 * Returns <b>HTTP</b> {@code Accept} header value precomputed from request accepted media types
+	 *
+	 * @return <b>HTTP</b> {@code Accept} header value, <b>null</b> if no accepted media types
+	 */
+	public String getAccept() {
+		return accept;
+	}
+
 	/**
 	 * Returns request entity
 	 *
@@ -155,6 +259,15 @@ public class Request {
 		return entity;
 	}
 
+	/**
+	 * Returns maximum allowed response entity size in bytes
+	 *
+	 * @return maximum allowed response entity size in bytes, <b>null</b> if not limited by the request
+	 */
+	public Long getMaxEntitySize() {
+		return maxEntitySize;
+	}
+
 	/**
 	 * Returns response consumer for successful <b>HTTP</b> response
 	 *
@@ -248,6 +361,7 @@ public class Request {
 				Objects.equals(headers, request.headers) &&
 				Objects.equals(mediaTypes, request.mediaTypes) &&
 				Objects.equals(entity, request.entity) &&
+				Objects.equals(maxEntitySize, request.maxEntitySize) &&
 				Objects.equals(successConsumer, request.successConsumer) &&
 				Objects.equals(notFoundConsumer, request.notFoundConsumer) &&
 				Objects.equals(unsuccessfulResponseConsumer, request.unsuccessfulResponseConsumer) &&
@@ -298,6 +412,7 @@ public class Request {
 				headers,
 				mediaTypes,
 				entity,
+				maxEntitySize,
 				successConsumer,
 				notFoundConsumer,
 				unsuccessfulResponseConsumer,
@@ -335,6 +450,7 @@ public class Request {
 				", headers=" + headers +
 				", mediaTypes=" + mediaTypes +
 				", entity=" + entity +
+				", maxEntitySize=" + maxEntitySize +
 				", successConsumer=" + successConsumer +
 				", notFoundConsumer=" + notFoundConsumer +
 				", unsuccessfulResponseConsumer=" + unsuccessfulResponseConsumer +
@@ -353,30 +469,60 @@ public class Request {
 		private final String url;
 
 		/**
-		 * Request path parameters;
+		 * Request path parameters
+		 */
+		private Collection<String> pathParams = Collections.emptyList();
+
+		/**
+		 * Indicates whether path parameters are shared immutable collection
 		 */
-		private final Collection<String> pathParams = new LinkedList<>();
+		private boolean pathParamsShared = true;
 
 		/**
 		 * Request query parameters
 		 */
-		private final Map<String, Collection<?>> queryParams = new HashMap<>();
+		private Map<String, Collection<?>> queryParams = Collections.emptyMap();
+
+		/**
+		 * Indicates whether query parameters are shared immutable collection
+		 */
+		private boolean queryParamsShared = true;
 
 		/**
 		 * Request headers
 		 */
-		private final Map<String, Object> headers = new HashMap<>();
+		private Map<String, Object> headers = Collections.emptyMap();
+
+		/**
+		 * Indicates whether headers are shared immutable collection
+		 */
+		private boolean headersShared = true;
 
 		/**
 		 * Request accepted media types
 		 */
-		private final Set<MediaType> mediaTypes = new HashSet<>();
+		private Set<MediaType> mediaTypes = Collections.emptySet();
+
+		/**
+		 * Indicates whether accepted media types are shared immutable collection
+		 */
+		private boolean mediaTypesShared = true;
+
+		/**
+		 * Precomputed <b>HTTP</b> {@code Accept} header value of shared accepted media types
+		 */
+		private String accept;
 
 		/**
 		 * Request entity
 		 */
 		private Entity<?> entity;
 
+		/**
+		 * Maximum allowed response entity size in bytes
+		 */
+		private Long maxEntitySize;
+
 		/**
 		 * Response consumer for successful <b>HTTP</b> response
 		 */
@@ -410,6 +556,27 @@ public class Request {
 			this.url = url;
 		}
 
+		/**
+		 * Creates {@link Builder} instance initialized with attributes of the given {@link Request}
+		 *
+		 * @param request <b>HTTP</b> {@link Request} to copy attributes from
+		 * @param url     request URL
+		 */
+		private Builder(Request request, String url) {
+			this.url = url;
+			this.pathParams = request.pathParams;
+			this.queryParams = request.queryParams;
+			this.headers = request.headers;
+			this.mediaTypes = request.mediaTypes;
+			this.accept = request.accept;
+			this.entity = request.entity;
+			this.maxEntitySize = request.maxEntitySize;
+			this.successConsumer = request.successConsumer;
+			this.notFoundConsumer = request.notFoundConsumer;
+			this.unsuccessfulResponseConsumer = request.unsuccessfulResponseConsumer;
+			this.failureConsumer = request.failureConsumer;
+		}
+
 		/**
 		 * Adds <b>HTTP</b> path parameter to {@link Request} URL
 		 *
@@ -417,7 +584,11 @@ public class Request {
 		 * @return <b>HTTP</b> {@link Request} builder instance
 		 */
 		public Builder path(String path) {
-			this.pathParams.add(path);
+			if (pathParamsShared) {
+				pathParams = new ArrayList<>(pathParams);
+				pathParamsShared = false;
+			}
+			pathParams.add(path);
 			return this;
 		}
 
@@ -428,7 +599,9 @@ public class Request {
 		 * @return <b>HTTP</b> {@link Request} builder instance
 		 */
 		public Builder queryParams(Map<String, ? extends Collection<?>> params) {
-			queryParams.putAll(params);
+			for (Map.Entry<String, ? extends Collection<?>> param : params.entrySet()) {
+				mutableQueryParams().put(param.getKey(), ArrayCollections.list(param.getValue()));
+			}
 			return this;
 		}
 
@@ -440,7 +613,7 @@ public class Request {
 		 * @return <b>HTTP</b> {@link Request} builder instance
 		 */
 		public Builder queryParam(String key, Object value) {
-			queryParams.put(key, Collections.singleton(value));
+			mutableQueryParams().put(key, Collections.singletonList(value));
 			return this;
 		}
 
@@ -451,7 +624,7 @@ public class Request {
 		 * @return <b>HTTP</b> {@link Request} builder instance
 		 */
 		public Builder accepting(String... mediaTypes) {
-			Arrays.stream(mediaTypes).forEach(mediaType -> this.mediaTypes.add(ExtendedMediaType.valueOf(mediaType)));
+			Arrays.stream(mediaTypes).forEach(mediaType -> mutableMediaTypes().add(MediaTypeCache.valueOf(mediaType)));
 			return this;
 		}
 
@@ -462,7 +635,7 @@ public class Request {
 		 * @return <b>HTTP</b> {@link Request} builder instance
 		 */
 		public Builder accepting(MediaType... mediaTypes) {
-			this.mediaTypes.addAll(Arrays.asList(mediaTypes));
+			mutableMediaTypes().addAll(Arrays.asList(mediaTypes));
 			return this;
 		}
 
@@ -484,7 +657,7 @@ public class Request {
 		 * @return <b>HTTP</b> {@link Request} builder instance
 		 */
 		public Builder headers(Map<String, Object> headers) {
-			this.headers.putAll(headers);
+			mutableHeaders().putAll(headers);
 			return this;
 		}
 
@@ -496,7 +669,20 @@ public class Request {
 		 * @return <b>HTTP</b> {@link Request} builder instance
 		 */
 		public Builder header(String key, Object value) {
-			this.headers.put(key, value);
+			mutableHeaders().put(key, value);
+			return this;
+		}
+
+		/**
+		 * Sets maximum allowed <b>HTTP</b> {@link Response} entity size in bytes
+		 * <p>
+		 * Overrides the maximum entity size configured for the client
+		 *
+		 * @param maxEntitySize maximum allowed entity size in bytes
+		 * @return <b>HTTP</b> {@link Request} builder instance
+		 */
+		public Builder maxEntitySize(long maxEntitySize) {
+			this.maxEntitySize = maxEntitySize;
 			return this;
 		}
 
@@ -551,20 +737,57 @@ public class Request {
 		 * @return <b>HTTP</b> {@link Request}
 		 */
 		public Request build() {
-			Request request = new Request();
-			request.url = this.url;
-			request.pathParams = this.pathParams;
-			request.queryParams = this.queryParams;
-			request.headers = this.headers;
-			request.mediaTypes = this.mediaTypes;
-			request.entity = this.entity;
-			request.successConsumer = this.successConsumer;
-			request.notFoundConsumer = this.notFoundConsumer;
-			request.unsuccessfulResponseConsumer = this.unsuccessfulResponseConsumer;
-			request.failureConsumer = this.failureConsumer;
+			Request request = new Request(this);
+			pathParams = request.pathParams;
+			pathParamsShared = true;
+			queryParams = request.queryParams;
+			queryParamsShared = true;
+			headers = request.headers;
+			headersShared = true;
+			mediaTypes = request.mediaTypes;
+			mediaTypesShared = true;
+			accept = request.accept;
 			return request;
 		}
 
+		/**
+		 * Returns mutable query parameters, copying shared ones if necessary
+		 *
+		 * @return mutable query parameters
+		 */
+		private Map<String, Collection<?>> mutableQueryParams() {
+			if (queryParamsShared) {
+				queryParams = new LinkedHashMap<>(queryParams);
+				queryParamsShared = false;
+			}
+			return queryParams;
+		}
+
+		/**
+		 * Returns mutable headers, copying shared ones if necessary
+		 *
+		 * @return mutable headers
+		 */
+		private Map<String, Object> mutableHeaders() {
+			if (headersShared) {
+				headers = new LinkedHashMap<>(headers);
+				headersShared = false;
+			}
+			return headers;
+		}
+
+		/**
+		 * Returns mutable accepted media types, copying shared ones if necessary
+		 *
+		 * @return mutable accepted media types
+		 */
+		private Set<MediaType> mutableMediaTypes() {
+			if (mediaTypesShared) {
+				mediaTypes = new LinkedHashSet<>(mediaTypes);
+				mediaTypesShared = false;
+			}
+			return mediaTypes;
+		}
 	}
 
 }
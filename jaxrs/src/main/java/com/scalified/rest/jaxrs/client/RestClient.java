@@ -24,13 +24,24 @@
 
 package com.scalified.rest.jaxrs.client;
 
+import com.scalified.rest.jaxrs.batch.BatchRequest;
+import com.scalified.rest.jaxrs.commons.BufferPool;
+import com.scalified.rest.jaxrs.commons.PooledBuffer;
+import com.scalified.rest.jaxrs.error.MultiStatusReader;
 import org.apache.commons.lang3.Range;
 import org.apache.commons.lang3.StringUtils;
 
+import javax.ws.rs.client.Entity;
 import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -78,6 +89,93 @@ public interface RestClient {
 		}
 	}
 
+	/**
+	 * Creates the new {@link Response} object from the given {@link Response}, limiting
+	 * the entity size
+	 * <p>
+	 * The original <b>HTTP</b> response status, entity and headers retained. The entity is read
+	 * until the given limit is exceeded, in which case the underlying connection is aborted
+	 * without the entity being consumed
+	 *
+	 * @param response      a {@link Response} object to create the new one from
+	 * @param maxEntitySize maximum allowed entity size in bytes
+	 * @return new {@link Response} object from the given {@link Response}
+	 * @throws EntityTooLargeException if the entity exceeds the given limit
+	 * @throws RuntimeException        if entity reading was unsuccessful
+	 */
+	static Response from(Response response, long maxEntitySize) {
+		try {
+			if (response.getLength() > maxEntitySize) {
+				EntitySizeLimitInterceptor.abort(response);
+				throw new EntityTooLargeException(maxEntitySize);
+			}
+			Response.ResponseBuilder builder = Response.status(response.getStatus());
+			if (response.hasEntity()) {
+				InputStream input = EntitySizeLimitInterceptor.limit(response.readEntity(InputStream.class),
+						maxEntitySize, () -> EntitySizeLimitInterceptor.abort(response));
+				ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(response.getLength(), 32));
+				byte[] chunk = new byte[8192];
+				int read;
+				while ((read = input.read(chunk)) >= 0) {
+					output.write(chunk, 0, read);
+				}
+				builder = builder.entity(output.toByteArray());
+			}
+			Map<String, List<Object>> headers = response.getHeaders();
+			for (Map.Entry<String, List<Object>> header : headers.entrySet()) {
+				builder = builder.header(
+						header.getKey(), StringUtils.join(header.getValue().iterator(), ';')
+				);
+			}
+			return builder.build();
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		} finally {
+			response.close();
+		}
+	}
+
+	/**
+	 * Creates the new {@link Response} object from the given {@link Response}, buffering
+	 * the entity into the buffer acquired from the given {@link BufferPool}
+	 * <p>
+	 * The original <b>HTTP</b> response status, entity and headers retained. The entity of the
+	 * new {@link Response} is an {@link InputStream}, closing which hands the buffer back to
+	 * the pool
+	 *
+	 * @param response a {@link Response} object to create the new one from
+	 * @param pool     {@link BufferPool} to acquire the entity buffer from
+	 * @return new {@link Response} object from the given {@link Response}
+	 * @throws RuntimeException if entity reading was unsuccessful, in which case the buffer
+	 *                          is handed back to the pool
+	 */
+	static Response from(Response response, BufferPool pool) {
+		PooledBuffer entity = null;
+		try {
+			Response.ResponseBuilder builder = Response.status(response.getStatus());
+			if (response.hasEntity()) {
+				entity = pool.read(response.readEntity(InputStream.class), response.getLength());
+				builder = builder.entity(entity.inputStream());
+			}
+			Map<String, List<Object>> headers = response.getHeaders();
+			for (Map.Entry<String, List<Object>> header : headers.entrySet()) {
+				builder = builder.header(
+						header.getKey(), StringUtils.join(header.getValue().iterator(), ';')
+				);
+			}
+			return builder.build();
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		} catch (RuntimeException e) {
+			if (Objects.nonNull(entity)) {
+				entity.release();
+			}
+			throw e;
+		} finally {
+			response.close();
+		}
+	}
+
 	/**
 	 * Performs <b>HTTP GET</b> request and returns response
 	 *
@@ -190,4 +288,39 @@ public interface RestClient {
 	 */
 	<T> Optional<T> delete(Request request, GenericType<T> responseEntityType);
 
+	/**
+	 * Packs the given {@link Request}s into a single batch call performed with the given
+	 * <b>HTTP</b> method and returns {@link MultiStatusReader} decoding per-request results
+	 * <p>
+	 * Sub-request identifiers are their indexes in the given list
+	 *
+	 * @param request  batch endpoint request, its entity is replaced with sub-requests
+	 * @param method   <b>HTTP</b> method of sub-requests
+	 * @param requests requests to pack into the batch call
+	 * @return {@link MultiStatusReader} decoding per-request results
+	 */
+	default MultiStatusReader batch(Request request, String method, List<Request> requests) {
+		List<BatchRequest> batchRequests = new ArrayList<>(requests.size());
+		for (int i = 0; i < requests.size(); i++) {
+			batchRequests.add(BatchRequest.of(String.valueOf(i), method, requests.get(i)));
+		}
+		return batch(request, batchRequests);
+	}
+
+	/**
+	 * Performs the batch call of the given {@link BatchRequest}s and returns {@link MultiStatusReader}
+	 * decoding per-request results
+	 *
+	 * @param request  batch endpoint request, its entity is replaced with sub-requests
+	 * @param requests sub-requests to pack into the batch call
+	 * @return {@link MultiStatusReader} decoding per-request results
+	 */
+	default MultiStatusReader batch(Request request, List<BatchRequest> requests) {
+		Request batch = request.toBuilder()
+				.accepting(MediaType.APPLICATION_JSON_TYPE)
+				.entity(Entity.json(requests))
+				.build();
+		return MultiStatusReader.from(post(batch));
+	}
+
 }
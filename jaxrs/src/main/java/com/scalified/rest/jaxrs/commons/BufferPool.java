@@ -0,0 +1,355 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.commons;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A pool of {@link ByteBuffer}, organized by power of two size classes
+ * <p>
+ * Buffers are acquired as {@link PooledBuffer} handles, which must be handed back to the pool
+ * by calling {@link PooledBuffer#release()} when done. Buffers larger than the maximum size
+ * class are allocated on demand and are not retained by the pool. Streams read by
+ * {@link #read(InputStream, long)} beyond the maximum size class are stored in a chain of
+ * pooled buffers of the maximum size class instead
+ * <p>
+ * Buffers are allocated off-heap by default, which keeps large bodies out of the
+ * <b>Java</b> heap
+ * <p>
+ * Leak detection, which reports handles collected by the garbage collector without being released
+ * along with the stack trace of their acquisition, is enabled by setting the
+ * {@value #LEAK_DETECTION_PROPERTY} system property to {@code true}. It is meant for tests only,
+ * since it captures a stack trace on each acquisition
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class BufferPool {
+
+	/**
+	 * System property enabling leak detection
+	 */
+	public static final String LEAK_DETECTION_PROPERTY = "com.scalified.rest.buffer.leakDetection";
+
+	/**
+	 * Default minimum size class, 4 KiB
+	 */
+	private static final int DEFAULT_MIN_SIZE = 4 * 1024;
+
+	/**
+	 * Default maximum size class, 4 MiB
+	 */
+	private static final int DEFAULT_MAX_SIZE = 4 * 1024 * 1024;
+
+	/**
+	 * Greatest supported maximum size class, 1 GiB
+	 */
+	private static final int MAX_SIZE_LIMIT = 1 << 30;
+
+	/**
+	 * Default maximum number of retained buffers per size class
+	 */
+	private static final int DEFAULT_MAX_RETAINED = 32;
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = Logger.getLogger(BufferPool.class.getName());
+
+	/**
+	 * Binary logarithm of the minimum size class
+	 */
+	private final int minShift;
+
+	/**
+	 * Maximum size class
+	 */
+	private final int maxSize;
+
+	/**
+	 * Maximum number of retained buffers per size class
+	 */
+	private final int maxRetained;
+
+	/**
+	 * Indicates whether buffers are allocated off-heap
+	 */
+	private final boolean direct;
+
+	/**
+	 * Size classes
+	 */
+	private final SizeClass[] classes;
+
+	/**
+	 * Indicates whether leak detection is enabled
+	 */
+	private final boolean leakDetection;
+
+	/**
+	 * Queue of collected {@link PooledBuffer} handles, used for leak detection
+	 */
+	private final ReferenceQueue<PooledBuffer> collected = new ReferenceQueue<>();
+
+	/**
+	 * Tracked {@link PooledBuffer} handles, used for leak detection
+	 */
+	private final Set<LeakTracker> trackers = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+	/**
+	 * Creates {@link BufferPool} instance with 4 KiB to 4 MiB off-heap size classes, retaining
+	 * up to 32 buffers per size class
+	 */
+	public BufferPool() {
+		this(DEFAULT_MIN_SIZE, DEFAULT_MAX_SIZE, DEFAULT_MAX_RETAINED, true);
+	}
+
+	/**
+	 * Creates {@link BufferPool} instance
+	 *
+	 * @param minSize     minimum size class, rounded up to the power of two
+	 * @param maxSize     maximum size class, rounded up to the power of two, up to 1 GiB
+	 * @param maxRetained maximum number of retained buffers per size class
+	 * @param direct      <b>true</b> to allocate buffers off-heap, <b>false</b> otherwise
+	 * @throws IllegalArgumentException if the minimum size class is greater than the maximum one
+	 *                                  or the maximum size class exceeds 1 GiB
+	 */
+	public BufferPool(int minSize, int maxSize, int maxRetained, boolean direct) {
+		if (minSize <= 0 || minSize > maxSize || maxSize > MAX_SIZE_LIMIT) {
+			throw new IllegalArgumentException("Invalid size classes: " + minSize + " - " + maxSize);
+		}
+		this.minShift = shift(minSize);
+		this.maxSize = 1 << shift(maxSize);
+		this.maxRetained = maxRetained;
+		this.direct = direct;
+		int count = shift(maxSize) - minShift + 1;
+		this.classes = new SizeClass[count];
+		for (int i = 0; i < count; i++) {
+			classes[i] = new SizeClass();
+		}
+		this.leakDetection = Boolean.getBoolean(LEAK_DETECTION_PROPERTY);
+	}
+
+	/**
+	 * Acquires the buffer having at least the given capacity
+	 * <p>
+	 * The returned buffer is cleared, its limit is set to its capacity
+	 *
+	 * @param capacity required capacity
+	 * @return {@link PooledBuffer} handle
+	 */
+	public PooledBuffer acquire(int capacity) {
+		if (leakDetection) {
+			reportLeaks();
+		}
+		ByteBuffer buffer;
+		if (capacity > maxSize) {
+			buffer = allocate(capacity);
+		} else {
+			int index = index(capacity);
+			SizeClass sizeClass = classes[index];
+			buffer = sizeClass.buffers.poll();
+			if (buffer == null) {
+				buffer = allocate(1 << (index + minShift));
+			} else {
+				sizeClass.retained.decrementAndGet();
+				buffer.clear();
+			}
+		}
+		PooledBuffer pooled = new PooledBuffer(this, buffer);
+		if (leakDetection) {
+			pooled.tracker = new LeakTracker(pooled, collected);
+			trackers.add(pooled.tracker);
+		}
+		return pooled;
+	}
+
+	/**
+	 * Reads the given {@link InputStream} fully into the pooled buffer
+	 * <p>
+	 * The buffer grows by doubling up to the maximum size class, after which the remaining bytes
+	 * are read into a chain of pooled buffers of the maximum size class. The returned buffers are
+	 * flipped, so that they are ready to be read. The given {@link InputStream} is not closed
+	 *
+	 * @param input          {@link InputStream} to read
+	 * @param expectedLength expected number of bytes or {@code -1}, if unknown
+	 * @return {@link PooledBuffer} handle containing the read bytes
+	 * @throws IOException if reading was unsuccessful
+	 */
+	public PooledBuffer read(InputStream input, long expectedLength) throws IOException {
+		int initial = expectedLength < 0 ? 1 << minShift : (int) Math.min(expectedLength + 1, maxSize);
+		PooledBuffer head = acquire(initial);
+		PooledBuffer tail = head;
+		try {
+			ReadableByteChannel channel = Channels.newChannel(input);
+			while (channel.read(tail.buffer) >= 0) {
+				if (tail.buffer.hasRemaining()) {
+					continue;
+				}
+				int capacity = tail.buffer.capacity();
+				if (capacity < maxSize) {
+					PooledBuffer grown = acquire(Math.min(capacity << 1, maxSize));
+					tail.buffer.flip();
+					grown.buffer.put(tail.buffer);
+					tail.release();
+					head = grown;
+					tail = grown;
+				} else {
+					tail.buffer.flip();
+					tail.next = acquire(maxSize);
+					tail = tail.next;
+				}
+			}
+			tail.buffer.flip();
+			return head;
+		} catch (IOException | RuntimeException e) {
+			head.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Hands the given buffer back to the pool
+	 *
+	 * @param pooled {@link PooledBuffer} handle to release
+	 */
+	void release(PooledBuffer pooled) {
+		if (pooled.tracker != null) {
+			trackers.remove(pooled.tracker);
+			pooled.tracker.clear();
+		}
+		ByteBuffer buffer = pooled.buffer;
+		int capacity = buffer.capacity();
+		if (capacity > maxSize || Integer.bitCount(capacity) != 1 || buffer.isDirect() != direct) {
+			return;
+		}
+		SizeClass sizeClass = classes[index(capacity)];
+		if (sizeClass.retained.incrementAndGet() <= maxRetained) {
+			sizeClass.buffers.offer(buffer);
+		} else {
+			sizeClass.retained.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Allocates the new buffer having the given capacity
+	 *
+	 * @param capacity buffer capacity
+	 * @return allocated buffer
+	 */
+	private ByteBuffer allocate(int capacity) {
+		return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+	}
+
+	/**
+	 * Returns the size class index for the given capacity
+	 *
+	 * @param capacity required capacity
+	 * @return size class index
+	 */
+	private int index(int capacity) {
+		return Math.max(shift(capacity) - minShift, 0);
+	}
+
+	/**
+	 * Returns the binary logarithm of the given value rounded up to the power of two
+	 *
+	 * @param value value to return the binary logarithm of
+	 * @return the binary logarithm of the given value rounded up to the power of two
+	 */
+	private static int shift(int value) {
+		return value <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(value - 1);
+	}
+
+	/**
+	 * Reports {@link PooledBuffer} handles collected without being released
+	 */
+	private void reportLeaks() {
+		Reference<? extends PooledBuffer> reference;
+		while ((reference = collected.poll()) != null) {
+			LeakTracker tracker = (LeakTracker) reference;
+			if (trackers.remove(tracker)) {
+				LOGGER.log(Level.SEVERE, "Pooled buffer was not released before being garbage collected",
+						tracker.acquisition);
+			}
+		}
+	}
+
+	/**
+	 * Buffers retained for a single size class
+	 */
+	private static class SizeClass {
+
+		/**
+		 * Retained buffers
+		 */
+		private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+
+		/**
+		 * Number of retained buffers
+		 */
+		private final AtomicInteger retained = new AtomicInteger();
+
+	}
+
+	/**
+	 * Tracks the {@link PooledBuffer} handle reachability
+	 */
+	static class LeakTracker extends PhantomReference<PooledBuffer> {
+
+		/**
+		 * Stack trace of the handle acquisition
+		 */
+		private final Throwable acquisition = new Throwable("Pooled buffer acquisition");
+
+		/**
+		 * Creates {@link LeakTracker} instance
+		 *
+		 * @param referent {@link PooledBuffer} handle to track
+		 * @param queue    queue of collected handles
+		 */
+		private LeakTracker(PooledBuffer referent, ReferenceQueue<? super PooledBuffer> queue) {
+			super(referent, queue);
+		}
+
+	}
+
+}
@@ -0,0 +1,350 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.scalified.rest.jaxrs.commons;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * An utility class for parsing <b>HTTP</b> {@code Content-Disposition} header values
+ * <p>
+ * Parses parameters in a single pass over the header value without regular expressions
+ * and allocates only the returned values. Handles quoted strings with escapes
+ * (<b>RFC 7230</b>) and extended parameters, such as {@code filename*=UTF-8''...}
+ * (<b>RFC 5987</b>, <b>RFC 6266</b>)
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class ContentDisposition {
+
+	/**
+	 * File name parameter
+	 */
+	public static final String FILENAME = "filename";
+
+	/**
+	 * Extended file name parameter
+	 */
+	public static final String FILENAME_EXTENDED = "filename*";
+
+	/**
+	 * Index of the parameter name start in the parameter bounds
+	 */
+	private static final int NAME_START = 0;
+
+	/**
+	 * Index of the parameter name end in the parameter bounds
+	 */
+	private static final int NAME_END = 1;
+
+	/**
+	 * Index of the parameter value start in the parameter bounds
+	 */
+	private static final int VALUE_START = 2;
+
+	/**
+	 * Index of the parameter value end in the parameter bounds
+	 */
+	private static final int VALUE_END = 3;
+
+	/**
+	 * Index of the parameter value quoted flag in the parameter bounds
+	 */
+	private static final int QUOTED = 4;
+
+	/**
+	 * Prevents from {@link ContentDisposition} creation
+	 */
+	private ContentDisposition() {
+	}
+
+	/**
+	 * Returns the value of the parameter with the given name from the given
+	 * {@code Content-Disposition} header value
+	 * <p>
+	 * Parameter names are matched case-insensitively. Quoted values are unquoted and
+	 * unescaped. Values of extended parameters, which names end with {@code *}, are decoded
+	 * according to their charset
+	 *
+	 * @param header {@code Content-Disposition} header value
+	 * @param name   parameter name
+	 * @return parameter value, {@code null} if there is no such parameter or its value is malformed
+	 */
+	public static String parameter(String header, String name) {
+		int[] bounds = new int[5];
+		int index = header.indexOf(';');
+		while ((index = next(header, index, bounds)) >= 0) {
+			if (matches(header, bounds, name)) {
+				return value(header, bounds, name.endsWith("*"));
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the file name from the given {@code Content-Disposition} header value
+	 * <p>
+	 * The {@value #FILENAME_EXTENDED} parameter is preferred over {@value #FILENAME} one, as
+	 * recommended by <b>RFC 6266</b>. Percent-encoded <b>UTF-8</b> sequences of the
+	 * {@value #FILENAME} parameter are decoded, since some clients send file names that way
+	 *
+	 * @param header {@code Content-Disposition} header value
+	 * @return file name, {@code null} if there is no file name
+	 */
+	public static String fileName(String header) {
+		int[] bounds = new int[5];
+		int index = header.indexOf(';');
+		String fileName = null;
+		while ((index = next(header, index, bounds)) >= 0) {
+			if (matches(header, bounds, FILENAME_EXTENDED)) {
+				String extended = value(header, bounds, true);
+				if (Objects.nonNull(extended)) {
+					return extended;
+				}
+			} else if (Objects.isNull(fileName) && matches(header, bounds, FILENAME)) {
+				fileName = value(header, bounds, false);
+			}
+		}
+		if (Objects.isNull(fileName) || fileName.indexOf('%') < 0) {
+			return fileName;
+		}
+		try {
+			return UriUtils.decode(fileName);
+		} catch (IllegalArgumentException e) {
+			return fileName;
+		}
+	}
+
+	/**
+	 * Scans the parameter following the separator at the given index and stores its bounds
+	 * into the given array
+	 *
+	 * @param header header value
+	 * @param index  index of the separator preceding the parameter, negative if none
+	 * @param bounds array to store the parameter bounds into
+	 * @return index of the separator following the parameter, or the header length if none,
+	 * negative if there are no more parameters
+	 */
+	private static int next(String header, int index, int[] bounds) {
+		int length = header.length();
+		if (index < 0 || index >= length) {
+			return -1;
+		}
+		int i = skipWhitespaces(header, index + 1);
+		bounds[NAME_START] = i;
+		while (i < length && header.charAt(i) != '=' && header.charAt(i) != ';') {
+			i++;
+		}
+		bounds[NAME_END] = trimEnd(header, bounds[NAME_START], i);
+		bounds[QUOTED] = 0;
+		if (i >= length || header.charAt(i) == ';') {
+			bounds[VALUE_START] = bounds[VALUE_END] = i;
+			return i;
+		}
+		i = skipWhitespaces(header, i + 1);
+		if (i < length && header.charAt(i) == '"') {
+			bounds[QUOTED] = 1;
+			bounds[VALUE_START] = ++i;
+			while (i < length && header.charAt(i) != '"') {
+				i += header.charAt(i) == '\\' ? 2 : 1;
+			}
+			bounds[VALUE_END] = Math.min(i, length);
+			while (i < length && header.charAt(i) != ';') {
+				i++;
+			}
+			return i;
+		}
+		bounds[VALUE_START] = i;
+		while (i < length && header.charAt(i) != ';') {
+			i++;
+		}
+		bounds[VALUE_END] = trimEnd(header, bounds[VALUE_START], i);
+		return i;
+	}
+
+	/**
+	 * Checks whether the name of the parameter with the given bounds matches the given one
+	 *
+	 * @param header header value
+	 * @param bounds parameter bounds
+	 * @param name   name to match
+	 * @return {@code true} if the name matches case-insensitively, {@code false} otherwise
+	 */
+	private static boolean matches(String header, int[] bounds, String name) {
+		return bounds[NAME_END] - bounds[NAME_START] == name.length()
+				&& header.regionMatches(true, bounds[NAME_START], name, 0, name.length());
+	}
+
+	/**
+	 * Returns the value of the parameter with the given bounds
+	 *
+	 * @param header   header value
+	 * @param bounds   parameter bounds
+	 * @param extended whether the parameter is the extended one
+	 * @return parameter value, {@code null} if the extended value is malformed
+	 */
+	private static String value(String header, int[] bounds, boolean extended) {
+		int start = bounds[VALUE_START];
+		int end = bounds[VALUE_END];
+		if (bounds[QUOTED] == 0) {
+			return extended ? decodeExtended(header, start, end) : header.substring(start, end);
+		}
+		int escape = header.indexOf('\\', start);
+		if (escape < 0 || escape >= end) {
+			return extended ? decodeExtended(header, start, end) : header.substring(start, end);
+		}
+		StringBuilder value = new StringBuilder(end - start).append(header, start, escape);
+		for (int i = escape; i < end; i++) {
+			char c = header.charAt(i);
+			if (c == '\\' && i + 1 < end) {
+				c = header.charAt(++i);
+			}
+			value.append(c);
+		}
+		return extended ? decodeExtended(value, 0, value.length()) : value.toString();
+	}
+
+	/**
+	 * Decodes the extended parameter value of the form {@code charset'[language]'value-chars}
+	 *
+	 * @param value extended parameter value
+	 * @param start start index of the value, inclusive
+	 * @param end   end index of the value, exclusive
+	 * @return decoded value, {@code null} if the value is malformed, cannot be decoded with its charset or
+	 * the charset is not supported
+	 */
+	private static String decodeExtended(CharSequence value, int start, int end) {
+		int charsetEnd = indexOf(value, '\'', start, end);
+		int languageEnd = charsetEnd < 0 ? -1 : indexOf(value, '\'', charsetEnd + 1, end);
+		if (languageEnd < 0) {
+			return null;
+		}
+		Charset charset = charset(value.subSequence(start, charsetEnd).toString());
+		if (Objects.isNull(charset)) {
+			return null;
+		}
+		byte[] bytes = new byte[end - languageEnd - 1];
+		int count = 0;
+		for (int i = languageEnd + 1; i < end; i++) {
+			char c = value.charAt(i);
+			if (c == '%') {
+				int high = i + 2 < end ? Character.digit(value.charAt(i + 1), 16) : -1;
+				int low = i + 2 < end ? Character.digit(value.charAt(i + 2), 16) : -1;
+				if (high < 0 || low < 0) {
+					return null;
+				}
+				bytes[count++] = (byte) ((high << 4) | low);
+				i += 2;
+			} else if (c < 0x80) {
+				bytes[count++] = (byte) c;
+			} else {
+				return null;
+			}
+		}
+		try {
+			return charset.newDecoder()
+					.onMalformedInput(CodingErrorAction.REPORT)
+					.onUnmappableCharacter(CodingErrorAction.REPORT)
+					.decode(ByteBuffer.wrap(bytes, 0, count))
+					.toString();
+		} catch (CharacterCodingException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns {@link Charset} by the given name
+	 *
+	 * @param name charset name
+	 * @return {@link Charset}, {@code null} if the charset is not supported
+	 */
+	private static Charset charset(String name) {
+		if (name.equalsIgnoreCase("UTF-8")) {
+			return StandardCharsets.UTF_8;
+		}
+		if (name.equalsIgnoreCase("ISO-8859-1")) {
+			return StandardCharsets.ISO_8859_1;
+		}
+		try {
+			return Charset.forName(name);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns index of the given character within the given range
+	 *
+	 * @param value value to search in
+	 * @param c     character to search for
+	 * @param start start index, inclusive
+	 * @param end   end index, exclusive
+	 * @return index of the given character, negative if not found
+	 */
+	private static int indexOf(CharSequence value, char c, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (value.charAt(i) == c) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns index of the first non-whitespace character starting from the given index
+	 *
+	 * @param header header value
+	 * @param index  index to start from
+	 * @return index of the first non-whitespace character, or the header length if none
+	 */
+	private static int skipWhitespaces(String header, int index) {
+		int length = header.length();
+		while (index < length && (header.charAt(index) == ' ' || header.charAt(index) == '\t')) {
+			index++;
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the end index of the given range with trailing whitespaces excluded
+	 *
+	 * @param header header value
+	 * @param start  start index, inclusive
+	 * @param end    end index, exclusive
+	 * @return end index with trailing whitespaces excluded
+	 */
+	private static int trimEnd(String header, int start, int end) {
+		while (end > start && (header.charAt(end - 1) == ' ' || header.charAt(end - 1) == '\t')) {
+			end--;
+		}
+		return end;
+	}
+
+}
@@ -0,0 +1,217 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.commons;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A handle of {@link ByteBuffer} acquired from the {@link BufferPool}
+ * <p>
+ * Content read beyond the maximum size class of the pool is stored in a chain of buffers, which
+ * can only be read by {@link #inputStream()}
+ * <p>
+ * Must be released exactly once when done, after which the buffer must not be used
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class PooledBuffer implements AutoCloseable {
+
+	/**
+	 * Owning pool
+	 */
+	private final BufferPool pool;
+
+	/**
+	 * Underlying buffer
+	 */
+	final ByteBuffer buffer;
+
+	/**
+	 * Indicates whether the buffer has been released
+	 */
+	private final AtomicBoolean released = new AtomicBoolean();
+
+	/**
+	 * Next handle of the chained content or {@code null}, if there is none
+	 */
+	PooledBuffer next;
+
+	/**
+	 * Leak tracker, set when leak detection is enabled
+	 */
+	BufferPool.LeakTracker tracker;
+
+	/**
+	 * Creates {@link PooledBuffer} instance
+	 *
+	 * @param pool   owning pool
+	 * @param buffer underlying buffer
+	 */
+	PooledBuffer(BufferPool pool, ByteBuffer buffer) {
+		this.pool = pool;
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Returns the underlying buffer
+	 *
+	 * @return the underlying buffer
+	 * @throws IllegalStateException if the buffer has been released or the content is chained
+	 */
+	public ByteBuffer buffer() {
+		ensureNotReleased();
+		if (next != null) {
+			throw new IllegalStateException("Buffer content is chained and must be read as a stream");
+		}
+		return buffer;
+	}
+
+	/**
+	 * Returns the number of bytes remaining in the underlying buffers
+	 *
+	 * @return the number of bytes remaining in the underlying buffers
+	 */
+	public long size() {
+		long size = 0;
+		for (PooledBuffer pooled = this; pooled != null; pooled = pooled.next) {
+			size += pooled.buffer.remaining();
+		}
+		return size;
+	}
+
+	/**
+	 * Returns {@link InputStream} reading the remaining bytes of the underlying buffers
+	 * <p>
+	 * Closing the returned {@link InputStream} releases the buffers. Reading after the buffers
+	 * have been released fails with {@link IllegalStateException}
+	 *
+	 * @return {@link InputStream} reading the remaining bytes of the underlying buffers
+	 */
+	public InputStream inputStream() {
+		ensureNotReleased();
+		return new InputStream() {
+
+			private PooledBuffer current = PooledBuffer.this;
+
+			private ByteBuffer source = buffer.duplicate();
+
+			@Override
+			public int read() {
+				return remaining() ? source.get() & 0xFF : -1;
+			}
+
+			@Override
+			public int read(byte[] bytes, int offset, int length) {
+				if (length == 0) {
+					ensureNotReleased();
+					return 0;
+				}
+				if (!remaining()) {
+					return -1;
+				}
+				int count = Math.min(length, source.remaining());
+				source.get(bytes, offset, count);
+				return count;
+			}
+
+			@Override
+			public long skip(long n) {
+				long skipped = 0;
+				while (skipped < n && remaining()) {
+					int count = (int) Math.min(n - skipped, source.remaining());
+					source.position(source.position() + count);
+					skipped += count;
+				}
+				return skipped;
+			}
+
+			@Override
+			public int available() {
+				ensureNotReleased();
+				return source.remaining();
+			}
+
+			@Override
+			public void close() {
+				release();
+			}
+
+			/**
+			 * Advances to the next non-empty buffer of the chain, if the current one is exhausted
+			 *
+			 * @return <b>true</b> if there are remaining bytes, <b>false</b> otherwise
+			 * @throws IllegalStateException if the buffers have been released
+			 */
+			private boolean remaining() {
+				ensureNotReleased();
+				while (!source.hasRemaining() && current.next != null) {
+					current = current.next;
+					source = current.buffer.duplicate();
+				}
+				return source.hasRemaining();
+			}
+
+		};
+	}
+
+	/**
+	 * Hands the buffers back to the owning pool
+	 * <p>
+	 * Subsequent calls have no effect
+	 */
+	public void release() {
+		for (PooledBuffer pooled = this; pooled != null; pooled = pooled.next) {
+			if (pooled.released.compareAndSet(false, true)) {
+				pool.release(pooled);
+			}
+		}
+	}
+
+	/**
+	 * Hands the buffers back to the owning pool
+	 *
+	 * @see #release()
+	 */
+	@Override
+	public void close() {
+		release();
+	}
+
+	/**
+	 * Ensures the buffers have not been released
+	 *
+	 * @throws IllegalStateException if the buffers have been released
+	 */
+	private void ensureNotReleased() {
+		if (released.get()) {
+			throw new IllegalStateException("Buffer has already been released");
+		}
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,658 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.commons;
+
+import java.lang.reflect.Array;
+import java.util.*;
+
+/**
+ * A compiled <b>RFC 6570</b> <b>URI</b> template
+ * <p>
+ * The template is parsed once into the compiled form, which is then expanded against
+ * variables directly into the buffer without re-parsing. All <b>RFC 6570</b> level 4
+ * expressions are supported, including operators ({@code +#./;?&}), prefix ({@code :n})
+ * and explode ({@code *}) modifiers. Variable values may be scalars, {@link Collection}s,
+ * arrays or {@link Map}s; <b>null</b> values and empty collections are undefined
+ * <pre>
+ *    UriTemplate template = UriTemplate.compile("http://localhost:8080/users/{id}/orders{?page,size}");
+ *    String uri = template.expand(42, 1, 20); // http://localhost:8080/users/42/orders?page=1&amp;size=20
+ * </pre>
+ * Instances are immutable and thread-safe
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class UriTemplate {
+
+	/**
+	 * Original template
+	 */
+	private final String template;
+
+	/**
+	 * Compiled template parts
+	 */
+	private final Part[] parts;
+
+	/**
+	 * Variable names in order of their appearance
+	 */
+	private final List<String> variableNames;
+
+	/**
+	 * Estimated length of the expanded template
+	 */
+	private final int estimatedLength;
+
+	/**
+	 * Creates {@link UriTemplate} instance
+	 *
+	 * @param template      original template
+	 * @param parts         compiled template parts
+	 * @param variableNames variable names in order of their appearance
+	 */
+	private UriTemplate(String template, Part[] parts, List<String> variableNames) {
+		this.template = template;
+		this.parts = parts;
+		this.variableNames = Collections.unmodifiableList(variableNames);
+		this.estimatedLength = template.length() + 16 * variableNames.size();
+	}
+
+	/**
+	 * Compiles the given <b>RFC 6570</b> <b>URI</b> template
+	 *
+	 * @param template <b>URI</b> template to compile
+	 * @return compiled {@link UriTemplate}
+	 * @throws IllegalArgumentException if the template is malformed
+	 */
+	public static UriTemplate compile(String template) {
+		List<Part> parts = new ArrayList<>();
+		Set<String> variableNames = new LinkedHashSet<>();
+		int length = template.length();
+		int start = 0;
+		while (start < length) {
+			int open = template.indexOf('{', start);
+			int literalEnd = open < 0 ? length : open;
+			if (literalEnd > start) {
+				String literal = template.substring(start, literalEnd);
+				if (literal.indexOf('}') >= 0) {
+					throw new IllegalArgumentException("Unexpected '}' in template: " + template);
+				}
+				parts.add(new Literal(UriUtils.encodeReserved(literal, new StringBuilder()).toString()));
+			}
+			if (open < 0) {
+				break;
+			}
+			int close = template.indexOf('}', open);
+			if (close < 0) {
+				throw new IllegalArgumentException("Unclosed expression in template: " + template);
+			}
+			Expression expression = Expression.parse(template.substring(open + 1, close), template);
+			for (VariableSpec variable : expression.variables) {
+				variableNames.add(variable.name);
+			}
+			parts.add(expression);
+			start = close + 1;
+		}
+		return new UriTemplate(template, parts.toArray(new Part[0]), new ArrayList<>(variableNames));
+	}
+
+	/**
+	 * Returns variable names in order of their appearance in the template
+	 *
+	 * @return unmodifiable list of variable names
+	 */
+	public List<String> getVariableNames() {
+		return variableNames;
+	}
+
+	/**
+	 * Expands this template against the given variables
+	 *
+	 * @param variables variables, mapped by name
+	 * @return expanded <b>URI</b>
+	 */
+	public String expand(Map<String, ?> variables) {
+		return expand(variables, new StringBuilder(estimatedLength)).toString();
+	}
+
+	/**
+	 * Expands this template against the given values, assigned to variables in order
+	 * of their appearance in the template
+	 *
+	 * @param values variable values
+	 * @return expanded <b>URI</b>
+	 */
+	public String expand(Object... values) {
+		Map<String, Object> variables = new HashMap<>();
+		for (int i = 0; i < values.length && i < variableNames.size(); i++) {
+			variables.put(variableNames.get(i), values[i]);
+		}
+		return expand(variables);
+	}
+
+	/**
+	 * Expands this template against the given variables into the given {@link StringBuilder}
+	 *
+	 * @param variables variables, mapped by name
+	 * @param output    {@link StringBuilder} to expand into
+	 * @return the given {@link StringBuilder}
+	 */
+	public StringBuilder expand(Map<String, ?> variables, StringBuilder output) {
+		for (Part part : parts) {
+			part.expand(variables, output);
+		}
+		return output;
+	}
+
+	/**
+	 * Indicates whether some other object is "equal to" this one
+	 *
+	 * @param o the reference object with which to compare
+	 * @return {@code true} if the given object is {@link UriTemplate} having the same
+	 * template, otherwise {@code false}
+	 */
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		return template.equals(((UriTemplate) o).template);
+	}
+
+	/**
+	 * Returns a hash code value for the object
+	 *
+	 * @return a hash code value for this object
+	 */
+	@Override
+	public int hashCode() {
+		return template.hashCode();
+	}
+
+	/**
+	 * Returns the original template
+	 *
+	 * @return the original template
+	 */
+	@Override
+	public String toString() {
+		return template;
+	}
+
+	/**
+	 * A compiled template part
+	 */
+	private interface Part {
+
+		/**
+		 * Expands this part against the given variables into the given {@link StringBuilder}
+		 *
+		 * @param variables variables, mapped by name
+		 * @param output    {@link StringBuilder} to expand into
+		 */
+		void expand(Map<String, ?> variables, StringBuilder output);
+
+	}
+
+	/**
+	 * A pre-encoded literal template part
+	 */
+	private static final class Literal implements Part {
+
+		/**
+		 * Pre-encoded literal
+		 */
+		private final String value;
+
+		/**
+		 * Creates {@link Literal} instance
+		 *
+		 * @param value pre-encoded literal
+		 */
+		private Literal(String value) {
+			this.value = value;
+		}
+
+		@Override
+		public void expand(Map<String, ?> variables, StringBuilder output) {
+			output.append(value);
+		}
+
+	}
+
+	/**
+	 * An expression operator
+	 */
+	private enum Operator {
+
+		/**
+		 * Simple string expansion
+		 */
+		SIMPLE("", ",", false, "", false),
+
+		/**
+		 * Reserved expansion, {@code {+var}}
+		 */
+		RESERVED("", ",", false, "", true),
+
+		/**
+		 * Fragment expansion, {@code {#var}}
+		 */
+		FRAGMENT("#", ",", false, "", true),
+
+		/**
+		 * Label expansion, {@code {.var}}
+		 */
+		LABEL(".", ".", false, "", false),
+
+		/**
+		 * Path segment expansion, {@code {/var}}
+		 */
+		PATH("/", "/", false, "", false),
+
+		/**
+		 * Path-style parameter expansion, {@code {;var}}
+		 */
+		PATH_PARAMETER(";", ";", true, "", false),
+
+		/**
+		 * Form-style query expansion, {@code {?var}}
+		 */
+		QUERY("?", "&", true, "=", false),
+
+		/**
+		 * Form-style query continuation, {@code {&var}}
+		 */
+		QUERY_CONTINUATION("&", "&", true, "=", false);
+
+		/**
+		 * Prefix written before the first defined variable
+		 */
+		private final String first;
+
+		/**
+		 * Separator written between defined variables
+		 */
+		private final String separator;
+
+		/**
+		 * Indicates whether variable names are written
+		 */
+		private final boolean named;
+
+		/**
+		 * Suffix written after the name of a variable having empty value
+		 */
+		private final String ifEmpty;
+
+		/**
+		 * Indicates whether reserved characters are allowed unescaped
+		 */
+		private final boolean allowReserved;
+
+		/**
+		 * Creates {@link Operator} instance
+		 *
+		 * @param first         prefix written before the first defined variable
+		 * @param separator     separator written between defined variables
+		 * @param named         indicates whether variable names are written
+		 * @param ifEmpty       suffix written after the name of a variable having empty value
+		 * @param allowReserved indicates whether reserved characters are allowed unescaped
+		 */
+		Operator(String first, String separator, boolean named, String ifEmpty, boolean allowReserved) {
+			this.first = first;
+			this.separator = separator;
+			this.named = named;
+			this.ifEmpty = ifEmpty;
+			this.allowReserved = allowReserved;
+		}
+
+		/**
+		 * Returns {@link Operator} for the given operator character
+		 *
+		 * @param c operator character
+		 * @return {@link Operator}, <b>null</b> if the character is not an operator
+		 */
+		private static Operator of(char c) {
+			switch (c) {
+				case '+':
+					return RESERVED;
+				case '#':
+					return FRAGMENT;
+				case '.':
+					return LABEL;
+				case '/':
+					return PATH;
+				case ';':
+					return PATH_PARAMETER;
+				case '?':
+					return QUERY;
+				case '&':
+					return QUERY_CONTINUATION;
+				default:
+					return null;
+			}
+		}
+
+		/**
+		 * Encodes the given value into the given {@link StringBuilder}
+		 *
+		 * @param value  value to encode
+		 * @param output {@link StringBuilder} to encode into
+		 */
+		private void encode(CharSequence value, StringBuilder output) {
+			if (allowReserved) {
+				UriUtils.encodeReserved(value, output);
+			} else {
+				UriUtils.encode(value, output);
+			}
+		}
+
+	}
+
+	/**
+	 * A variable specification of an expression
+	 */
+	private static final class VariableSpec {
+
+		/**
+		 * Variable name
+		 */
+		private final String name;
+
+		/**
+		 * Maximum number of characters of the value, {@code -1} if not limited
+		 */
+		private final int prefix;
+
+		/**
+		 * Indicates whether the value is exploded
+		 */
+		private final boolean explode;
+
+		/**
+		 * Creates {@link VariableSpec} instance
+		 *
+		 * @param name    variable name
+		 * @param prefix  maximum number of characters of the value, {@code -1} if not limited
+		 * @param explode indicates whether the value is exploded
+		 */
+		private VariableSpec(String name, int prefix, boolean explode) {
+			this.name = name;
+			this.prefix = prefix;
+			this.explode = explode;
+		}
+
+	}
+
+	/**
+	 * An expression template part
+	 */
+	private static final class Expression implements Part {
+
+		/**
+		 * Expression operator
+		 */
+		private final Operator operator;
+
+		/**
+		 * Expression variable specifications
+		 */
+		private final VariableSpec[] variables;
+
+		/**
+		 * Creates {@link Expression} instance
+		 *
+		 * @param operator  expression operator
+		 * @param variables expression variable specifications
+		 */
+		private Expression(Operator operator, VariableSpec[] variables) {
+			this.operator = operator;
+			this.variables = variables;
+		}
+
+		/**
+		 * Parses the given expression body
+		 *
+		 * @param body     expression body without braces
+		 * @param template template containing the expression
+		 * @return parsed {@link Expression}
+		 * @throws IllegalArgumentException if the expression is malformed
+		 */
+		private static Expression parse(String body, String template) {
+			if (body.isEmpty()) {
+				throw new IllegalArgumentException("Empty expression in template: " + template);
+			}
+			Operator operator = Operator.of(body.charAt(0));
+			if (Objects.isNull(operator)) {
+				if ("=,!@|".indexOf(body.charAt(0)) >= 0) {
+					throw new IllegalArgumentException("Reserved operator '" + body.charAt(0) + "' in template: " + template);
+				}
+				operator = Operator.SIMPLE;
+			} else {
+				body = body.substring(1);
+			}
+			String[] specs = body.split(",", -1);
+			VariableSpec[] variables = new VariableSpec[specs.length];
+			for (int i = 0; i < specs.length; i++) {
+				String spec = specs[i];
+				boolean explode = spec.endsWith("*");
+				int prefix = -1;
+				if (explode) {
+					spec = spec.substring(0, spec.length() - 1);
+				} else {
+					int colon = spec.indexOf(':');
+					if (colon >= 0) {
+						try {
+							prefix = Integer.parseInt(spec.substring(colon + 1));
+						} catch (NumberFormatException e) {
+							throw new IllegalArgumentException("Malformed prefix modifier '" + spec + "' in template: " + template, e);
+						}
+						if (prefix <= 0 || prefix >= 10000) {
+							throw new IllegalArgumentException("Prefix modifier out of range '" + spec + "' in template: " + template);
+						}
+						spec = spec.substring(0, colon);
+					}
+				}
+				if (spec.isEmpty() || !isVariableName(spec)) {
+					throw new IllegalArgumentException("Malformed variable name '" + spec + "' in template: " + template);
+				}
+				variables[i] = new VariableSpec(spec, prefix, explode);
+			}
+			return new Expression(operator, variables);
+		}
+
+		/**
+		 * Returns <b>true</b> if the given {@link String} is a valid variable name,
+		 * otherwise returns <b>false</b>
+		 *
+		 * @param name {@link String} to check
+		 * @return <b>true</b> if the given {@link String} is a valid variable name, otherwise <b>false</b>
+		 */
+		private static boolean isVariableName(String name) {
+			for (int i = 0; i < name.length(); i++) {
+				char c = name.charAt(i);
+				if (!(Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '%')) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public void expand(Map<String, ?> variables, StringBuilder output) {
+			boolean first = true;
+			for (VariableSpec variable : this.variables) {
+				Object value = variables.get(variable.name);
+				if (value instanceof Map) {
+					Map<?, ?> map = (Map<?, ?>) value;
+					if (map.isEmpty()) {
+						continue;
+					}
+					first = separate(first, output);
+					expandMap(variable, map, output);
+				} else if (value instanceof Collection || (value != null && value.getClass().isArray())) {
+					List<Object> list = toList(value);
+					if (list.isEmpty()) {
+						continue;
+					}
+					first = separate(first, output);
+					expandList(variable, list, output);
+				} else if (value != null) {
+					first = separate(first, output);
+					expandScalar(variable, String.valueOf(value), output);
+				}
+			}
+		}
+
+		/**
+		 * Writes the operator prefix before the first defined variable, or the separator
+		 * before subsequent ones
+		 *
+		 * @param first  indicates whether the variable is the first defined one
+		 * @param output {@link StringBuilder} to write to
+		 * @return always {@code false}
+		 */
+		private boolean separate(boolean first, StringBuilder output) {
+			output.append(first ? operator.first : operator.separator);
+			return false;
+		}
+
+		/**
+		 * Expands the scalar value
+		 *
+		 * @param variable variable specification
+		 * @param value    scalar value
+		 * @param output   {@link StringBuilder} to expand into
+		 */
+		private void expandScalar(VariableSpec variable, String value, StringBuilder output) {
+			if (operator.named) {
+				output.append(variable.name);
+				if (value.isEmpty()) {
+					output.append(operator.ifEmpty);
+					return;
+				}
+				output.append('=');
+			}
+			if (variable.prefix > 0 && value.codePointCount(0, value.length()) > variable.prefix) {
+				value = value.substring(0, value.offsetByCodePoints(0, variable.prefix));
+			}
+			operator.encode(value, output);
+		}
+
+		/**
+		 * Expands the list value
+		 *
+		 * @param variable variable specification
+		 * @param list     list value
+		 * @param output   {@link StringBuilder} to expand into
+		 */
+		private void expandList(VariableSpec variable, List<Object> list, StringBuilder output) {
+			if (!variable.explode) {
+				if (operator.named) {
+					output.append(variable.name).append('=');
+				}
+				for (int i = 0; i < list.size(); i++) {
+					if (i > 0) {
+						output.append(',');
+					}
+					operator.encode(String.valueOf(list.get(i)), output);
+				}
+				return;
+			}
+			for (int i = 0; i < list.size(); i++) {
+				if (i > 0) {
+					output.append(operator.separator);
+				}
+				String item = String.valueOf(list.get(i));
+				if (operator.named) {
+					output.append(variable.name);
+					if (item.isEmpty()) {
+						output.append(operator.ifEmpty);
+						continue;
+					}
+					output.append('=');
+				}
+				operator.encode(item, output);
+			}
+		}
+
+		/**
+		 * Expands the map value
+		 *
+		 * @param variable variable specification
+		 * @param map      map value
+		 * @param output   {@link StringBuilder} to expand into
+		 */
+		private void expandMap(VariableSpec variable, Map<?, ?> map, StringBuilder output) {
+			boolean firstEntry = true;
+			if (!variable.explode && operator.named) {
+				output.append(variable.name).append('=');
+			}
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				String value = String.valueOf(entry.getValue());
+				if (variable.explode) {
+					if (!firstEntry) {
+						output.append(operator.separator);
+					}
+					operator.encode(String.valueOf(entry.getKey()), output);
+					if (operator.named && value.isEmpty()) {
+						output.append(operator.ifEmpty);
+					} else {
+						operator.encode(value, output.append('='));
+					}
+				} else {
+					if (!firstEntry) {
+						output.append(',');
+					}
+					operator.encode(String.valueOf(entry.getKey()), output);
+					operator.encode(value, output.append(','));
+				}
+				firstEntry = false;
+			}
+		}
+
+		/**
+		 * Converts the given {@link Collection} or array to {@link List}
+		 *
+		 * @param value {@link Collection} or array to convert
+		 * @return {@link List} of values
+		 */
+		private static List<Object> toList(Object value) {
+			if (value instanceof Collection) {
+				return new ArrayList<>((Collection<?>) value);
+			}
+			int length = Array.getLength(value);
+			List<Object> list = new ArrayList<>(length);
+			for (int i = 0; i < length; i++) {
+				list.add(Array.get(value, i));
+			}
+			return list;
+		}
+
+	}
+
+}
@@ -24,11 +24,14 @@
 
 package com.scalified.rest.jaxrs.commons;
 
-import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 
 /**
  * An utility class for working with {@link java.net.URI}
+ * <p>
+ * Provides table-driven <b>RFC 3986</b> percent-encoding of <b>URI</b> components using
+ * <b>UTF-8</b>. Encoding methods return the input itself when nothing needs to be escaped,
+ * and may encode into the caller-supplied {@link StringBuilder}
  *
  * @author shell
  * @version 1.0.0
@@ -36,6 +39,52 @@ import java.nio.charset.StandardCharsets;
  */
 public final class UriUtils {
 
+	/**
+	 * Flag of characters allowed unescaped in any component (<b>RFC 3986</b> unreserved)
+	 */
+	private static final int COMPONENT = 1;
+
+	/**
+	 * Flag of characters allowed unescaped in path segment
+	 */
+	private static final int PATH_SEGMENT = 1 << 1;
+
+	/**
+	 * Flag of characters allowed unescaped in query parameter name or value
+	 */
+	private static final int QUERY_PARAM = 1 << 2;
+
+	/**
+	 * Flag of characters allowed unescaped in fragment
+	 */
+	private static final int FRAGMENT = 1 << 3;
+
+	/**
+	 * Flag of characters allowed unescaped in reserved expansion (<b>RFC 3986</b> unreserved
+	 * and reserved)
+	 */
+	private static final int RESERVED = 1 << 4;
+
+	/**
+	 * Table of flags of characters allowed unescaped, indexed by <b>ASCII</b> character
+	 */
+	private static final byte[] ALLOWED = new byte[128];
+
+	/**
+	 * Upper-case hexadecimal digits
+	 */
+	private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+	static {
+		String unreserved = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-._~";
+		String pchar = unreserved + "!$&'()*+,;=:@";
+		allow(unreserved, COMPONENT);
+		allow(pchar, PATH_SEGMENT);
+		allow(pchar.replace("&", "").replace("=", "").replace("+", "") + "/?", QUERY_PARAM);
+		allow(pchar + "/?", FRAGMENT);
+		allow(pchar + "/?#[]", RESERVED);
+	}
+
 	/**
 	 * Prevents from {@link UriUtils} creation
 	 */
@@ -45,18 +94,283 @@ public final class UriUtils {
 	/**
 	 * Encodes the input {@link String} into the url-encoded form
 	 * <p>
-	 * Uses {@code %20} instead of {@code +} (plus) sign
+	 * Escapes all characters except <b>RFC 3986</b> unreserved ones, so that the result
+	 * may be safely used as any <b>URI</b> component. Uses {@code %20} instead of
+	 * {@code +} (plus) sign
 	 *
 	 * @param input {@link String} <b>URL</b> to encode
 	 * @return url-encoded form of the input {@link String}
-	 * @throws RuntimeException if error occurs
 	 */
 	public static String encode(String input) {
-		try {
-			return URLEncoder.encode(input, StandardCharsets.UTF_8.toString())
-					.replaceAll("\\+", "%20");
-		} catch (Exception e) {
-			throw new RuntimeException(e);
+		return encode(input, COMPONENT);
+	}
+
+	/**
+	 * Encodes the input {@link CharSequence} into the url-encoded form into the given
+	 * {@link StringBuilder}
+	 * <p>
+	 * Escapes all characters except <b>RFC 3986</b> unreserved ones
+	 *
+	 * @param input  {@link CharSequence} to encode
+	 * @param output {@link StringBuilder} to encode into
+	 * @return the given {@link StringBuilder}
+	 */
+	public static StringBuilder encode(CharSequence input, StringBuilder output) {
+		return encode(input, 0, output, COMPONENT);
+	}
+
+	/**
+	 * Encodes the input {@link String} as <b>URI</b> path segment
+	 * <p>
+	 * Escapes all characters except <b>RFC 3986</b> {@code pchar} ones, including {@code /}
+	 *
+	 * @param input {@link String} to encode
+	 * @return encoded path segment, the input itself if nothing needs to be escaped
+	 */
+	public static String encodePathSegment(String input) {
+		return encode(input, PATH_SEGMENT);
+	}
+
+	/**
+	 * Encodes the input {@link CharSequence} as <b>URI</b> path segment into the given
+	 * {@link StringBuilder}
+	 *
+	 * @param input  {@link CharSequence} to encode
+	 * @param output {@link StringBuilder} to encode into
+	 * @return the given {@link StringBuilder}
+	 */
+	public static StringBuilder encodePathSegment(CharSequence input, StringBuilder output) {
+		return encode(input, 0, output, PATH_SEGMENT);
+	}
+
+	/**
+	 * Encodes the input {@link String} as <b>URI</b> query parameter name
+	 * <p>
+	 * Escapes all characters except <b>RFC 3986</b> query ones, excluding {@code &}, {@code =}
+	 * and {@code +}
+	 *
+	 * @param input {@link String} to encode
+	 * @return encoded query parameter name, the input itself if nothing needs to be escaped
+	 */
+	public static String encodeQueryName(String input) {
+		return encode(input, QUERY_PARAM);
+	}
+
+	/**
+	 * Encodes the input {@link CharSequence} as <b>URI</b> query parameter name into the given
+	 * {@link StringBuilder}
+	 *
+	 * @param input  {@link CharSequence} to encode
+	 * @param output {@link StringBuilder} to encode into
+	 * @return the given {@link StringBuilder}
+	 */
+	public static StringBuilder encodeQueryName(CharSequence input, StringBuilder output) {
+		return encode(input, 0, output, QUERY_PARAM);
+	}
+
+	/**
+	 * Encodes the input {@link String} as <b>URI</b> query parameter value
+	 * <p>
+	 * Escapes all characters except <b>RFC 3986</b> query ones, excluding {@code &}, {@code =}
+	 * and {@code +}
+	 *
+	 * @param input {@link String} to encode
+	 * @return encoded query parameter value, the input itself if nothing needs to be escaped
+	 */
+	public static String encodeQueryValue(String input) {
+		return encode(input, QUERY_PARAM);
+	}
+
+	/**
+	 * Encodes the input {@link CharSequence} as <b>URI</b> query parameter value into the given
+	 * {@link StringBuilder}
+	 *
+	 * @param input  {@link CharSequence} to encode
+	 * @param output {@link StringBuilder} to encode into
+	 * @return the given {@link StringBuilder}
+	 */
+	public static StringBuilder encodeQueryValue(CharSequence input, StringBuilder output) {
+		return encode(input, 0, output, QUERY_PARAM);
+	}
+
+	/**
+	 * Encodes the input {@link String} as <b>URI</b> fragment
+	 * <p>
+	 * Escapes all characters except <b>RFC 3986</b> fragment ones
+	 *
+	 * @param input {@link String} to encode
+	 * @return encoded fragment, the input itself if nothing needs to be escaped
+	 */
+	public static String encodeFragment(String input) {
+		return encode(input, FRAGMENT);
+	}
+
+	/**
+	 * Encodes the input {@link CharSequence} as <b>URI</b> fragment into the given
+	 * {@link StringBuilder}
+	 *
+	 * @param input  {@link CharSequence} to encode
+	 * @param output {@link StringBuilder} to encode into
+	 * @return the given {@link StringBuilder}
+	 */
+	public static StringBuilder encodeFragment(CharSequence input, StringBuilder output) {
+		return encode(input, 0, output, FRAGMENT);
+	}
+
+	/**
+	 * Encodes the input {@link CharSequence} into the given {@link StringBuilder}, escaping
+	 * all characters except <b>RFC 3986</b> unreserved and reserved ones
+	 * <p>
+	 * Percent-encoded triplets are left as is
+	 *
+	 * @param input  {@link CharSequence} to encode
+	 * @param output {@link StringBuilder} to encode into
+	 * @return the given {@link StringBuilder}
+	 */
+	static StringBuilder encodeReserved(CharSequence input, StringBuilder output) {
+		int length = input.length();
+		int start = 0;
+		for (int i = 0; i < length; i++) {
+			if (input.charAt(i) == '%' && i + 2 < length
+					&& Character.digit(input.charAt(i + 1), 16) >= 0 && Character.digit(input.charAt(i + 2), 16) >= 0) {
+				encode(input.subSequence(start, i), 0, output, RESERVED).append(input, i, i + 3);
+				start = i + 3;
+				i += 2;
+			}
+		}
+		return start == 0 ? encode(input, 0, output, RESERVED) : encode(input.subSequence(start, length), 0, output, RESERVED);
+	}
+
+	/**
+	 * Decodes percent-encoded <b>UTF-8</b> sequences of the input {@link String}
+	 * <p>
+	 * {@code +} (plus) sign is left as is
+	 *
+	 * @param input {@link String} to decode
+	 * @return decoded {@link String}, the input itself if nothing needs to be decoded
+	 * @throws IllegalArgumentException if the input contains malformed percent-encoded sequence
+	 */
+	public static String decode(String input) {
+		int start = input.indexOf('%');
+		if (start < 0) {
+			return input;
+		}
+		int length = input.length();
+		StringBuilder output = new StringBuilder(length).append(input, 0, start);
+		byte[] bytes = new byte[(length - start) / 3];
+		int i = start;
+		while (i < length) {
+			char c = input.charAt(i);
+			if (c != '%') {
+				output.append(c);
+				i++;
+				continue;
+			}
+			int count = 0;
+			while (i < length && input.charAt(i) == '%') {
+				if (i + 2 >= length) {
+					throw new IllegalArgumentException("Incomplete percent-encoded sequence at index " + i + ": " + input);
+				}
+				int high = Character.digit(input.charAt(i + 1), 16);
+				int low = Character.digit(input.charAt(i + 2), 16);
+				if (high < 0 || low < 0) {
+					throw new IllegalArgumentException("Malformed percent-encoded sequence at index " + i + ": " + input);
+				}
+				bytes[count++] = (byte) ((high << 4) | low);
+				i += 3;
+			}
+			output.append(new String(bytes, 0, count, StandardCharsets.UTF_8));
+		}
+		return output.toString();
+	}
+
+	/**
+	 * Encodes the input {@link String}, escaping characters not allowed by the given flag
+	 *
+	 * @param input {@link String} to encode
+	 * @param flag  flag of allowed characters
+	 * @return encoded {@link String}, the input itself if nothing needs to be escaped
+	 */
+	private static String encode(String input, int flag) {
+		int length = input.length();
+		for (int i = 0; i < length; i++) {
+			if (!isAllowed(input.charAt(i), flag)) {
+				StringBuilder output = new StringBuilder(length + 16).append(input, 0, i);
+				return encode(input, i, output, flag).toString();
+			}
+		}
+		return input;
+	}
+
+	/**
+	 * Encodes the input {@link CharSequence} starting from the given index into the given
+	 * {@link StringBuilder}, escaping characters not allowed by the given flag
+	 *
+	 * @param input  {@link CharSequence} to encode
+	 * @param start  index to start encoding from
+	 * @param output {@link StringBuilder} to encode into
+	 * @param flag   flag of allowed characters
+	 * @return the given {@link StringBuilder}
+	 */
+	private static StringBuilder encode(CharSequence input, int start, StringBuilder output, int flag) {
+		int length = input.length();
+		for (int i = start; i < length; i++) {
+			char c = input.charAt(i);
+			if (isAllowed(c, flag)) {
+				output.append(c);
+			} else if (c < 0x80) {
+				escape(c, output);
+			} else if (c < 0x800) {
+				escape(0xC0 | (c >> 6), output);
+				escape(0x80 | (c & 0x3F), output);
+			} else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(input.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(c, input.charAt(++i));
+				escape(0xF0 | (codePoint >> 18), output);
+				escape(0x80 | ((codePoint >> 12) & 0x3F), output);
+				escape(0x80 | ((codePoint >> 6) & 0x3F), output);
+				escape(0x80 | (codePoint & 0x3F), output);
+			} else if (Character.isSurrogate(c)) {
+				escape('?', output);
+			} else {
+				escape(0xE0 | (c >> 12), output);
+				escape(0x80 | ((c >> 6) & 0x3F), output);
+				escape(0x80 | (c & 0x3F), output);
+			}
+		}
+		return output;
+	}
+
+	/**
+	 * Appends percent-encoded form of the given byte to the given {@link StringBuilder}
+	 *
+	 * @param b      byte to escape
+	 * @param output {@link StringBuilder} to append to
+	 */
+	private static void escape(int b, StringBuilder output) {
+		output.append('%').append(HEX[(b >> 4) & 0x0F]).append(HEX[b & 0x0F]);
+	}
+
+	/**
+	 * Returns <b>true</b> if the given character is allowed unescaped by the given flag,
+	 * otherwise returns <b>false</b>
+	 *
+	 * @param c    character to check
+	 * @param flag flag of allowed characters
+	 * @return <b>true</b> if the given character is allowed unescaped, otherwise <b>false</b>
+	 */
+	private static boolean isAllowed(char c, int flag) {
+		return c < 0x80 && (ALLOWED[c] & flag) != 0;
+	}
+
+	/**
+	 * Marks the given characters as allowed unescaped by the given flag
+	 *
+	 * @param characters characters to mark
+	 * @param flag       flag of allowed characters
+	 */
+	private static void allow(String characters, int flag) {
+		for (int i = 0; i < characters.length(); i++) {
+			ALLOWED[characters.charAt(i)] |= flag;
 		}
 	}
 
@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.cors;
+
+import java.lang.annotation.*;
+
+/**
+ * Enables <b>CORS</b> processing for the annotated resource class or resource method
+ * <p>
+ * Annotated resources are bound to the per-resource <b>CORS</b> filter by the {@link CorsFeature},
+ * so that not annotated resources, such as internal and health endpoints, are not processed.
+ * Method annotation takes precedence over class annotation, for both actual and preflight requests
+ * <p>
+ * Preflight requests are answered before reaching the resource, using the policy of the resource
+ * method designated by the requested method, so annotated resources need not declare {@code OPTIONS}
+ * methods:
+ * <pre>
+ *   {@code @Cors(origins = "https://app.example.com", allowedMethods = {"GET", "POST"})}
+ *   {@code @Path("/orders")}
+ *    public class OrdersResource {
+ *
+ *       {@code @DELETE}
+ *       {@code @Path("{id}")}
+ *       {@code @Cors(origins = "https://admin.example.com", allowedMethods = "DELETE")}
+ *        public void delete({@code @PathParam("id")} long id) {
+ *        }
+ *
+ *    }
+ * </pre>
+ *
+ * @author shell
+ * @version 1.1.0
+ * @see CorsFeature
+ * @since 1.1.0
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cors {
+
+	/**
+	 * Returns comma or whitespace separated allowed origins
+	 *
+	 * @return comma or whitespace separated allowed origins
+	 * @see OriginPolicy
+	 */
+	String origins();
+
+	/**
+	 * Returns allowed methods. Any requested method is allowed, if empty
+	 *
+	 * @return allowed methods
+	 */
+	String[] allowedMethods() default {};
+
+	/**
+	 * Returns allowed headers. Any requested header is allowed, if empty
+	 *
+	 * @return allowed headers
+	 */
+	String[] allowedHeaders() default {};
+
+	/**
+	 * Returns headers exposed to browsers
+	 *
+	 * @return headers exposed to browsers
+	 */
+	String[] exposedHeaders() default {};
+
+	/**
+	 * Returns whether credentials are allowed
+	 *
+	 * @return <b>true</b> if credentials are allowed, otherwise <b>false</b>
+	 */
+	boolean allowCredentials() default true;
+
+	/**
+	 * Returns the time in seconds browsers may cache preflight responses for,
+	 * not sent if negative
+	 *
+	 * @return preflight response max age in seconds
+	 */
+	long maxAge() default -1;
+
+}
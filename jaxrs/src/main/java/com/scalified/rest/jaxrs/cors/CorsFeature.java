@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.cors;
+
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+/**
+ * A {@link Feature}, which attaches <b>CORS</b> processing to resource methods annotated
+ * with {@link Cors} directly or via their resource class
+ * <p>
+ * Each annotated resource method gets its own filter with the policy precomputed from the
+ * annotation, while not annotated resource methods are not filtered at all. Preflight requests
+ * are answered before matching, using the policy of the resource method, which the preflight
+ * request is made for: the method designated by the
+ * {@link com.scalified.rest.jaxrs.extension.ExtendedHttpHeaders#ACCESS_CONTROL_REQUEST_METHOD}
+ * header and matching the request path. Hence annotated resources need not declare {@code OPTIONS}
+ * methods
+ * <pre>
+ *    import javax.ws.rs.core.Application;
+ *
+ *    public class RestApplication extends Application {
+ *
+ *       {@code @Override}
+ *        public Set&lt;Class&lt;?&gt;&gt; getClasses() {
+ *            return new HashSet&lt;&gt;(Arrays.asList(CorsFeature.class, OrdersResource.class));
+ *        }
+ *
+ *    }
+ * </pre>
+ * <p>
+ * Preflight requests are resolved for the root resource classes only, since the paths of the
+ * sub-resources returned by sub-resource locators are not known in advance
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class CorsFeature implements Feature {
+
+	/**
+	 * A callback method called when the feature is enabled in a particular
+	 * {@link javax.ws.rs.RuntimeType runtime type} scope
+	 *
+	 * @param context configurable context in which the feature should be enabled.
+	 * @return {@code true} if the feature was successfully enabled, {@code false} otherwise.
+	 */
+	@Override
+	public boolean configure(FeatureContext context) {
+		CorsRoutes routes = new CorsRoutes();
+		context.register(new ResourceCorsBinder(routes));
+		context.register(new PreflightCorsFilter(routes));
+		return true;
+	}
+
+}
\ No newline at end of file
@@ -32,6 +32,7 @@ import javax.ws.rs.HttpMethod;
 import javax.ws.rs.container.*;
 import javax.ws.rs.core.Response;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A filter, used to filter <b>CORS</b> requests and responses
@@ -55,6 +56,24 @@ import java.util.Objects;
  *
  *    }
  * </pre>
+ * <p>
+ * Preflight responses are sent with {@link ExtendedHttpHeaders#ACCESS_CONTROL_MAX_AGE}, if configured,
+ * so that browsers cache them and skip repeated preflight requests
+ * <pre>
+ *    CorsFilter filter = CorsFilter.builder(OriginPolicy.parse("https://*.example.com"))
+ *            .maxAge(3600)
+ *            .abortOnRejection(true)
+ *            .build();
+ * </pre>
+ * <p>
+ * Requests having not allowed origin are rejected with {@link ForbiddenException} by default.
+ * When configured to abort on rejection, such requests are aborted with
+ * {@link Response.Status#FORBIDDEN} response instead, without creating exceptions. Rejected
+ * origins are counted in {@link OriginRejections} in both cases
+ * <p>
+ * Allowed origins policy may be replaced at runtime with {@link #update(OriginPolicy)}, e.g. by the
+ * {@link OriginPolicyReloader}. The policy is immutable and published through an atomic reference,
+ * so request threads never lock or observe a partially updated policy
  *
  * @author shell
  * @version 1.0.0
@@ -64,27 +83,99 @@ import java.util.Objects;
 public class CorsFilter implements ContainerRequestFilter, ContainerResponseFilter {
 
 	/**
-	 * All allowed origins
+	 * CORS failure property key
 	 */
-	private static final String ALL_ALLOWED_ORIGINS = "*";
+	private static final String CORS_FAILURE_PROPERTY_KEY = "cors.failure";
 
 	/**
-	 * CORS failure property key
+	 * Current allowed origins policy
 	 */
-	private static final String CORS_FAILURE_PROPERTY_KEY = "cors.failure";
+	private final AtomicReference<OriginPolicy> originPolicy;
 
 	/**
-	 * Allowed origins
+	 * Indicates whether rejected requests are aborted instead of throwing {@link ForbiddenException}
 	 */
-	private final String allowedOrigins;
+	private final boolean abortOnRejection;
+
+	/**
+	 * Rejected origins statistics
+	 */
+	private final OriginRejections rejections;
+
+	/**
+	 * Preflight response max age in seconds, negative if not sent
+	 */
+	private final long maxAge;
 
 	/**
 	 * Creates {@link CorsFilter} instance
 	 *
-	 * @param allowedOrigins allowed origins
+	 * @param allowedOrigins comma or whitespace separated allowed origins
+	 * @see OriginPolicy
 	 */
 	public CorsFilter(String allowedOrigins) {
-		this.allowedOrigins = allowedOrigins;
+		this(OriginPolicy.parse(allowedOrigins));
+	}
+
+	/**
+	 * Creates {@link CorsFilter} instance
+	 *
+	 * @param originPolicy allowed origins policy
+	 */
+	public CorsFilter(OriginPolicy originPolicy) {
+		this(builder(originPolicy));
+	}
+
+	/**
+	 * Creates {@link CorsFilter} instance
+	 *
+	 * @param builder {@link CorsFilter} builder
+	 */
+	private CorsFilter(Builder builder) {
+		this.originPolicy = new AtomicReference<>(builder.originPolicy);
+		this.maxAge = builder.maxAge;
+		this.abortOnRejection = builder.abortOnRejection;
+		this.rejections = builder.rejections;
+	}
+
+	/**
+	 * Returns the {@link CorsFilter} builder
+	 *
+	 * @param originPolicy allowed origins policy
+	 * @return {@link CorsFilter} builder
+	 */
+	public static Builder builder(OriginPolicy originPolicy) {
+		return new Builder(originPolicy);
+	}
+
+	/**
+	 * Returns current allowed origins policy
+	 *
+	 * @return current allowed origins policy
+	 */
+	public OriginPolicy getOriginPolicy() {
+		return originPolicy.get();
+	}
+
+	/**
+	 * Replaces allowed origins policy
+	 * <p>
+	 * Requests being processed complete with the previous policy, subsequent requests are
+	 * processed with the given policy
+	 *
+	 * @param originPolicy new allowed origins policy
+	 */
+	public void update(OriginPolicy originPolicy) {
+		this.originPolicy.set(originPolicy);
+	}
+
+	/**
+	 * Returns rejected origins statistics
+	 *
+	 * @return rejected origins statistics
+	 */
+	public OriginRejections getRejections() {
+		return rejections;
 	}
 
 	/**
@@ -151,11 +242,13 @@ public class CorsFilter implements ContainerRequestFilter, ContainerResponseFilt
 	 * @param requestContext request context
 	 */
 	private void preFlight(String origin, ContainerRequestContext requestContext) {
-		checkOrigin(requestContext, origin);
+		if (!checkOrigin(requestContext, origin)) {
+			return;
+		}
 
-		Response.ResponseBuilder builder = Response.ok();
-		builder.header(ExtendedHttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, origin);
-		builder.header(ExtendedHttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, Boolean.TRUE.toString());
+		Response.ResponseBuilder builder = Response.ok()
+				.header(ExtendedHttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, origin)
+				.header(ExtendedHttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, Boolean.TRUE.toString());
 
 		String requestMethods = requestContext.getHeaderString(ExtendedHttpHeaders.ACCESS_CONTROL_REQUEST_METHOD);
 		if (Objects.nonNull(requestMethods)) {
@@ -167,20 +260,121 @@ public class CorsFilter implements ContainerRequestFilter, ContainerResponseFilt
 			builder.header(ExtendedHttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS, allowHeaders);
 		}
 
+		if (maxAge >= 0) {
+			builder.header(ExtendedHttpHeaders.ACCESS_CONTROL_MAX_AGE, maxAge);
+		}
+
 		requestContext.abortWith(builder.build());
 	}
 
 	/**
 	 * Checks whether request context contains the allowed origin
+	 * <p>
+	 * Rejects the request, if the origin is not allowed
 	 *
 	 * @param requestContext request context
 	 * @param origin         an {@link ExtendedHttpHeaders#ORIGIN} header value
+	 * @return <b>true</b> if the origin is allowed, <b>false</b> if the request has been aborted
+	 * @throws ForbiddenException if the origin is not allowed and the filter is not configured
+	 *                            to abort on rejection
 	 */
-	private void checkOrigin(ContainerRequestContext requestContext, String origin) {
-		if (!StringUtils.containsAny(allowedOrigins, ALL_ALLOWED_ORIGINS, origin)) {
-			requestContext.setProperty(CORS_FAILURE_PROPERTY_KEY, true);
+	private boolean checkOrigin(ContainerRequestContext requestContext, String origin) {
+		if (originPolicy.get().allows(origin)) {
+			return true;
+		}
+		requestContext.setProperty(CORS_FAILURE_PROPERTY_KEY, true);
+		rejections.record(origin);
+		if (!abortOnRejection) {
 			throw new ForbiddenException("Origin not allowed: " + origin);
 		}
+		// a new response is built per request rather than shared, since the runtime and response
+		// filters add headers to the aborted response, which would leak between concurrent requests
+		requestContext.abortWith(Response.status(Response.Status.FORBIDDEN).build());
+		return false;
+	}
+
+	/**
+	 * {@link CorsFilter} builder
+	 */
+	public static class Builder {
+
+		/**
+		 * Allowed origins policy
+		 */
+		private final OriginPolicy originPolicy;
+
+		/**
+		 * Preflight response max age in seconds
+		 */
+		private long maxAge = -1;
+
+		/**
+		 * Indicates whether rejected requests are aborted instead of throwing {@link ForbiddenException}
+		 */
+		private boolean abortOnRejection;
+
+		/**
+		 * Rejected origins statistics
+		 */
+		private OriginRejections rejections = new OriginRejections(16, 64);
+
+		/**
+		 * Creates {@link Builder} instance
+		 *
+		 * @param originPolicy allowed origins policy
+		 */
+		private Builder(OriginPolicy originPolicy) {
+			this.originPolicy = originPolicy;
+		}
+
+		/**
+		 * Sets the time in seconds browsers may cache preflight responses for
+		 * <p>
+		 * {@link ExtendedHttpHeaders#ACCESS_CONTROL_MAX_AGE} header is not sent, if negative
+		 *
+		 * @param maxAge preflight response max age in seconds
+		 * @return {@link CorsFilter} builder instance
+		 */
+		public Builder maxAge(long maxAge) {
+			this.maxAge = maxAge;
+			return this;
+		}
+
+		/**
+		 * Sets whether requests having not allowed origin are aborted with
+		 * {@link Response.Status#FORBIDDEN} response instead of throwing {@link ForbiddenException}
+		 *
+		 * @param abortOnRejection <b>true</b> to abort rejected requests, <b>false</b> to throw
+		 *                         {@link ForbiddenException}
+		 * @return {@link CorsFilter} builder instance
+		 */
+		public Builder abortOnRejection(boolean abortOnRejection) {
+			this.abortOnRejection = abortOnRejection;
+			return this;
+		}
+
+		/**
+		 * Sets rejected origins statistics
+		 * <p>
+		 * By default one in 16 rejections is sampled and up to 64 origins are tracked
+		 *
+		 * @param rejections rejected origins statistics
+		 * @return {@link CorsFilter} builder instance
+		 */
+		public Builder rejections(OriginRejections rejections) {
+			this.rejections = rejections;
+			return this;
+		}
+
+		/**
+		 * Builds and returns {@link CorsFilter}
+		 *
+		 * @return {@link CorsFilter}
+		 */
+		public CorsFilter build() {
+			return new CorsFilter(this);
+		}
+
 	}
 
 }
@@ -0,0 +1,159 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.cors;
+
+import java.util.*;
+
+/**
+ * A precomputed per-resource <b>CORS</b> policy, created from the {@link Cors} annotation
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+final class CorsPolicy {
+
+	/**
+	 * Allowed origins policy
+	 */
+	final OriginPolicy originPolicy;
+
+	/**
+	 * Allowed methods in uppercase, empty if any method is allowed
+	 */
+	private final Set<String> allowedMethods;
+
+	/**
+	 * Allowed headers in lowercase, empty if any header is allowed
+	 */
+	private final Set<String> allowedHeaders;
+
+	/**
+	 * Precomputed allowed methods header value, <b>null</b> if requested method is echoed
+	 */
+	final String allowMethodsHeader;
+
+	/**
+	 * Precomputed allowed headers header value, <b>null</b> if requested headers are echoed
+	 */
+	final String allowHeadersHeader;
+
+	/**
+	 * Precomputed exposed headers header value, <b>null</b> if no headers exposed
+	 */
+	final String exposeHeadersHeader;
+
+	/**
+	 * Indicates whether credentials are allowed
+	 */
+	final boolean allowCredentials;
+
+	/**
+	 * Preflight response max age in seconds, negative if not sent
+	 */
+	final long maxAge;
+
+	/**
+	 * Creates {@link CorsPolicy} instance
+	 *
+	 * @param cors annotation to create the policy from
+	 */
+	private CorsPolicy(Cors cors) {
+		this.originPolicy = OriginPolicy.parse(cors.origins());
+		this.allowedMethods = normalize(cors.allowedMethods(), true);
+		this.allowedHeaders = normalize(cors.allowedHeaders(), false);
+		this.allowMethodsHeader = join(cors.allowedMethods());
+		this.allowHeadersHeader = join(cors.allowedHeaders());
+		this.exposeHeadersHeader = join(cors.exposedHeaders());
+		this.allowCredentials = cors.allowCredentials();
+		this.maxAge = cors.maxAge();
+	}
+
+	/**
+	 * Creates {@link CorsPolicy} from the given annotation
+	 *
+	 * @param cors annotation to create the policy from
+	 * @return {@link CorsPolicy} created from the given annotation
+	 */
+	static CorsPolicy from(Cors cors) {
+		return new CorsPolicy(cors);
+	}
+
+	/**
+	 * Returns <b>true</b> if the given requested method is allowed, otherwise returns <b>false</b>
+	 *
+	 * @param method requested method
+	 * @return <b>true</b> if the given requested method is allowed, otherwise returns <b>false</b>
+	 */
+	boolean allowsMethod(String method) {
+		return allowedMethods.isEmpty() || allowedMethods.contains(method.trim().toUpperCase(Locale.ROOT));
+	}
+
+	/**
+	 * Returns <b>true</b> if all given comma separated requested headers are allowed,
+	 * otherwise returns <b>false</b>
+	 *
+	 * @param headers comma separated requested headers, may be <b>null</b>
+	 * @return <b>true</b> if all given requested headers are allowed, otherwise returns <b>false</b>
+	 */
+	boolean allowsHeaders(String headers) {
+		if (allowedHeaders.isEmpty() || Objects.isNull(headers)) {
+			return true;
+		}
+		for (String header : headers.split(",")) {
+			String trimmed = header.trim();
+			if (!trimmed.isEmpty() && !allowedHeaders.contains(trimmed.toLowerCase(Locale.ROOT))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the set of the given values converted to the same case
+	 *
+	 * @param values    values to normalize
+	 * @param upperCase <b>true</b> to convert to uppercase, <b>false</b> to convert to lowercase
+	 * @return the set of normalized values
+	 */
+	private static Set<String> normalize(String[] values, boolean upperCase) {
+		Set<String> normalized = new HashSet<>();
+		for (String value : values) {
+			normalized.add(upperCase ? value.trim().toUpperCase(Locale.ROOT) : value.trim().toLowerCase(Locale.ROOT));
+		}
+		return Collections.unmodifiableSet(normalized);
+	}
+
+	/**
+	 * Joins the given values into the header value
+	 *
+	 * @param values values to join
+	 * @return joined header value, <b>null</b> if there are no values
+	 */
+	private static String join(String[] values) {
+		return values.length == 0 ? null : String.join(", ", values);
+	}
+
+}
@@ -0,0 +1,219 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.cors;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * A registry of the resource methods annotated with {@link Cors}, used to resolve the
+ * <b>CORS</b> policy of the resource method targeted by the preflight request
+ * <p>
+ * Routes are registered by the {@link CorsFeature} during the application deployment and
+ * grouped by <b>HTTP</b> method. Each group is kept sorted in the <b>JAX-RS</b> matching order,
+ * preferring templates having more literal characters, then more template variables, then more
+ * variables with regular expressions, so that the first matching route wins. A route is matched
+ * against its regular expression only if the path starts with the literal prefix of its template
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+final class CorsRoutes {
+
+	/**
+	 * Comparator, which sorts routes in the <b>JAX-RS</b> matching order
+	 */
+	private static final Comparator<Route> PRECEDENCE = Comparator
+			.comparingInt((Route route) -> route.literalLength)
+			.thenComparingInt(route -> route.variables)
+			.thenComparingInt(route -> route.regexVariables)
+			.reversed();
+
+	/**
+	 * Registered routes sorted in the <b>JAX-RS</b> matching order, keyed by uppercase <b>HTTP</b> method
+	 */
+	private volatile Map<String, Route[]> routes = Collections.emptyMap();
+
+	/**
+	 * Registers the route of the resource method
+	 *
+	 * @param method   <b>HTTP</b> method of the resource method
+	 * @param template <b>JAX-RS</b> path template of the resource method
+	 * @param policy   <b>CORS</b> policy of the resource method
+	 * @throws IllegalArgumentException if the template is malformed
+	 */
+	synchronized void add(String method, String template, CorsPolicy policy) {
+		Map<String, Route[]> updated = new HashMap<>(routes);
+		String key = method.trim().toUpperCase(Locale.ROOT);
+		Route[] existing = updated.getOrDefault(key, new Route[0]);
+		Route[] group = Arrays.copyOf(existing, existing.length + 1);
+		group[existing.length] = new Route(template, policy);
+		Arrays.sort(group, PRECEDENCE);
+		updated.put(key, group);
+		routes = updated;
+	}
+
+	/**
+	 * Returns <b>true</b> if no routes are registered, otherwise returns <b>false</b>
+	 *
+	 * @return <b>true</b> if no routes are registered, otherwise <b>false</b>
+	 */
+	boolean isEmpty() {
+		return routes.isEmpty();
+	}
+
+	/**
+	 * Returns the <b>CORS</b> policy of the resource method matching the given path and
+	 * <b>HTTP</b> method
+	 *
+	 * @param path   request path relative to the application base path
+	 * @param method requested <b>HTTP</b> method
+	 * @return the <b>CORS</b> policy of the matching resource method or <b>null</b>, if none matches
+	 */
+	CorsPolicy resolve(String path, String method) {
+		Route[] group = routes.get(method.trim().toUpperCase(Locale.ROOT));
+		if (Objects.isNull(group)) {
+			return null;
+		}
+		String trimmed = trim(path);
+		for (Route route : group) {
+			if (trimmed.startsWith(route.prefix) && route.pattern.matcher(trimmed).matches()) {
+				return route.policy;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the given path without the leading and trailing slashes
+	 *
+	 * @param path path to trim
+	 * @return the given path without the leading and trailing slashes
+	 */
+	private static String trim(String path) {
+		int start = 0;
+		int end = path.length();
+		while (start < end && path.charAt(start) == '/') {
+			start++;
+		}
+		while (end > start && path.charAt(end - 1) == '/') {
+			end--;
+		}
+		return path.substring(start, end);
+	}
+
+	/**
+	 * A route of the resource method annotated with {@link Cors}
+	 */
+	private static final class Route {
+
+		/**
+		 * Literal prefix of the path template, preceding the first template variable
+		 */
+		private final String prefix;
+
+		/**
+		 * Compiled path template
+		 */
+		private final Pattern pattern;
+
+		/**
+		 * Number of literal characters of the path template
+		 */
+		private final int literalLength;
+
+		/**
+		 * Number of template variables
+		 */
+		private final int variables;
+
+		/**
+		 * Number of template variables having regular expressions
+		 */
+		private final int regexVariables;
+
+		/**
+		 * <b>CORS</b> policy of the resource method
+		 */
+		private final CorsPolicy policy;
+
+		/**
+		 * Creates {@link Route} instance
+		 *
+		 * @param template <b>JAX-RS</b> path template of the resource method
+		 * @param policy   <b>CORS</b> policy of the resource method
+		 * @throws IllegalArgumentException if the template is malformed
+		 */
+		private Route(String template, CorsPolicy policy) {
+			String trimmed = trim(template.replaceAll("/{2,}", "/"));
+			StringBuilder regex = new StringBuilder(trimmed.length() + 16);
+			int literalLength = 0;
+			int variables = 0;
+			int regexVariables = 0;
+			int start = 0;
+			while (start < trimmed.length()) {
+				int open = trimmed.indexOf('{', start);
+				int literalEnd = open < 0 ? trimmed.length() : open;
+				if (literalEnd > start) {
+					regex.append(Pattern.quote(trimmed.substring(start, literalEnd)));
+					literalLength += literalEnd - start;
+				}
+				if (open < 0) {
+					break;
+				}
+				int close = open + 1;
+				for (int depth = 1; close < trimmed.length(); close++) {
+					char c = trimmed.charAt(close);
+					if (c == '{') {
+						depth++;
+					} else if (c == '}' && --depth == 0) {
+						break;
+					}
+				}
+				if (close >= trimmed.length()) {
+					throw new IllegalArgumentException("Unclosed expression in path template: " + template);
+				}
+				String expression = trimmed.substring(open + 1, close);
+				int colon = expression.indexOf(':');
+				regex.append('(').append(colon < 0 ? "[^/]+" : expression.substring(colon + 1).trim()).append(')');
+				variables++;
+				if (colon >= 0) {
+					regexVariables++;
+				}
+				start = close + 1;
+			}
+			int open = trimmed.indexOf('{');
+			this.prefix = open < 0 ? trimmed : trimmed.substring(0, open);
+			this.pattern = Pattern.compile(regex.toString());
+			this.literalLength = literalLength;
+			this.variables = variables;
+			this.regexVariables = regexVariables;
+			this.policy = policy;
+		}
+
+	}
+
+}
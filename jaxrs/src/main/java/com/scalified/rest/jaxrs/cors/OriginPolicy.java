@@ -0,0 +1,409 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.cors;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A compiled policy of origins allowed by {@link CorsFilter}
+ * <p>
+ * Allowed origins are listed in a comma or whitespace separated string. Each entry is one of:
+ * <ul>
+ * <li>{@code *} - allows any origin</li>
+ * <li>{@code https://example.com} - allows the exact origin</li>
+ * <li>{@code https://*.example.com} - allows any subdomain of {@code example.com}, but not
+ * {@code example.com} itself</li>
+ * </ul>
+ * Scheme may be omitted, in which case both {@code http} and {@code https} are allowed. Port
+ * may be specified after the host, otherwise the default port of the scheme is assumed
+ * <p>
+ * Exact origins are kept in a hash set, subdomain patterns are kept in a suffix trie. Origin
+ * lookup is done in a single pass over the origin characters without allocation, assuming the
+ * origin is serialized in lowercase as browsers do
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class OriginPolicy {
+
+	/**
+	 * All allowed origins entry
+	 */
+	private static final String ALL_ALLOWED_ORIGINS = "*";
+
+	/**
+	 * Scheme separator
+	 */
+	private static final String SCHEME_SEPARATOR = "://";
+
+	/**
+	 * Wildcard subdomain prefix
+	 */
+	private static final String WILDCARD_PREFIX = "*.";
+
+	/**
+	 * Schemes assumed for entries without scheme
+	 */
+	private static final String[] DEFAULT_SCHEMES = {"http", "https"};
+
+	/**
+	 * Indicates whether any origin is allowed
+	 */
+	private final boolean allowAll;
+
+	/**
+	 * Exactly allowed origins
+	 */
+	private final Set<String> exact = new HashSet<>();
+
+	/**
+	 * Suffix trie root of subdomain patterns
+	 */
+	private final Node root = new Node();
+
+	/**
+	 * Original allowed origins string
+	 */
+	private final String allowedOrigins;
+
+	/**
+	 * Creates {@link OriginPolicy} instance
+	 *
+	 * @param allowedOrigins comma or whitespace separated allowed origins
+	 */
+	private OriginPolicy(String allowedOrigins) {
+		this.allowedOrigins = allowedOrigins;
+		boolean all = false;
+		for (String entry : allowedOrigins.trim().split("[,\\s]+")) {
+			if (entry.isEmpty()) {
+				continue;
+			}
+			if (ALL_ALLOWED_ORIGINS.equals(entry)) {
+				all = true;
+				continue;
+			}
+			add(entry.toLowerCase(Locale.ROOT));
+		}
+		this.allowAll = all;
+	}
+
+	/**
+	 * Parses and compiles the given allowed origins
+	 *
+	 * @param allowedOrigins comma or whitespace separated allowed origins
+	 * @return compiled {@link OriginPolicy}
+	 * @throws IllegalArgumentException if any of allowed origins has invalid port
+	 */
+	public static OriginPolicy parse(String allowedOrigins) {
+		return new OriginPolicy(allowedOrigins);
+	}
+
+	/**
+	 * Returns <b>true</b> if the given origin is allowed, otherwise returns <b>false</b>
+	 *
+	 * @param origin an {@link com.scalified.rest.jaxrs.extension.ExtendedHttpHeaders#ORIGIN} header value
+	 * @return <b>true</b> if the given origin is allowed, otherwise returns <b>false</b>
+	 */
+	public boolean allows(String origin) {
+		if (allowAll) {
+			return true;
+		}
+		if (exact.contains(origin)) {
+			return true;
+		}
+		int schemeEnd = origin.indexOf(SCHEME_SEPARATOR);
+		if (schemeEnd <= 0) {
+			return false;
+		}
+		int hostStart = schemeEnd + SCHEME_SEPARATOR.length();
+		int hostEnd = origin.length();
+		int port = -1;
+		for (int i = hostEnd - 1; i >= hostStart; i--) {
+			char c = origin.charAt(i);
+			if (c == ':') {
+				port = parsePort(origin, i + 1, hostEnd);
+				if (port < 0) {
+					return false;
+				}
+				hostEnd = i;
+				break;
+			}
+			if (c < '0' || c > '9') {
+				break;
+			}
+		}
+		if (port < 0) {
+			port = defaultPort(origin, 0, schemeEnd);
+		}
+		Node node = root;
+		for (int i = hostEnd - 1; i > hostStart; i--) {
+			node = node.child(origin.charAt(i));
+			if (node == null) {
+				return false;
+			}
+			if (node.rules != null) {
+				for (Rule rule : node.rules) {
+					if (rule.matches(origin, schemeEnd, port)) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns a string representation of the policy, which is the original allowed origins string
+	 *
+	 * @return a string representation of the policy
+	 */
+	@Override
+	public String toString() {
+		return allowedOrigins;
+	}
+
+	/**
+	 * Adds the given lowercase entry to the policy
+	 *
+	 * @param entry allowed origin entry
+	 */
+	private void add(String entry) {
+		int schemeEnd = entry.indexOf(SCHEME_SEPARATOR);
+		String scheme = schemeEnd < 0 ? null : entry.substring(0, schemeEnd);
+		String authority = schemeEnd < 0 ? entry : entry.substring(schemeEnd + SCHEME_SEPARATOR.length());
+		int slash = authority.indexOf('/');
+		if (slash >= 0) {
+			authority = authority.substring(0, slash);
+		}
+		String host = authority;
+		int port = -1;
+		int colon = authority.lastIndexOf(':');
+		if (colon >= 0 && authority.indexOf(']', colon) < 0) {
+			host = authority.substring(0, colon);
+			port = parsePort(authority, colon + 1, authority.length());
+			if (port < 0) {
+				throw new IllegalArgumentException("Invalid port in allowed origin: " + entry);
+			}
+		}
+		String[] schemes = scheme == null ? DEFAULT_SCHEMES : new String[]{scheme};
+		if (host.startsWith(WILDCARD_PREFIX)) {
+			Node node = root;
+			String suffix = host.substring(1);
+			for (int i = suffix.length() - 1; i >= 0; i--) {
+				node = node.createChild(suffix.charAt(i));
+			}
+			for (String s : schemes) {
+				node.addRule(new Rule(s, port < 0 ? defaultPort(s, 0, s.length()) : port));
+			}
+			return;
+		}
+		for (String s : schemes) {
+			int defaultPort = defaultPort(s, 0, s.length());
+			if (port < 0 || port == defaultPort) {
+				exact.add(s + SCHEME_SEPARATOR + host);
+				exact.add(s + SCHEME_SEPARATOR + host + ':' + defaultPort);
+			} else {
+				exact.add(s + SCHEME_SEPARATOR + host + ':' + port);
+			}
+		}
+	}
+
+	/**
+	 * Parses port from the given region of the given string
+	 *
+	 * @param value string to parse port from
+	 * @param start region start index, inclusive
+	 * @param end   region end index, exclusive
+	 * @return parsed port or {@code -1} if the region is not a valid port
+	 */
+	private static int parsePort(String value, int start, int end) {
+		if (start >= end || end - start > 5) {
+			return -1;
+		}
+		int port = 0;
+		for (int i = start; i < end; i++) {
+			char c = value.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			port = port * 10 + (c - '0');
+		}
+		return port <= 0xFFFF ? port : -1;
+	}
+
+	/**
+	 * Returns the default port of the scheme in the given region of the given string
+	 *
+	 * @param value string containing scheme
+	 * @param start scheme start index, inclusive
+	 * @param end   scheme end index, exclusive
+	 * @return the default port of the scheme or {@code -1}, if the scheme is unknown
+	 */
+	private static int defaultPort(String value, int start, int end) {
+		int length = end - start;
+		if (length == 4 && value.startsWith("http", start)) {
+			return 80;
+		}
+		if (length == 5 && value.startsWith("https", start)) {
+			return 443;
+		}
+		return -1;
+	}
+
+	/**
+	 * A scheme and port allowed for a subdomain pattern
+	 */
+	private static final class Rule {
+
+		/**
+		 * Allowed scheme
+		 */
+		private final String scheme;
+
+		/**
+		 * Allowed port
+		 */
+		private final int port;
+
+		/**
+		 * Creates {@link Rule} instance
+		 *
+		 * @param scheme allowed scheme
+		 * @param port   allowed port
+		 */
+		private Rule(String scheme, int port) {
+			this.scheme = scheme;
+			this.port = port;
+		}
+
+		/**
+		 * Returns <b>true</b> if the scheme and the port of the given origin match the rule,
+		 * otherwise returns <b>false</b>
+		 *
+		 * @param origin    origin to match
+		 * @param schemeEnd origin scheme end index, exclusive
+		 * @param port      origin port
+		 * @return <b>true</b> if the scheme and the port of the given origin match the rule,
+		 * otherwise returns <b>false</b>
+		 */
+		private boolean matches(String origin, int schemeEnd, int port) {
+			return this.port == port && schemeEnd == scheme.length() && origin.startsWith(scheme);
+		}
+
+	}
+
+	/**
+	 * A node of subdomain patterns suffix trie
+	 */
+	private static final class Node {
+
+		/**
+		 * Number of supported host characters: {@code a-z}, {@code 0-9}, {@code -} and {@code .}
+		 */
+		private static final int ALPHABET_SIZE = 38;
+
+		/**
+		 * Child nodes indexed by host character
+		 */
+		private Node[] children;
+
+		/**
+		 * Rules of the pattern ending at this node, <b>null</b> if no pattern ends here
+		 */
+		private Rule[] rules;
+
+		/**
+		 * Returns the child node for the given character
+		 *
+		 * @param c host character
+		 * @return the child node or <b>null</b>, if there is no such child
+		 */
+		private Node child(char c) {
+			int index = index(c);
+			return index < 0 || children == null ? null : children[index];
+		}
+
+		/**
+		 * Returns the child node for the given character, creating it if necessary
+		 *
+		 * @param c host character
+		 * @return the child node
+		 * @throws IllegalArgumentException if the character is not allowed in host
+		 */
+		private Node createChild(char c) {
+			int index = index(c);
+			if (index < 0) {
+				throw new IllegalArgumentException("Invalid character in allowed origin host: " + c);
+			}
+			if (children == null) {
+				children = new Node[ALPHABET_SIZE];
+			}
+			if (children[index] == null) {
+				children[index] = new Node();
+			}
+			return children[index];
+		}
+
+		/**
+		 * Adds the given rule to the node
+		 *
+		 * @param rule rule to add
+		 */
+		private void addRule(Rule rule) {
+			Rule[] existing = rules == null ? new Rule[0] : rules;
+			Rule[] updated = new Rule[existing.length + 1];
+			System.arraycopy(existing, 0, updated, 0, existing.length);
+			updated[existing.length] = rule;
+			rules = updated;
+		}
+
+		/**
+		 * Returns the child index for the given character
+		 *
+		 * @param c host character
+		 * @return the child index or {@code -1}, if the character is not allowed in host
+		 */
+		private static int index(char c) {
+			if (c >= 'a' && c <= 'z') {
+				return c - 'a';
+			}
+			if (c >= '0' && c <= '9') {
+				return 26 + c - '0';
+			}
+			if (c == '-') {
+				return 36;
+			}
+			if (c == '.') {
+				return 37;
+			}
+			return -1;
+		}
+
+	}
+
+}
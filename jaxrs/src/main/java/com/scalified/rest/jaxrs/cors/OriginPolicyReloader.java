@@ -0,0 +1,205 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.cors;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reloads the allowed origins policy of {@link CorsFilter} at runtime from a watched file or
+ * a periodically polled supplier
+ * <p>
+ * The allowed origins string is compiled into the new {@link OriginPolicy} only when it changes.
+ * If reading or compiling fails, the error is logged and the current policy is retained
+ * <pre>
+ *    CorsFilter filter = new CorsFilter("https://app.example.com");
+ *    OriginPolicyReloader reloader = OriginPolicyReloader.watch(filter, Paths.get("/etc/app/cors-origins"));
+ *    // ...
+ *    reloader.close();
+ * </pre>
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class OriginPolicyReloader implements Closeable {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = Logger.getLogger(OriginPolicyReloader.class.getName());
+
+	/**
+	 * {@link CorsFilter} to reload the policy of
+	 */
+	private final CorsFilter filter;
+
+	/**
+	 * Allowed origins source
+	 */
+	private final Supplier<String> source;
+
+	/**
+	 * Allowed origins string applied last
+	 */
+	private String applied;
+
+	/**
+	 * Resource to close on {@link #close()}
+	 */
+	private volatile Closeable resource;
+
+	/**
+	 * Creates {@link OriginPolicyReloader} instance
+	 *
+	 * @param filter {@link CorsFilter} to reload the policy of
+	 * @param source allowed origins source
+	 */
+	private OriginPolicyReloader(CorsFilter filter, Supplier<String> source) {
+		this.filter = filter;
+		this.source = source;
+		this.applied = filter.getOriginPolicy().toString();
+	}
+
+	/**
+	 * Starts watching the given file containing comma or whitespace separated allowed origins
+	 * and reloads the policy of the given {@link CorsFilter} each time the file changes
+	 * <p>
+	 * The file is read immediately. It is re-read on any event in its directory and the policy is
+	 * updated only if the content has changed, so that files replaced by swapping symbolic links,
+	 * as mounted <b>Kubernetes</b> config maps are, are reloaded as well
+	 *
+	 * @param filter {@link CorsFilter} to reload the policy of
+	 * @param file   file containing allowed origins
+	 * @return started {@link OriginPolicyReloader}
+	 * @throws IOException if the file directory cannot be watched
+	 */
+	public static OriginPolicyReloader watch(CorsFilter filter, Path file) throws IOException {
+		Path absolute = file.toAbsolutePath();
+		OriginPolicyReloader reloader = new OriginPolicyReloader(filter, () -> {
+			try {
+				return new String(Files.readAllBytes(absolute), StandardCharsets.UTF_8);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		reloader.reload();
+
+		WatchService watchService = absolute.getFileSystem().newWatchService();
+		try {
+			absolute.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+		} catch (IOException | RuntimeException e) {
+			watchService.close();
+			throw e;
+		}
+		Thread thread = new Thread(() -> {
+			try {
+				while (!Thread.currentThread().isInterrupted()) {
+					WatchKey key = watchService.take();
+					if (!key.pollEvents().isEmpty() && Files.exists(absolute)) {
+						reloader.reload();
+					}
+					if (!key.reset()) {
+						return;
+					}
+				}
+			} catch (InterruptedException | ClosedWatchServiceException ignored) {
+			}
+		}, "cors-origins-watcher");
+		thread.setDaemon(true);
+		thread.start();
+		reloader.resource = () -> {
+			thread.interrupt();
+			watchService.close();
+		};
+		return reloader;
+	}
+
+	/**
+	 * Starts polling the given supplier of comma or whitespace separated allowed origins with the
+	 * given delay and reloads the policy of the given {@link CorsFilter} each time the supplied
+	 * value changes
+	 * <p>
+	 * The supplier is polled immediately
+	 *
+	 * @param filter   {@link CorsFilter} to reload the policy of
+	 * @param supplier supplier of allowed origins
+	 * @param delay    delay between polls
+	 * @param unit     delay time unit
+	 * @return started {@link OriginPolicyReloader}
+	 */
+	public static OriginPolicyReloader poll(CorsFilter filter, Supplier<String> supplier, long delay, TimeUnit unit) {
+		OriginPolicyReloader reloader = new OriginPolicyReloader(filter, supplier);
+		ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "cors-origins-poller");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.scheduleWithFixedDelay(reloader::reload, 0, delay, unit);
+		reloader.resource = executor::shutdownNow;
+		return reloader;
+	}
+
+	/**
+	 * Reads allowed origins from the source and updates the policy of {@link CorsFilter},
+	 * if allowed origins have changed
+	 * <p>
+	 * Errors are logged and the current policy is retained
+	 */
+	public synchronized void reload() {
+		try {
+			String origins = source.get();
+			if (Objects.isNull(origins) || origins.equals(applied)) {
+				return;
+			}
+			filter.update(OriginPolicy.parse(origins));
+			applied = origins;
+		} catch (RuntimeException e) {
+			LOGGER.log(Level.WARNING, "Failed to reload CORS allowed origins, retaining the current policy", e);
+		}
+	}
+
+	/**
+	 * Stops watching or polling the source
+	 *
+	 * @throws IOException if the watched file directory cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		resource.close();
+	}
+
+}
@@ -0,0 +1,310 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.cors;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of origins rejected by {@link CorsFilter}
+ * <p>
+ * Counts all rejections and keeps approximate counts of the most frequently rejected origins,
+ * which are estimated from a sample of rejections using the space-saving algorithm, so that
+ * an attack with many bad origins is visible without logging every request
+ * <p>
+ * Tracked origins are split by hash into independently locked stripes, each keeping its origins
+ * in a min-heap ordered by count, so that recording a sampled rejection takes logarithmic time
+ * and contends only with rejections of origins in the same stripe
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class OriginRejections {
+
+	/**
+	 * Maximum length of tracked origin
+	 */
+	private static final int MAX_ORIGIN_LENGTH = 256;
+
+	/**
+	 * Maximum number of stripes
+	 */
+	private static final int MAX_STRIPES = 16;
+
+	/**
+	 * Total number of rejections
+	 */
+	private final LongAdder total = new LongAdder();
+
+	/**
+	 * One in how many rejections is sampled
+	 */
+	private final int sampleRate;
+
+	/**
+	 * Stripes of tracked origins
+	 */
+	private final Stripe[] stripes;
+
+	/**
+	 * Creates {@link OriginRejections} instance
+	 *
+	 * @param sampleRate one in how many rejections is sampled
+	 * @param capacity   maximum number of tracked origins
+	 */
+	public OriginRejections(int sampleRate, int capacity) {
+		this.sampleRate = Math.max(sampleRate, 1);
+		int tracked = Math.max(capacity, 1);
+		this.stripes = new Stripe[Math.min(tracked, MAX_STRIPES)];
+		for (int i = 0; i < stripes.length; i++) {
+			stripes[i] = new Stripe(tracked / stripes.length + (i < tracked % stripes.length ? 1 : 0));
+		}
+	}
+
+	/**
+	 * Records the rejection of the given origin
+	 *
+	 * @param origin rejected origin
+	 */
+	void record(String origin) {
+		total.increment();
+		if (sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0) {
+			sample(origin);
+		}
+	}
+
+	/**
+	 * Returns the total number of rejections
+	 *
+	 * @return the total number of rejections
+	 */
+	public long getTotal() {
+		return total.sum();
+	}
+
+	/**
+	 * Returns up to the given number of the most frequently rejected origins along with their
+	 * estimated number of rejections, in descending order of rejections
+	 *
+	 * @param limit maximum number of origins to return
+	 * @return the most frequently rejected origins along with their estimated number of rejections
+	 */
+	public Map<String, Long> getTop(int limit) {
+		List<Map.Entry<String, Long>> entries = new ArrayList<>();
+		for (Stripe stripe : stripes) {
+			stripe.copyTo(entries);
+		}
+		entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+		Map<String, Long> top = new LinkedHashMap<>();
+		for (Map.Entry<String, Long> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+			top.put(entry.getKey(), entry.getValue() * sampleRate);
+		}
+		return top;
+	}
+
+	/**
+	 * Resets the statistics
+	 */
+	public void reset() {
+		total.reset();
+		for (Stripe stripe : stripes) {
+			stripe.clear();
+		}
+	}
+
+	/**
+	 * Records the sampled rejection of the given origin
+	 *
+	 * @param origin rejected origin
+	 */
+	private void sample(String origin) {
+		if (origin.length() > MAX_ORIGIN_LENGTH) {
+			origin = origin.substring(0, MAX_ORIGIN_LENGTH);
+		}
+		int hash = origin.hashCode();
+		stripes[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % stripes.length].increment(origin);
+	}
+
+	/**
+	 * A stripe of tracked origins
+	 * <p>
+	 * Keeps the counters in a binary min-heap, indexed by origin
+	 */
+	private static final class Stripe {
+
+		/**
+		 * Counters in the min-heap order
+		 */
+		private final Counter[] heap;
+
+		/**
+		 * Number of tracked origins
+		 */
+		private int size;
+
+		/**
+		 * Counters by origin
+		 */
+		private final Map<String, Counter> counters = new HashMap<>();
+
+		/**
+		 * Creates {@link Stripe} instance
+		 *
+		 * @param capacity maximum number of tracked origins
+		 */
+		private Stripe(int capacity) {
+			this.heap = new Counter[capacity];
+		}
+
+		/**
+		 * Increments the count of the given origin
+		 * <p>
+		 * When all slots are taken, the least rejected origin is replaced, inheriting its count
+		 *
+		 * @param origin rejected origin
+		 */
+		private synchronized void increment(String origin) {
+			Counter counter = counters.get(origin);
+			if (Objects.isNull(counter) && size < heap.length) {
+				counter = new Counter(origin, size);
+				heap[size++] = counter;
+				counters.put(origin, counter);
+				siftUp(counter.index);
+				return;
+			}
+			if (Objects.isNull(counter)) {
+				counter = heap[0];
+				counters.remove(counter.origin);
+				counter.origin = origin;
+				counters.put(origin, counter);
+			}
+			counter.count++;
+			siftDown(counter.index);
+		}
+
+		/**
+		 * Copies the tracked origins along with their counts to the given list
+		 *
+		 * @param entries list to copy to
+		 */
+		private synchronized void copyTo(List<Map.Entry<String, Long>> entries) {
+			for (int i = 0; i < size; i++) {
+				entries.add(new AbstractMap.SimpleImmutableEntry<>(heap[i].origin, heap[i].count));
+			}
+		}
+
+		/**
+		 * Removes all tracked origins
+		 */
+		private synchronized void clear() {
+			Arrays.fill(heap, 0, size, null);
+			size = 0;
+			counters.clear();
+		}
+
+		/**
+		 * Moves the counter at the given index up the heap, until the heap order is restored
+		 *
+		 * @param index index of the added counter
+		 */
+		private void siftUp(int index) {
+			Counter counter = heap[index];
+			while (index > 0) {
+				int parent = (index - 1) / 2;
+				if (heap[parent].count <= counter.count) {
+					break;
+				}
+				heap[index] = heap[parent];
+				heap[index].index = index;
+				index = parent;
+			}
+			heap[index] = counter;
+			counter.index = index;
+		}
+
+		/**
+		 * Moves the counter at the given index down the heap, until the heap order is restored
+		 *
+		 * @param index index of the counter, which count has been incremented
+		 */
+		private void siftDown(int index) {
+			Counter counter = heap[index];
+			while (true) {
+				int child = 2 * index + 1;
+				if (child >= size) {
+					break;
+				}
+				if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+					child++;
+				}
+				if (heap[child].count >= counter.count) {
+					break;
+				}
+				heap[index] = heap[child];
+				heap[index].index = index;
+				index = child;
+			}
+			heap[index] = counter;
+			counter.index = index;
+		}
+
+	}
+
+	/**
+	 * A sampled rejections counter of the tracked origin
+	 */
+	private static final class Counter {
+
+		/**
+		 * Tracked origin
+		 */
+		private String origin;
+
+		/**
+		 * Sampled rejections count
+		 */
+		private long count = 1;
+
+		/**
+		 * Index in the heap
+		 */
+		private int index;
+
+		/**
+		 * Creates {@link Counter} instance
+		 *
+		 * @param origin tracked origin
+		 * @param index  index in the heap
+		 */
+		private Counter(String origin, int index) {
+			this.origin = origin;
+			this.index = index;
+		}
+
+	}
+
+}
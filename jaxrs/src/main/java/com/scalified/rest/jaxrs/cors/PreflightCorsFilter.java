@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.cors;
+
+import com.scalified.rest.jaxrs.extension.ExtendedHttpHeaders;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.PreMatching;
+import javax.ws.rs.core.Response;
+import java.util.Objects;
+
+/**
+ * A filter, used to answer <b>CORS</b> preflight requests targeting the resource methods
+ * annotated with {@link Cors}
+ * <p>
+ * Registered by the {@link CorsFeature}. Preflight requests are answered before matching, using
+ * the policy of the resource method named by the {@link ExtendedHttpHeaders#ACCESS_CONTROL_REQUEST_METHOD}
+ * header, so that resources need not declare {@code OPTIONS} methods. Requests having not allowed
+ * origin, method or headers are aborted with {@link Response.Status#FORBIDDEN} response, while
+ * preflight requests targeting not annotated resource methods are passed through
+ * <p>
+ * Requests other than preflight ones are passed through without any lookup, while preflight
+ * requests are resolved with a single {@link CorsRoutes} lookup
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+@PreMatching
+class PreflightCorsFilter implements ContainerRequestFilter {
+
+	/**
+	 * Routes of the resource methods annotated with {@link Cors}
+	 */
+	private final CorsRoutes routes;
+
+	/**
+	 * Creates {@link PreflightCorsFilter} instance
+	 *
+	 * @param routes routes of the resource methods annotated with {@link Cors}
+	 */
+	PreflightCorsFilter(CorsRoutes routes) {
+		this.routes = routes;
+	}
+
+	/**
+	 * Filter method called before a request has been matched to a resource.
+	 *
+	 * @param requestContext request context.
+	 */
+	@Override
+	public void filter(ContainerRequestContext requestContext) {
+		if (routes.isEmpty() || !requestContext.getMethod().equalsIgnoreCase(HttpMethod.OPTIONS)) {
+			return;
+		}
+		String origin = requestContext.getHeaderString(ExtendedHttpHeaders.ORIGIN);
+		String requestMethod = requestContext.getHeaderString(ExtendedHttpHeaders.ACCESS_CONTROL_REQUEST_METHOD);
+		if (StringUtils.isBlank(origin) || StringUtils.isBlank(requestMethod)) {
+			return;
+		}
+		CorsPolicy policy = routes.resolve(requestContext.getUriInfo().getPath(), requestMethod);
+		if (Objects.isNull(policy)) {
+			return;
+		}
+		String requestHeaders = requestContext.getHeaderString(ExtendedHttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+		if (!policy.originPolicy.allows(origin)
+				|| !policy.allowsMethod(requestMethod)
+				|| !policy.allowsHeaders(requestHeaders)) {
+			requestContext.abortWith(Response.status(Response.Status.FORBIDDEN).build());
+			return;
+		}
+
+		Response.ResponseBuilder builder = Response.ok();
+		builder.header(ExtendedHttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, origin);
+		if (policy.allowCredentials) {
+			builder.header(ExtendedHttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, Boolean.TRUE.toString());
+		}
+		builder.header(ExtendedHttpHeaders.ACCESS_CONTROL_ALLOW_METHODS,
+				Objects.nonNull(policy.allowMethodsHeader) ? policy.allowMethodsHeader : requestMethod);
+		String allowHeaders = Objects.nonNull(policy.allowHeadersHeader) ? policy.allowHeadersHeader : requestHeaders;
+		if (Objects.nonNull(allowHeaders)) {
+			builder.header(ExtendedHttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS, allowHeaders);
+		}
+		if (policy.maxAge >= 0) {
+			builder.header(ExtendedHttpHeaders.ACCESS_CONTROL_MAX_AGE, policy.maxAge);
+		}
+
+		requestContext.abortWith(builder.build());
+	}
+
+}
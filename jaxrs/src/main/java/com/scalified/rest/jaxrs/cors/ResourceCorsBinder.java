@@ -0,0 +1,204 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.cors;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Path;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A {@link DynamicFeature}, which binds the {@link ResourceCorsFilter} to resource methods annotated
+ * with {@link Cors} directly or via their resource class, and registers their routes for
+ * resolving preflight requests
+ * <p>
+ * Annotations are inherited as <b>JAX-RS</b> does: {@link Cors}, {@link Path} and <b>HTTP</b>
+ * method designators are looked up on the resource method first, then on the methods it overrides
+ * or implements, while class annotations are looked up on the resource class, its superclasses
+ * and then its interfaces
+ * <p>
+ * Registered by the {@link CorsFeature}
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+class ResourceCorsBinder implements DynamicFeature {
+
+	/**
+	 * Routes of the resource methods annotated with {@link Cors}
+	 */
+	private final CorsRoutes routes;
+
+	/**
+	 * Filters shared between resource methods having the same annotation
+	 */
+	private final Map<Cors, ResourceCorsFilter> filters = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates {@link ResourceCorsBinder} instance
+	 *
+	 * @param routes routes of the resource methods annotated with {@link Cors}
+	 */
+	ResourceCorsBinder(CorsRoutes routes) {
+		this.routes = routes;
+	}
+
+	/**
+	 * A callback method called by the JAX-RS runtime during the application
+	 * deployment to register provider instances or classes in a
+	 * {@link javax.ws.rs.core.Configuration runtime configuration} scope of a particular
+	 * {@link javax.ws.rs.HttpMethod resource or sub-resource method}
+	 *
+	 * @param resourceInfo resource class and method information.
+	 * @param context      configurable resource or sub-resource method-level runtime context
+	 *                     associated with the {@code resourceInfo} in which the feature
+	 */
+	@Override
+	public void configure(ResourceInfo resourceInfo, FeatureContext context) {
+		List<Class<?>> types = types(resourceInfo.getResourceClass());
+		List<Method> methods = methods(types, resourceInfo.getResourceMethod());
+		Cors cors = annotation(methods, Cors.class);
+		if (isNull(cors)) {
+			cors = annotation(types, Cors.class);
+		}
+		if (isNull(cors)) {
+			return;
+		}
+		ResourceCorsFilter filter = filters.computeIfAbsent(cors, c -> new ResourceCorsFilter(CorsPolicy.from(c)));
+		context.register(filter, Priorities.HEADER_DECORATOR);
+
+		Path classPath = annotation(types, Path.class);
+		String httpMethod = httpMethod(methods);
+		if (nonNull(classPath) && nonNull(httpMethod)) {
+			Path methodPath = annotation(methods, Path.class);
+			String template = nonNull(methodPath) ? classPath.value() + '/' + methodPath.value() : classPath.value();
+			routes.add(httpMethod, template, filter.policy);
+		}
+	}
+
+	/**
+	 * Returns the given type followed by its superclasses and then by its interfaces,
+	 * in the order <b>JAX-RS</b> inherits annotations from
+	 *
+	 * @param type resource class
+	 * @return the given type along with its supertypes, excluding {@link Object}
+	 */
+	private static List<Class<?>> types(Class<?> type) {
+		Set<Class<?>> types = new LinkedHashSet<>();
+		for (Class<?> current = type; nonNull(current) && current != Object.class; current = current.getSuperclass()) {
+			types.add(current);
+		}
+		for (Class<?> current : new ArrayList<>(types)) {
+			interfaces(current, types);
+		}
+		return new ArrayList<>(types);
+	}
+
+	/**
+	 * Collects the interfaces of the given type, including the inherited ones
+	 *
+	 * @param type  type to collect the interfaces of
+	 * @param types collected types
+	 */
+	private static void interfaces(Class<?> type, Set<Class<?>> types) {
+		for (Class<?> superinterface : type.getInterfaces()) {
+			if (types.add(superinterface)) {
+				interfaces(superinterface, types);
+			}
+		}
+	}
+
+	/**
+	 * Returns the given resource method followed by the methods it overrides or implements
+	 * in the given types
+	 *
+	 * @param types  resource class along with its supertypes
+	 * @param method resource method
+	 * @return the given resource method along with the methods it overrides or implements
+	 */
+	private static List<Method> methods(List<Class<?>> types, Method method) {
+		List<Method> methods = new ArrayList<>();
+		methods.add(method);
+		for (Class<?> type : types) {
+			try {
+				Method declared = type.getDeclaredMethod(method.getName(), method.getParameterTypes());
+				if (!declared.equals(method)) {
+					methods.add(declared);
+				}
+			} catch (NoSuchMethodException ignored) {
+				// not declared in this type
+			}
+		}
+		return methods;
+	}
+
+	/**
+	 * Returns the first annotation of the given type present on the given elements
+	 *
+	 * @param elements       annotated elements in the order of precedence
+	 * @param annotationType annotation type
+	 * @param <A>            annotation type
+	 * @return the first annotation of the given type or <b>null</b>, if none present
+	 */
+	private static <A extends Annotation> A annotation(List<? extends AnnotatedElement> elements, Class<A> annotationType) {
+		for (AnnotatedElement element : elements) {
+			A annotation = element.getAnnotation(annotationType);
+			if (nonNull(annotation)) {
+				return annotation;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the <b>HTTP</b> method designated by the annotations of the first designated method
+	 *
+	 * @param methods resource method along with the methods it overrides or implements
+	 * @return the <b>HTTP</b> method or <b>null</b>, if none of the given methods is designated
+	 */
+	private static String httpMethod(List<Method> methods) {
+		for (Method method : methods) {
+			for (Annotation annotation : method.getAnnotations()) {
+				HttpMethod httpMethod = annotation.annotationType().getAnnotation(HttpMethod.class);
+				if (nonNull(httpMethod)) {
+					return httpMethod.value();
+				}
+			}
+		}
+		return null;
+	}
+
+}
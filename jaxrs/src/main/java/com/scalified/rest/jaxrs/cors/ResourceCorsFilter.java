@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.cors;
+
+import com.scalified.rest.jaxrs.extension.ExtendedHttpHeaders;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import java.util.Objects;
+
+/**
+ * A filter, used to filter <b>CORS</b> requests and responses of the resource methods
+ * annotated with {@link Cors}
+ * <p>
+ * Registered by the {@link CorsFeature}. Requests having not allowed origin are aborted with
+ * {@link Response.Status#FORBIDDEN} response. Preflight requests are not processed, since they are
+ * answered by the {@link PreflightCorsFilter} before matching
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+class ResourceCorsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+	/**
+	 * CORS failure property key
+	 */
+	private static final String CORS_FAILURE_PROPERTY_KEY = "cors.failure";
+
+	/**
+	 * Resource <b>CORS</b> policy
+	 */
+	final CorsPolicy policy;
+
+	/**
+	 * Creates {@link ResourceCorsFilter} instance
+	 *
+	 * @param policy resource <b>CORS</b> policy
+	 */
+	ResourceCorsFilter(CorsPolicy policy) {
+		this.policy = policy;
+	}
+
+	/**
+	 * Filter method called before a request has been dispatched to a resource.
+	 *
+	 * @param requestContext request context.
+	 */
+	@Override
+	public void filter(ContainerRequestContext requestContext) {
+		String origin = requestContext.getHeaderString(ExtendedHttpHeaders.ORIGIN);
+		if (StringUtils.isBlank(origin) || isPreflight(requestContext)) {
+			return;
+		}
+		if (!policy.originPolicy.allows(origin)) {
+			requestContext.setProperty(CORS_FAILURE_PROPERTY_KEY, true);
+			requestContext.abortWith(Response.status(Response.Status.FORBIDDEN).build());
+		}
+	}
+
+	/**
+	 * Filter method called after a response has been provided for a request
+	 *
+	 * @param requestContext  request context.
+	 * @param responseContext response context.
+	 */
+	@Override
+	public void filter(ContainerRequestContext requestContext,
+	                   ContainerResponseContext responseContext) {
+		String origin = requestContext.getHeaderString(ExtendedHttpHeaders.ORIGIN);
+		if (StringUtils.isBlank(origin)
+				|| Objects.nonNull(requestContext.getProperty(CORS_FAILURE_PROPERTY_KEY))
+				|| isPreflight(requestContext)) {
+			return;
+		}
+		MultivaluedMap<String, Object> headers = responseContext.getHeaders();
+		headers.putSingle(ExtendedHttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, origin);
+		if (policy.allowCredentials) {
+			headers.putSingle(ExtendedHttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, Boolean.TRUE.toString());
+		}
+		if (Objects.nonNull(policy.exposeHeadersHeader)) {
+			headers.putSingle(ExtendedHttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, policy.exposeHeadersHeader);
+		}
+	}
+
+	/**
+	 * Returns <b>true</b> if the given request is the preflight request, otherwise returns <b>false</b>
+	 *
+	 * @param requestContext request context
+	 * @return <b>true</b> if the given request is the preflight request, otherwise returns <b>false</b>
+	 */
+	private static boolean isPreflight(ContainerRequestContext requestContext) {
+		return requestContext.getMethod().equalsIgnoreCase(HttpMethod.OPTIONS)
+				&& Objects.nonNull(requestContext.getHeaderString(ExtendedHttpHeaders.ACCESS_CONTROL_REQUEST_METHOD));
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,332 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.error;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.*;
+import java.io.*;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A {@link MessageBodyReader} and {@link MessageBodyWriter} for {@link ErrorResponse}
+ * <p>
+ * Streams {@code code}, {@code reasonPhrase} and {@code message} directly to and from the
+ * entity stream without reflection. Scalar payloads, such as strings and numbers, are written
+ * directly as well, other payloads are delegated to the <b>JSON</b> provider available in the
+ * runtime. On reading, the payload is delegated as {@link Object}, so it is read as the generic
+ * representation of the <b>JSON</b> provider (e.g. {@link java.util.Map}), which must be
+ * {@link Serializable}. If no providers available, the payload is read as raw <b>JSON</b>
+ * {@link String}
+ * <p>
+ * The provider is not annotated with {@link Provider}, so that it is not discovered by classpath
+ * scanning and does not take over {@link ErrorResponse} serialization from the <b>JSON</b> provider
+ * unless registered explicitly. Unlike data binding, it omits {@code null} fields and ignores
+ * <b>JSON</b> provider annotations and naming settings
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class ErrorResponseProvider implements MessageBodyReader<ErrorResponse>, MessageBodyWriter<ErrorResponse> {
+
+	/**
+	 * Providers, used to delegate payload reading and writing
+	 */
+	@Context
+	private Providers providers;
+
+	/**
+	 * Creates {@link ErrorResponseProvider} instance
+	 */
+	public ErrorResponseProvider() {
+	}
+
+	/**
+	 * Creates {@link ErrorResponseProvider} instance
+	 *
+	 * @param providers providers, used to delegate payload reading and writing
+	 */
+	public ErrorResponseProvider(Providers providers) {
+		this.providers = providers;
+	}
+
+	/**
+	 * Ascertain if the MessageBodyWriter supports a particular type.
+	 *
+	 * @param type        the class of instance that is to be written.
+	 * @param genericType the type of instance to be written
+	 * @param annotations an array of the annotations attached to the message entity instance.
+	 * @param mediaType   the media type of the HTTP entity.
+	 * @return {@code true} if the type is supported, otherwise {@code false}.
+	 */
+	@Override
+	public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+		return type == ErrorResponse.class;
+	}
+
+	/**
+	 * Write a type to an HTTP message.
+	 *
+	 * @param errorResponse the instance to write.
+	 * @param type          the class of instance that is to be written.
+	 * @param genericType   the type of instance to be written.
+	 * @param annotations   an array of the annotations attached to the message entity instance.
+	 * @param mediaType     the media type of the HTTP entity.
+	 * @param httpHeaders   a mutable map of the HTTP message headers.
+	 * @param entityStream  the {@link OutputStream} for the HTTP entity.
+	 * @throws IOException             if an IO error arises.
+	 * @throws WebApplicationException if no provider found to write the payload
+	 */
+	@Override
+	public void writeTo(ErrorResponse errorResponse, Class<?> type, Type genericType, Annotation[] annotations,
+	                    MediaType mediaType, MultivaluedMap<String, Object> httpHeaders,
+	                    OutputStream entityStream) throws IOException {
+		JsonWriter json = new JsonWriter(entityStream).write('{');
+		boolean first = true;
+		if (Objects.nonNull(errorResponse.getCode())) {
+			json.writeRaw("\"code\":").writeRaw(Integer.toString(errorResponse.getCode()));
+			first = false;
+		}
+		if (Objects.nonNull(errorResponse.getReasonPhrase())) {
+			json.writeRaw(first ? "\"reasonPhrase\":" : ",\"reasonPhrase\":").writeString(errorResponse.getReasonPhrase());
+			first = false;
+		}
+		if (Objects.nonNull(errorResponse.getMessage())) {
+			json.writeRaw(first ? "\"message\":" : ",\"message\":").writeString(errorResponse.getMessage());
+			first = false;
+		}
+		Serializable payload = errorResponse.getPayload();
+		if (Objects.isNull(payload)) {
+			json.write('}').flush();
+			return;
+		}
+		json.writeRaw(first ? "\"payload\":" : ",\"payload\":").flush();
+		writePayload(payload, annotations, mediaType, httpHeaders, entityStream);
+		entityStream.write('}');
+	}
+
+	/**
+	 * Ascertain if the MessageBodyReader can produce an instance of a particular type.
+	 *
+	 * @param type        the class of instance to be produced.
+	 * @param genericType the type of instance to be produced.
+	 * @param annotations an array of the annotations on the declaration of the artifact
+	 *                    that will be initialized with the produced instance.
+	 * @param mediaType   the media type of the HTTP entity, if one is not specified in the request
+	 *                    then {@code application/octet-stream} is used.
+	 * @return {@code true} if the type is supported, otherwise {@code false}.
+	 */
+	@Override
+	public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+		return type == ErrorResponse.class;
+	}
+
+	/**
+	 * Read a type from the {@link InputStream}.
+	 *
+	 * @param type         the type that is to be read from the entity stream.
+	 * @param genericType  the type of instance to be produced.
+	 * @param annotations  an array of the annotations on the declaration of the artifact
+	 *                     that will be initialized with the produced instance.
+	 * @param mediaType    the media type of the HTTP entity.
+	 * @param httpHeaders  the read-only HTTP headers associated with HTTP entity.
+	 * @param entityStream the {@link InputStream} of the HTTP entity.
+	 * @return the type that was read from the stream.
+	 * @throws IOException             if an IO error arises.
+	 * @throws WebApplicationException if the entity is not a valid {@link ErrorResponse} <b>JSON</b>
+	 */
+	@Override
+	public ErrorResponse readFrom(Class<ErrorResponse> type, Type genericType, Annotation[] annotations,
+	                             MediaType mediaType, MultivaluedMap<String, String> httpHeaders,
+	                             InputStream entityStream) throws IOException {
+		return read(new JsonReader(entityStream), annotations, mediaType, httpHeaders);
+	}
+
+	/**
+	 * Reads {@link ErrorResponse} from the given {@link JsonReader}
+	 *
+	 * @param reader      {@link JsonReader} positioned at the start of {@link ErrorResponse} object
+	 * @param annotations an array of the annotations on the declaration of the artifact
+	 * @param mediaType   the media type of the HTTP entity
+	 * @param httpHeaders the read-only HTTP headers associated with HTTP entity
+	 * @return read {@link ErrorResponse}
+	 * @throws IOException         if an IO error arises
+	 * @throws BadRequestException if the code is not an integer
+	 */
+	ErrorResponse read(JsonReader reader, Annotation[] annotations, MediaType mediaType,
+	                   MultivaluedMap<String, String> httpHeaders) throws IOException {
+		ErrorResponse errorResponse = new ErrorResponse();
+		reader.expect('{');
+		if (reader.peek() == '}') {
+			reader.read();
+			return errorResponse;
+		}
+		do {
+			String name = reader.readString();
+			reader.expect(':');
+			switch (name) {
+				case "code":
+					errorResponse.setCode(readCode(reader));
+					break;
+				case "reasonPhrase":
+					errorResponse.setReasonPhrase(reader.readNullableString());
+					break;
+				case "message":
+					errorResponse.setMessage(reader.readNullableString());
+					break;
+				case "payload":
+					StringBuilder raw = new StringBuilder();
+					reader.skipValue(raw);
+					errorResponse.setPayload(readPayload(raw.toString(), annotations, mediaType, httpHeaders));
+					break;
+				default:
+					reader.skipValue(null);
+			}
+		} while (reader.nextMember());
+		return errorResponse;
+	}
+
+	/**
+	 * Reads the code from the given {@link JsonReader}
+	 *
+	 * @param reader {@link JsonReader} positioned at the code value
+	 * @return read code, <b>null</b> for {@code null} literal
+	 * @throws IOException         if an IO error arises
+	 * @throws BadRequestException if the code is not an integer
+	 */
+	private static Integer readCode(JsonReader reader) throws IOException {
+		String code = reader.readLiteral();
+		if (Objects.isNull(code)) {
+			return null;
+		}
+		try {
+			return Integer.valueOf(code);
+		} catch (NumberFormatException e) {
+			throw new BadRequestException("Invalid error response code: " + code, e);
+		}
+	}
+
+	/**
+	 * Writes the given payload
+	 * <p>
+	 * Strings, characters, booleans and numbers are written as <b>JSON</b> scalars directly,
+	 * non-finite floating point numbers are written as <b>JSON</b> strings. Other payloads are
+	 * written by delegating to the <b>JSON</b> provider
+	 *
+	 * @param payload      payload to write
+	 * @param annotations  an array of the annotations attached to the message entity instance
+	 * @param mediaType    the media type of the HTTP entity
+	 * @param httpHeaders  a mutable map of the HTTP message headers
+	 * @param entityStream the {@link OutputStream} for the HTTP entity
+	 * @throws IOException if an IO error arises
+	 */
+	@SuppressWarnings("unchecked")
+	void writePayload(Object payload, Annotation[] annotations, MediaType mediaType,
+	                  MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+		if (payload instanceof String || payload instanceof Character) {
+			new JsonWriter(entityStream).writeString(payload.toString()).flush();
+			return;
+		}
+		if (payload instanceof Boolean || payload instanceof Integer || payload instanceof Long
+				|| payload instanceof Short || payload instanceof Byte
+				|| payload instanceof BigInteger || payload instanceof BigDecimal) {
+			new JsonWriter(entityStream).writeRaw(payload.toString()).flush();
+			return;
+		}
+		if (payload instanceof Double || payload instanceof Float) {
+			JsonWriter json = new JsonWriter(entityStream);
+			if (Double.isFinite(((Number) payload).doubleValue())) {
+				json.writeRaw(payload.toString());
+			} else {
+				json.writeString(payload.toString());
+			}
+			json.flush();
+			return;
+		}
+		Class<Object> payloadType = (Class<Object>) (Class<?>) payload.getClass();
+		MessageBodyWriter<Object> writer = Objects.isNull(providers) ? null
+				: providers.getMessageBodyWriter(payloadType, payloadType, annotations, mediaType);
+		if (Objects.isNull(writer)) {
+			throw new WebApplicationException("No writer found for payload type: " + payloadType.getName());
+		}
+		writer.writeTo(payload, payloadType, payloadType, annotations, mediaType, httpHeaders,
+				new FilterOutputStream(entityStream) {
+					@Override
+					public void write(byte[] bytes, int offset, int length) throws IOException {
+						out.write(bytes, offset, length);
+					}
+
+					@Override
+					public void close() throws IOException {
+						flush();
+					}
+				});
+	}
+
+	/**
+	 * Reads the payload from the given raw <b>JSON</b> by delegating to the <b>JSON</b> provider
+	 *
+	 * @param raw         raw payload <b>JSON</b>
+	 * @param annotations an array of the annotations on the declaration of the artifact
+	 * @param mediaType   the media type of the HTTP entity
+	 * @param httpHeaders the read-only HTTP headers associated with HTTP entity
+	 * @return read payload, <b>null</b> if the raw payload is <b>JSON</b> {@code null}, raw
+	 * payload <b>JSON</b> if no providers available
+	 * @throws IOException if an IO error arises
+	 */
+	private Serializable readPayload(String raw, Annotation[] annotations, MediaType mediaType,
+	                                 MultivaluedMap<String, String> httpHeaders) throws IOException {
+		if ("null".equals(raw)) {
+			return null;
+		}
+		if (Objects.isNull(providers)) {
+			return raw;
+		}
+		MessageBodyReader<Object> reader = providers.getMessageBodyReader(Object.class, Object.class, annotations, mediaType);
+		if (Objects.isNull(reader)) {
+			throw new WebApplicationException("No reader found for payload");
+		}
+		Object payload = reader.readFrom(Object.class, Object.class, annotations, mediaType, httpHeaders,
+				new ByteArrayInputStream(raw.getBytes(StandardCharsets.UTF_8)));
+		if (Objects.nonNull(payload) && !(payload instanceof Serializable)) {
+			throw new WebApplicationException("Payload is not serializable: " + payload.getClass().getName());
+		}
+		return (Serializable) payload;
+	}
+
+}
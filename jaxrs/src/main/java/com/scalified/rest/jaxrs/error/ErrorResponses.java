@@ -0,0 +1,163 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.error;
+
+import com.scalified.rest.jaxrs.extension.ExtendedMediaType;
+import com.scalified.rest.jaxrs.extension.ExtendedStatus;
+
+import javax.ws.rs.core.Response;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A factory of {@link Response} objects carrying payload-free {@link ErrorResponse} bodies
+ * <p>
+ * Bodies are serialized to <b>JSON</b> once per status and cached as immutable byte arrays,
+ * so that responding with an error costs a single buffer write instead of a generic
+ * <b>JSON</b> serialization. Bodies of all {@link Response.Status} and {@link ExtendedStatus}
+ * are prepared upfront, bodies of other statuses, including statuses having a known code with
+ * a custom reason phrase, are serialized on each use
+ * <p>
+ * The body is equivalent to the serialized {@link ErrorResponse} having {@code null}
+ * message and payload, which are omitted:
+ * <pre>
+ *    {"code":404,"reasonPhrase":"Not Found"}
+ * </pre>
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class ErrorResponses {
+
+	/**
+	 * Cached serialized bodies by status code
+	 */
+	private static final Map<Integer, CachedBody> BODIES = new HashMap<>();
+
+	static {
+		for (Response.Status status : Response.Status.values()) {
+			BODIES.put(status.getStatusCode(), new CachedBody(status));
+		}
+		for (ExtendedStatus status : ExtendedStatus.values()) {
+			BODIES.put(status.getStatusCode(), new CachedBody(status));
+		}
+	}
+
+	/**
+	 * Prevents {@link ErrorResponses} creation
+	 */
+	private ErrorResponses() {
+	}
+
+	/**
+	 * Returns the {@link Response} having the given status and the cached serialized
+	 * payload-free {@link ErrorResponse} body
+	 *
+	 * @param status response status
+	 * @return {@link Response} carrying the cached {@link ErrorResponse} body
+	 */
+	public static Response of(Response.StatusType status) {
+		return Response.status(status)
+				.type(ExtendedMediaType.APPLICATION_JSON_UTF_8_TYPE)
+				.entity(body(status))
+				.build();
+	}
+
+	/**
+	 * Returns the {@link Response} having the given status code and the cached serialized
+	 * payload-free {@link ErrorResponse} body
+	 *
+	 * @param statusCode response status code
+	 * @return {@link Response} carrying the cached {@link ErrorResponse} body
+	 */
+	public static Response of(int statusCode) {
+		return of(ExtendedStatus.from(statusCode));
+	}
+
+	/**
+	 * Returns the cached serialized payload-free {@link ErrorResponse} body for the given status
+	 * <p>
+	 * The body is serialized, if the status is not cached or has a different reason phrase.
+	 * The returned array may be shared and must not be modified
+	 *
+	 * @param status response status
+	 * @return cached serialized {@link ErrorResponse} body
+	 */
+	public static byte[] body(Response.StatusType status) {
+		CachedBody cached = BODIES.get(status.getStatusCode());
+		if (cached != null && Objects.equals(cached.reasonPhrase, status.getReasonPhrase())) {
+			return cached.body;
+		}
+		return serialize(status);
+	}
+
+	/**
+	 * Serializes payload-free {@link ErrorResponse} body for the given status
+	 *
+	 * @param status response status
+	 * @return serialized {@link ErrorResponse} body
+	 */
+	private static byte[] serialize(Response.StatusType status) {
+		StringBuilder json = new StringBuilder(64)
+				.append("{\"code\":")
+				.append(status.getStatusCode());
+		if (status.getReasonPhrase() != null) {
+			json.append(",\"reasonPhrase\":");
+			JsonUtils.appendString(json, status.getReasonPhrase());
+		}
+		return json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * A serialized body cached along with the reason phrase it was serialized with
+	 */
+	private static final class CachedBody {
+
+		/**
+		 * Reason phrase
+		 */
+		private final String reasonPhrase;
+
+		/**
+		 * Serialized body
+		 */
+		private final byte[] body;
+
+		/**
+		 * Creates {@link CachedBody} instance
+		 *
+		 * @param status response status to serialize the body for
+		 */
+		private CachedBody(Response.StatusType status) {
+			this.reasonPhrase = status.getReasonPhrase();
+			this.body = serialize(status);
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,416 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.error;
+
+import java.io.CharConversionException;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * A minimal streaming <b>JSON</b> reader, decoding <b>UTF-8</b> directly from bytes
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+final class JsonReader {
+
+	/**
+	 * Maximum nesting depth of skipped values
+	 */
+	static final int MAX_DEPTH = 256;
+
+	/**
+	 * Underlying input stream
+	 */
+	private final InputStream inputStream;
+
+	/**
+	 * Read buffer
+	 */
+	private final byte[] buffer = new byte[256];
+
+	/**
+	 * Position of the next byte in read buffer
+	 */
+	private int position;
+
+	/**
+	 * Number of bytes available in read buffer
+	 */
+	private int limit;
+
+	/**
+	 * Peeked character, {@code -2} if none
+	 */
+	private int peeked = -2;
+
+	/**
+	 * Creates {@link JsonReader} instance
+	 *
+	 * @param inputStream underlying input stream
+	 */
+	JsonReader(InputStream inputStream) {
+		this.inputStream = inputStream;
+	}
+
+	/**
+	 * Reads the next byte from read buffer, refilling it if necessary
+	 *
+	 * @return the next byte, {@code -1} at the end of stream
+	 * @throws IOException if an IO error arises
+	 */
+	private int next() throws IOException {
+		if (position == limit) {
+			limit = inputStream.read(buffer);
+			position = 0;
+			if (limit <= 0) {
+				limit = 0;
+				return -1;
+			}
+		}
+		return buffer[position++] & 0xFF;
+	}
+
+	/**
+	 * Returns the next non-whitespace character without consuming it
+	 *
+	 * @return the next non-whitespace character, {@code -1} at the end of stream
+	 * @throws IOException if an IO error arises
+	 */
+	int peek() throws IOException {
+		if (peeked == -2) {
+			int c;
+			do {
+				c = next();
+			} while (c == ' ' || c == '\t' || c == '\n' || c == '\r');
+			peeked = c;
+		}
+		return peeked;
+	}
+
+	/**
+	 * Consumes and returns the next non-whitespace character
+	 *
+	 * @return the next non-whitespace character
+	 * @throws IOException if an IO error arises or the end of stream reached
+	 */
+	int read() throws IOException {
+		int c = peek();
+		if (c < 0) {
+			throw new EOFException("Unexpected end of JSON");
+		}
+		peeked = -2;
+		return c;
+	}
+
+	/**
+	 * Consumes the next character raw, without skipping whitespace
+	 *
+	 * @return the next character
+	 * @throws IOException if an IO error arises or the end of stream reached
+	 */
+	int readRaw() throws IOException {
+		int c = peeked != -2 ? peeked : next();
+		peeked = -2;
+		if (c < 0) {
+			throw new EOFException("Unexpected end of JSON");
+		}
+		return c;
+	}
+
+	/**
+	 * Consumes the next non-whitespace character, which is expected to be the given one
+	 *
+	 * @param expected expected character
+	 * @throws IOException if an IO error arises or the character is unexpected
+	 */
+	void expect(char expected) throws IOException {
+		int c = read();
+		if (c != expected) {
+			throw new IOException("Expected '" + expected + "' but found '" + (char) c + "'");
+		}
+	}
+
+	/**
+	 * Consumes the separator between object members
+	 *
+	 * @return <b>true</b> if there is the next member, <b>false</b> if the object ended
+	 * @throws IOException if an IO error arises or the character is unexpected
+	 */
+	boolean nextMember() throws IOException {
+		int c = read();
+		if (c == ',') {
+			return true;
+		}
+		if (c == '}') {
+			return false;
+		}
+		throw new IOException("Expected ',' or '}' but found '" + (char) c + "'");
+	}
+
+	/**
+	 * Consumes the separator between array elements
+	 *
+	 * @return <b>true</b> if there is the next element, <b>false</b> if the array ended
+	 * @throws IOException if an IO error arises or the character is unexpected
+	 */
+	boolean nextElement() throws IOException {
+		int c = read();
+		if (c == ',') {
+			return true;
+		}
+		if (c == ']') {
+			return false;
+		}
+		throw new IOException("Expected ',' or ']' but found '" + (char) c + "'");
+	}
+
+	/**
+	 * Reads the string or {@code null} literal
+	 *
+	 * @return read string, <b>null</b> for {@code null} literal
+	 * @throws IOException if an IO error arises or the value is not a string
+	 */
+	String readNullableString() throws IOException {
+		if (peek() == '"') {
+			return readString();
+		}
+		String literal = readLiteral();
+		if (Objects.nonNull(literal)) {
+			throw new IOException("Expected string but found " + literal);
+		}
+		return null;
+	}
+
+	/**
+	 * Reads the string
+	 *
+	 * @return read string
+	 * @throws IOException if an IO error arises or the value is not a string
+	 */
+	String readString() throws IOException {
+		StringBuilder value = new StringBuilder();
+		readString(value, false);
+		return value.toString();
+	}
+
+	/**
+	 * Reads the string into the given {@link StringBuilder}
+	 *
+	 * @param value {@link StringBuilder} to read the string into
+	 * @param raw   <b>true</b> to append raw escaped string including quotes, <b>false</b> to
+	 *              append unescaped string content
+	 * @throws IOException if an IO error arises or the value is not a string
+	 */
+	void readString(StringBuilder value, boolean raw) throws IOException {
+		expect('"');
+		if (raw) {
+			value.append('"');
+		}
+		while (true) {
+			int c = readRaw();
+			if (c == '"') {
+				if (raw) {
+					value.append('"');
+				}
+				return;
+			}
+			if (c >= 0x80) {
+				value.appendCodePoint(decode(c));
+				continue;
+			}
+			if (c != '\\') {
+				value.append((char) c);
+				continue;
+			}
+			int escaped = readRaw();
+			if (raw) {
+				value.append('\\').append((char) escaped);
+				continue;
+			}
+			switch (escaped) {
+				case 'b':
+					value.append('\b');
+					break;
+				case 'f':
+					value.append('\f');
+					break;
+				case 'n':
+					value.append('\n');
+					break;
+				case 'r':
+					value.append('\r');
+					break;
+				case 't':
+					value.append('\t');
+					break;
+				case 'u':
+					char[] hex = new char[4];
+					for (int i = 0; i < hex.length; i++) {
+						hex[i] = (char) readRaw();
+					}
+					try {
+						value.append((char) Integer.parseInt(new String(hex), 16));
+					} catch (NumberFormatException e) {
+						throw new CharConversionException("Malformed unicode escape: " + new String(hex));
+					}
+					break;
+				default:
+					value.append((char) escaped);
+			}
+		}
+	}
+
+	/**
+	 * Decodes the multi-byte <b>UTF-8</b> sequence starting with the given lead byte
+	 *
+	 * @param lead lead byte of the sequence
+	 * @return decoded code point
+	 * @throws IOException if an IO error arises or the sequence is malformed
+	 */
+	private int decode(int lead) throws IOException {
+		int count;
+		int codePoint;
+		if ((lead & 0xE0) == 0xC0) {
+			count = 1;
+			codePoint = lead & 0x1F;
+		} else if ((lead & 0xF0) == 0xE0) {
+			count = 2;
+			codePoint = lead & 0x0F;
+		} else if ((lead & 0xF8) == 0xF0) {
+			count = 3;
+			codePoint = lead & 0x07;
+		} else {
+			throw new CharConversionException("Malformed UTF-8 lead byte: " + lead);
+		}
+		for (int i = 0; i < count; i++) {
+			int c = readRaw();
+			if ((c & 0xC0) != 0x80) {
+				throw new CharConversionException("Malformed UTF-8 continuation byte: " + c);
+			}
+			codePoint = (codePoint << 6) | (c & 0x3F);
+		}
+		return codePoint;
+	}
+
+	/**
+	 * Reads the number, boolean or {@code null} literal
+	 *
+	 * @return read literal, <b>null</b> for {@code null} literal
+	 * @throws IOException if an IO error arises
+	 */
+	String readLiteral() throws IOException {
+		StringBuilder literal = new StringBuilder();
+		literal.append((char) read());
+		while (true) {
+			int c = next();
+			if (c < 0 || c == ',' || c == '}' || c == ']' || c == ' ' || c == '\t' || c == '\n' || c == '\r') {
+				peeked = c == ' ' || c == '\t' || c == '\n' || c == '\r' ? -2 : c;
+				break;
+			}
+			literal.append((char) c);
+		}
+		String value = literal.toString();
+		return "null".equals(value) ? null : value;
+	}
+
+	/**
+	 * Skips the value, optionally appending its raw <b>JSON</b> to the given {@link StringBuilder}
+	 * <p>
+	 * Nested values are skipped iteratively, tracking open objects and arrays up to
+	 * {@link #MAX_DEPTH} levels
+	 *
+	 * @param raw {@link StringBuilder} to append raw value to, may be <b>null</b>
+	 * @throws IOException if an IO error arises, the value is malformed or nested too deeply
+	 */
+	void skipValue(StringBuilder raw) throws IOException {
+		StringBuilder target = Objects.isNull(raw) ? new StringBuilder() : raw;
+		char[] closing = null;
+		int depth = 0;
+		while (true) {
+			int c = peek();
+			if (c == '"') {
+				readString(target, true);
+			} else if (c == '{' || c == '[') {
+				char close = c == '{' ? '}' : ']';
+				target.append((char) read());
+				if (peek() == close) {
+					target.append((char) read());
+				} else {
+					if (depth == MAX_DEPTH) {
+						throw new IOException("JSON nesting depth exceeds " + MAX_DEPTH);
+					}
+					if (Objects.isNull(closing)) {
+						closing = new char[MAX_DEPTH];
+					}
+					closing[depth++] = close;
+					if (close == '}') {
+						readMemberName(target);
+					}
+					continue;
+				}
+			} else {
+				String literal = readLiteral();
+				target.append(Objects.isNull(literal) ? "null" : literal);
+			}
+			while (depth > 0) {
+				char close = closing[depth - 1];
+				int next = read();
+				target.append((char) next);
+				if (next == close) {
+					depth--;
+					continue;
+				}
+				if (next != ',') {
+					throw new IOException("Expected ',' or '" + close + "' but found '" + (char) next + "'");
+				}
+				if (close == '}') {
+					readMemberName(target);
+				}
+				break;
+			}
+			if (depth == 0) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Reads the object member name along with the following colon, appending them raw
+	 * to the given {@link StringBuilder}
+	 *
+	 * @param target {@link StringBuilder} to append raw member name to
+	 * @throws IOException if an IO error arises or the member name is malformed
+	 */
+	private void readMemberName(StringBuilder target) throws IOException {
+		readString(target, true);
+		expect(':');
+		target.append(':');
+	}
+
+}
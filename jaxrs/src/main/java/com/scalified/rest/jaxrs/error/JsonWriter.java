@@ -0,0 +1,178 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.error;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A minimal streaming <b>JSON</b> writer, encoding <b>UTF-8</b> directly into bytes
+ * <p>
+ * Bytes are collected in the write buffer, which is written to the underlying output stream
+ * when full or on {@link #flush()}. The underlying output stream is neither flushed nor closed
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+final class JsonWriter {
+
+	/**
+	 * Hexadecimal digits
+	 */
+	private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+	/**
+	 * Underlying output stream
+	 */
+	private final OutputStream outputStream;
+
+	/**
+	 * Write buffer
+	 */
+	private final byte[] buffer = new byte[256];
+
+	/**
+	 * Number of bytes in write buffer
+	 */
+	private int position;
+
+	/**
+	 * Creates {@link JsonWriter} instance
+	 *
+	 * @param outputStream underlying output stream
+	 */
+	JsonWriter(OutputStream outputStream) {
+		this.outputStream = outputStream;
+	}
+
+	/**
+	 * Writes the given <b>ASCII</b> character
+	 *
+	 * @param c <b>ASCII</b> character to write
+	 * @return this {@link JsonWriter}
+	 * @throws IOException if an IO error arises
+	 */
+	JsonWriter write(char c) throws IOException {
+		if (position == buffer.length) {
+			flush();
+		}
+		buffer[position++] = (byte) c;
+		return this;
+	}
+
+	/**
+	 * Writes the given <b>ASCII</b> text as is, such as punctuation, member names
+	 * or literals
+	 *
+	 * @param text <b>ASCII</b> text to write
+	 * @return this {@link JsonWriter}
+	 * @throws IOException if an IO error arises
+	 */
+	JsonWriter writeRaw(String text) throws IOException {
+		for (int i = 0; i < text.length(); i++) {
+			write(text.charAt(i));
+		}
+		return this;
+	}
+
+	/**
+	 * Writes the given value as quoted and escaped <b>JSON</b> string
+	 *
+	 * @param value value to write
+	 * @return this {@link JsonWriter}
+	 * @throws IOException if an IO error arises
+	 */
+	JsonWriter writeString(String value) throws IOException {
+		write('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"':
+					write('\\').write('"');
+					break;
+				case '\\':
+					write('\\').write('\\');
+					break;
+				case '\n':
+					write('\\').write('n');
+					break;
+				case '\r':
+					write('\\').write('r');
+					break;
+				case '\t':
+					write('\\').write('t');
+					break;
+				default:
+					if (c < 0x20) {
+						writeRaw("\\u00").writeByte(HEX[c >> 4]).writeByte(HEX[c & 0xF]);
+					} else if (c < 0x80) {
+						write(c);
+					} else if (c < 0x800) {
+						writeByte(0xC0 | c >> 6).writeByte(0x80 | c & 0x3F);
+					} else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+							&& Character.isLowSurrogate(value.charAt(i + 1))) {
+						int codePoint = Character.toCodePoint(c, value.charAt(++i));
+						writeByte(0xF0 | codePoint >> 18).writeByte(0x80 | codePoint >> 12 & 0x3F)
+								.writeByte(0x80 | codePoint >> 6 & 0x3F).writeByte(0x80 | codePoint & 0x3F);
+					} else if (Character.isSurrogate(c)) {
+						write('?');
+					} else {
+						writeByte(0xE0 | c >> 12).writeByte(0x80 | c >> 6 & 0x3F).writeByte(0x80 | c & 0x3F);
+					}
+			}
+		}
+		return write('"');
+	}
+
+	/**
+	 * Writes the content of write buffer to the underlying output stream
+	 *
+	 * @throws IOException if an IO error arises
+	 */
+	void flush() throws IOException {
+		if (position > 0) {
+			outputStream.write(buffer, 0, position);
+			position = 0;
+		}
+	}
+
+	/**
+	 * Writes the given byte
+	 *
+	 * @param b byte to write
+	 * @return this {@link JsonWriter}
+	 * @throws IOException if an IO error arises
+	 */
+	private JsonWriter writeByte(int b) throws IOException {
+		if (position == buffer.length) {
+			flush();
+		}
+		buffer[position++] = (byte) b;
+		return this;
+	}
+
+}
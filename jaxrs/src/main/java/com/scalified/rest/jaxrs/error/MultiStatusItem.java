@@ -0,0 +1,250 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.error;
+
+import javax.ws.rs.core.Response;
+import java.util.Objects;
+
+/**
+ * A single <b>Multi-Status</b> item read by {@link MultiStatusReader}
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class MultiStatusItem {
+
+	/**
+	 * Item identifier
+	 */
+	private final String id;
+
+	/**
+	 * Item <b>HTTP</b> status code
+	 */
+	private final int status;
+
+	/**
+	 * Item {@link ErrorResponse}
+	 */
+	private final ErrorResponse error;
+
+	/**
+	 * Item payload raw <b>JSON</b>
+	 */
+	private final String payload;
+
+	/**
+	 * Creates {@link MultiStatusItem} instance
+	 *
+	 * @param id      item identifier
+	 * @param status  item <b>HTTP</b> status code
+	 * @param error   item {@link ErrorResponse}
+	 * @param payload item payload raw <b>JSON</b>
+	 */
+	MultiStatusItem(String id, int status, ErrorResponse error, String payload) {
+		this.id = id;
+		this.status = status;
+		this.error = error;
+		this.payload = payload;
+	}
+
+	/**
+	 * Returns item identifier
+	 *
+	 * @return item identifier, <b>null</b> if item has no identifier
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Returns item <b>HTTP</b> status code
+	 *
+	 * @return item <b>HTTP</b> status code
+	 */
+	public int getStatus() {
+		return status;
+	}
+
+	/**
+	 * Returns <b>true</b> if item status belongs to {@link Response.Status.Family#SUCCESSFUL}
+	 * family, otherwise returns <b>false</b>
+	 *
+	 * @return <b>true</b> if item status is successful, otherwise <b>false</b>
+	 */
+	public boolean isSuccessful() {
+		return Response.Status.Family.familyOf(status) == Response.Status.Family.SUCCESSFUL;
+	}
+
+	/**
+	 * Returns item {@link ErrorResponse}
+	 * <p>
+	 * {@link ErrorResponse} payload, if present, is returned as raw <b>JSON</b> {@link String}
+	 *
+	 * @return item {@link ErrorResponse}, <b>null</b> if item has no error
+	 */
+	public ErrorResponse getError() {
+		return error;
+	}
+
+	/**
+	 * Returns item payload raw <b>JSON</b>
+	 *
+	 * @return item payload raw <b>JSON</b>, <b>null</b> if item has no payload
+	 */
+	public String getPayload() {
+		return payload;
+	}
+
+	/**
+	 * Indicates whether some other object is "equal to" this one.
+	 * <p>
+	 * The {@code equals} method implements an equivalence relation
+	 * on non-null object references:
+	 * <ul>
+	 * <li>It is <i>reflexive</i>: for any non-null reference value
+	 * {@code x}, {@code x.equals(x)} should return
+	 * {@code true}.
+	 * <li>It is <i>symmetric</i>: for any non-null reference values
+	 * {@code x} and {@code y}, {@code x.equals(y)}
+	 * should return {@code true} if and only if
+	 * {@code y.equals(x)} returns {@code true}.
+	 * <li>It is <i>transitive</i>: for any non-null reference values
+	 * {@code x}, {@code y}, and {@code z}, if
+	 * {@code x.equals(y)} returns {@code true} and
+	 * {@code y.equals(z)} returns {@code true}, then
+	 * {@code x.equals(z)} should return {@code true}.
+	 * <li>It is <i>consistent</i>: for any non-null reference values
+	 * {@code x} and {@code y}, multiple invocations of
+	 * {@code x.equals(y)} consistently return {@code true}
+	 * or consistently return {@code false}, provided no
+	 * information used in {@code equals} comparisons on the
+	 * objects is modified.
+	 * <li>For any non-null reference value {@code x},
+	 * {@code x.equals(null)} should return {@code false}.
+	 * </ul>
+	 * <p>
+	 * The {@code equals} method for class {@code Object} implements
+	 * the most discriminating possible equivalence relation on objects;
+	 * that is, for any non-null reference values {@code x} and
+	 * {@code y}, this method returns {@code true} if and only
+	 * if {@code x} and {@code y} refer to the same object
+	 * ({@code x == y} has the value {@code true}).
+	 * <p>
+	 * Note that it is generally necessary to override the {@code hashCode}
+	 * method whenever this method is overridden, so as to maintain the
+	 * general contract for the {@code hashCode} method, which states
+	 * that equal objects must have equal hash codes.
+	 *
+	 * @param o the reference object with which to compare.
+	 * @return {@code true} if this object is the same as the obj
+	 * argument; {@code false} otherwise.
+	 * @see #hashCode()
+	 * @see java.util.HashMap
+	 */
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		MultiStatusItem that = (MultiStatusItem) o;
+		return status == that.status &&
+				Objects.equals(id, that.id) &&
+				Objects.equals(error, that.error) &&
+				Objects.equals(payload, that.payload);
+	}
+
+	/**
+	 * Returns a hash code value for the object. This method is
+	 * supported for the benefit of hash tables such as those provided by
+	 * {@link java.util.HashMap}.
+	 * <p>
+	 * The general contract of {@code hashCode} is:
+	 * <ul>
+	 * <li>Whenever it is invoked on the same object more than once during
+	 * an execution of a Java application, the {@code hashCode} method
+	 * must consistently return the same integer, provided no information
+	 * used in {@code equals} comparisons on the object is modified.
+	 * This integer need not remain consistent from one execution of an
+	 * application to another execution of the same application.
+	 * <li>If two objects are equal according to the {@code equals(Object)}
+	 * method, then calling the {@code hashCode} method on each of
+	 * the two objects must produce the same integer result.
+	 * <li>It is <em>not</em> required that if two objects are unequal
+	 * according to the {@link java.lang.Object#equals(java.lang.Object)}
+	 * method, then calling the {@code hashCode} method on each of the
+	 * two objects must produce distinct integer results.  However, the
+	 * programmer should be aware that producing distinct integer results
+	 * for unequal objects may improve the performance of hash tables.
+	 * </ul>
+	 * <p>
+	 * As much as is reasonably practical, the hashCode method defined by
+	 * class {@code Object} does return distinct integers for distinct
+	 * objects. (This is typically implemented by converting the internal
+	 * address of the object into an integer, but this implementation
+	 * technique is not required by the
+	 * Java&trade; programming language.)
+	 *
+	 * @return a hash code value for this object.
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 * @see java.lang.System#identityHashCode
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hash(id, status, error, payload);
+	}
+
+	/**
+	 * Returns a string representation of the object. In general, the
+	 * {@code toString} method returns a string that
+	 * "textually represents" this object. The result should
+	 * be a concise but informative representation that is easy for a
+	 * person to read.
+	 * It is recommended that all subclasses override this method.
+	 * <p>
+	 * The {@code toString} method for class {@code Object}
+	 * returns a string consisting of the name of the class of which the
+	 * object is an instance, the at-sign character `{@code @}', and
+	 * the unsigned hexadecimal representation of the hash code of the
+	 * object. In other words, this method returns a string equal to the
+	 * value of:
+	 * <blockquote>
+	 * <pre>
+	 * getClass().getName() + '@' + Integer.toHexString(hashCode())
+	 * </pre></blockquote>
+	 *
+	 * @return a string representation of the object.
+	 */
+	@Override
+	public String toString() {
+		return "MultiStatusItem{" +
+				"id='" + id + '\'' +
+				", status=" + status +
+				", error=" + error +
+				", payload='" + payload + '\'' +
+				'}';
+	}
+
+}
@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.error;
+
+import com.scalified.rest.jaxrs.extension.ExtendedStatus;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.Providers;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A {@link StreamingOutput}, which writes <b>Multi-Status</b> items produced by the given
+ * {@link Producer} incrementally to the response entity
+ * <p>
+ * Usage:
+ * <pre>
+ * &#64;Context
+ * private Providers providers;
+ *
+ * &#64;POST
+ * public Response batch(List&lt;String&gt; ids) {
+ *     return MultiStatusOutput.response(providers, writer -&gt; {
+ *         for (String id : ids) {
+ *             writer.write(id, 200, service.find(id));
+ *         }
+ *     });
+ * }
+ * </pre>
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class MultiStatusOutput implements StreamingOutput {
+
+	/**
+	 * Providers, used to serialize item payloads
+	 */
+	private final Providers providers;
+
+	/**
+	 * Items producer
+	 */
+	private final Producer producer;
+
+	/**
+	 * Creates {@link MultiStatusOutput} instance
+	 *
+	 * @param providers providers, used to serialize item payloads, may be <b>null</b> if
+	 *                  only errors and raw payloads are written
+	 * @param producer  items producer
+	 */
+	public MultiStatusOutput(Providers providers, Producer producer) {
+		this.providers = providers;
+		this.producer = producer;
+	}
+
+	/**
+	 * Creates <b>Multi-Status</b> {@link Response} streaming the items produced by the given
+	 * {@link Producer}
+	 *
+	 * @param providers providers, used to serialize item payloads, may be <b>null</b> if
+	 *                  only errors and raw payloads are written
+	 * @param producer  items producer
+	 * @return <b>Multi-Status</b> {@link Response}
+	 */
+	public static Response response(Providers providers, Producer producer) {
+		return Response.status(ExtendedStatus.MULTI_STATUS)
+				.type(MediaType.APPLICATION_JSON_TYPE)
+				.entity(new MultiStatusOutput(providers, producer))
+				.build();
+	}
+
+	/**
+	 * Called to write the message body.
+	 * <p>
+	 * If the producer fails, the items array is left unterminated and the exception is rethrown,
+	 * so that the truncated response is visibly broken rather than a well-formed partial result
+	 *
+	 * @param output the OutputStream to write to.
+	 * @throws IOException if there is an I/O error writing to the output stream
+	 */
+	@Override
+	public void write(OutputStream output) throws IOException {
+		MultiStatusWriter writer = new MultiStatusWriter(output, new ErrorResponseProvider(providers));
+		try {
+			producer.produce(writer);
+		} catch (IOException | RuntimeException | Error e) {
+			writer.abort();
+			throw e;
+		}
+		writer.close();
+	}
+
+	/**
+	 * Produces <b>Multi-Status</b> items
+	 */
+	@FunctionalInterface
+	public interface Producer {
+
+		/**
+		 * Produces <b>Multi-Status</b> items by writing them to the given {@link MultiStatusWriter}
+		 * <p>
+		 * All items must be written before this method returns
+		 *
+		 * @param writer {@link MultiStatusWriter} to write items to
+		 * @throws IOException if an IO error arises
+		 */
+		void produce(MultiStatusWriter writer) throws IOException;
+
+	}
+
+}
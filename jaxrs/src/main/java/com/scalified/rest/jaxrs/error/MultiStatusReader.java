@@ -0,0 +1,220 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.error;
+
+import javax.ws.rs.core.Response;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Lazily reads <b>Multi-Status</b> items written by {@link MultiStatusWriter}
+ * <p>
+ * Items are decoded one by one from the underlying stream as they are iterated, so the
+ * whole batch result is never held in memory. Item payloads are returned as raw <b>JSON</b>
+ * <p>
+ * Usage:
+ * <pre>
+ * try (MultiStatusReader reader = MultiStatusReader.from(response)) {
+ *     while (reader.hasNext()) {
+ *         MultiStatusItem item = reader.next();
+ *     }
+ * }
+ * </pre>
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public class MultiStatusReader implements Iterator<MultiStatusItem>, Closeable {
+
+	/**
+	 * {@link ErrorResponse} provider, used to read item errors
+	 */
+	private static final ErrorResponseProvider PROVIDER = new ErrorResponseProvider();
+
+	/**
+	 * Underlying input stream
+	 */
+	private final InputStream inputStream;
+
+	/**
+	 * <b>JSON</b> reader
+	 */
+	private final JsonReader reader;
+
+	/**
+	 * Indicates whether items array start has been read
+	 */
+	private boolean started;
+
+	/**
+	 * Indicates whether there is the next item to read
+	 */
+	private boolean hasNext;
+
+	/**
+	 * Creates {@link MultiStatusReader} instance
+	 *
+	 * @param inputStream input stream to read items from
+	 */
+	public MultiStatusReader(InputStream inputStream) {
+		this.inputStream = inputStream;
+		this.reader = new JsonReader(inputStream);
+	}
+
+	/**
+	 * Creates {@link MultiStatusReader} instance reading items from the given
+	 * <b>Multi-Status</b> {@link Response} entity
+	 *
+	 * @param response <b>Multi-Status</b> {@link Response}
+	 * @return {@link MultiStatusReader} instance
+	 */
+	public static MultiStatusReader from(Response response) {
+		return new MultiStatusReader(response.readEntity(InputStream.class));
+	}
+
+	/**
+	 * Returns {@code true} if the iteration has more elements.
+	 *
+	 * @return {@code true} if the iteration has more elements
+	 * @throws RuntimeException if an IO error arises
+	 */
+	@Override
+	public boolean hasNext() {
+		if (!started) {
+			started = true;
+			try {
+				reader.expect('[');
+				hasNext = reader.peek() != ']';
+				if (!hasNext) {
+					reader.read();
+				}
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		}
+		return hasNext;
+	}
+
+	/**
+	 * Returns the next element in the iteration.
+	 *
+	 * @return the next element in the iteration
+	 * @throws NoSuchElementException if the iteration has no more elements
+	 * @throws RuntimeException       if an IO error arises
+	 */
+	@Override
+	public MultiStatusItem next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		try {
+			MultiStatusItem item = readItem();
+			hasNext = reader.nextElement();
+			return item;
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Closes the underlying input stream
+	 *
+	 * @throws IOException if an IO error arises
+	 */
+	@Override
+	public void close() throws IOException {
+		inputStream.close();
+	}
+
+	/**
+	 * Reads the next item
+	 *
+	 * @return read item
+	 * @throws IOException if an IO error arises
+	 */
+	private MultiStatusItem readItem() throws IOException {
+		String id = null;
+		int status = 0;
+		ErrorResponse error = null;
+		String payload = null;
+		reader.expect('{');
+		if (reader.peek() == '}') {
+			reader.read();
+			return new MultiStatusItem(null, status, null, null);
+		}
+		do {
+			String name = reader.readString();
+			reader.expect(':');
+			switch (name) {
+				case "id":
+					id = reader.readNullableString();
+					break;
+				case "status":
+					status = readStatus(reader);
+					break;
+				case "error":
+					if (reader.peek() == '{') {
+						error = PROVIDER.read(reader, null, null, null);
+					} else {
+						reader.skipValue(null);
+					}
+					break;
+				case "payload":
+					StringBuilder raw = new StringBuilder();
+					reader.skipValue(raw);
+					payload = "null".equals(raw.toString()) ? null : raw.toString();
+					break;
+				default:
+					reader.skipValue(null);
+			}
+		} while (reader.nextMember());
+		return new MultiStatusItem(id, status, error, payload);
+	}
+
+	/**
+	 * Reads the item status from the given {@link JsonReader}
+	 *
+	 * @param reader {@link JsonReader} positioned at the status value
+	 * @return read status, {@code 0} for {@code null} literal
+	 * @throws IOException if an IO error arises or the status is not an integer
+	 */
+	private static int readStatus(JsonReader reader) throws IOException {
+		String status = reader.readLiteral();
+		if (Objects.isNull(status)) {
+			return 0;
+		}
+		try {
+			return Integer.parseInt(status);
+		} catch (NumberFormatException e) {
+			throw new IOException("Invalid Multi-Status item status: " + status, e);
+		}
+	}
+
+}
@@ -0,0 +1,242 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.error;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Writes <b>Multi-Status</b> items incrementally to the output stream
+ * <p>
+ * Each item is written and flushed as soon as it is passed, so the whole batch result
+ * is never held in memory. Each item is serialized into its own buffer first and written
+ * as a whole, so that an item failing to serialize leaves no partial output. Items are written
+ * as the elements of a <b>JSON</b> array:
+ * <pre>
+ * [{"id":"1","status":200,"payload":{...}},{"id":"2","status":404,"error":{...}}]
+ * </pre>
+ * Writing methods are thread-safe, so items may be written from different threads as
+ * soon as they finish
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class MultiStatusWriter {
+
+	/**
+	 * Empty annotations
+	 */
+	private static final Annotation[] ANNOTATIONS = new Annotation[0];
+
+	/**
+	 * Underlying output stream
+	 */
+	private final OutputStream outputStream;
+
+	/**
+	 * {@link ErrorResponse} provider, used to write errors and delegate payloads
+	 */
+	private final ErrorResponseProvider provider;
+
+	/**
+	 * Indicates whether no items written yet
+	 */
+	private boolean first = true;
+
+	/**
+	 * Indicates whether this writer is closed
+	 */
+	private boolean closed;
+
+	/**
+	 * Creates {@link MultiStatusWriter} instance and writes the start of items array
+	 *
+	 * @param outputStream underlying output stream
+	 * @param provider     {@link ErrorResponse} provider, used to write errors and delegate payloads
+	 * @throws IOException if an IO error arises
+	 */
+	MultiStatusWriter(OutputStream outputStream, ErrorResponseProvider provider) throws IOException {
+		this.outputStream = outputStream;
+		this.provider = provider;
+		outputStream.write('[');
+	}
+
+	/**
+	 * Writes the item having the given status and payload
+	 *
+	 * @param status  item <b>HTTP</b> status
+	 * @param payload item payload, serialized with the <b>JSON</b> provider, may be <b>null</b>
+	 * @throws IOException if an IO error arises
+	 */
+	public void write(Response.StatusType status, Object payload) throws IOException {
+		write(null, status.getStatusCode(), payload);
+	}
+
+	/**
+	 * Writes the item having the given identifier, status and payload
+	 *
+	 * @param id      item identifier, may be <b>null</b>
+	 * @param status  item <b>HTTP</b> status code
+	 * @param payload item payload, serialized with the <b>JSON</b> provider, may be <b>null</b>
+	 * @throws IOException if an IO error arises
+	 */
+	public void write(String id, int status, Object payload) throws IOException {
+		ByteArrayOutputStream item = start(id, status);
+		if (Objects.nonNull(payload)) {
+			item.write(",\"payload\":".getBytes(StandardCharsets.UTF_8));
+			provider.writePayload(payload, ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(), item);
+		}
+		emit(item);
+	}
+
+	/**
+	 * Writes the item having the given pre-serialized payload
+	 *
+	 * @param id      item identifier, may be <b>null</b>
+	 * @param status  item <b>HTTP</b> status code
+	 * @param payload item payload <b>JSON</b>
+	 * @throws IOException if an IO error arises
+	 */
+	public void writeRaw(String id, int status, byte[] payload) throws IOException {
+		ByteArrayOutputStream item = start(id, status);
+		item.write(",\"payload\":".getBytes(StandardCharsets.UTF_8));
+		item.write(payload);
+		emit(item);
+	}
+
+	/**
+	 * Writes the item having the given text payload, which is written as <b>JSON</b> string
+	 *
+	 * @param id      item identifier, may be <b>null</b>
+	 * @param status  item <b>HTTP</b> status code
+	 * @param payload item text payload
+	 * @throws IOException if an IO error arises
+	 */
+	public void writeText(String id, int status, String payload) throws IOException {
+		ByteArrayOutputStream item = start(id, status);
+		StringBuilder json = new StringBuilder(payload.length() + 16).append(",\"payload\":");
+		JsonUtils.appendString(json, payload);
+		item.write(json.toString().getBytes(StandardCharsets.UTF_8));
+		emit(item);
+	}
+
+	/**
+	 * Writes the item having the given {@link ErrorResponse}, the item status is taken
+	 * from {@link ErrorResponse#getCode()}
+	 *
+	 * @param errorResponse item {@link ErrorResponse}
+	 * @throws IOException if an IO error arises
+	 */
+	public void write(ErrorResponse errorResponse) throws IOException {
+		write((String) null, errorResponse);
+	}
+
+	/**
+	 * Writes the item having the given identifier and {@link ErrorResponse}, the item status
+	 * is taken from {@link ErrorResponse#getCode()}
+	 *
+	 * @param id            item identifier, may be <b>null</b>
+	 * @param errorResponse item {@link ErrorResponse}
+	 * @throws IOException if an IO error arises
+	 */
+	public void write(String id, ErrorResponse errorResponse) throws IOException {
+		Integer code = errorResponse.getCode();
+		ByteArrayOutputStream item = start(id, Objects.isNull(code) ? Response.Status.INTERNAL_SERVER_ERROR.getStatusCode() : code);
+		item.write(",\"error\":".getBytes(StandardCharsets.UTF_8));
+		provider.writeTo(errorResponse, ErrorResponse.class, ErrorResponse.class, ANNOTATIONS,
+				MediaType.APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(), item);
+		emit(item);
+	}
+
+	/**
+	 * Writes the end of items array
+	 *
+	 * @throws IOException if an IO error arises
+	 */
+	synchronized void close() throws IOException {
+		if (!closed) {
+			closed = true;
+			outputStream.write(']');
+			outputStream.flush();
+		}
+	}
+
+	/**
+	 * Closes this writer without writing the end of items array, so that subsequent writes fail
+	 * and the written items array remains unterminated
+	 */
+	synchronized void abort() {
+		closed = true;
+	}
+
+	/**
+	 * Creates the buffer of the item and writes the start of the item into it
+	 *
+	 * @param id     item identifier, may be <b>null</b>
+	 * @param status item <b>HTTP</b> status code
+	 * @return the buffer of the item
+	 * @throws IOException if an IO error arises
+	 */
+	private ByteArrayOutputStream start(String id, int status) throws IOException {
+		StringBuilder json = new StringBuilder(64).append('{');
+		if (Objects.nonNull(id)) {
+			json.append("\"id\":");
+			JsonUtils.appendString(json, id);
+			json.append(',');
+		}
+		json.append("\"status\":").append(status);
+		ByteArrayOutputStream item = new ByteArrayOutputStream(256);
+		item.write(json.toString().getBytes(StandardCharsets.UTF_8));
+		return item;
+	}
+
+	/**
+	 * Writes the given buffered item along with its separator and end, and flushes it
+	 *
+	 * @param item the buffer of the item
+	 * @throws IOException if an IO error arises
+	 */
+	private synchronized void emit(ByteArrayOutputStream item) throws IOException {
+		if (closed) {
+			throw new IllegalStateException("Multi-Status writer is closed");
+		}
+		if (!first) {
+			outputStream.write(',');
+		}
+		first = false;
+		item.write('}');
+		item.writeTo(outputStream);
+		outputStream.flush();
+	}
+
+}
@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.error;
+
+import com.scalified.rest.jaxrs.extension.ExtendedMediaType;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+
+/**
+ * An {@link ExceptionMapper}, which maps {@link WebApplicationException} having client or server
+ * error status and no entity to the {@link Response} carrying the cached serialized
+ * {@link ErrorResponse} body. Headers of the exception response are retained
+ * <p>
+ * Other {@link WebApplicationException} are responded as is
+ *
+ * @author shell
+ * @version 1.1.0
+ * @see ErrorResponses
+ * @since 1.1.0
+ */
+public class WebApplicationExceptionMapper implements ExceptionMapper<WebApplicationException> {
+
+	/**
+	 * Map an exception to a {@link javax.ws.rs.core.Response}.
+	 *
+	 * @param exception the exception to map to a response.
+	 * @return a response mapped from the supplied exception.
+	 */
+	@Override
+	public Response toResponse(WebApplicationException exception) {
+		Response response = exception.getResponse();
+		Response.Status.Family family = response.getStatusInfo().getFamily();
+		if (response.hasEntity()
+				|| (family != Response.Status.Family.CLIENT_ERROR && family != Response.Status.Family.SERVER_ERROR)) {
+			return response;
+		}
+		return Response.fromResponse(response)
+				.type(ExtendedMediaType.APPLICATION_JSON_UTF_8_TYPE)
+				.entity(ErrorResponses.body(response.getStatusInfo()))
+				.build();
+	}
+
+}
@@ -75,6 +75,11 @@ public interface ExtendedHttpHeaders extends HttpHeaders {
 	 */
 	String ACCESS_CONTROL_REQUEST_HEADERS = "Access-Control-Request-Headers";
 
+	/**
+	 * Access Control Max Age header
+	 */
+	String ACCESS_CONTROL_MAX_AGE = "Access-Control-Max-Age";
+
 	/**
 	 * Content Disposition Attachment Filename header
 	 */
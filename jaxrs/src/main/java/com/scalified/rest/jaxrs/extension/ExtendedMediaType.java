@@ -59,6 +59,26 @@ public class ExtendedMediaType extends MediaType {
 	 */
 	public static final MediaType APPLICATION_PDF_TYPE = new MediaType("application", "pdf");
 
+	/**
+	 * {@link MediaType} for <b>CBOR</b> (Concise Binary Object Representation) data
+	 */
+	public static final String APPLICATION_CBOR = "application/cbor";
+
+	/**
+	 * {@link MediaType} for <b>CBOR</b> (Concise Binary Object Representation) data
+	 */
+	public static final MediaType APPLICATION_CBOR_TYPE = new MediaType("application", "cbor");
+
+	/**
+	 * {@link MediaType} for <b>Smile</b> (binary <b>JSON</b>) data
+	 */
+	public static final String APPLICATION_X_JACKSON_SMILE = "application/x-jackson-smile";
+
+	/**
+	 * {@link MediaType} for <b>Smile</b> (binary <b>JSON</b>) data
+	 */
+	public static final MediaType APPLICATION_X_JACKSON_SMILE_TYPE = new MediaType("application", "x-jackson-smile");
+
 	protected ExtendedMediaType() {
 	}
 
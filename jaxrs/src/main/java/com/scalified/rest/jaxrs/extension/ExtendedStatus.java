@@ -25,8 +25,10 @@
 package com.scalified.rest.jaxrs.extension;
 
 import javax.ws.rs.core.Response;
-import java.util.Arrays;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static javax.ws.rs.core.Response.Status.Family.*;
 
@@ -88,6 +90,45 @@ public enum ExtendedStatus implements Response.StatusType {
 	 */
 	INSUFFICIENT_STORAGE(507, "Insufficient Storage");
 
+	/**
+	 * Lowest status code covered by the lookup table
+	 */
+	private static final int MIN_TABLE_CODE = 100;
+
+	/**
+	 * Highest status code covered by the lookup table
+	 */
+	private static final int MAX_TABLE_CODE = 599;
+
+	/**
+	 * Reason phrase of unknown status codes
+	 */
+	private static final String UNKNOWN_REASON_PHRASE = "Unknown HTTP Status Code";
+
+	/**
+	 * Lookup table of {@link javax.ws.rs.core.Response.StatusType} indexed by status code
+	 * offset by {@link #MIN_TABLE_CODE}
+	 */
+	private static final AtomicReferenceArray<Response.StatusType> TABLE =
+			new AtomicReferenceArray<>(MAX_TABLE_CODE - MIN_TABLE_CODE + 1);
+
+	/**
+	 * Registered {@link javax.ws.rs.core.Response.StatusType} having status codes outside of the lookup table
+	 */
+	private static final Map<Integer, Response.StatusType> OUT_OF_TABLE = new ConcurrentHashMap<>();
+
+	static {
+		for (int code = MIN_TABLE_CODE; code <= MAX_TABLE_CODE; code++) {
+			TABLE.set(code - MIN_TABLE_CODE, new UnknownStatus(code));
+		}
+		for (ExtendedStatus status : values()) {
+			TABLE.set(status.statusCode - MIN_TABLE_CODE, status);
+		}
+		for (Response.Status status : Response.Status.values()) {
+			TABLE.set(status.getStatusCode() - MIN_TABLE_CODE, status);
+		}
+	}
+
 	/**
 	 * Response status code
 	 */
@@ -113,9 +154,11 @@ public enum ExtendedStatus implements Response.StatusType {
 	 * Searches for an appropriate {@link javax.ws.rs.core.Response.StatusType} object
 	 * by the specified statusCode.
 	 * <p>
-	 * Returns a newly created {@link javax.ws.rs.core.Response.StatusType}
-	 * with unknown reason phrase and the specified status code, if there is no
-	 * {@link javax.ws.rs.core.Response.StatusType} with the status code specified
+	 * Looks up {@link javax.ws.rs.core.Response.Status}, {@link ExtendedStatus} and registered
+	 * {@link javax.ws.rs.core.Response.StatusType} in the precomputed table without allocation.
+	 * Returns the new {@link javax.ws.rs.core.Response.StatusType} with unknown reason phrase
+	 * and the specified status code, if there is no {@link javax.ws.rs.core.Response.StatusType}
+	 * with the status code specified, so that arbitrary status codes do not grow any cache
 	 *
 	 * @param statusCode HTTP status code to search {@link javax.ws.rs.core.Response.StatusType} by
 	 * @return appropriate {@link javax.ws.rs.core.Response.StatusType} if there is such
@@ -123,26 +166,30 @@ public enum ExtendedStatus implements Response.StatusType {
 	 * custom {@link javax.ws.rs.core.Response.StatusType}
 	 */
 	public static Response.StatusType from(final int statusCode) {
-		Response.StatusType status = Response.Status.fromStatusCode(statusCode);
-		return Objects.nonNull(status) ? status : Arrays.<Response.StatusType>stream(values())
-				.filter(s -> s.getStatusCode() == statusCode)
-				.findFirst()
-				.orElse(new Response.StatusType() {
-					@Override
-					public int getStatusCode() {
-						return statusCode;
-					}
-
-					@Override
-					public Response.Status.Family getFamily() {
-						return OTHER;
-					}
-
-					@Override
-					public String getReasonPhrase() {
-						return "Unknown HTTP Status Code";
-					}
-				});
+		if (statusCode >= MIN_TABLE_CODE && statusCode <= MAX_TABLE_CODE) {
+			return TABLE.get(statusCode - MIN_TABLE_CODE);
+		}
+		Response.StatusType status = OUT_OF_TABLE.get(statusCode);
+		return Objects.nonNull(status) ? status : new UnknownStatus(statusCode);
+	}
+
+	/**
+	 * Registers the given custom {@link javax.ws.rs.core.Response.StatusType}, so that it is
+	 * returned by {@link #from(int)} for its status code
+	 * <p>
+	 * Replaces any previously registered or built-in {@link javax.ws.rs.core.Response.StatusType}
+	 * having the same status code
+	 *
+	 * @param status custom {@link javax.ws.rs.core.Response.StatusType} to register
+	 */
+	public static void register(Response.StatusType status) {
+		Objects.requireNonNull(status, "status");
+		int statusCode = status.getStatusCode();
+		if (statusCode >= MIN_TABLE_CODE && statusCode <= MAX_TABLE_CODE) {
+			TABLE.set(statusCode - MIN_TABLE_CODE, status);
+		} else {
+			OUT_OF_TABLE.put(statusCode, status);
+		}
 	}
 
 	/**
@@ -188,4 +235,55 @@ public enum ExtendedStatus implements Response.StatusType {
 		return this.reasonPhrase;
 	}
 
+	/**
+	 * A {@link javax.ws.rs.core.Response.StatusType} having unknown reason phrase
+	 */
+	private static final class UnknownStatus implements Response.StatusType {
+
+		/**
+		 * Response status code
+		 */
+		private final int statusCode;
+
+		/**
+		 * Creates {@link UnknownStatus} instance
+		 *
+		 * @param statusCode response status code
+		 */
+		private UnknownStatus(int statusCode) {
+			this.statusCode = statusCode;
+		}
+
+		/**
+		 * Get the associated status code.
+		 *
+		 * @return the status code.
+		 */
+		@Override
+		public int getStatusCode() {
+			return statusCode;
+		}
+
+		/**
+		 * Get the class of status code.
+		 *
+		 * @return the class of status code.
+		 */
+		@Override
+		public Response.Status.Family getFamily() {
+			return OTHER;
+		}
+
+		/**
+		 * Get the reason phrase.
+		 *
+		 * @return the reason phrase.
+		 */
+		@Override
+		public String getReasonPhrase() {
+			return UNKNOWN_REASON_PHRASE;
+		}
+
+	}
+
 }
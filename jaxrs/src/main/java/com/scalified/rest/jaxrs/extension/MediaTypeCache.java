@@ -0,0 +1,248 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.extension;
+
+import javax.ws.rs.core.MediaType;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A bounded concurrent intern cache of parsed {@link MediaType}s and formatted
+ * <b>HTTP</b> {@code Accept} header values
+ * <p>
+ * Media types are parsed and formatted without {@link javax.ws.rs.ext.RuntimeDelegate}.
+ * Common media types and {@code Accept} header values are precomputed. Once the cache
+ * reaches its maximum size, values are computed without being cached
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+public final class MediaTypeCache {
+
+	/**
+	 * Maximum number of cached entries per cache
+	 */
+	public static final int MAX_SIZE = 512;
+
+	/**
+	 * Parsed {@link MediaType}s mapped by their string representation
+	 */
+	private static final ConcurrentMap<String, MediaType> MEDIA_TYPES = new ConcurrentHashMap<>();
+
+	/**
+	 * <b>HTTP</b> {@code Accept} header values mapped by media types
+	 */
+	private static final ConcurrentMap<List<MediaType>, String> ACCEPT_VALUES = new ConcurrentHashMap<>();
+
+	static {
+		List<MediaType> common = Arrays.asList(
+				MediaType.WILDCARD_TYPE,
+				MediaType.APPLICATION_JSON_TYPE,
+				MediaType.APPLICATION_XML_TYPE,
+				MediaType.APPLICATION_OCTET_STREAM_TYPE,
+				MediaType.APPLICATION_FORM_URLENCODED_TYPE,
+				MediaType.MULTIPART_FORM_DATA_TYPE,
+				MediaType.TEXT_PLAIN_TYPE,
+				MediaType.TEXT_HTML_TYPE,
+				MediaType.TEXT_XML_TYPE,
+				ExtendedMediaType.APPLICATION_JSON_UTF_8_TYPE,
+				ExtendedMediaType.APPLICATION_PDF_TYPE,
+				ExtendedMediaType.APPLICATION_CBOR_TYPE,
+				ExtendedMediaType.APPLICATION_X_JACKSON_SMILE_TYPE
+		);
+		for (MediaType mediaType : common) {
+			String value = format(mediaType);
+			MEDIA_TYPES.put(value, mediaType);
+			ACCEPT_VALUES.put(Collections.singletonList(mediaType), value);
+		}
+		MEDIA_TYPES.put(ExtendedMediaType.APPLICATION_JSON_UTF_8, ExtendedMediaType.APPLICATION_JSON_UTF_8_TYPE);
+		accept(Arrays.asList(MediaType.APPLICATION_JSON_TYPE, MediaType.TEXT_PLAIN_TYPE));
+		accept(Arrays.asList(MediaType.APPLICATION_JSON_TYPE, MediaType.APPLICATION_XML_TYPE));
+		accept(Arrays.asList(MediaType.APPLICATION_JSON_TYPE, MediaType.WILDCARD_TYPE));
+	}
+
+	/**
+	 * Prevents from {@link MediaTypeCache} creation
+	 */
+	private MediaTypeCache() {
+	}
+
+	/**
+	 * Returns {@link MediaType} parsed from the given {@link String}
+	 *
+	 * @param type media type {@link String}, e.g. {@code application/json;charset=utf-8}
+	 * @return parsed {@link MediaType}, interned if the cache is not full
+	 * @throws IllegalArgumentException if the given {@link String} is not a valid media type
+	 */
+	public static MediaType valueOf(String type) {
+		MediaType mediaType = MEDIA_TYPES.get(type);
+		if (Objects.nonNull(mediaType)) {
+			return mediaType;
+		}
+		mediaType = parse(type);
+		if (MEDIA_TYPES.size() < MAX_SIZE) {
+			MediaType existing = MEDIA_TYPES.putIfAbsent(type, mediaType);
+			if (Objects.nonNull(existing)) {
+				return existing;
+			}
+		}
+		return mediaType;
+	}
+
+	/**
+	 * Returns <b>HTTP</b> {@code Accept} header value for the given media types
+	 *
+	 * @param mediaTypes accepted media types
+	 * @return <b>HTTP</b> {@code Accept} header value, <b>null</b> if no media types given
+	 */
+	public static String accept(Collection<MediaType> mediaTypes) {
+		if (mediaTypes.isEmpty()) {
+			return null;
+		}
+		List<MediaType> key = new ArrayList<>(mediaTypes);
+		String value = ACCEPT_VALUES.get(key);
+		if (Objects.nonNull(value)) {
+			return value;
+		}
+		StringJoiner joiner = new StringJoiner(",");
+		for (MediaType mediaType : mediaTypes) {
+			joiner.add(format(mediaType));
+		}
+		value = joiner.toString();
+		if (ACCEPT_VALUES.size() < MAX_SIZE) {
+			ACCEPT_VALUES.putIfAbsent(key, value);
+		}
+		return value;
+	}
+
+	/**
+	 * Formats the given {@link MediaType} as <b>HTTP</b> header value
+	 *
+	 * @param mediaType {@link MediaType} to format
+	 * @return formatted {@link MediaType}
+	 */
+	public static String format(MediaType mediaType) {
+		StringBuilder value = new StringBuilder(32)
+				.append(mediaType.getType()).append('/').append(mediaType.getSubtype());
+		for (Map.Entry<String, String> parameter : mediaType.getParameters().entrySet()) {
+			value.append(';').append(parameter.getKey()).append('=');
+			String parameterValue = parameter.getValue();
+			if (isToken(parameterValue)) {
+				value.append(parameterValue);
+			} else {
+				value.append('"').append(parameterValue.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+			}
+		}
+		return value.toString();
+	}
+
+	/**
+	 * Parses {@link MediaType} from the given {@link String}
+	 *
+	 * @param type media type {@link String}
+	 * @return parsed {@link MediaType}
+	 * @throws IllegalArgumentException if the given {@link String} is not a valid media type
+	 */
+	private static MediaType parse(String type) {
+		if (Objects.isNull(type)) {
+			throw new IllegalArgumentException("Media type must not be null");
+		}
+		int semicolon = type.indexOf(';');
+		String fullType = (semicolon < 0 ? type : type.substring(0, semicolon)).trim();
+		if (fullType.equals(MediaType.MEDIA_TYPE_WILDCARD)) {
+			fullType = MediaType.WILDCARD;
+		}
+		int slash = fullType.indexOf('/');
+		if (slash <= 0 || slash == fullType.length() - 1 || !isToken(fullType.substring(0, slash))
+				|| !isToken(fullType.substring(slash + 1))) {
+			throw new IllegalArgumentException("Invalid media type: " + type);
+		}
+		Map<String, String> parameters = new LinkedHashMap<>();
+		int index = semicolon;
+		while (index >= 0 && index < type.length()) {
+			int next = nextParameter(type, index + 1);
+			String parameter = type.substring(index + 1, next).trim();
+			index = next;
+			if (parameter.isEmpty()) {
+				continue;
+			}
+			int equals = parameter.indexOf('=');
+			if (equals <= 0) {
+				throw new IllegalArgumentException("Invalid media type parameter '" + parameter + "': " + type);
+			}
+			String value = parameter.substring(equals + 1).trim();
+			if (value.length() >= 2 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+				value = value.substring(1, value.length() - 1).replaceAll("\\\\(.)", "$1");
+			}
+			parameters.put(parameter.substring(0, equals).trim().toLowerCase(Locale.ROOT), value);
+		}
+		return new MediaType(fullType.substring(0, slash), fullType.substring(slash + 1), parameters);
+	}
+
+	/**
+	 * Returns the index of the next parameter separator outside of quotes
+	 *
+	 * @param type  media type {@link String}
+	 * @param start index to start search from
+	 * @return index of the next parameter separator, the length of the {@link String} if none
+	 */
+	private static int nextParameter(String type, int start) {
+		boolean quoted = false;
+		for (int i = start; i < type.length(); i++) {
+			char c = type.charAt(i);
+			if (c == '\\' && quoted) {
+				i++;
+			} else if (c == '"') {
+				quoted = !quoted;
+			} else if (c == ';' && !quoted) {
+				return i;
+			}
+		}
+		return type.length();
+	}
+
+	/**
+	 * Returns <b>true</b> if the given {@link String} is a non-empty <b>HTTP</b> token,
+	 * otherwise returns <b>false</b>
+	 *
+	 * @param value {@link String} to check
+	 * @return <b>true</b> if the given {@link String} is a non-empty <b>HTTP</b> token, otherwise <b>false</b>
+	 */
+	private static boolean isToken(String value) {
+		if (value.isEmpty()) {
+			return false;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c <= ' ' || c >= 0x7F || "()<>@,;:\\\"/[]?={}".indexOf(c) >= 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,177 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.client;
+
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.ext.ReaderInterceptorContext;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link EntitySizeLimitInterceptor} tests
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+class EntitySizeLimitInterceptorTest {
+
+	private final EntitySizeLimitInterceptor interceptor = new EntitySizeLimitInterceptor();
+
+	@Test
+	void aroundReadFromShouldRejectDeclaredLengthBeforeDeserialization() throws IOException {
+		AbortableInputStream input = new AbortableInputStream(new byte[100]);
+		ReaderInterceptorContext context = context(input, 16L);
+		context.getHeaders().putSingle(HttpHeaders.CONTENT_LENGTH, "100");
+
+		assertThrows(EntityTooLargeException.class, () -> interceptor.aroundReadFrom(context));
+
+		verify(context, never()).proceed();
+		assertTrue(input.aborted);
+		assertEquals(0, input.read);
+	}
+
+	@Test
+	void aroundReadFromShouldFailWhileDeserializingOnceLimitExceeded() throws IOException {
+		AbortableInputStream input = new AbortableInputStream(new byte[1000]);
+		ReaderInterceptorContext context = context(input, 16L);
+
+		EntityTooLargeException exception = assertThrows(EntityTooLargeException.class,
+				() -> interceptor.aroundReadFrom(context));
+
+		assertEquals(16, exception.getMaxEntitySize());
+		assertTrue(input.aborted);
+		assertFalse(input.closed);
+		assertTrue(input.read <= 16 + 5, "Read " + input.read + " bytes");
+	}
+
+	@Test
+	void aroundReadFromShouldReadEntityWithinLimit() throws IOException {
+		AbortableInputStream input = new AbortableInputStream(new byte[16]);
+		ReaderInterceptorContext context = context(input, 16L);
+
+		assertEquals(16, interceptor.aroundReadFrom(context));
+		assertFalse(input.aborted);
+	}
+
+	@Test
+	void aroundReadFromShouldNotLimitWithoutProperty() throws IOException {
+		AbortableInputStream input = new AbortableInputStream(new byte[1000]);
+		ReaderInterceptorContext context = context(input, null);
+
+		assertEquals(1000, interceptor.aroundReadFrom(context));
+	}
+
+	@Test
+	void contentLengthShouldIgnoreMalformedValue() {
+		assertEquals(42, EntitySizeLimitInterceptor.contentLength(" 42 "));
+		assertEquals(-1, EntitySizeLimitInterceptor.contentLength("42; drop"));
+		assertEquals(-1, EntitySizeLimitInterceptor.contentLength(null));
+	}
+
+	@Test
+	void abortShouldNotCloseStreamNotExposingAbortMethod() {
+		AtomicReference<Boolean> closed = new AtomicReference<>(false);
+		InputStream input = new ByteArrayInputStream(new byte[8]) {
+			@Override
+			public void close() {
+				closed.set(true);
+			}
+		};
+
+		EntitySizeLimitInterceptor.abort(input);
+
+		assertFalse(closed.get());
+	}
+
+	/**
+	 * Returns the interceptor context, whose {@link ReaderInterceptorContext#proceed()} reads the
+	 * current entity stream fully, as a message body reader would, and returns the number of bytes read
+	 */
+	private static ReaderInterceptorContext context(InputStream input, Long maxEntitySize) throws IOException {
+		AtomicReference<InputStream> stream = new AtomicReference<>(input);
+		ReaderInterceptorContext context = mock(ReaderInterceptorContext.class);
+		when(context.getProperty(EntitySizeLimitInterceptor.MAX_ENTITY_SIZE_PROPERTY)).thenReturn(maxEntitySize);
+		when(context.getHeaders()).thenReturn(new MultivaluedHashMap<>());
+		when(context.getInputStream()).thenAnswer(invocation -> stream.get());
+		doAnswer(invocation -> {
+			stream.set(invocation.getArgument(0));
+			return null;
+		}).when(context).setInputStream(any());
+		when(context.proceed()).thenAnswer(invocation -> {
+			int count = 0;
+			byte[] chunk = new byte[5];
+			int read;
+			while ((read = stream.get().read(chunk)) != -1) {
+				count += read;
+			}
+			return count;
+		});
+		return context;
+	}
+
+	/**
+	 * {@link InputStream} exposing the {@code abortConnection} method, as <b>Apache HttpClient</b>
+	 * entity streams do
+	 */
+	public static class AbortableInputStream extends ByteArrayInputStream {
+
+		private int read;
+
+		private boolean aborted;
+
+		private boolean closed;
+
+		AbortableInputStream(byte[] bytes) {
+			super(bytes);
+		}
+
+		@Override
+		public synchronized int read(byte[] bytes, int offset, int length) {
+			int count = super.read(bytes, offset, length);
+			read += Math.max(count, 0);
+			return count;
+		}
+
+		public void abortConnection() {
+			aborted = true;
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+		}
+
+	}
+
+}
@@ -0,0 +1,190 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link JaxRsRestClient} tests
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+class JaxRsRestClientTest {
+
+	private HttpServer server;
+
+	private Client client;
+
+	private String url;
+
+	private final Queue<String> methods = new ConcurrentLinkedQueue<>();
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/endless", exchange -> {
+			exchange.getResponseHeaders().add("Content-Type", "text/plain");
+			exchange.sendResponseHeaders(200, 0);
+			byte[] chunk = new byte[8192];
+			try (OutputStream output = exchange.getResponseBody()) {
+				while (true) {
+					output.write(chunk);
+				}
+			} catch (IOException ignored) {
+			}
+		});
+		server.createContext("/small", exchange -> {
+			byte[] body = "hello".getBytes();
+			exchange.getResponseHeaders().add("Content-Type", "text/plain");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream output = exchange.getResponseBody()) {
+				output.write(body);
+			}
+		});
+		server.createContext("/health", exchange -> {
+			methods.add(exchange.getRequestMethod());
+			byte[] body = "{}".getBytes();
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			if ("HEAD".equals(exchange.getRequestMethod())) {
+				exchange.sendResponseHeaders(200, -1);
+				exchange.close();
+				return;
+			}
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream output = exchange.getResponseBody()) {
+				output.write(body);
+			}
+		});
+		server.setExecutor(executor);
+		server.start();
+		client = ClientBuilder.newClient();
+		url = "http://localhost:" + server.getAddress().getPort();
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	@Test
+	void constructorShouldNotModifyClientWithoutLimit() {
+		new JaxRsRestClient(client);
+
+		assertFalse(client.getConfiguration().isRegistered(EntitySizeLimitInterceptor.class));
+	}
+
+	@Test
+	void constructorShouldRegisterInterceptorWithLimit() {
+		new JaxRsRestClient(client, 1024);
+
+		assertTrue(client.getConfiguration().isRegistered(EntitySizeLimitInterceptor.class));
+	}
+
+	@Test
+	void getShouldAbortEntityExceedingRequestLimit() {
+		JaxRsRestClient restClient = new JaxRsRestClient(client);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Request request = Request.builder(url).path("endless").maxEntitySize(16).onFailure(failure::set).build();
+
+		Optional<String> entity = assertTimeoutPreemptively(Duration.ofSeconds(10),
+				() -> restClient.get(request, String.class));
+
+		assertFalse(entity.isPresent());
+		assertTrue(failure.get() instanceof EntityTooLargeException, String.valueOf(failure.get()));
+		assertFalse(client.getConfiguration().isRegistered(EntitySizeLimitInterceptor.class));
+	}
+
+	@Test
+	void getShouldReadEntityWithinLimit() {
+		JaxRsRestClient restClient = new JaxRsRestClient(client, 16);
+		Request request = Request.builder(url).path("small").build();
+
+		assertEquals(Optional.of("hello"), restClient.get(request, String.class));
+	}
+
+	@Test
+	void warmUpShouldSendConcurrentHeadRequestsOnly() {
+		Client pooled = new ResteasyClientBuilder().connectionPoolSize(4).maxPooledPerRoute(4).build();
+		try {
+			JaxRsRestClient restClient = new JaxRsRestClient(pooled);
+			List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+			Request first = Request.builder(url).path("health").onFailure(failures::add).build();
+			Request second = Request.builder(url).path("small").onFailure(failures::add).build();
+
+			assertTimeoutPreemptively(Duration.ofSeconds(10), () -> restClient.warmUp(Arrays.asList(first, second), 3));
+
+			assertEquals(Collections.emptyList(), failures);
+			assertEquals(Arrays.asList("HEAD", "HEAD", "HEAD"), new ArrayList<>(methods));
+		} finally {
+			pooled.close();
+		}
+	}
+
+	@Test
+	void warmUpProvidersShouldSendGetRequests() {
+		JaxRsRestClient restClient = new JaxRsRestClient(client);
+		List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+		Request request = Request.builder(url).path("health").onFailure(failures::add).build();
+
+		restClient.warmUpProviders(Collections.singleton(request), String.class);
+
+		assertEquals(Collections.emptyList(), failures);
+		assertEquals(Collections.singletonList("GET"), new ArrayList<>(methods));
+	}
+
+	@Test
+	void warmUpProvidersShouldSendNothingWithoutEntityTypes() {
+		JaxRsRestClient restClient = new JaxRsRestClient(client);
+
+		restClient.warmUpProviders(Collections.singleton(Request.builder(url).path("health").build()));
+
+		assertTrue(methods.isEmpty());
+	}
+
+}
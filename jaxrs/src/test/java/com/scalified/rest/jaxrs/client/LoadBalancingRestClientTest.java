@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.client;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.ws.rs.core.Response;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link LoadBalancingRestClient} tests
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+class LoadBalancingRestClientTest {
+
+	@Test
+	void joinShouldAppendPathAndQueryOfAbsoluteUrl() {
+		assertEquals("http://host-1:8080/api/users?page=1",
+				LoadBalancingRestClient.join("http://host-1:8080", "http://any/api/users?page=1"));
+		assertEquals("http://host-1:8080/base/api",
+				LoadBalancingRestClient.join("http://host-1:8080/base/", "https://any:443/api"));
+		assertEquals("http://host-1:8080?page=1",
+				LoadBalancingRestClient.join("http://host-1:8080", "http://any?page=1"));
+	}
+
+	@Test
+	void joinShouldAppendRelativeUrl() {
+		assertEquals("http://host-1:8080/api/users", LoadBalancingRestClient.join("http://host-1:8080", "/api/users"));
+		assertEquals("http://host-1:8080/api/users", LoadBalancingRestClient.join("http://host-1:8080", "api/users"));
+		assertEquals("http://host-1:8080/api/users", LoadBalancingRestClient.join("http://host-1:8080/", "/api/users"));
+		assertEquals("http://host-1:8080/base/api", LoadBalancingRestClient.join("http://host-1:8080/base/", "api"));
+	}
+
+	@Test
+	void joinShouldReturnBaseUrlWithoutRequestPath() {
+		assertEquals("http://host-1:8080", LoadBalancingRestClient.join("http://host-1:8080", "http://any"));
+		assertEquals("http://host-1:8080", LoadBalancingRestClient.join("http://host-1:8080", ""));
+		assertEquals("http://host-1:8080", LoadBalancingRestClient.join("http://host-1:8080", null));
+	}
+
+	@Test
+	void getShouldRouteRequestPathToEndpoints() {
+		RestClient delegate = mock(RestClient.class);
+		Response response = mock(Response.class);
+		when(delegate.get(any(Request.class))).thenReturn(response);
+		RestClient client = LoadBalancingRestClient.builder(delegate, Arrays.asList("http://host-1:8080", "http://host-2:8080"))
+				.strategy(LoadBalancingStrategy.ROUND_ROBIN)
+				.build();
+		Request request = Request.builder("http://any/api")
+				.path("users")
+				.queryParam("page", 1)
+				.build();
+
+		assertSame(response, client.get(request));
+		assertSame(response, client.get(request));
+
+		ArgumentCaptor<Request> routed = ArgumentCaptor.forClass(Request.class);
+		verify(delegate, times(2)).get(routed.capture());
+		assertEquals("http://host-1:8080/api", routed.getAllValues().get(0).getUrl());
+		assertEquals("http://host-2:8080/api", routed.getAllValues().get(1).getUrl());
+		for (Request value : routed.getAllValues()) {
+			assertEquals(Collections.singletonList("users"), value.getPathParams());
+			assertEquals(request.getQueryParams(), value.getQueryParams());
+		}
+	}
+
+}
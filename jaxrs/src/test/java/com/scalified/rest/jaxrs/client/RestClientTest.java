@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.client;
+
+import com.scalified.rest.jaxrs.commons.BufferPool;
+import com.scalified.rest.jaxrs.commons.PooledBuffer;
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link RestClient} tests
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+class RestClientTest {
+
+	@Test
+	void fromShouldReleaseBufferWhenEntityIsClosed() throws IOException {
+		BufferPool pool = new BufferPool(16, 64, 4, false);
+		ByteBuffer buffer = retainedBuffer(pool);
+		Response response = response(new ByteArrayInputStream("hello".getBytes(StandardCharsets.UTF_8)));
+
+		Response buffered = RestClient.from(response, pool);
+
+		verify(response).close();
+		assertEquals(200, buffered.getStatus());
+		assertEquals("text/plain", buffered.getHeaderString("Content-Type"));
+		try (InputStream entity = (InputStream) buffered.getEntity()) {
+			byte[] bytes = new byte[5];
+			assertEquals(5, entity.read(bytes));
+			assertEquals("hello", new String(bytes, StandardCharsets.UTF_8));
+		}
+		assertSame(buffer, pool.acquire(16).buffer());
+	}
+
+	@Test
+	void fromShouldReleaseBufferWhenReadingFails() {
+		BufferPool pool = new BufferPool(16, 64, 4, false);
+		ByteBuffer buffer = retainedBuffer(pool);
+		Response response = response(new InputStream() {
+
+			private int remaining = 4;
+
+			@Override
+			public int read() throws IOException {
+				if (remaining-- > 0) {
+					return 'x';
+				}
+				throw new IOException("Connection reset");
+			}
+
+		});
+
+		RuntimeException exception = assertThrows(RuntimeException.class, () -> RestClient.from(response, pool));
+
+		assertTrue(exception.getCause() instanceof IOException);
+		verify(response).close();
+		assertSame(buffer, pool.acquire(16).buffer());
+	}
+
+	private static ByteBuffer retainedBuffer(BufferPool pool) {
+		PooledBuffer pooled = pool.acquire(16);
+		ByteBuffer buffer = pooled.buffer();
+		pooled.release();
+		return buffer;
+	}
+
+	private static Response response(InputStream entity) {
+		MultivaluedHashMap<String, Object> headers = new MultivaluedHashMap<>();
+		headers.add("Content-Type", "text/plain");
+		Response response = mock(Response.class);
+		when(response.getStatus()).thenReturn(200);
+		when(response.hasEntity()).thenReturn(true);
+		when(response.getLength()).thenReturn(-1);
+		when(response.readEntity(InputStream.class)).thenReturn(entity);
+		when(response.getHeaders()).thenReturn(headers);
+		return response;
+	}
+
+}
@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.commons;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link BufferPool} tests
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+class BufferPoolTest {
+
+	@Test
+	void acquireShouldReuseReleasedBuffer() {
+		BufferPool pool = new BufferPool(16, 64, 4, false);
+		PooledBuffer pooled = pool.acquire(10);
+		ByteBuffer buffer = pooled.buffer();
+		assertEquals(16, buffer.capacity());
+		pooled.release();
+
+		assertSame(buffer, pool.acquire(16).buffer());
+	}
+
+	@Test
+	void acquireShouldNotReuseUnreleasedBuffer() {
+		BufferPool pool = new BufferPool(16, 64, 4, false);
+		ByteBuffer buffer = pool.acquire(16).buffer();
+
+		assertNotSame(buffer, pool.acquire(16).buffer());
+	}
+
+	@Test
+	void readShouldGrowBufferUpToMaximumSizeClass() throws IOException {
+		BufferPool pool = new BufferPool(16, 64, 4, false);
+		byte[] bytes = bytes(40);
+
+		try (PooledBuffer pooled = pool.read(new ByteArrayInputStream(bytes), -1)) {
+			assertEquals(40, pooled.size());
+			assertEquals(64, pooled.buffer().capacity());
+			assertArrayEquals(bytes, readFully(pooled.inputStream()));
+		}
+	}
+
+	@Test
+	void readShouldChainBuffersBeyondMaximumSizeClass() throws IOException {
+		BufferPool pool = new BufferPool(16, 64, 4, false);
+		byte[] bytes = bytes(1000);
+
+		try (PooledBuffer pooled = pool.read(new ByteArrayInputStream(bytes), bytes.length)) {
+			assertEquals(1000, pooled.size());
+			assertThrows(IllegalStateException.class, pooled::buffer);
+			assertArrayEquals(bytes, readFully(pooled.inputStream()));
+		}
+	}
+
+	@Test
+	void readShouldReleaseBufferOnFailure() {
+		BufferPool pool = new BufferPool(16, 64, 4, false);
+		PooledBuffer initial = pool.acquire(16);
+		ByteBuffer buffer = initial.buffer();
+		initial.release();
+
+		assertThrows(IOException.class, () -> pool.read(new FailingInputStream(), -1));
+		assertSame(buffer, pool.acquire(16).buffer());
+	}
+
+	@Test
+	void inputStreamShouldFailAfterRelease() throws IOException {
+		BufferPool pool = new BufferPool(16, 64, 4, false);
+		PooledBuffer pooled = pool.read(new ByteArrayInputStream(bytes(8)), -1);
+		InputStream stream = pooled.inputStream();
+		stream.close();
+
+		assertThrows(IllegalStateException.class, stream::read);
+	}
+
+	@Test
+	void constructorShouldRejectMaximumSizeClassAboveLimit() {
+		assertThrows(IllegalArgumentException.class, () -> new BufferPool(16, (1 << 30) + 1, 4, false));
+		assertThrows(IllegalArgumentException.class, () -> new BufferPool(64, 16, 4, false));
+	}
+
+	private static byte[] bytes(int length) {
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = (byte) i;
+		}
+		return bytes;
+	}
+
+	private static byte[] readFully(InputStream stream) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		byte[] chunk = new byte[7];
+		int count;
+		while ((count = stream.read(chunk)) != -1) {
+			output.write(chunk, 0, count);
+		}
+		return output.toByteArray();
+	}
+
+	/**
+	 * {@link InputStream} returning a few bytes, then failing
+	 */
+	static class FailingInputStream extends InputStream {
+
+		private int remaining = 4;
+
+		@Override
+		public int read() throws IOException {
+			if (remaining-- > 0) {
+				return 'x';
+			}
+			throw new IOException("Connection reset");
+		}
+
+	}
+
+}
@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.commons;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link ContentDisposition} tests
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+class ContentDispositionTest {
+
+	@Test
+	void parameterShouldReturnUnquotedAndTokenValues() {
+		String header = "form-data; name=\"file\"; filename=report.pdf";
+
+		assertEquals("file", ContentDisposition.parameter(header, "name"));
+		assertEquals("report.pdf", ContentDisposition.parameter(header, "filename"));
+		assertNull(ContentDisposition.parameter(header, "size"));
+	}
+
+	@Test
+	void parameterShouldMatchNamesCaseInsensitively() {
+		assertEquals("a.txt", ContentDisposition.parameter("attachment; FileName=\"a.txt\"", "filename"));
+	}
+
+	@Test
+	void parameterShouldNotMatchNamePrefix() {
+		assertEquals("file", ContentDisposition.parameter("form-data; filename=\"a.txt\"; name=file", "name"));
+	}
+
+	@Test
+	void parameterShouldIgnoreWhitespaceAroundNamesAndValues() {
+		assertEquals("a b.txt", ContentDisposition.parameter("attachment ;  filename =  \"a b.txt\"  ; size=1", "filename"));
+		assertEquals("a.txt", ContentDisposition.parameter("attachment; filename= a.txt ;size=1", "filename"));
+	}
+
+	@Test
+	void parameterShouldUnescapeQuotedValues() {
+		assertEquals("say \"hi\".txt", ContentDisposition.parameter("attachment; filename=\"say \\\"hi\\\".txt\"", "filename"));
+		assertEquals("back\\slash.txt", ContentDisposition.parameter("attachment; filename=\"back\\\\slash.txt\"", "filename"));
+	}
+
+	@Test
+	void parameterShouldKeepSeparatorsInsideQuotedValues() {
+		String header = "attachment; filename=\"a;b=c.txt\"; name=\"x\"";
+
+		assertEquals("a;b=c.txt", ContentDisposition.parameter(header, "filename"));
+		assertEquals("x", ContentDisposition.parameter(header, "name"));
+	}
+
+	@Test
+	void parameterShouldKeepEqualsSignsInsideTokenValues() {
+		assertEquals("a=b==.txt", ContentDisposition.parameter("attachment; filename=a=b==.txt; name=x", "filename"));
+	}
+
+	@Test
+	void parameterShouldHandleParametersWithoutValues() {
+		String header = "attachment; inline; filename=a.txt";
+
+		assertEquals("", ContentDisposition.parameter(header, "inline"));
+		assertEquals("a.txt", ContentDisposition.parameter(header, "filename"));
+	}
+
+	@Test
+	void parameterShouldReturnValueOfUnterminatedQuotedString() {
+		assertEquals("a.txt", ContentDisposition.parameter("attachment; filename=\"a.txt", "filename"));
+	}
+
+	@Test
+	void parameterShouldDecodeExtendedValues() {
+		assertEquals("€ rates.txt", ContentDisposition.parameter("attachment; filename*=UTF-8''%E2%82%AC%20rates.txt", "filename*"));
+	}
+
+	@Test
+	void fileNameShouldPreferExtendedParameter() {
+		assertEquals("€ rates.txt",
+				ContentDisposition.fileName("attachment; filename=\"EUR rates.txt\"; filename*=utf-8''%E2%82%AC%20rates.txt"));
+		assertEquals("€ rates.txt",
+				ContentDisposition.fileName("attachment; filename*=UTF-8''%E2%82%AC%20rates.txt; filename=\"EUR rates.txt\""));
+	}
+
+	@Test
+	void fileNameShouldDecodeExtendedParameterWithLanguageAndCharset() {
+		assertEquals("£ rates", ContentDisposition.fileName("attachment; filename*=iso-8859-1'en'%A3%20rates"));
+		assertEquals("naïve.txt", ContentDisposition.fileName("attachment; filename*=\"UTF-8'fr'na%C3%AFve.txt\""));
+	}
+
+	@Test
+	void fileNameShouldFallBackToPlainParameterWhenExtendedIsMalformed() {
+		assertEquals("fallback.txt", ContentDisposition.fileName("attachment; filename*=UTF-8''%ZZ; filename=fallback.txt"));
+		assertEquals("fallback.txt", ContentDisposition.fileName("attachment; filename*=UTF-8%41.txt; filename=fallback.txt"));
+		assertEquals("fallback.txt", ContentDisposition.fileName("attachment; filename*=x-unknown''a.txt; filename=fallback.txt"));
+		assertEquals("fallback.txt", ContentDisposition.fileName("attachment; filename*=UTF-8''é.txt; filename=fallback.txt"));
+		assertNull(ContentDisposition.fileName("attachment; filename*=UTF-8''%E2%82"));
+	}
+
+	@Test
+	void fileNameShouldDecodePercentEncodedPlainParameter() {
+		assertEquals("€ rates.txt", ContentDisposition.fileName("attachment; filename=\"%E2%82%AC%20rates.txt\""));
+		assertEquals("100%.txt", ContentDisposition.fileName("attachment; filename=\"100%.txt\""));
+	}
+
+	@Test
+	void fileNameShouldReturnNullWithoutFileName() {
+		assertNull(ContentDisposition.fileName("form-data; name=\"field\""));
+		assertNull(ContentDisposition.fileName("attachment"));
+		assertNull(ContentDisposition.fileName(""));
+	}
+
+}
@@ -0,0 +1,262 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.commons;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link UriTemplate} tests, using the examples of <b>RFC 6570</b> section 3.2
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+class UriTemplateTest {
+
+	private static final Map<String, Object> VARIABLES = new HashMap<>();
+
+	static {
+		Map<String, String> keys = new LinkedHashMap<>();
+		keys.put("semi", ";");
+		keys.put("dot", ".");
+		keys.put("comma", ",");
+		VARIABLES.put("count", Arrays.asList("one", "two", "three"));
+		VARIABLES.put("dom", new String[]{"example", "com"});
+		VARIABLES.put("dub", "me/too");
+		VARIABLES.put("hello", "Hello World!");
+		VARIABLES.put("half", "50%");
+		VARIABLES.put("var", "value");
+		VARIABLES.put("who", "fred");
+		VARIABLES.put("base", "http://example.com/home/");
+		VARIABLES.put("path", "/foo/bar");
+		VARIABLES.put("list", Arrays.asList("red", "green", "blue"));
+		VARIABLES.put("keys", keys);
+		VARIABLES.put("v", 6);
+		VARIABLES.put("x", 1024);
+		VARIABLES.put("y", 768);
+		VARIABLES.put("empty", "");
+		VARIABLES.put("empty_keys", Collections.emptyMap());
+		VARIABLES.put("undef", null);
+	}
+
+	@Test
+	void expandShouldExpandSimpleStrings() {
+		assertExpansions(
+				"{var}", "value",
+				"{hello}", "Hello%20World%21",
+				"{half}", "50%25",
+				"O{empty}X", "OX",
+				"O{undef}X", "OX",
+				"{x,y}", "1024,768",
+				"{x,hello,y}", "1024,Hello%20World%21,768",
+				"?{x,empty}", "?1024,",
+				"?{x,undef}", "?1024",
+				"?{undef,y}", "?768",
+				"{var:3}", "val",
+				"{var:30}", "value",
+				"{list}", "red,green,blue",
+				"{list*}", "red,green,blue",
+				"{keys}", "semi,%3B,dot,.,comma,%2C",
+				"{keys*}", "semi=%3B,dot=.,comma=%2C");
+	}
+
+	@Test
+	void expandShouldExpandReservedStrings() {
+		assertExpansions(
+				"{+var}", "value",
+				"{+hello}", "Hello%20World!",
+				"{+half}", "50%25",
+				"{base}index", "http%3A%2F%2Fexample.com%2Fhome%2Findex",
+				"{+base}index", "http://example.com/home/index",
+				"O{+empty}X", "OX",
+				"O{+undef}X", "OX",
+				"{+path}/here", "/foo/bar/here",
+				"here?ref={+path}", "here?ref=/foo/bar",
+				"up{+path}{var}/here", "up/foo/barvalue/here",
+				"{+x,hello,y}", "1024,Hello%20World!,768",
+				"{+path,x}/here", "/foo/bar,1024/here",
+				"{+path:6}/here", "/foo/b/here",
+				"{+list}", "red,green,blue",
+				"{+list*}", "red,green,blue",
+				"{+keys}", "semi,;,dot,.,comma,,",
+				"{+keys*}", "semi=;,dot=.,comma=,");
+	}
+
+	@Test
+	void expandShouldExpandFragments() {
+		assertExpansions(
+				"{#var}", "#value",
+				"{#hello}", "#Hello%20World!",
+				"{#half}", "#50%25",
+				"foo{#empty}", "foo#",
+				"foo{#undef}", "foo",
+				"{#x,hello,y}", "#1024,Hello%20World!,768",
+				"{#path,x}/here", "#/foo/bar,1024/here",
+				"{#path:6}/here", "#/foo/b/here",
+				"{#list}", "#red,green,blue",
+				"{#list*}", "#red,green,blue",
+				"{#keys}", "#semi,;,dot,.,comma,,",
+				"{#keys*}", "#semi=;,dot=.,comma=,");
+	}
+
+	@Test
+	void expandShouldExpandLabels() {
+		assertExpansions(
+				"{.who}", ".fred",
+				"{.who,who}", ".fred.fred",
+				"{.half,who}", ".50%25.fred",
+				"www{.dom*}", "www.example.com",
+				"X{.var}", "X.value",
+				"X{.empty}", "X.",
+				"X{.undef}", "X",
+				"X{.var:3}", "X.val",
+				"X{.list}", "X.red,green,blue",
+				"X{.list*}", "X.red.green.blue",
+				"X{.keys}", "X.semi,%3B,dot,.,comma,%2C",
+				"X{.keys*}", "X.semi=%3B.dot=..comma=%2C",
+				"X{.empty_keys}", "X",
+				"X{.empty_keys*}", "X");
+	}
+
+	@Test
+	void expandShouldExpandPathSegments() {
+		assertExpansions(
+				"{/who}", "/fred",
+				"{/who,who}", "/fred/fred",
+				"{/half,who}", "/50%25/fred",
+				"{/who,dub}", "/fred/me%2Ftoo",
+				"{/var}", "/value",
+				"{/var,empty}", "/value/",
+				"{/var,undef}", "/value",
+				"{/var,x}/here", "/value/1024/here",
+				"{/var:1,var}", "/v/value",
+				"{/list}", "/red,green,blue",
+				"{/list*}", "/red/green/blue",
+				"{/list*,path:4}", "/red/green/blue/%2Ffoo",
+				"{/keys}", "/semi,%3B,dot,.,comma,%2C",
+				"{/keys*}", "/semi=%3B/dot=./comma=%2C");
+	}
+
+	@Test
+	void expandShouldExpandPathStyleParameters() {
+		assertExpansions(
+				"{;who}", ";who=fred",
+				"{;half}", ";half=50%25",
+				"{;empty}", ";empty",
+				"{;v,empty,who}", ";v=6;empty;who=fred",
+				"{;v,bar,who}", ";v=6;who=fred",
+				"{;x,y}", ";x=1024;y=768",
+				"{;x,y,empty}", ";x=1024;y=768;empty",
+				"{;x,y,undef}", ";x=1024;y=768",
+				"{;hello:5}", ";hello=Hello",
+				"{;list}", ";list=red,green,blue",
+				"{;list*}", ";list=red;list=green;list=blue",
+				"{;keys}", ";keys=semi,%3B,dot,.,comma,%2C",
+				"{;keys*}", ";semi=%3B;dot=.;comma=%2C");
+	}
+
+	@Test
+	void expandShouldExpandFormStyleQueries() {
+		assertExpansions(
+				"{?who}", "?who=fred",
+				"{?half}", "?half=50%25",
+				"{?x,y}", "?x=1024&y=768",
+				"{?x,y,empty}", "?x=1024&y=768&empty=",
+				"{?x,y,undef}", "?x=1024&y=768",
+				"{?var:3}", "?var=val",
+				"{?list}", "?list=red,green,blue",
+				"{?list*}", "?list=red&list=green&list=blue",
+				"{?keys}", "?keys=semi,%3B,dot,.,comma,%2C",
+				"{?keys*}", "?semi=%3B&dot=.&comma=%2C");
+	}
+
+	@Test
+	void expandShouldExpandFormStyleQueryContinuations() {
+		assertExpansions(
+				"{&who}", "&who=fred",
+				"{&half}", "&half=50%25",
+				"?fixed=yes{&x}", "?fixed=yes&x=1024",
+				"{&x,y,empty}", "&x=1024&y=768&empty=",
+				"{&var:3}", "&var=val",
+				"{&list}", "&list=red,green,blue",
+				"{&list*}", "&list=red&list=green&list=blue",
+				"{&keys}", "&keys=semi,%3B,dot,.,comma,%2C",
+				"{&keys*}", "&semi=%3B&dot=.&comma=%2C");
+	}
+
+	@Test
+	void expandShouldAssignValuesInOrderOfAppearance() {
+		UriTemplate template = UriTemplate.compile("http://localhost:8080/users/{id}/orders{?page,size}{&id}");
+
+		assertEquals(Arrays.asList("id", "page", "size"), template.getVariableNames());
+		assertEquals("http://localhost:8080/users/42/orders?page=1&size=20&id=42", template.expand(42, 1, 20));
+		assertEquals("http://localhost:8080/users/42/orders&id=42", template.expand(42));
+	}
+
+	@Test
+	void expandShouldAppendToGivenBuilder() {
+		StringBuilder output = new StringBuilder("prefix:");
+
+		assertSame(output, UriTemplate.compile("{/who}").expand(VARIABLES, output));
+		assertEquals("prefix:/fred", output.toString());
+	}
+
+	@Test
+	void compileShouldEncodeLiterals() {
+		assertEquals("a%20b/%C3%A9?x=%41", UriTemplate.compile("a b/é?x=%41").expand(VARIABLES));
+	}
+
+	@Test
+	void compileShouldRejectMalformedTemplates() {
+		assertThrows(IllegalArgumentException.class, () -> UriTemplate.compile("/users/{id"));
+		assertThrows(IllegalArgumentException.class, () -> UriTemplate.compile("/users/id}"));
+	}
+
+	@Test
+	void templatesShouldBeEqualByTemplate() {
+		UriTemplate template = UriTemplate.compile("/users/{id}");
+
+		assertEquals(UriTemplate.compile("/users/{id}"), template);
+		assertEquals(UriTemplate.compile("/users/{id}").hashCode(), template.hashCode());
+		assertNotEquals(UriTemplate.compile("/users/{name}"), template);
+		assertEquals("/users/{id}", template.toString());
+	}
+
+	private static void assertExpansions(String... pairs) {
+		List<Executable> assertions = new ArrayList<>();
+		for (int i = 0; i < pairs.length; i += 2) {
+			String template = pairs[i];
+			String expected = pairs[i + 1];
+			assertions.add(() -> assertEquals(expected, UriTemplate.compile(template).expand(VARIABLES), template));
+		}
+		assertAll(assertions);
+	}
+
+}
@@ -0,0 +1,158 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.commons;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link UriUtils} tests
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+class UriUtilsTest {
+
+	@Test
+	void encodeShouldEscapeAllButUnreservedCharacters() {
+		assertEquals("http%3A%2F%2Flocalhost%3A8080%2Fa%20pr%C3%A4mie", UriUtils.encode("http://localhost:8080/a prämie"));
+		assertEquals("AZaz09-._~", UriUtils.encode("AZaz09-._~"));
+		assertEquals("%21%2A%27%28%29%3B%40%26%3D%2B%24%2C%3F%23%5B%5D%25", UriUtils.encode("!*'();@&=+$,?#[]%"));
+	}
+
+	@Test
+	void encodeShouldReturnInputWhenNothingToEscape() {
+		String input = "nothing-to.escape_~";
+
+		assertSame(input, UriUtils.encode(input));
+		assertSame(input, UriUtils.encodePathSegment(input));
+		assertSame(input, UriUtils.encodeQueryValue(input));
+		assertSame(input, UriUtils.encodeFragment(input));
+	}
+
+	@Test
+	void encodeShouldEncodeMultiByteCharactersAsUtf8() {
+		assertEquals("%C3%A9", UriUtils.encode("é"));
+		assertEquals("%E2%82%AC", UriUtils.encode("€"));
+		assertEquals("%F0%9F%98%80", UriUtils.encode("😀"));
+		assertEquals("%3F", UriUtils.encode("\ud83d"));
+	}
+
+	@Test
+	void encodeShouldMatchUrlEncoderWithRfc3986Escaping() throws UnsupportedEncodingException {
+		Random random = new Random(42);
+		for (int i = 0; i < 1_000; i++) {
+			String input = randomString(random);
+			String expected = URLEncoder.encode(input, "UTF-8").replace("+", "%20").replace("*", "%2A").replace("%7E", "~");
+
+			assertEquals(expected, UriUtils.encode(input), input);
+			assertEquals(input, UriUtils.decode(UriUtils.encode(input)), input);
+		}
+	}
+
+	@Test
+	void encodeShouldAppendToGivenBuilder() {
+		StringBuilder uri = new StringBuilder("http://localhost:8080/users/");
+
+		UriUtils.encodePathSegment("john doe", uri);
+		UriUtils.encodeQueryValue("a&b", uri.append("?filter="));
+		UriUtils.encodeFragment("x y", uri.append('#'));
+
+		assertEquals("http://localhost:8080/users/john%20doe?filter=a%26b#x%20y", uri.toString());
+	}
+
+	@Test
+	void encodePathSegmentShouldEscapeSlashOnly() {
+		assertEquals("a%2Fb%20c", UriUtils.encodePathSegment("a/b c"));
+		assertEquals("!$&'()*+,;=:@", UriUtils.encodePathSegment("!$&'()*+,;=:@"));
+		assertEquals("%3F%23", UriUtils.encodePathSegment("?#"));
+	}
+
+	@Test
+	void encodeQueryShouldEscapeParameterDelimiters() {
+		assertEquals("a%26b%3Dc%2Bd", UriUtils.encodeQueryValue("a&b=c+d"));
+		assertEquals("a%26b%3Dc%2Bd", UriUtils.encodeQueryName("a&b=c+d"));
+		assertEquals("/path?x:y@z", UriUtils.encodeQueryValue("/path?x:y@z"));
+		assertEquals("%23", UriUtils.encodeQueryValue("#"));
+	}
+
+	@Test
+	void encodeFragmentShouldKeepSlashAndQuestionMark() {
+		assertEquals("section%201/2?x", UriUtils.encodeFragment("section 1/2?x"));
+		assertEquals("%23", UriUtils.encodeFragment("#"));
+	}
+
+	@Test
+	void encodeReservedShouldKeepReservedCharactersAndPercentEncodedTriplets() {
+		assertEquals("/a/b?c=d#e[f]%20g", UriUtils.encodeReserved("/a/b?c=d#e[f] g", new StringBuilder()).toString());
+		assertEquals("%41%25zz%25", UriUtils.encodeReserved("%41%zz%", new StringBuilder()).toString());
+	}
+
+	@Test
+	void decodeShouldDecodeUtf8Sequences() {
+		assertEquals("a prämie", UriUtils.decode("a%20pr%C3%A4mie"));
+		assertEquals("😀/+", UriUtils.decode("%F0%9F%98%80%2F+"));
+		assertEquals("é", UriUtils.decode("%c3%a9"));
+	}
+
+	@Test
+	void decodeShouldReturnInputWhenNothingToDecode() {
+		String input = "a+b c";
+
+		assertSame(input, UriUtils.decode(input));
+	}
+
+	@Test
+	void decodeShouldRejectMalformedSequences() {
+		assertThrows(IllegalArgumentException.class, () -> UriUtils.decode("a%2"));
+		assertThrows(IllegalArgumentException.class, () -> UriUtils.decode("a%"));
+		assertThrows(IllegalArgumentException.class, () -> UriUtils.decode("a%zz"));
+	}
+
+	private static String randomString(Random random) {
+		StringBuilder value = new StringBuilder();
+		int length = random.nextInt(16);
+		for (int i = 0; i < length; i++) {
+			int kind = random.nextInt(4);
+			if (kind == 0) {
+				value.append((char) (0x20 + random.nextInt(0x5F)));
+			} else if (kind == 1) {
+				value.append((char) (0x80 + random.nextInt(0x780)));
+			} else if (kind == 2) {
+				value.append((char) (0x800 + random.nextInt(0xD000)));
+			} else {
+				value.appendCodePoint(0x10000 + random.nextInt(0x10000));
+			}
+		}
+		return value.toString();
+	}
+
+}
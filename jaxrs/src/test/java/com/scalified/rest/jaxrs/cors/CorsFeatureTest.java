@@ -0,0 +1,181 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.cors;
+
+import com.scalified.rest.jaxrs.extension.ExtendedHttpHeaders;
+import org.jboss.resteasy.core.Dispatcher;
+import org.jboss.resteasy.mock.MockDispatcherFactory;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import java.net.URISyntaxException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link CorsFeature} tests
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+class CorsFeatureTest {
+
+	private static final String APP_ORIGIN = "https://app.example.com";
+
+	private static final String ADMIN_ORIGIN = "https://admin.example.com";
+
+	private Dispatcher dispatcher;
+
+	@BeforeEach
+	void setUp() {
+		dispatcher = MockDispatcherFactory.createDispatcher();
+		dispatcher.getProviderFactory().register(CorsFeature.class);
+		dispatcher.getRegistry().addPerRequestResource(OrdersResource.class);
+		dispatcher.getRegistry().addPerRequestResource(CustomersResource.class);
+		dispatcher.getRegistry().addPerRequestResource(PlainResource.class);
+	}
+
+	@Test
+	void preflightShouldUseLiteralRouteOverTemplateRoute() throws URISyntaxException {
+		assertEquals(200, preflight("/orders/active", ADMIN_ORIGIN).getStatus());
+		assertEquals(403, preflight("/orders/active", APP_ORIGIN).getStatus());
+	}
+
+	@Test
+	void preflightShouldUsePolicyInheritedFromInterface() throws URISyntaxException {
+		MockHttpResponse response = preflight("/orders/42", APP_ORIGIN);
+
+		assertEquals(200, response.getStatus());
+		assertEquals(APP_ORIGIN, response.getOutputHeaders().getFirst(ExtendedHttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+		assertEquals(403, preflight("/orders/42", ADMIN_ORIGIN).getStatus());
+	}
+
+	@Test
+	void preflightShouldUsePolicyInheritedFromSuperclass() throws URISyntaxException {
+		assertEquals(200, preflight("/customers/42", APP_ORIGIN).getStatus());
+		assertEquals(403, preflight("/customers/42", ADMIN_ORIGIN).getStatus());
+	}
+
+	@Test
+	void preflightShouldPassThroughNotAnnotatedResources() throws URISyntaxException {
+		MockHttpResponse response = preflight("/plain", APP_ORIGIN);
+
+		assertNotEquals(403, response.getStatus());
+		assertNull(response.getOutputHeaders().getFirst(ExtendedHttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+	}
+
+	@Test
+	void requestShouldUseInheritedPolicy() throws Exception {
+		MockHttpResponse allowed = get("/orders/42", APP_ORIGIN);
+		assertEquals(200, allowed.getStatus());
+		assertEquals("42", allowed.getContentAsString());
+		assertEquals(APP_ORIGIN, allowed.getOutputHeaders().getFirst(ExtendedHttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+
+		MockHttpResponse rejected = get("/orders/42", ADMIN_ORIGIN);
+		assertEquals(403, rejected.getStatus());
+		assertNull(rejected.getOutputHeaders().getFirst(ExtendedHttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+	}
+
+	private MockHttpResponse preflight(String path, String origin) throws URISyntaxException {
+		MockHttpRequest request = MockHttpRequest.options(path)
+				.header(ExtendedHttpHeaders.ORIGIN, origin)
+				.header(ExtendedHttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "GET");
+		MockHttpResponse response = new MockHttpResponse();
+		dispatcher.invoke(request, response);
+		return response;
+	}
+
+	private MockHttpResponse get(String path, String origin) throws URISyntaxException {
+		MockHttpRequest request = MockHttpRequest.get(path).header(ExtendedHttpHeaders.ORIGIN, origin);
+		MockHttpResponse response = new MockHttpResponse();
+		dispatcher.invoke(request, response);
+		return response;
+	}
+
+	@Path("/orders")
+	@Cors(origins = APP_ORIGIN)
+	public interface OrdersApi {
+
+		@GET
+		@Path("active")
+		@Cors(origins = ADMIN_ORIGIN)
+		String active();
+
+		@GET
+		@Path("{id}")
+		String get(@PathParam("id") String id);
+
+	}
+
+	public static class OrdersResource implements OrdersApi {
+
+		@Override
+		public String active() {
+			return "active";
+		}
+
+		@Override
+		public String get(String id) {
+			return id;
+		}
+
+	}
+
+	@Cors(origins = APP_ORIGIN)
+	public abstract static class AbstractCustomersResource {
+
+		@GET
+		@Path("{id}")
+		public abstract String get(@PathParam("id") String id);
+
+	}
+
+	@Path("/customers")
+	public static class CustomersResource extends AbstractCustomersResource {
+
+		@Override
+		public String get(String id) {
+			return id;
+		}
+
+	}
+
+	@Path("/plain")
+	public static class PlainResource {
+
+		@GET
+		public String get() {
+			return "plain";
+		}
+
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.cors;
+
+import com.scalified.rest.jaxrs.extension.ExtendedHttpHeaders;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.ws.rs.ForbiddenException;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.Response;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link CorsFilter} tests
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+class CorsFilterTest {
+
+	@Test
+	void preflightShouldEchoRequestedMethodAndHeaders() {
+		CorsFilter filter = CorsFilter.builder(OriginPolicy.parse("https://*.example.com")).maxAge(600).build();
+		ContainerRequestContext request = request("OPTIONS", "https://app.example.com");
+		when(request.getHeaderString(ExtendedHttpHeaders.ACCESS_CONTROL_REQUEST_METHOD)).thenReturn("PUT");
+		when(request.getHeaderString(ExtendedHttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS)).thenReturn("X-Trace");
+
+		filter.filter(request);
+
+		Response response = aborted(request);
+		assertEquals(200, response.getStatus());
+		assertEquals("https://app.example.com", response.getHeaderString(ExtendedHttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+		assertEquals("PUT", response.getHeaderString(ExtendedHttpHeaders.ACCESS_CONTROL_ALLOW_METHODS));
+		assertEquals("X-Trace", response.getHeaderString(ExtendedHttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS));
+		assertEquals("600", response.getHeaderString(ExtendedHttpHeaders.ACCESS_CONTROL_MAX_AGE));
+	}
+
+	@Test
+	void preflightShouldNotSendMaxAgeByDefault() {
+		CorsFilter filter = new CorsFilter("https://app.example.com");
+		ContainerRequestContext request = request("OPTIONS", "https://app.example.com");
+
+		filter.filter(request);
+
+		Response response = aborted(request);
+		assertNull(response.getHeaderString(ExtendedHttpHeaders.ACCESS_CONTROL_MAX_AGE));
+		assertNull(response.getHeaderString(ExtendedHttpHeaders.ACCESS_CONTROL_ALLOW_METHODS));
+	}
+
+	@Test
+	void preflightShouldCheckOriginAgainstUpdatedPolicy() {
+		CorsFilter filter = CorsFilter.builder(OriginPolicy.parse("https://app.example.com"))
+				.abortOnRejection(true)
+				.build();
+		filter.filter(request("OPTIONS", "https://app.example.com"));
+
+		filter.update(OriginPolicy.parse("https://other.example.com"));
+		ContainerRequestContext request = request("OPTIONS", "https://app.example.com");
+		filter.filter(request);
+
+		assertEquals(403, aborted(request).getStatus());
+	}
+
+	@Test
+	void filterShouldRejectNotAllowedOrigin() {
+		CorsFilter filter = new CorsFilter("https://app.example.com");
+
+		assertThrows(ForbiddenException.class, () -> filter.filter(request("GET", "https://evil.example.com")));
+		assertThrows(ForbiddenException.class, () -> filter.filter(request("OPTIONS", "https://evil.example.com")));
+	}
+
+	@Test
+	void filterShouldIgnoreRequestsWithoutOrigin() {
+		CorsFilter filter = new CorsFilter("https://app.example.com");
+		ContainerRequestContext request = request("OPTIONS", null);
+
+		filter.filter(request);
+
+		verify(request, never()).abortWith(any());
+	}
+
+	private static ContainerRequestContext request(String method, String origin) {
+		ContainerRequestContext request = mock(ContainerRequestContext.class);
+		when(request.getMethod()).thenReturn(method);
+		when(request.getHeaderString(ExtendedHttpHeaders.ORIGIN)).thenReturn(origin);
+		return request;
+	}
+
+	private static Response aborted(ContainerRequestContext request) {
+		ArgumentCaptor<Response> response = ArgumentCaptor.forClass(Response.class);
+		verify(request).abortWith(response.capture());
+		return response.getValue();
+	}
+
+}
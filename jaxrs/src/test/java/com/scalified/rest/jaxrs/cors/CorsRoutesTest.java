@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.cors;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link CorsRoutes} tests
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+class CorsRoutesTest {
+
+	private final CorsPolicy first = CorsPolicy.from(First.class.getAnnotation(Cors.class));
+
+	private final CorsPolicy second = CorsPolicy.from(Second.class.getAnnotation(Cors.class));
+
+	@Test
+	void resolveShouldPreferMoreLiteralCharactersRegardlessOfRegistrationOrder() {
+		CorsRoutes routes = new CorsRoutes();
+		routes.add("GET", "/orders/{id}", first);
+		routes.add("GET", "/orders/active", second);
+
+		assertSame(second, routes.resolve("/orders/active", "GET"));
+		assertSame(first, routes.resolve("/orders/42", "GET"));
+	}
+
+	@Test
+	void resolveShouldPreferMoreTemplateVariablesOnEqualLiteralCharacters() {
+		CorsRoutes routes = new CorsRoutes();
+		routes.add("GET", "f{path: .+}-y", first);
+		routes.add("GET", "f/{a}-{b}", second);
+
+		assertSame(second, routes.resolve("f/x-y", "GET"));
+	}
+
+	@Test
+	void resolveShouldPreferMoreRegularExpressionVariablesOnEqualTemplateVariables() {
+		CorsRoutes routes = new CorsRoutes();
+		routes.add("GET", "items/{id}", first);
+		routes.add("GET", "items/{id: \\d+}", second);
+
+		assertSame(second, routes.resolve("items/42", "GET"));
+		assertSame(first, routes.resolve("items/abc", "GET"));
+	}
+
+	@Test
+	void resolveShouldMatchRequestedMethodOnly() {
+		CorsRoutes routes = new CorsRoutes();
+		routes.add("DELETE", "orders/{id}", first);
+		routes.add("GET", "orders/{id}", second);
+
+		assertSame(first, routes.resolve("orders/42", " delete"));
+		assertSame(second, routes.resolve("orders/42", "GET"));
+		assertNull(routes.resolve("orders/42", "PUT"));
+	}
+
+	@Test
+	void resolveShouldIgnoreLeadingTrailingAndRepeatedSlashes() {
+		CorsRoutes routes = new CorsRoutes();
+		routes.add("GET", "/orders//{id}/", first);
+
+		assertSame(first, routes.resolve("orders/42/", "GET"));
+		assertNull(routes.resolve("orders/42/items", "GET"));
+		assertNull(routes.resolve("customers/42", "GET"));
+	}
+
+	@Test
+	void addShouldRejectUnclosedExpression() {
+		CorsRoutes routes = new CorsRoutes();
+
+		assertThrows(IllegalArgumentException.class, () -> routes.add("GET", "orders/{id", first));
+		assertTrue(routes.isEmpty());
+	}
+
+	@Cors(origins = "https://first.example.com")
+	private static class First {
+	}
+
+	@Cors(origins = "https://second.example.com")
+	private static class Second {
+	}
+
+}
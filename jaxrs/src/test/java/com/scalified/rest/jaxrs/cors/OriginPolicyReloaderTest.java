@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.cors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link OriginPolicyReloader} tests
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+class OriginPolicyReloaderTest {
+
+	@Test
+	void reloadShouldUpdatePolicyOnlyWhenOriginsChange() {
+		CorsFilter filter = new CorsFilter("https://a.example.com");
+		AtomicReference<String> origins = new AtomicReference<>("https://b.example.com");
+		OriginPolicyReloader reloader = OriginPolicyReloader.poll(filter, origins::get, 1, TimeUnit.HOURS);
+		try {
+			reloader.reload();
+			OriginPolicy reloaded = filter.getOriginPolicy();
+			assertTrue(reloaded.allows("https://b.example.com"));
+			assertFalse(reloaded.allows("https://a.example.com"));
+
+			reloader.reload();
+			assertSame(reloaded, filter.getOriginPolicy());
+		} finally {
+			assertDoesNotThrow(reloader::close);
+		}
+	}
+
+	@Test
+	void reloadShouldRetainPolicyOnInvalidOrigins() throws IOException {
+		CorsFilter filter = new CorsFilter("https://a.example.com");
+		OriginPolicy original = filter.getOriginPolicy();
+		try (OriginPolicyReloader reloader = OriginPolicyReloader.poll(filter, () -> "https://a.example.com:port", 1, TimeUnit.HOURS)) {
+			reloader.reload();
+
+			assertSame(original, filter.getOriginPolicy());
+		}
+	}
+
+	@Test
+	void watchShouldReloadChangedFile(@TempDir Path directory) throws Exception {
+		Path file = directory.resolve("origins");
+		Files.write(file, "https://a.example.com".getBytes(StandardCharsets.UTF_8));
+		CorsFilter filter = new CorsFilter("*");
+		try (OriginPolicyReloader ignored = OriginPolicyReloader.watch(filter, file)) {
+			assertFalse(filter.getOriginPolicy().allows("https://b.example.com"));
+
+			Files.write(file, "https://b.example.com".getBytes(StandardCharsets.UTF_8));
+
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+			while (!filter.getOriginPolicy().allows("https://b.example.com") && System.nanoTime() < deadline) {
+				Thread.sleep(50);
+			}
+			assertTrue(filter.getOriginPolicy().allows("https://b.example.com"));
+		}
+	}
+
+	@Test
+	void watchShouldFailWhenDirectoryDoesNotExist(@TempDir Path directory) {
+		CorsFilter filter = new CorsFilter("https://a.example.com");
+
+		assertThrows(NoSuchFileException.class,
+				() -> OriginPolicyReloader.watch(filter, directory.resolve("missing").resolve("origins")));
+	}
+
+}
@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.cors;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link OriginPolicy} tests
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+class OriginPolicyTest {
+
+	@Test
+	void allowsShouldMatchExactOrigin() {
+		OriginPolicy policy = OriginPolicy.parse("https://app.example.com, http://localhost:3000");
+
+		assertTrue(policy.allows("https://app.example.com"));
+		assertTrue(policy.allows("http://localhost:3000"));
+		assertFalse(policy.allows("https://api.example.com"));
+		assertFalse(policy.allows("http://localhost"));
+		assertFalse(policy.allows("http://localhost:3001"));
+	}
+
+	@Test
+	void allowsShouldMatchAnySubdomainOfWildcardEntry() {
+		OriginPolicy policy = OriginPolicy.parse("https://*.example.com");
+
+		assertTrue(policy.allows("https://app.example.com"));
+		assertTrue(policy.allows("https://a.b.example.com"));
+		assertFalse(policy.allows("https://example.com"));
+		assertFalse(policy.allows("https://.example.com"));
+		assertFalse(policy.allows("https://evilexample.com"));
+		assertFalse(policy.allows("https://app.example.com.evil.com"));
+		assertFalse(policy.allows("https://app.example.org"));
+	}
+
+	@Test
+	void allowsShouldAssumeDefaultPorts() {
+		OriginPolicy policy = OriginPolicy.parse("https://app.example.com http://*.example.org https://api.example.net:443");
+
+		assertTrue(policy.allows("https://app.example.com:443"));
+		assertFalse(policy.allows("https://app.example.com:8443"));
+		assertTrue(policy.allows("http://www.example.org:80"));
+		assertFalse(policy.allows("http://www.example.org:8080"));
+		assertTrue(policy.allows("https://api.example.net"));
+		assertTrue(policy.allows("https://api.example.net:443"));
+	}
+
+	@Test
+	void allowsShouldMatchExplicitPortOnly() {
+		OriginPolicy policy = OriginPolicy.parse("*.example.com:8080");
+
+		assertTrue(policy.allows("http://app.example.com:8080"));
+		assertTrue(policy.allows("https://app.example.com:8080"));
+		assertFalse(policy.allows("http://app.example.com"));
+		assertFalse(policy.allows("https://app.example.com"));
+	}
+
+	@Test
+	void allowsShouldMatchSchemeOfEntry() {
+		OriginPolicy policy = OriginPolicy.parse("https://secure.example.com, https://*.example.org");
+
+		assertFalse(policy.allows("http://secure.example.com"));
+		assertFalse(policy.allows("http://app.example.org"));
+		assertFalse(policy.allows("ftp://secure.example.com"));
+		assertFalse(policy.allows("wss://app.example.org"));
+	}
+
+	@Test
+	void allowsShouldMatchBothHttpAndHttpsWhenSchemeOmitted() {
+		OriginPolicy policy = OriginPolicy.parse("example.com *.example.org");
+
+		assertTrue(policy.allows("http://example.com"));
+		assertTrue(policy.allows("https://example.com"));
+		assertTrue(policy.allows("http://app.example.org"));
+		assertTrue(policy.allows("https://app.example.org"));
+		assertFalse(policy.allows("ftp://example.com"));
+	}
+
+	@Test
+	void allowsShouldRejectNullOrigin() {
+		OriginPolicy policy = OriginPolicy.parse("https://app.example.com, *.example.org, null");
+
+		assertFalse(policy.allows("null"));
+		assertFalse(policy.allows(""));
+	}
+
+	@Test
+	void allowsShouldAcceptAnyOriginWhenAllAllowed() {
+		OriginPolicy policy = OriginPolicy.parse("https://app.example.com *");
+
+		assertTrue(policy.allows("https://other.example.net"));
+		assertTrue(policy.allows("null"));
+	}
+
+	@Test
+	void allowsShouldRejectMalformedOrigins() {
+		OriginPolicy policy = OriginPolicy.parse("https://*.example.com");
+
+		assertFalse(policy.allows("app.example.com"));
+		assertFalse(policy.allows("https://app.example.com:abc"));
+		assertFalse(policy.allows("https://app.example.com:99999"));
+		assertFalse(policy.allows("https://app_1.example.com:"));
+	}
+
+	@Test
+	void parseShouldNormalizeEntries() {
+		OriginPolicy policy = OriginPolicy.parse("  HTTPS://App.Example.com/ ,\n\thttps://*.Example.org  ");
+
+		assertTrue(policy.allows("https://app.example.com"));
+		assertTrue(policy.allows("https://www.example.org"));
+		assertEquals("  HTTPS://App.Example.com/ ,\n\thttps://*.Example.org  ", policy.toString());
+	}
+
+	@Test
+	void parseShouldRejectInvalidPort() {
+		assertThrows(IllegalArgumentException.class, () -> OriginPolicy.parse("https://app.example.com:99999"));
+		assertThrows(IllegalArgumentException.class, () -> OriginPolicy.parse("https://app.example.com:port"));
+		assertThrows(IllegalArgumentException.class, () -> OriginPolicy.parse("https://*.exa_mple.com"));
+	}
+
+}
@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.cors;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link OriginRejections} tests
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+class OriginRejectionsTest {
+
+	@Test
+	void getTopShouldReturnMostRejectedOriginsInDescendingOrder() {
+		OriginRejections rejections = new OriginRejections(1, 64);
+		record(rejections, "https://a.example.com", 3);
+		record(rejections, "https://b.example.com", 5);
+		record(rejections, "https://c.example.com", 1);
+
+		Map<String, Long> top = rejections.getTop(2);
+
+		assertEquals(2, top.size());
+		assertEquals("https://b.example.com", top.keySet().iterator().next());
+		assertEquals(5L, top.get("https://b.example.com"));
+		assertEquals(3L, top.get("https://a.example.com"));
+		assertEquals(9, rejections.getTotal());
+	}
+
+	@Test
+	void sampleShouldReplaceLeastRejectedOriginWhenFull() {
+		OriginRejections rejections = new OriginRejections(1, 2);
+		record(rejections, "https://a.example.com", 4);
+		record(rejections, "https://b.example.com", 2);
+		record(rejections, "https://c.example.com", 1);
+		record(rejections, "https://d.example.com", 1);
+
+		Map<String, Long> top = rejections.getTop(10);
+
+		assertTrue(top.size() <= 2);
+		assertTrue(top.values().stream().allMatch(count -> count >= 1));
+		assertEquals(8, top.values().stream().mapToLong(Long::longValue).sum());
+	}
+
+	@Test
+	void sampleShouldKeepHeavyHittersAmongManyOrigins() {
+		OriginRejections rejections = new OriginRejections(1, 64);
+		for (int i = 0; i < 10_000; i++) {
+			rejections.record("https://attacker.example.com");
+			rejections.record("https://junk-" + i + ".example.com");
+		}
+
+		Map<String, Long> top = rejections.getTop(1);
+
+		assertEquals("https://attacker.example.com", top.keySet().iterator().next());
+		assertTrue(top.get("https://attacker.example.com") >= 10_000);
+	}
+
+	@Test
+	void getTopShouldScaleCountsBySampleRate() {
+		OriginRejections rejections = new OriginRejections(4, 64);
+		record(rejections, "https://a.example.com", 4_000);
+
+		long estimated = rejections.getTop(1).getOrDefault("https://a.example.com", 0L);
+
+		assertEquals(4_000, rejections.getTotal());
+		assertEquals(0, estimated % 4);
+		assertTrue(estimated > 2_000 && estimated < 6_000);
+	}
+
+	@Test
+	void sampleShouldTruncateLongOrigins() {
+		OriginRejections rejections = new OriginRejections(1, 64);
+		StringBuilder origin = new StringBuilder("https://");
+		while (origin.length() < 1_000) {
+			origin.append('a');
+		}
+		rejections.record(origin.toString());
+
+		assertEquals(256, rejections.getTop(1).keySet().iterator().next().length());
+	}
+
+	@Test
+	void resetShouldClearStatistics() {
+		OriginRejections rejections = new OriginRejections(1, 64);
+		record(rejections, "https://a.example.com", 3);
+
+		rejections.reset();
+
+		assertEquals(0, rejections.getTotal());
+		assertTrue(rejections.getTop(10).isEmpty());
+	}
+
+	@Test
+	void recordShouldCountConcurrentRejections() throws InterruptedException {
+		OriginRejections rejections = new OriginRejections(1, 8);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int thread = 0; thread < 4; thread++) {
+			int offset = thread;
+			executor.execute(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					rejections.record("https://" + (i + offset) % 32 + ".example.com");
+				}
+			});
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+		assertEquals(40_000, rejections.getTotal());
+		assertEquals(40_000, rejections.getTop(100).values().stream().mapToLong(Long::longValue).sum());
+	}
+
+	private static void record(OriginRejections rejections, String origin, int times) {
+		for (int i = 0; i < times; i++) {
+			rejections.record(origin);
+		}
+	}
+
+}
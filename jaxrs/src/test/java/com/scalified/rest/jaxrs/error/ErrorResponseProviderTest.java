@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.error;
+
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.Provider;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link ErrorResponseProvider} tests
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+class ErrorResponseProviderTest {
+
+	private static final Annotation[] ANNOTATIONS = new Annotation[0];
+
+	private final ErrorResponseProvider provider = new ErrorResponseProvider();
+
+	@Test
+	void providerShouldNotBeDiscoverable() {
+		assertFalse(ErrorResponseProvider.class.isAnnotationPresent(Provider.class));
+	}
+
+	@Test
+	void writeToShouldWriteNonNullFields() throws IOException {
+		ErrorResponse errorResponse = new ErrorResponse(Response.Status.NOT_FOUND, "User \"42\" not found");
+
+		assertEquals("{\"code\":404,\"reasonPhrase\":\"Not Found\",\"message\":\"User \\\"42\\\" not found\"}",
+				write(errorResponse));
+	}
+
+	@Test
+	void writeToShouldWriteScalarPayload() throws IOException {
+		assertEquals("{\"code\":400,\"reasonPhrase\":\"Bad Request\",\"payload\":42}",
+				write(new ErrorResponse(Response.Status.BAD_REQUEST, null, 42)));
+		assertEquals("{\"code\":400,\"reasonPhrase\":\"Bad Request\",\"payload\":\"NaN\"}",
+				write(new ErrorResponse(Response.Status.BAD_REQUEST, null, Double.NaN)));
+	}
+
+	@Test
+	void readFromShouldReadWrittenResponse() throws IOException {
+		ErrorResponse errorResponse = read("{\"code\":409,\"reasonPhrase\":\"Conflict\",\"message\":\"pr\\u00e4mie\","
+				+ "\"unknown\":[1,{\"a\":null}],\"payload\":{\"id\":7}}");
+
+		assertEquals(409, errorResponse.getCode());
+		assertEquals("Conflict", errorResponse.getReasonPhrase());
+		assertEquals("prämie", errorResponse.getMessage());
+		assertEquals("{\"id\":7}", errorResponse.getPayload());
+	}
+
+	@Test
+	void readFromShouldFailOnMalformedCode() {
+		assertThrows(BadRequestException.class, () -> read("{\"code\":\"4o4\"}"));
+		assertThrows(BadRequestException.class, () -> read("{\"code\":4.5}"));
+	}
+
+	@Test
+	void readFromShouldFailOnMalformedEscape() {
+		assertThrows(IOException.class, () -> read("{\"message\":\"\\uZZZZ\"}"));
+	}
+
+	private String write(ErrorResponse errorResponse) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		provider.writeTo(errorResponse, ErrorResponse.class, ErrorResponse.class, ANNOTATIONS,
+				MediaType.APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(), output);
+		return new String(output.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	private ErrorResponse read(String json) throws IOException {
+		return provider.readFrom(ErrorResponse.class, ErrorResponse.class, ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE,
+				new MultivaluedHashMap<>(), new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+	}
+
+}
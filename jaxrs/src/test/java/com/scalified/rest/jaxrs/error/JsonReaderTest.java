@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.error;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.CharConversionException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link JsonReader} tests
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+class JsonReaderTest {
+
+	@Test
+	void skipValueShouldAppendRawNestedValue() throws IOException {
+		String json = "{\"a\":[1,{\"b\":\"x\\\"y\"},[],{}],\"c\":null,\"d\":true}";
+		StringBuilder raw = new StringBuilder();
+
+		reader(json + ",").skipValue(raw);
+
+		assertEquals(json, raw.toString());
+	}
+
+	@Test
+	void skipValueShouldIgnoreWhitespace() throws IOException {
+		StringBuilder raw = new StringBuilder();
+		JsonReader reader = reader(" { \"a\" : [ 1 , 2 ] , \"b\" : { } } ]");
+
+		reader.skipValue(raw);
+
+		assertEquals("{\"a\":[1,2],\"b\":{}}", raw.toString());
+		assertEquals(']', reader.read());
+	}
+
+	@Test
+	void skipValueShouldSkipNestingUpToMaxDepth() throws IOException {
+		String json = repeat("[", JsonReader.MAX_DEPTH) + repeat("]", JsonReader.MAX_DEPTH);
+		StringBuilder raw = new StringBuilder();
+
+		reader(json).skipValue(raw);
+
+		assertEquals(json, raw.toString());
+	}
+
+	@Test
+	void skipValueShouldRejectNestingDeeperThanMaxDepth() {
+		JsonReader reader = reader(repeat("[{\"a\":", 100_000));
+
+		IOException exception = assertThrows(IOException.class, () -> reader.skipValue(null));
+		assertTrue(exception.getMessage().contains("depth"));
+	}
+
+	@Test
+	void skipValueShouldRejectMissingSeparator() {
+		assertThrows(IOException.class, () -> reader("[1 2]").skipValue(null));
+		assertThrows(IOException.class, () -> reader("{\"a\" 1}").skipValue(null));
+	}
+
+	@Test
+	void readStringShouldUnescape() throws IOException {
+		assertEquals("a\"b\\c\n\u00e9\u20ac", reader("\"a\\\"b\\\\c\\n\\u00e9€\"").readString());
+	}
+
+	@Test
+	void readStringShouldRejectMalformedUnicodeEscape() {
+		assertThrows(CharConversionException.class, () -> reader("\"\\u12g4\"").readString());
+	}
+
+	private static JsonReader reader(String json) {
+		return new JsonReader(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static String repeat(String value, int count) {
+		StringBuilder repeated = new StringBuilder(value.length() * count);
+		for (int i = 0; i < count; i++) {
+			repeated.append(value);
+		}
+		return repeated.toString();
+	}
+
+}
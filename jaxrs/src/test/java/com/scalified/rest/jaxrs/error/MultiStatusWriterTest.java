@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.error;
+
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link MultiStatusWriter} tests
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+class MultiStatusWriterTest {
+
+	@Test
+	void writeShouldProduceReadableItems() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		MultiStatusWriter writer = new MultiStatusWriter(output, new ErrorResponseProvider());
+
+		writer.write("1", 200, 42);
+		writer.writeText("2", 200, "a\"b");
+		writer.writeRaw("3", 201, "{\"x\":[1,2]}".getBytes(StandardCharsets.UTF_8));
+		writer.write("4", new ErrorResponse(Response.Status.NOT_FOUND, "Missing"));
+		writer.close();
+
+		List<MultiStatusItem> items = read(output);
+		assertEquals(4, items.size());
+		assertEquals("42", items.get(0).getPayload());
+		assertEquals("\"a\\\"b\"", items.get(1).getPayload());
+		assertEquals(201, items.get(2).getStatus());
+		assertEquals("{\"x\":[1,2]}", items.get(2).getPayload());
+		assertEquals(404, items.get(3).getStatus());
+		assertEquals("Missing", items.get(3).getError().getMessage());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void writeShouldLeaveNoPartialItemWhenPayloadFails() throws IOException {
+		MessageBodyWriter<Payload> bodyWriter = mock(MessageBodyWriter.class);
+		doAnswer(invocation -> {
+			invocation.getArgument(6, OutputStream.class).write("{\"partial\":".getBytes(StandardCharsets.UTF_8));
+			throw new IOException("Serialization failed");
+		}).when(bodyWriter).writeTo(any(), any(), any(), any(), any(), any(), any());
+		Providers providers = mock(Providers.class);
+		when(providers.getMessageBodyWriter(eq(Payload.class), eq(Payload.class), any(), eq(MediaType.APPLICATION_JSON_TYPE)))
+				.thenReturn(bodyWriter);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		MultiStatusWriter writer = new MultiStatusWriter(output, new ErrorResponseProvider(providers));
+
+		writer.write("1", 200, "first");
+		assertThrows(IOException.class, () -> writer.write("2", 200, new Payload()));
+		writer.write("3", new ErrorResponse(Response.Status.INTERNAL_SERVER_ERROR));
+		writer.close();
+
+		assertFalse(output.toString("UTF-8").contains("partial"));
+		List<MultiStatusItem> items = read(output);
+		assertEquals(2, items.size());
+		assertEquals("1", items.get(0).getId());
+		assertEquals("3", items.get(1).getId());
+	}
+
+	@Test
+	void writeShouldFailAfterClose() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		MultiStatusWriter writer = new MultiStatusWriter(output, new ErrorResponseProvider());
+		writer.close();
+
+		assertThrows(IllegalStateException.class, () -> writer.writeText("1", 200, "late"));
+		assertEquals("[]", output.toString("UTF-8"));
+	}
+
+	private static List<MultiStatusItem> read(ByteArrayOutputStream output) throws IOException {
+		List<MultiStatusItem> items = new ArrayList<>();
+		try (MultiStatusReader reader = new MultiStatusReader(new ByteArrayInputStream(output.toByteArray()))) {
+			reader.forEachRemaining(items::add);
+		}
+		return items;
+	}
+
+	private static class Payload {
+	}
+
+}
@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.rest.jaxrs.extension;
+
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.core.Response;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link ExtendedStatus} tests
+ *
+ * @author shell
+ * @version 1.1.0
+ * @since 1.1.0
+ */
+class ExtendedStatusTest {
+
+	@Test
+	void fromShouldReturnStandardStatus() {
+		for (Response.Status status : Response.Status.values()) {
+			assertSame(status, ExtendedStatus.from(status.getStatusCode()));
+		}
+	}
+
+	@Test
+	void fromShouldReturnExtendedStatus() {
+		for (ExtendedStatus status : ExtendedStatus.values()) {
+			assertSame(status, ExtendedStatus.from(status.getStatusCode()));
+		}
+	}
+
+	@Test
+	void fromShouldReturnSameInstanceForUnknownStatusInTable() {
+		Response.StatusType status = ExtendedStatus.from(599);
+
+		assertSame(status, ExtendedStatus.from(599));
+		assertEquals(599, status.getStatusCode());
+		assertEquals("Unknown HTTP Status Code", status.getReasonPhrase());
+		assertEquals(Response.Status.Family.OTHER, status.getFamily());
+	}
+
+	@Test
+	void fromShouldReturnUnknownStatusOutOfTable() {
+		for (int code : new int[]{-1, 0, 99, 600, 1000}) {
+			Response.StatusType status = ExtendedStatus.from(code);
+
+			assertEquals(code, status.getStatusCode());
+			assertEquals("Unknown HTTP Status Code", status.getReasonPhrase());
+			assertEquals(Response.Status.Family.OTHER, status.getFamily());
+		}
+	}
+
+	@Test
+	void registerShouldAddStatusInTable() {
+		Response.StatusType custom = new CustomStatus(299, "Custom");
+
+		ExtendedStatus.register(custom);
+
+		assertSame(custom, ExtendedStatus.from(299));
+	}
+
+	@Test
+	void registerShouldAddStatusOutOfTable() {
+		Response.StatusType custom = new CustomStatus(799, "Custom");
+
+		ExtendedStatus.register(custom);
+
+		assertSame(custom, ExtendedStatus.from(799));
+		assertNotSame(custom, ExtendedStatus.from(798));
+	}
+
+	@Test
+	void registerShouldRejectNull() {
+		assertThrows(NullPointerException.class, () -> ExtendedStatus.register(null));
+	}
+
+	@Test
+	void getFamilyShouldMatchStatusCodeClass() {
+		assertEquals(Response.Status.Family.SUCCESSFUL, ExtendedStatus.MULTI_STATUS.getFamily());
+		assertEquals(Response.Status.Family.CLIENT_ERROR, ExtendedStatus.UNPROCESSABLE_ENTITY.getFamily());
+		assertEquals(Response.Status.Family.CLIENT_ERROR, ExtendedStatus.LOCKED.getFamily());
+		assertEquals(Response.Status.Family.CLIENT_ERROR, ExtendedStatus.FAILED_DEPENDENCY.getFamily());
+		assertEquals(Response.Status.Family.SERVER_ERROR, ExtendedStatus.INSUFFICIENT_STORAGE.getFamily());
+	}
+
+	@Test
+	void getReasonPhraseShouldReturnRfcReasonPhrase() {
+		assertEquals(207, ExtendedStatus.MULTI_STATUS.getStatusCode());
+		assertEquals("Multi-Status", ExtendedStatus.MULTI_STATUS.getReasonPhrase());
+		assertEquals(422, ExtendedStatus.UNPROCESSABLE_ENTITY.getStatusCode());
+		assertEquals("Unprocessable Entity", ExtendedStatus.UNPROCESSABLE_ENTITY.getReasonPhrase());
+		assertEquals(507, ExtendedStatus.INSUFFICIENT_STORAGE.getStatusCode());
+		assertEquals("Insufficient Storage", ExtendedStatus.INSUFFICIENT_STORAGE.getReasonPhrase());
+	}
+
+	private static final class CustomStatus implements Response.StatusType {
+
+		private final int statusCode;
+
+		private final String reasonPhrase;
+
+		private CustomStatus(int statusCode, String reasonPhrase) {
+			this.statusCode = statusCode;
+			this.reasonPhrase = reasonPhrase;
+		}
+
+		@Override
+		public int getStatusCode() {
+			return statusCode;
+		}
+
+		@Override
+		public Response.Status.Family getFamily() {
+			return Response.Status.Family.familyOf(statusCode);
+		}
+
+		@Override
+		public String getReasonPhrase() {
+			return reasonPhrase;
+		}
+
+	}
+
+}
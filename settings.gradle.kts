@@ -24,4 +24,4 @@
 
 rootProject.name = "rest"
 
-include("jaxrs", "jaxrs-resteasy3")
+include("jaxrs", "jaxrs-resteasy3", "jaxrs-httpclient")